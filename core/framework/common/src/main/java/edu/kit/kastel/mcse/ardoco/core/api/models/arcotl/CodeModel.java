@@ -2,9 +2,14 @@
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedSet;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
@@ -17,6 +22,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
 
 /**
  * A code model that is a CMTL instance.
@@ -30,7 +36,10 @@ public final class CodeModel extends Model {
     private List<String> content;
 
     @JsonIgnore
-    private boolean initialized;
+    private volatile boolean initialized;
+
+    @JsonIgnore
+    private volatile Views views;
 
     @SuppressWarnings("unused")
     private CodeModel() {
@@ -52,6 +61,15 @@ public CodeModel(CodeItemRepository codeItemRepository, SortedSet<? extends Code
         }
     }
 
+    /**
+     * Returns the repository that contains all code items of this code model.
+     *
+     * @return the code item repository
+     */
+    public CodeItemRepository getCodeItemRepository() {
+        return this.codeItemRepository;
+    }
+
     @Override
     public Metamodel getMetamodel() {
         return Metamodel.CODE;
@@ -69,39 +87,114 @@ public List<? extends CodeItem> getContent() {
         return this.codeItemRepository.getCodeItemsFromIds(this.content);
     }
 
+    /**
+     * Returns all compilation units directly or indirectly owned by this code model. The returned list is cached until the content of the code item
+     * repository changes. The position of a compilation unit in the list is its {@link #getEndpointOrdinal(CodeCompilationUnit) ordinal}.
+     *
+     * @return the unmodifiable list of all compilation units of this code model
+     */
     @Override
     public List<? extends CodeCompilationUnit> getEndpoints() {
-        List<CodeCompilationUnit> compilationUnits = new ArrayList<>();
-        this.getContent().forEach(c -> compilationUnits.addAll(c.getAllCompilationUnits()));
-        return compilationUnits;
+        return this.getViews().endpoints().items();
     }
 
     /**
-     * Returns all code packages directly or indirectly owned by this code model.
+     * Returns all code packages directly or indirectly owned by this code model, sorted by name. The returned list is cached until the content of the code
+     * item repository changes. The position of a package in the list is its {@link #getPackageOrdinal(CodePackage) ordinal}.
      *
-     * @return all code packages of this code model
+     * @return the unmodifiable list of all code packages of this code model
      */
     public List<? extends CodePackage> getAllPackages() {
-        List<CodePackage> codePackages = new ArrayList<>();
-        var lContent = this.getContent();
-        for (CodeItem c : lContent) {
-            var allPackages = c.getAllPackages();
-            for (CodePackage cp : allPackages) {
-                if (!codePackages.contains(cp)) {
-                    codePackages.add(cp);
-                }
+        return this.getViews().packages().items();
+    }
+
+    /**
+     * Returns all datatypes of the compilation units of this code model, in the order of the compilation units. The returned list is cached until the
+     * content of the code item repository changes. The position of a datatype in the list is its {@link #getDataTypeOrdinal(Datatype) ordinal}.
+     *
+     * @return the unmodifiable list of all datatypes of this code model
+     */
+    public List<? extends Datatype> getAllDataTypes() {
+        return this.getViews().dataTypes().items();
+    }
+
+    /**
+     * Returns the ordinal of the specified compilation unit, i.e., its position in {@link #getEndpoints()}.
+     *
+     * @param endpoint the compilation unit
+     * @return the ordinal of the compilation unit, or -1 if it is not an endpoint of this code model
+     */
+    public int getEndpointOrdinal(CodeCompilationUnit endpoint) {
+        return this.getViews().endpoints().ordinalOf(endpoint);
+    }
+
+    /**
+     * Returns the ordinal of the specified package, i.e., its position in {@link #getAllPackages()}.
+     *
+     * @param codePackage the package
+     * @return the ordinal of the package, or -1 if it is not a package of this code model
+     */
+    public int getPackageOrdinal(CodePackage codePackage) {
+        return this.getViews().packages().ordinalOf(codePackage);
+    }
+
+    /**
+     * Returns the ordinal of the specified datatype, i.e., its position in {@link #getAllDataTypes()}.
+     *
+     * @param dataType the datatype
+     * @return the ordinal of the datatype, or -1 if it is not a datatype of this code model
+     */
+    public int getDataTypeOrdinal(Datatype dataType) {
+        return this.getViews().dataTypes().ordinalOf(dataType);
+    }
+
+    private Views getViews() {
+        this.initialize();
+        long modificationCount = this.codeItemRepository.getModificationCount();
+        Views current = this.views;
+        if (current != null && current.modificationCount() == modificationCount) {
+            return current;
+        }
+        synchronized (this) {
+            current = this.views;
+            if (current == null || current.modificationCount() != modificationCount) {
+                current = this.createViews(modificationCount);
+                this.views = current;
             }
+            return current;
         }
-        codePackages.sort(Comparator.comparing(Entity::getName));
-        return codePackages;
     }
 
-    private synchronized void initialize() {
+    private Views createViews(long modificationCount) {
+        List<CodeCompilationUnit> endpoints = new ArrayList<>();
+        Set<CodePackage> packages = new LinkedHashSet<>();
+        for (CodeItem codeItem : this.getContent()) {
+            endpoints.addAll(codeItem.getAllCompilationUnits());
+            packages.addAll(codeItem.getAllPackages());
+        }
+        List<CodePackage> sortedPackages = new ArrayList<>(packages);
+        sortedPackages.sort(Comparator.comparing(Entity::getName));
+        Set<Datatype> dataTypes = new LinkedHashSet<>();
+        for (CodeCompilationUnit endpoint : endpoints) {
+            dataTypes.addAll(endpoint.getAllDataTypes());
+        }
+        return new Views(modificationCount, new OrdinalList<>(endpoints), new OrdinalList<>(sortedPackages), new OrdinalList<>(new ArrayList<>(dataTypes)));
+    }
+
+    /**
+     * Initializes the code item repository once. The lookups of the views call this on every access, possibly from many threads, so the lock is only taken
+     * until the model is initialized.
+     */
+    private void initialize() {
         if (this.initialized) {
             return;
         }
-        this.codeItemRepository.init();
-        this.initialized = true;
+        synchronized (this) {
+            if (!this.initialized) {
+                this.codeItemRepository.init();
+                this.initialized = true;
+            }
+        }
     }
 
     @Override
@@ -121,4 +214,25 @@ public int hashCode() {
         result = 31 * result + (this.codeItemRepository != null ? this.codeItemRepository.hashCode() : 0);
         return 31 * result + (this.content != null ? this.content.hashCode() : 0);
     }
+
+    private record Views(long modificationCount, OrdinalList<CodeCompilationUnit> endpoints, OrdinalList<CodePackage> packages,
+            OrdinalList<Datatype> dataTypes) {
+    }
+
+    /**
+     * An immutable list of code items together with the position of the first occurrence of each item.
+     */
+    private record OrdinalList<T extends CodeItem>(List<T> items, Map<T, Integer> ordinals) {
+        private OrdinalList(List<T> items) {
+            this(Collections.unmodifiableList(items), new HashMap<>());
+            for (int i = 0; i < items.size(); i++) {
+                this.ordinals.putIfAbsent(items.get(i), i);
+            }
+        }
+
+        private int ordinalOf(Object item) {
+            Integer ordinal = this.ordinals.get(item);
+            return ordinal == null ? -1 : ordinal;
+        }
+    }
 }
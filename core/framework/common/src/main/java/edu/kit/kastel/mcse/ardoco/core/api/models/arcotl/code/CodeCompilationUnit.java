@@ -46,7 +46,7 @@ public String getLanguage() {
     @Override
     public List<Datatype> getAllDataTypes() {
         List<Datatype> result = new ArrayList<>();
-        this.getContent().forEach(c -> result.addAll(c.getAllDataTypes()));
+        this.codeItemRepository.getCodeItemsFromIds(this.getContentIds(), Datatype.class).forEach(c -> result.addAll(c.getAllDataTypes()));
         return result;
     }
 
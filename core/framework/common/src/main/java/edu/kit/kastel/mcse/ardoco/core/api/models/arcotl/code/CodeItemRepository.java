@@ -1,12 +1,23 @@
 /* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -15,33 +26,168 @@ public class CodeItemRepository implements Serializable {
     private static final long serialVersionUID = 7081204548135982601L;
 
     @JsonProperty
-    private SortedMap<String, CodeItem> repository = new TreeMap<>();
+    private volatile SortedMap<String, CodeItem> repository = new TreeMap<>();
     @JsonIgnore
     private boolean initialized = false;
+    @JsonIgnore
+    private volatile long modificationCount = 0;
+    @JsonIgnore
+    private transient volatile Map<String, LazyCodeItems> lazyCodeItems;
 
     public SortedMap<String, CodeItem> getRepository() {
+        this.loadLazyCodeItems();
         return new TreeMap<>(this.repository);
     }
 
-    void addCodeItem(CodeItem codeItem) {
+    @JsonGetter("repository")
+    protected SortedMap<String, CodeItem> getAllCodeItems() {
+        this.loadLazyCodeItems();
+        return this.repository;
+    }
+
+    /**
+     * Adds the specified code items that were created without this repository, e.g., code items that were deserialized on their own.
+     *
+     * @param codeItems the code items
+     */
+    public synchronized void addCodeItems(Collection<? extends CodeItem> codeItems) {
+        for (CodeItem codeItem : codeItems) {
+            this.repository.put(codeItem.getId(), codeItem);
+            codeItem.registerCurrentCodeItemRepository(this);
+        }
+        this.contentChanged();
+    }
+
+    /**
+     * Adds code items that are only loaded when they are needed, i.e., when one of them is requested, or when all code items are requested. The code items
+     * of one call are loaded together, but independently of the code items of other calls. Looking up the content of a code item by a type that is unrelated
+     * to the specified type does not load the code items.
+     *
+     * @param type      the common type of the code items
+     * @param ids       the ids of the code items
+     * @param codeItems supplies the code items when they are needed
+     */
+    public synchronized void addLazyCodeItems(Class<? extends CodeItem> type, Collection<String> ids, Supplier<? extends Collection<? extends CodeItem>> codeItems) {
+        LazyCodeItems lazy = new LazyCodeItems(type, codeItems);
+        Map<String, LazyCodeItems> added = this.lazyCodeItems == null ? new HashMap<>() : new HashMap<>(this.lazyCodeItems);
+        for (String id : ids) {
+            added.put(id, lazy);
+        }
+        this.lazyCodeItems = added;
+    }
+
+    /**
+     * Returns the number of code items that were added lazily and have not been loaded yet.
+     *
+     * @return the number of code items that have not been loaded yet
+     */
+    public int getUnloadedCodeItemCount() {
+        Map<String, LazyCodeItems> lazy = this.lazyCodeItems;
+        if (lazy == null) {
+            return 0;
+        }
+        return (int) lazy.values().stream().filter(codeItems -> !codeItems.isLoaded()).count();
+    }
+
+    private void loadLazyCodeItems() {
+        if (this.lazyCodeItems == null) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, LazyCodeItems> lazy = this.lazyCodeItems;
+            if (lazy == null) {
+                return;
+            }
+            SortedMap<String, CodeItem> loaded = new TreeMap<>(this.repository);
+            Set<LazyCodeItems> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            distinct.addAll(lazy.values());
+            for (LazyCodeItems codeItems : distinct) {
+                loaded.putAll(codeItems.load(this));
+            }
+            // Publish the loaded code items before dropping the lazy ones, so that concurrent lookups always find them in one of both
+            this.repository = loaded;
+            this.lazyCodeItems = null;
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        this.loadLazyCodeItems();
+        out.defaultWriteObject();
+    }
+
+    synchronized void addCodeItem(CodeItem codeItem) {
+        this.loadLazyCodeItems();
         this.repository.put(codeItem.getId(), codeItem);
+        this.contentChanged();
+    }
+
+    /**
+     * Records that code items were added or that the content of a code item changed.
+     */
+    synchronized void contentChanged() {
+        this.modificationCount++;
+    }
+
+    /**
+     * Returns the number of modifications of this repository, i.e., how often code items were added or the content of a code item changed. Views that are
+     * computed from the code items stay valid as long as this number does not change.
+     *
+     * @return the number of modifications of this repository
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
     }
 
     boolean containsCodeItem(String id) {
-        return this.repository.containsKey(id);
+        Map<String, LazyCodeItems> lazy = this.lazyCodeItems;
+        return this.repository.containsKey(id) || (lazy != null && lazy.containsKey(id));
     }
 
     CodeItem getCodeItem(String id) {
         if (id == null) {
             return null;
         }
-        return this.repository.get(id);
+        // Read the lazy code items first, as they are only dropped after their code items were published to the repository
+        Map<String, LazyCodeItems> lazy = this.lazyCodeItems;
+        CodeItem codeItem = this.repository.get(id);
+        if (codeItem == null && lazy != null) {
+            LazyCodeItems codeItems = lazy.get(id);
+            if (codeItems != null) {
+                codeItem = codeItems.load(this).get(id);
+            }
+        }
+        return codeItem;
     }
 
     public List<CodeItem> getCodeItemsFromIds(List<String> codeItemIds) {
         return codeItemIds.stream().map(this::getCodeItem).filter(Objects::nonNull).toList();
     }
 
+    /**
+     * Returns the code items with the specified ids that are of the specified type. Code items that were added lazily with an unrelated type are skipped
+     * without loading them.
+     *
+     * @param codeItemIds the ids of the code items
+     * @param type        the type of the code items
+     * @param <T>         the type of the code items
+     * @return the code items with the ids that are of the type, in the order of the ids
+     */
+    public <T extends CodeItem> List<T> getCodeItemsFromIds(List<String> codeItemIds, Class<T> type) {
+        Map<String, LazyCodeItems> lazy = this.lazyCodeItems;
+        List<T> codeItems = new ArrayList<>();
+        for (String id : codeItemIds) {
+            LazyCodeItems lazyCodeItems = lazy == null ? null : lazy.get(id);
+            if (lazyCodeItems != null && !lazyCodeItems.mayBeOfType(type)) {
+                continue;
+            }
+            CodeItem codeItem = this.getCodeItem(id);
+            if (type.isInstance(codeItem)) {
+                codeItems.add(type.cast(codeItem));
+            }
+        }
+        return codeItems;
+    }
+
     public synchronized void init() {
         if (this.initialized) {
             return;
@@ -49,4 +195,45 @@ public synchronized void init() {
         this.repository.values().forEach(it -> it.registerCurrentCodeItemRepository(this));
         this.initialized = true;
     }
+
+    /**
+     * Code items of a common type that are loaded together when one of them is needed.
+     */
+    private static final class LazyCodeItems {
+        private final Class<? extends CodeItem> type;
+        private Supplier<? extends Collection<? extends CodeItem>> supplier;
+        private volatile Map<String, CodeItem> codeItems;
+
+        private LazyCodeItems(Class<? extends CodeItem> type, Supplier<? extends Collection<? extends CodeItem>> supplier) {
+            this.type = type;
+            this.supplier = supplier;
+        }
+
+        private boolean isLoaded() {
+            return this.codeItems != null;
+        }
+
+        private boolean mayBeOfType(Class<?> otherType) {
+            return this.isLoaded() || otherType.isAssignableFrom(this.type) || this.type.isAssignableFrom(otherType);
+        }
+
+        private Map<String, CodeItem> load(CodeItemRepository codeItemRepository) {
+            Map<String, CodeItem> loaded = this.codeItems;
+            if (loaded != null) {
+                return loaded;
+            }
+            synchronized (this) {
+                if (this.codeItems == null) {
+                    Map<String, CodeItem> byId = new HashMap<>();
+                    for (CodeItem codeItem : this.supplier.get()) {
+                        byId.put(codeItem.getId(), codeItem);
+                        codeItem.registerCurrentCodeItemRepository(codeItemRepository);
+                    }
+                    this.codeItems = byId;
+                    this.supplier = null;
+                }
+                return this.codeItems;
+            }
+        }
+    }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import java.util.ArrayList;
@@ -57,14 +57,17 @@ public void setContent(List<? extends CodeItem> content) {
         for (var codeItem : content) {
             this.content.add(codeItem.getId());
         }
+        this.codeItemRepository.contentChanged();
     }
 
     public void addContent(CodeItem content) {
         this.content.add(content.getId());
+        this.codeItemRepository.contentChanged();
     }
 
     public void addContent(List<? extends CodeItem> content) {
         this.content.addAll(content.stream().map(CodeItem::getId).toList());
+        this.codeItemRepository.contentChanged();
     }
 
     public CodeModule getParent() {
@@ -84,19 +87,20 @@ public void setParent(CodeModule parent) {
         if (!this.codeItemRepository.containsCodeItem(this.parentId)) {
             this.codeItemRepository.addCodeItem(parent);
         }
+        this.codeItemRepository.contentChanged();
     }
 
     @Override
     public SortedSet<CodeCompilationUnit> getAllCompilationUnits() {
         SortedSet<CodeCompilationUnit> result = new TreeSet<>();
-        this.getContent().forEach(c -> result.addAll(c.getAllCompilationUnits()));
+        this.codeItemRepository.getCodeItemsFromIds(this.content, CodeModule.class).forEach(c -> result.addAll(c.getAllCompilationUnits()));
         return result;
     }
 
     @Override
     public SortedSet<CodePackage> getAllPackages() {
         SortedSet<CodePackage> result = new TreeSet<>();
-        this.getContent().forEach(c -> result.addAll(c.getAllPackages()));
+        this.codeItemRepository.getCodeItemsFromIds(this.content, CodeModule.class).forEach(c -> result.addAll(c.getAllPackages()));
         return result;
     }
 
@@ -48,7 +48,7 @@ public SortedSet<CodeCompilationUnit> getCompilationUnits() {
     public SortedSet<CodePackage> getAllPackages() {
         SortedSet<CodePackage> result = new TreeSet<>();
         result.add(this);
-        this.getContent().forEach(c -> result.addAll(c.getAllPackages()));
+        this.codeItemRepository.getCodeItemsFromIds(this.getContentIds(), CodeModule.class).forEach(c -> result.addAll(c.getAllPackages()));
         return result;
     }
 }
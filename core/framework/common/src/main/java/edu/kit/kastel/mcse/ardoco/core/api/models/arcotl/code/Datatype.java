@@ -103,18 +103,21 @@ public void setParentDatatype(Datatype parentDatatype) {
     }
 
     public void setExtendedTypes(SortedSet<Datatype> extendedDatatypes) {
+        this.extendedDataTypesIds.clear();
         for (Datatype datatype : extendedDatatypes) {
             this.extendedDataTypesIds.add(datatype.getId());
         }
     }
 
     public void setImplementedTypes(SortedSet<Datatype> implementedDatatypes) {
+        this.implementedDataTypesIds.clear();
         for (Datatype datatype : implementedDatatypes) {
             this.implementedDataTypesIds.add(datatype.getId());
         }
     }
 
     public void setDatatypeReference(SortedSet<Datatype> datatypeDependencies) {
+        this.datatypeReferencesIds.clear();
         for (Datatype datatype : datatypeDependencies) {
             this.datatypeReferencesIds.add(datatype.getId());
         }
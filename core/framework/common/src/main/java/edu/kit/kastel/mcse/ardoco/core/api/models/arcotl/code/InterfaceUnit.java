@@ -45,7 +45,7 @@ public List<CodeItem> getContent() {
     public List<Datatype> getAllDataTypes() {
         List<Datatype> result = new ArrayList<>();
         result.add(this);
-        this.getContent().forEach(c -> result.addAll(c.getAllDataTypes()));
+        this.codeItemRepository.getCodeItemsFromIds(this.content, Datatype.class).forEach(c -> result.addAll(c.getAllDataTypes()));
         return result;
     }
 
@@ -0,0 +1,136 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.tracelink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.multimap.list.ImmutableListMultimap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
+
+/**
+ * A hash join of trace links. The trace links of the second hop are indexed once by the id of their first endpoint, so that joining trace links of the first
+ * hop only needs one lookup per trace link instead of comparing it with every trace link of the second hop. Two trace links are joined if the id of the
+ * second endpoint of the first trace link equals the id of the first endpoint of the second trace link (see
+ * {@link TransitiveTraceLink#isValidTransitiveTraceLink(TraceLink, TraceLink)}).
+ * <p>
+ * A join is immutable and can be reused for several first hops, also concurrently. The order of the joined trace links only depends on the order of the
+ * trace links it was created from, even if the join is computed in parallel.
+ *
+ * @param <M> the type of the endpoints in the middle
+ * @param <B> the type of the second endpoints of the second hop
+ */
+public final class TraceLinkJoin<M extends Entity, B extends Entity> {
+
+    private final ImmutableListMultimap<String, TraceLink<M, B>> secondTraceLinksById;
+
+    private TraceLinkJoin(ImmutableListMultimap<String, TraceLink<M, B>> secondTraceLinksById) {
+        this.secondTraceLinksById = secondTraceLinksById;
+    }
+
+    /**
+     * Creates a join that indexes the specified trace links of the second hop.
+     *
+     * @param secondTraceLinks the trace links of the second hop
+     * @param <M>              the type of the endpoints in the middle
+     * @param <B>              the type of the second endpoints of the second hop
+     * @return the join
+     */
+    public static <M extends Entity, B extends Entity> TraceLinkJoin<M, B> of(Iterable<? extends TraceLink<M, B>> secondTraceLinks) {
+        return new TraceLinkJoin<>(index(secondTraceLinks));
+    }
+
+    /**
+     * Returns the indexed trace links whose first endpoint has the specified id.
+     *
+     * @param id the id of the first endpoint
+     * @return the trace links starting at the endpoint with the id, in their original order
+     */
+    public ImmutableList<TraceLink<M, B>> getTraceLinksFrom(String id) {
+        return this.secondTraceLinksById.get(id);
+    }
+
+    /**
+     * Joins the specified trace links of the first hop with the indexed trace links of the second hop.
+     *
+     * @param firstTraceLinks the trace links of the first hop
+     * @param parallel        whether the trace links of the first hop are joined in parallel
+     * @param <A>             the type of the first endpoints of the first hop
+     * @return the transitive trace links, ordered by the trace links of the first hop and then by the trace links of the second hop
+     */
+    public <A extends Entity> ImmutableList<TransitiveTraceLink<A, M, B>> join(Iterable<? extends TraceLink<A, M>> firstTraceLinks, boolean parallel) {
+        Stream<? extends TraceLink<A, M>> firstStream = StreamSupport.stream(firstTraceLinks.spliterator(), parallel);
+        List<TransitiveTraceLink<A, M, B>> joined = firstStream.<TransitiveTraceLink<A, M, B>>flatMap(firstTraceLink -> {
+            ImmutableList<TraceLink<M, B>> secondTraceLinks = this.getTraceLinksFrom(firstTraceLink.getSecondEndpoint().getId());
+            return secondTraceLinks.stream()
+                    .flatMap(secondTraceLink -> TransitiveTraceLink.createTransitiveTraceLink(firstTraceLink, secondTraceLink).stream());
+        }).toList();
+        return Lists.immutable.withAll(joined);
+    }
+
+    /**
+     * Joins trace links along a path of at least three hops. Every combination of one trace link per hop in which consecutive trace links are joined (see
+     * {@link TransitiveTraceLink#isValidTransitiveTraceLink(TraceLink, TraceLink)}) results in a {@link MultiHopTransitiveTraceLink}. Every hop after the
+     * first one is indexed once. Use {@link #join(Iterable, boolean)} for paths of two hops.
+     *
+     * @param firstTraceLinks        the trace links of the first hop
+     * @param intermediateTraceLinks the trace links of the intermediate hops, in the order of the path
+     * @param lastTraceLinks         the trace links of the last hop
+     * @param parallel               whether the trace links of the first hop are joined in parallel
+     * @param <A>                    the type of the first endpoints of the first hop
+     * @param <B>                    the type of the second endpoints of the last hop
+     * @return the transitive trace links, ordered by the trace links of the first hop and then by the trace links of the subsequent hops
+     * @throws IllegalArgumentException if there are no intermediate hops
+     */
+    public static <A extends Entity, B extends Entity> ImmutableList<MultiHopTransitiveTraceLink<A, B>> joinMultiHop(
+            Iterable<? extends TraceLink<A, ?>> firstTraceLinks, List<? extends Iterable<? extends TraceLink<?, ?>>> intermediateTraceLinks,
+            Iterable<? extends TraceLink<?, B>> lastTraceLinks, boolean parallel) {
+        if (intermediateTraceLinks.isEmpty()) {
+            throw new IllegalArgumentException("Please use " + TraceLinkJoin.class.getSimpleName() + "#join");
+        }
+
+        List<ImmutableListMultimap<String, TraceLink<?, ?>>> intermediateTraceLinksById = new ArrayList<>();
+        for (Iterable<? extends TraceLink<?, ?>> hop : intermediateTraceLinks) {
+            intermediateTraceLinksById.add(index(hop));
+        }
+        ImmutableListMultimap<String, TraceLink<?, B>> lastTraceLinksById = index(lastTraceLinks);
+
+        Stream<? extends TraceLink<A, ?>> firstStream = StreamSupport.stream(firstTraceLinks.spliterator(), parallel);
+        List<MultiHopTransitiveTraceLink<A, B>> joined = firstStream.<MultiHopTransitiveTraceLink<A, B>>flatMap(firstTraceLink -> {
+            Stream<List<TraceLink<?, ?>>> paths = Stream.of(List.of());
+            for (ImmutableListMultimap<String, TraceLink<?, ?>> hop : intermediateTraceLinksById) {
+                paths = extend(paths, firstTraceLink, hop);
+            }
+            return paths.flatMap(path -> lastTraceLinksById.get(path.getLast().getSecondEndpoint().getId())
+                    .stream()
+                    .flatMap(lastTraceLink -> MultiHopTransitiveTraceLink.createTransitiveTraceLink(firstTraceLink, lastTraceLink, path).stream()));
+        }).toList();
+        return Lists.immutable.withAll(joined);
+    }
+
+    /**
+     * Extends every path by each trace link of the hop that starts at the end of the path. An empty path ends at the second endpoint of the specified first
+     * trace link.
+     */
+    private static Stream<List<TraceLink<?, ?>>> extend(Stream<List<TraceLink<?, ?>>> paths, TraceLink<?, ?> firstTraceLink,
+            ImmutableListMultimap<String, TraceLink<?, ?>> hop) {
+        return paths.flatMap(path -> {
+            TraceLink<?, ?> end = path.isEmpty() ? firstTraceLink : path.getLast();
+            return hop.get(end.getSecondEndpoint().getId()).stream().map(traceLink -> {
+                List<TraceLink<?, ?>> extended = new ArrayList<>(path);
+                extended.add(traceLink);
+                return List.copyOf(extended);
+            });
+        });
+    }
+
+    private static <L extends TraceLink<?, ?>> ImmutableListMultimap<String, L> index(Iterable<? extends L> traceLinks) {
+        MutableList<L> traceLinkList = Lists.mutable.withAll(traceLinks);
+        return traceLinkList.groupBy(traceLink -> traceLink.getFirstEndpoint().getId()).toImmutable();
+    }
+}
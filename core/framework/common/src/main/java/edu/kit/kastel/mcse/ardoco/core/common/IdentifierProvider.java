@@ -1,11 +1,15 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common;
 
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class IdentifierProvider {
     private static final int INITIAL_VALUE = 1337;
     private static final AtomicInteger COUNTER = new AtomicInteger(INITIAL_VALUE);
+    private static final Pattern ID_PATTERN = Pattern.compile("acm(\\d{1,9})jsd");
 
     private IdentifierProvider() {
         // empty
@@ -19,4 +23,19 @@ public static String createId() {
     public static void reset() {
         COUNTER.set(INITIAL_VALUE);
     }
+
+    /**
+     * Makes sure that the identifiers created from now on differ from the specified identifiers, e.g., from the identifiers of a code model that was read in
+     * and is extended with new code items.
+     *
+     * @param usedIds the identifiers that are already in use
+     */
+    public static void skipUsedIds(Collection<String> usedIds) {
+        for (String usedId : usedIds) {
+            Matcher matcher = ID_PATTERN.matcher(usedId);
+            if (matcher.matches()) {
+                COUNTER.accumulateAndGet(Integer.parseInt(matcher.group(1)) + 1, Math::max);
+            }
+        }
+    }
 }
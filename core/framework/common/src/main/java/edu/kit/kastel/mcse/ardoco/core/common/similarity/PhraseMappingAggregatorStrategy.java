@@ -1,30 +1,21 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity;
 
-import static edu.kit.kastel.mcse.ardoco.core.common.similarity.SimilarityUtils.cosineSimilarity;
-import static edu.kit.kastel.mcse.ardoco.core.common.similarity.SimilarityUtils.uniqueDot;
-
 import java.util.function.ToDoubleBiFunction;
+import java.util.stream.DoubleStream;
+
+import org.eclipse.collections.api.list.ImmutableList;
 
 import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.PhraseMapping;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 
 @Deterministic
 public enum PhraseMappingAggregatorStrategy implements ToDoubleBiFunction<PhraseMapping, PhraseMapping> {
-    MAX_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .max()
-            .orElse(Double.NaN)), //
+    MAX_SIMILARITY((a, b) -> phraseSimilarities(a, b).max().orElse(Double.NaN)), //
 
-    MIN_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .min()
-            .orElse(Double.NaN)), //
+    MIN_SIMILARITY((a, b) -> phraseSimilarities(a, b).min().orElse(Double.NaN)), //
 
-    AVG_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .average()
-            .orElse(Double.NaN));
+    AVG_SIMILARITY((a, b) -> phraseSimilarities(a, b).average().orElse(Double.NaN));
 
     private final ToDoubleBiFunction<PhraseMapping, PhraseMapping> mapper;
 
@@ -36,4 +27,21 @@ public enum PhraseMappingAggregatorStrategy implements ToDoubleBiFunction<Phrase
     public double applyAsDouble(PhraseMapping phraseMapping, PhraseMapping phraseMapping2) {
         return this.mapper.applyAsDouble(phraseMapping, phraseMapping2);
     }
+
+    /**
+     * Calculates the cosine similarities of all pairs of phrases of the two phrase mappings. The term vector of every phrase is built only once.
+     */
+    private static DoubleStream phraseSimilarities(PhraseMapping a, PhraseMapping b) {
+        ImmutableList<TermVector> first = a.getPhrases().collect(p -> TermVector.of(p.getPhraseVector().castToSortedMap()));
+        ImmutableList<TermVector> second = b.getPhrases().collect(p -> TermVector.of(p.getPhraseVector().castToSortedMap()));
+
+        double[] similarities = new double[first.size() * second.size()];
+        int i = 0;
+        for (TermVector firstVector : first) {
+            for (TermVector secondVector : second) {
+                similarities[i++] = firstVector.cosineSimilarity(secondVector);
+            }
+        }
+        return DoubleStream.of(similarities);
+    }
 }
@@ -5,9 +5,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
-import org.apache.commons.text.similarity.CosineSimilarity;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
@@ -334,17 +332,7 @@ private boolean containsAllNounMappingsOfPhraseMapping(TextState textState, Phra
     }
 
     static double cosineSimilarity(Map<Word, Integer> firstPhraseVector, Map<Word, Integer> secondPhraseVector) {
-
-        CosineSimilarity cosineSimilarity = new CosineSimilarity();
-
-        Map<CharSequence, Integer> firstVector = firstPhraseVector.entrySet()
-                .stream()
-                .collect(Collectors.toMap(e -> e.getKey().getText(), Map.Entry::getValue));
-        Map<CharSequence, Integer> secondVector = secondPhraseVector.entrySet()
-                .stream()
-                .collect(Collectors.toMap(e -> e.getKey().getText(), Map.Entry::getValue));
-
-        return cosineSimilarity.cosineSimilarity(firstVector, secondVector);
+        return TermVector.of(firstPhraseVector).cosineSimilarity(TermVector.of(secondPhraseVector));
     }
 
     public PhraseMapping getMostSimilarPhraseMapping(TextState textState, PhraseMapping phraseMapping, ImmutableList<PhraseMapping> otherPhraseMappings,
@@ -0,0 +1,72 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+
+/**
+ * A sparse term-frequency vector of a phrase vector, keyed by the texts of the words. The norm is computed once, so a vector can be compared to many others
+ * without rebuilding it. The cosine similarity matches the one of commons-text's {@code CosineSimilarity}.
+ */
+final class TermVector {
+
+    private final Map<String, Integer> counts;
+    private final double squaredNorm;
+
+    private TermVector(Map<String, Integer> counts) {
+        this.counts = counts;
+        double sum = 0.0;
+        for (int count : counts.values()) {
+            sum += (double) count * count;
+        }
+        this.squaredNorm = sum;
+    }
+
+    /**
+     * Creates the term vector of the given phrase vector.
+     *
+     * @param phraseVector the phrase vector, mapping words to their number of occurrences
+     * @return the term vector
+     */
+    static TermVector of(Map<Word, Integer> phraseVector) {
+        Map<String, Integer> counts = new HashMap<>(phraseVector.size() * 2);
+        for (var entry : phraseVector.entrySet()) {
+            counts.merge(entry.getKey().getText(), entry.getValue(), Integer::sum);
+        }
+        return new TermVector(counts);
+    }
+
+    /**
+     * Creates the term vector with the given counts.
+     *
+     * @param counts the number of occurrences per term
+     * @return the term vector
+     */
+    static TermVector ofCounts(Map<String, Integer> counts) {
+        return new TermVector(new HashMap<>(counts));
+    }
+
+    /**
+     * Calculates the cosine similarity of this and the other vector.
+     *
+     * @param other the other vector
+     * @return the cosine similarity, or {@code 0.0} if one of the vectors is empty
+     */
+    double cosineSimilarity(TermVector other) {
+        if (this.squaredNorm <= 0.0 || other.squaredNorm <= 0.0) {
+            return 0.0;
+        }
+        Map<String, Integer> smaller = this.counts.size() <= other.counts.size() ? this.counts : other.counts;
+        Map<String, Integer> larger = smaller == this.counts ? other.counts : this.counts;
+        long dotProduct = 0;
+        for (var entry : smaller.entrySet()) {
+            Integer count = larger.get(entry.getKey());
+            if (count != null) {
+                dotProduct += entry.getValue() * (long) count;
+            }
+        }
+        return dotProduct / (Math.sqrt(this.squaredNorm) * Math.sqrt(other.squaredNorm));
+    }
+}
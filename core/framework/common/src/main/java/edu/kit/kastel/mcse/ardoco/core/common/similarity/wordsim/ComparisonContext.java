@@ -1,6 +1,7 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim;
 
+import java.util.Locale;
 import java.util.Objects;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
@@ -8,9 +9,23 @@
 /**
  * A ComparisonContext contains all information that can be used for comparing similarity between objects that occur within ArDoCo. The fields
  * {@link #firstString} and {@link #secondString} are always not null. The field {@link #lemmatize} decides whether the lemmatized version of both words should
- * be used for comparison.
+ * be used for comparison. The field {@link #lowerCase} states that the caller already lower-cased both terms, so case-insensitive measures can skip
+ * normalizing them again.
  */
-public record ComparisonContext(String firstString, String secondString, Word firstWord, Word secondWord, boolean lemmatize) {
+public record ComparisonContext(String firstString, String secondString, Word firstWord, Word secondWord, boolean lemmatize, boolean lowerCase) {
+
+    /**
+     * Constructs a context whose terms are not known to be lower case.
+     *
+     * @param firstString  the first string
+     * @param secondString the second string
+     * @param firstWord    the first word, may be null
+     * @param secondWord   the second word, may be null
+     * @param lemmatize    whether the words should be lemmatized
+     */
+    public ComparisonContext(String firstString, String secondString, Word firstWord, Word secondWord, boolean lemmatize) {
+        this(firstString, secondString, firstWord, secondWord, lemmatize, false);
+    }
 
     /**
      * Constructs a string-based context with the default match function and no lemmatization.
@@ -66,6 +81,24 @@ public String secondTerm() {
         return this.findAppropriateTerm(this.secondString, this.secondWord);
     }
 
+    /**
+     * Returns the {@link #firstTerm() first term} in lower case. If the context is marked as {@link #lowerCase}, the term is returned as is.
+     *
+     * @return the first term in lower case
+     */
+    public String firstTermLowerCase() {
+        return this.lowerCase ? this.firstTerm() : this.firstTerm().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the {@link #secondTerm() second term} in lower case. If the context is marked as {@link #lowerCase}, the term is returned as is.
+     *
+     * @return the second term in lower case
+     */
+    public String secondTermLowerCase() {
+        return this.lowerCase ? this.secondTerm() : this.secondTerm().toLowerCase(Locale.ROOT);
+    }
+
     private String findAppropriateTerm(String string, Word word) {
         Objects.requireNonNull(string);
 
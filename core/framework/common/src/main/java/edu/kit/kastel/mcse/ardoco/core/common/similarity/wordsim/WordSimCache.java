@@ -0,0 +1,199 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import org.eclipse.collections.api.factory.Maps;
+
+/**
+ * A bounded, thread-safe memoization cache for word similarity results. Entries are keyed by the compared terms, the lemmatization flag of the
+ * {@link ComparisonContext} and the strategy that combined the measures. If all measures are symmetric, the order of the terms is ignored, so that
+ * {@code (a, b)} and {@code (b, a)} share one entry. The cache is split into independently locked LRU segments.
+ * <p>
+ * The cache does not know which measures produced a result. Whoever uses it has to {@link #clear()} it when the measures change. Besides hit, miss and
+ * eviction counters, the cache records how often and how long each measure was evaluated on cache misses (see {@link #instrument(List)}).
+ */
+public final class WordSimCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<String, MeasureCounter> measureCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new cache that holds at most the given number of entries.
+     *
+     * @param maxEntries the maximum number of entries
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public WordSimCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Returns the cached result for the given comparison or computes and caches it. The computation never runs while a lock is held.
+     *
+     * @param ctx       the comparison context
+     * @param strategy  the strategy that combines the measures, part of the key
+     * @param symmetric whether the order of the compared terms can be ignored
+     * @param compute   computes the result on a cache miss
+     * @return the cached or computed result
+     */
+    public double get(ComparisonContext ctx, Object strategy, boolean symmetric, DoubleSupplier compute) {
+        Key key = Key.of(ctx.firstTerm(), ctx.secondTerm(), ctx.lemmatize(), Objects.requireNonNull(strategy), symmetric);
+        Segment segment = this.segments[(key.hashCode() ^ (key.hashCode() >>> 16)) & (SEGMENTS - 1)];
+
+        Double cached = segment.lookup(key);
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+
+        this.misses.increment();
+        double result = compute.getAsDouble();
+        segment.store(key, result);
+        return result;
+    }
+
+    /**
+     * Wraps the given measures so that their evaluations are recorded in the statistics of this cache.
+     *
+     * @param measures the measures to wrap
+     * @return the wrapped measures, in the same order
+     */
+    public List<WordSimMeasure> instrument(List<WordSimMeasure> measures) {
+        List<WordSimMeasure> instrumented = new ArrayList<>(measures.size());
+        for (WordSimMeasure measure : measures) {
+            instrumented.add(new InstrumentedMeasure(measure,
+                    this.measureCounters.computeIfAbsent(measure.getClass().getSimpleName(), name -> new MeasureCounter())));
+        }
+        return instrumented;
+    }
+
+    /**
+     * Removes all entries from this cache. The statistics are kept.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clearAll();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     *
+     * @return the current statistics
+     */
+    public WordSimCacheStatistics getStatistics() {
+        long entries = 0;
+        for (Segment segment : this.segments) {
+            entries += segment.currentSize();
+        }
+        Map<String, WordSimCacheStatistics.MeasureStatistics> measures = new LinkedHashMap<>();
+        this.measureCounters.forEach((name, counter) -> measures.put(name, new WordSimCacheStatistics.MeasureStatistics(counter.evaluations.sum(),
+                counter.nanos.sum())));
+        return new WordSimCacheStatistics(this.hits.sum(), this.misses.sum(), this.evictions.sum(), entries, this.maxEntries, Maps.immutable.withAll(
+                measures));
+    }
+
+    private record Key(String first, String second, boolean lemmatize, Object strategy) {
+        static Key of(String first, String second, boolean lemmatize, Object strategy, boolean symmetric) {
+            if (symmetric && first.compareTo(second) > 0) {
+                return new Key(second, first, lemmatize, strategy);
+            }
+            return new Key(first, second, lemmatize, strategy);
+        }
+    }
+
+    private static final class MeasureCounter {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    private record InstrumentedMeasure(WordSimMeasure delegate, MeasureCounter counter) implements WordSimMeasure {
+        @Override
+        public boolean areWordsSimilar(ComparisonContext ctx) {
+            long start = System.nanoTime();
+            try {
+                return this.delegate.areWordsSimilar(ctx);
+            } finally {
+                this.record(start);
+            }
+        }
+
+        @Override
+        public double getSimilarity(ComparisonContext ctx) {
+            long start = System.nanoTime();
+            try {
+                return this.delegate.getSimilarity(ctx);
+            } finally {
+                this.record(start);
+            }
+        }
+
+        @Override
+        public boolean isSymmetric() {
+            return this.delegate.isSymmetric();
+        }
+
+        private void record(long start) {
+            this.counter.nanos.add(System.nanoTime() - start);
+            this.counter.evaluations.increment();
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Key, Double> {
+        private static final long serialVersionUID = 4113938423496226401L;
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        private synchronized Double lookup(Key key) {
+            return this.get(key);
+        }
+
+        private synchronized void store(Key key, double value) {
+            this.put(key, value);
+        }
+
+        private synchronized int currentSize() {
+            return this.size();
+        }
+
+        private synchronized void clearAll() {
+            this.clear();
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+            if (this.size() > this.maxSize) {
+                WordSimCache.this.evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
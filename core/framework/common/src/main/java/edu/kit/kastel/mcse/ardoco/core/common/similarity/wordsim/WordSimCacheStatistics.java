@@ -0,0 +1,36 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+
+/**
+ * A snapshot of the statistics of a {@link WordSimCache}.
+ *
+ * @param hits       the number of comparisons answered by the cache
+ * @param misses     the number of comparisons that had to be computed
+ * @param evictions  the number of entries evicted to stay within the bound
+ * @param entries    the number of entries currently cached
+ * @param maxEntries the maximum number of entries
+ * @param measures   the evaluation statistics per measure, keyed by the simple class name of the measure
+ */
+public record WordSimCacheStatistics(long hits, long misses, long evictions, long entries, int maxEntries, ImmutableMap<String, MeasureStatistics> measures) {
+
+    /**
+     * Calculates the ratio of comparisons that were answered by the cache.
+     *
+     * @return the hit rate between 0.0 and 1.0, or {@code 0.0} if no comparison has been performed yet
+     */
+    public double hitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0.0 : (double) this.hits / lookups;
+    }
+
+    /**
+     * The evaluation statistics of a single measure.
+     *
+     * @param evaluations the number of times the measure was evaluated
+     * @param totalNanos  the accumulated evaluation time in nanoseconds
+     */
+    public record MeasureStatistics(long evaluations, long totalNanos) {
+    }
+}
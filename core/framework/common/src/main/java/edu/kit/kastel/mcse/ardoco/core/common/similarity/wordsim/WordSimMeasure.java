@@ -21,4 +21,14 @@ public interface WordSimMeasure {
      * @return Similarity in range [0,1]
      */
     double getSimilarity(ComparisonContext ctx);
+
+    /**
+     * Returns whether this measure yields the same results if the two words of a comparison are swapped. Caches may only merge the two orders of a word
+     * pair if all involved measures are symmetric.
+     *
+     * @return {@code true} if the measure is symmetric
+     */
+    default boolean isSymmetric() {
+        return false;
+    }
 }
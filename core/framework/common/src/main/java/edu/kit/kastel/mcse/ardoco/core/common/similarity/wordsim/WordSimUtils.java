@@ -3,7 +3,9 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.eclipse.collections.api.factory.Lists;
@@ -16,6 +18,7 @@
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.strategy.AverageStrategy;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.strategy.ComparisonStrategy;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.strategy.SimilarityStrategy;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 
 /**
  * A static class that provides various utility methods to calculate similarity between different kinds of objects. This class statically keeps a reference to a
@@ -23,12 +26,18 @@
  * and {@link #setStrategy(ComparisonStrategy)} methods. Any calls to methods that provide their own measures or strategies will not utilize these fallbacks.
  * Any calls that do not provide their own measures or strategies will utilize them. As of right now, no protections against simultaneous write access from
  * multiple threads exist. Therefore, this class is not threadsafe.
+ * <p>
+ * Results of comparisons can be memoized in a {@link WordSimCache} (see {@link #setPairCache(WordSimCache)}). By default, a cache with
+ * {@link CommonTextToolsConfig#WORDSIM_PAIR_CACHE_SIZE} entries is used; a size of {@code 0} disables it. The cache is cleared whenever the measures change.
  */
 public class WordSimUtils {
 
     private MutableList<WordSimMeasure> measures = Lists.mutable.withAll(WordSimLoader.loadUsingProperties());
     private ComparisonStrategy strategy = ComparisonStrategy.AT_LEAST_ONE;
     private SimilarityStrategy similarityStrategy = new AverageStrategy();
+    private WordSimCache pairCache = CommonTextToolsConfig.WORDSIM_PAIR_CACHE_SIZE > 0 ? new WordSimCache(CommonTextToolsConfig.WORDSIM_PAIR_CACHE_SIZE) : null;
+    private boolean measuresSymmetric = this.measures.allSatisfy(WordSimMeasure::isSymmetric);
+    private volatile InstrumentedMeasures instrumentedMeasures;
 
     /**
      * Sets which measures should be used for similarity comparison. The specified collection of measures will be used for all subsequent comparisons.
@@ -37,6 +46,7 @@ public class WordSimUtils {
      */
     public void setMeasures(Collection<WordSimMeasure> measures) {
         this.measures = Lists.mutable.withAll(measures);
+        this.measuresChanged();
     }
 
     /**
@@ -46,7 +56,37 @@ public void setMeasures(Collection<WordSimMeasure> measures) {
      * @return Whether the measure was added successfully
      */
     public boolean addMeasure(WordSimMeasure measure) {
-        return this.measures.add(measure);
+        boolean added = this.measures.add(measure);
+        this.measuresChanged();
+        return added;
+    }
+
+    /**
+     * Sets the cache that memoizes the results of comparisons. Pass {@code null} to disable memoization. A cache may be shared between several instances as
+     * long as they use the same measures.
+     *
+     * @param pairCache the cache to use, or {@code null}
+     */
+    public void setPairCache(WordSimCache pairCache) {
+        this.pairCache = pairCache;
+        this.instrumentedMeasures = null;
+    }
+
+    /**
+     * Returns the cache that memoizes the results of comparisons, if memoization is enabled.
+     *
+     * @return the cache
+     */
+    public Optional<WordSimCache> getPairCache() {
+        return Optional.ofNullable(this.pairCache);
+    }
+
+    private void measuresChanged() {
+        this.measuresSymmetric = this.measures.allSatisfy(WordSimMeasure::isSymmetric);
+        this.instrumentedMeasures = null;
+        if (this.pairCache != null) {
+            this.pairCache.clear();
+        }
     }
 
     /**
@@ -78,18 +118,47 @@ public boolean areWordsSimilar(ComparisonContext ctx, ComparisonStrategy strateg
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(strategy);
 
+        WordSimCache cache = this.pairCache;
+        if (cache == null) {
+            return this.computeAreWordsSimilar(ctx, strategy, this.measures.toList());
+        }
+        List<WordSimMeasure> instrumented = this.getInstrumentedMeasures(cache).measures();
+        return cache.get(ctx, strategy, this.measuresSymmetric, () -> this.computeAreWordsSimilar(ctx, strategy, instrumented) ?
+                1.0 :
+                0.0) != 0.0;
+    }
+
+    private boolean computeAreWordsSimilar(ComparisonContext ctx, ComparisonStrategy strategy, List<WordSimMeasure> measures) {
         // Currently, we need the split test as it improves results by a lot. In the future, we should try to avoid its requirement
         if (!this.splitLengthTest(ctx)) {
             return false;
         }
 
-        return strategy.areWordsSimilar(ctx, this.measures.toList());
+        return strategy.areWordsSimilar(ctx, measures);
     }
 
     private boolean splitLengthTest(ComparisonContext ctx) {
-        var first = ctx.firstTerm().toLowerCase();
-        var second = ctx.secondTerm().toLowerCase();
-        return (first.split(" ").length == second.split(" ").length);
+        return countSplitParts(ctx.firstTerm()) == countSplitParts(ctx.secondTerm());
+    }
+
+    /**
+     * Counts the parts {@code term.split(" ")} would return without creating them. Like {@link String#split(String)}, trailing empty parts are dropped.
+     */
+    private static int countSplitParts(String term) {
+        int end = term.length();
+        while (end > 0 && term.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end == 0) {
+            return term.isEmpty() ? 1 : 0;
+        }
+        int parts = 1;
+        for (int i = 0; i < end; i++) {
+            if (term.charAt(i) == ' ') {
+                parts++;
+            }
+        }
+        return parts;
     }
 
     /**
@@ -186,14 +255,38 @@ public boolean areWordsSimilar(String firstWord, Word secondWord, ComparisonStra
      * @return Returns similarity in range [0,1]
      */
     public double getSimilarity(String firstWord, String secondWord, SimilarityStrategy strategy, boolean ignoreCase) {
-        var allMeasuresExceptDefault = this.measures.stream().filter(m -> !(m instanceof EqualityMeasure)).collect(Collectors.toCollection(ArrayList::new));
+        var ctx = new ComparisonContext(ignoreCase ? firstWord.toLowerCase() : firstWord, ignoreCase ? secondWord.toLowerCase() : secondWord, null, null,
+                false, ignoreCase);
+        WordSimCache cache = this.pairCache;
+        if (cache == null) {
+            return strategy.getSimilarity(ctx, similarityMeasures(this.measures));
+        }
+        List<WordSimMeasure> instrumented = this.getInstrumentedMeasures(cache).similarityMeasures();
+        return cache.get(ctx, strategy, this.measuresSymmetric, () -> strategy.getSimilarity(ctx, instrumented));
+    }
+
+    private static List<WordSimMeasure> similarityMeasures(List<WordSimMeasure> measures) {
+        var allMeasuresExceptDefault = measures.stream().filter(m -> !(m instanceof EqualityMeasure)).collect(Collectors.toCollection(ArrayList::new));
         if (allMeasuresExceptDefault.isEmpty()) {
             allMeasuresExceptDefault.add(new EqualityMeasure());
         }
+        return allMeasuresExceptDefault;
+    }
+
+    /**
+     * Returns the measures wrapped for the statistics of the given cache. The wrappers are created once per configuration of measures and cache.
+     */
+    private InstrumentedMeasures getInstrumentedMeasures(WordSimCache cache) {
+        InstrumentedMeasures instrumented = this.instrumentedMeasures;
+        if (instrumented == null || instrumented.cache() != cache) {
+            instrumented = new InstrumentedMeasures(cache, List.copyOf(cache.instrument(this.measures)), List.copyOf(cache.instrument(similarityMeasures(
+                    this.measures))));
+            this.instrumentedMeasures = instrumented;
+        }
+        return instrumented;
+    }
 
-        return strategy.getSimilarity(new ComparisonContext(ignoreCase ? firstWord.toLowerCase() : firstWord, ignoreCase ?
-                secondWord.toLowerCase() :
-                secondWord, null, null, false), allMeasuresExceptDefault);
+    private record InstrumentedMeasures(WordSimCache cache, List<WordSimMeasure> measures, List<WordSimMeasure> similarityMeasures) {
     }
 
     /**
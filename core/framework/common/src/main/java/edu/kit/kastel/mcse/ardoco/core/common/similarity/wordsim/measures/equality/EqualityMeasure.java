@@ -18,4 +18,9 @@ public boolean areWordsSimilar(ComparisonContext ctx) {
     public double getSimilarity(ComparisonContext ctx) {
         return this.areWordsSimilar(ctx) ? 1 : 0;
     }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
 }
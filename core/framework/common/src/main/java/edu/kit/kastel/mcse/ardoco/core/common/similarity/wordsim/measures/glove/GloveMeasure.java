@@ -2,7 +2,6 @@
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.glove;
 
 import java.nio.file.Path;
-import java.sql.SQLException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,18 +9,22 @@
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.ComparisonContext;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.RetrieveVectorException;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.VectorBasedWordSimMeasure;
-import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.VectorSqliteDatabase;
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.WordVectorCache;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.WordVectorDataSource;
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector.WordVectorDataSourceRegistry;
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 
 /**
  * This word similarity measures utilizes GloVe trained word vector representations to calculate word similarity. It retrieves vectors for each word and
- * compares them using cosine similarity. This measure additionally manages a cache to improve lookup speeds.
+ * compares them using cosine similarity. Unless a dedicated {@link WordVectorCache} is passed, all GloVe measures share one bounded vector cache. Database
+ * connections are shared through the {@link WordVectorDataSourceRegistry}.
  */
 public class GloveMeasure extends VectorBasedWordSimMeasure {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GloveMeasure.class);
 
+    private static final WordVectorCache SHARED_CACHE = new WordVectorCache(CommonTextToolsConfig.GLOVE_CACHE_SIZE_MB * 1024L * 1024L);
+
     private final double similarityThreshold;
 
     /**
@@ -32,12 +35,24 @@ public GloveMeasure() {
     }
 
     /**
-     * Constructs a new {@link GloveMeasure} instance.
+     * Constructs a new {@link GloveMeasure} instance that uses the vector cache shared by all GloVe measures.
      *
      * @param similarityThreshold the threshold above which words are considered similar, between 0 and 1
      * @throws IllegalArgumentException if the given threshold is not between 0 and 1
      */
     public GloveMeasure(double similarityThreshold) throws IllegalArgumentException {
+        this(similarityThreshold, SHARED_CACHE);
+    }
+
+    /**
+     * Constructs a new {@link GloveMeasure} instance.
+     *
+     * @param similarityThreshold the threshold above which words are considered similar, between 0 and 1
+     * @param vectorCache         the cache for word vectors
+     * @throws IllegalArgumentException if the given threshold is not between 0 and 1
+     */
+    public GloveMeasure(double similarityThreshold, WordVectorCache vectorCache) throws IllegalArgumentException {
+        super(vectorCache);
         this.similarityThreshold = similarityThreshold;
 
         if (similarityThreshold < 0.0 || similarityThreshold > 1.0) {
@@ -62,10 +77,6 @@ public double getSimilarity(ComparisonContext ctx) {
 
     @Override
     protected WordVectorDataSource getVectorDataSource() {
-        try {
-            return new VectorSqliteDatabase(Path.of(CommonTextToolsConfig.GLOVE_DB_FILE_PATH));
-        } catch (SQLException e) {
-            throw new IllegalArgumentException(e);
-        }
+        return WordVectorDataSourceRegistry.getDataSource(Path.of(CommonTextToolsConfig.GLOVE_DB_FILE_PATH));
     }
 }
@@ -9,9 +9,19 @@
 
 /**
  * This word similarity measure uses the jaro winkler algorithm to calculate similarity.
+ * <p>
+ * Before computing the similarity in {@link #areWordsSimilar(ComparisonContext)}, the measure derives an upper bound from the lengths of the words, the
+ * characters they have in common and their common prefix. Word pairs whose bound is already below the threshold are rejected without running the full
+ * algorithm.
  */
 public class JaroWinklerMeasure implements WordSimMeasure {
 
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_PREFIX = 4;
+    private static final double PREFIX_SCALING = 0.1;
+    private static final double BOOST_THRESHOLD = 0.7;
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[128]);
+
     private final JaroWinklerSimilarity jaroWinklerSimilarity = new JaroWinklerSimilarity();
 
     private final double similarityThreshold;
@@ -39,7 +49,12 @@ public JaroWinklerMeasure(double similarityThreshold) throws IllegalArgumentExce
 
     @Override
     public boolean areWordsSimilar(ComparisonContext ctx) {
-        double similarity = this.getSimilarity(ctx);
+        String firstWord = ctx.firstTerm();
+        String secondWord = ctx.secondTerm();
+        if (upperBound(firstWord, secondWord) < this.similarityThreshold - EPSILON) {
+            return false;
+        }
+        double similarity = this.jaroWinklerSimilarity.apply(firstWord, secondWord);
         return similarity >= this.similarityThreshold;
     }
 
@@ -48,4 +63,77 @@ public double getSimilarity(ComparisonContext ctx) {
         return this.jaroWinklerSimilarity.apply(ctx.firstTerm(), ctx.secondTerm());
     }
 
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    /**
+     * Calculates an upper bound of the jaro winkler similarity of the given words. The number of matching characters can neither exceed the length of the
+     * shorter word nor the number of characters both words have in common, and transpositions can only lower the similarity.
+     *
+     * @param firstWord  the first word
+     * @param secondWord the second word
+     * @return a value that is at least the jaro winkler similarity of the words
+     */
+    static double upperBound(String firstWord, String secondWord) {
+        int shorter = Math.min(firstWord.length(), secondWord.length());
+        if (shorter == 0) {
+            return firstWord.equals(secondWord) ? 1.0 : 0.0;
+        }
+
+        int matches = Math.min(shorter, commonCharacters(firstWord, secondWord));
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        double jaro = (matches / (double) firstWord.length() + matches / (double) secondWord.length() + 1.0) / 3.0;
+        if (jaro < BOOST_THRESHOLD) {
+            return jaro;
+        }
+
+        int prefix = 0;
+        while (prefix < Math.min(MAX_PREFIX, shorter) && firstWord.charAt(prefix) == secondWord.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + PREFIX_SCALING * prefix * (1.0 - jaro);
+    }
+
+    /**
+     * Counts the characters both words have in common, respecting multiplicities. Only ASCII characters are counted exactly; if a word contains other
+     * characters, the length of the shorter word is returned.
+     */
+    private static int commonCharacters(String firstWord, String secondWord) {
+        int shorter = Math.min(firstWord.length(), secondWord.length());
+        int[] histogram = HISTOGRAM.get();
+        int common = 0;
+        try {
+            for (int i = 0; i < firstWord.length(); i++) {
+                char c = firstWord.charAt(i);
+                if (c >= histogram.length) {
+                    return shorter;
+                }
+                histogram[c]++;
+            }
+            for (int i = 0; i < secondWord.length(); i++) {
+                char c = secondWord.charAt(i);
+                if (c >= histogram.length) {
+                    return shorter;
+                }
+                if (histogram[c] > 0) {
+                    histogram[c]--;
+                    common++;
+                }
+            }
+            return common;
+        } finally {
+            for (int i = 0; i < firstWord.length(); i++) {
+                char c = firstWord.charAt(i);
+                if (c < histogram.length) {
+                    histogram[c] = 0;
+                }
+            }
+        }
+    }
+
 }
@@ -20,10 +20,17 @@
  * <li><b>threshold:</b> A number between 0 and 1 that serves as a word-dependent distance limit. The levenshtein
  * distance between the words must be lower than the threshold multiplied by the length of the shorter word.</li>
  * </ul>
+ * As the minLength condition only considers the first word, this measure is not {@link #isSymmetric() symmetric}.
+ * <p>
+ * {@link #areWordsSimilar(ComparisonContext)} only needs to know whether the distance stays within the limit, so it uses the banded (Ukkonen-style)
+ * variant of the levenshtein distance that gives up as soon as the limit is exceeded.
  */
 public class LevenshteinMeasure implements WordSimMeasure {
 
+    private static final int MAX_CACHED_LIMIT = 64;
+
     private final LevenshteinDistance levenshteinDistance = new LevenshteinDistance();
+    private final LevenshteinDistance[] boundedDistances;
     private final int minLength;
     private final int maxDistance;
     private final double threshold;
@@ -58,30 +65,49 @@ public LevenshteinMeasure(int minLength, int maxDistance, double threshold) {
         if (threshold < 0.0 || threshold > 1.0) {
             throw new IllegalArgumentException("threshold outside of valid range: " + threshold);
         }
+
+        this.boundedDistances = new LevenshteinDistance[Math.min(maxDistance, MAX_CACHED_LIMIT) + 1];
+        for (int limit = 0; limit < this.boundedDistances.length; limit++) {
+            this.boundedDistances[limit] = new LevenshteinDistance(limit);
+        }
     }
 
     @Override
     public boolean areWordsSimilar(ComparisonContext ctx) {
-        // FIXME cast to lower case seems unwarranted given that this is delegated to WordSimUtils already
-        String firstWord = ctx.firstTerm().toLowerCase();
-        String secondWord = ctx.secondTerm().toLowerCase();
-
-        int maxDynamicDistance = (int) Math.min(this.maxDistance, this.threshold * Math.min(firstWord.length(), secondWord.length()));
-        int distance = this.levenshteinDistance.apply(firstWord, secondWord);
+        String firstWord = ctx.firstTermLowerCase();
+        String secondWord = ctx.secondTermLowerCase();
 
         if (firstWord.length() <= this.minLength) {
-            return distance <= this.maxDistance && (secondWord.contains(firstWord) || firstWord.contains(secondWord));
+            return (secondWord.contains(firstWord) || firstWord.contains(secondWord)) && this.isWithinDistance(firstWord, secondWord, this.maxDistance);
         }
-        return distance <= maxDynamicDistance;
+
+        int maxDynamicDistance = (int) Math.min(this.maxDistance, this.threshold * Math.min(firstWord.length(), secondWord.length()));
+        return this.isWithinDistance(firstWord, secondWord, maxDynamicDistance);
     }
 
     @Override
     public double getSimilarity(ComparisonContext ctx) {
-        // FIXME cast to lower case seems unwarranted given that this is delegated to WordSimUtils already
-        String firstWord = ctx.firstTerm().toLowerCase();
-        String secondWord = ctx.secondTerm().toLowerCase();
+        String firstWord = ctx.firstTermLowerCase();
+        String secondWord = ctx.secondTermLowerCase();
         int distance = this.levenshteinDistance.apply(firstWord, secondWord);
         return 1.0 - (distance / (double) Math.max(firstWord.length(), secondWord.length()));
     }
 
+    /**
+     * Checks whether the levenshtein distance of the given words is at most the given limit. Only the diagonal band of width {@code 2 * limit + 1} is
+     * computed.
+     *
+     * @param firstWord  the first word
+     * @param secondWord the second word
+     * @param limit      the maximum distance
+     * @return whether the distance does not exceed the limit
+     */
+    boolean isWithinDistance(String firstWord, String secondWord, int limit) {
+        if (Math.abs(firstWord.length() - secondWord.length()) > limit) {
+            return false;
+        }
+        LevenshteinDistance bounded = limit < this.boundedDistances.length ? this.boundedDistances[limit] : new LevenshteinDistance(limit);
+        return bounded.apply(firstWord, secondWord) >= 0;
+    }
+
 }
@@ -1,6 +1,7 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.ngram;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.ComparisonContext;
@@ -8,11 +9,14 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 
 /**
- * This word similarity measure uses the N-gram word distance function defined by Kondrak 2005.
+ * This word similarity measure uses the N-gram word distance function defined by Kondrak 2005. The distance is computed with two rolling rows over
+ * thread-local buffers, and {@link #areWordsSimilar(ComparisonContext)} stops as soon as the similarity threshold can no longer be reached.
  */
 public class NgramMeasure implements WordSimMeasure {
 
     private static final char LUCENE_PREFIX_CHARACTER = '\n';
+    private static final double EPSILON = 1e-9;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
     /**
      * The variants of this algorithm
@@ -65,7 +69,13 @@ public NgramMeasure(Variant variant, int n, double similarityThreshold) throws I
     @Override
     public boolean areWordsSimilar(ComparisonContext ctx) {
         Objects.requireNonNull(ctx);
-        return this.getSimilarity(ctx) >= this.similarityThreshold;
+        String first = ctx.firstTerm();
+        String second = ctx.secondTerm();
+        int maxLength = Math.max(first.length(), second.length());
+
+        // similarity >= threshold <=> distance <= (1 - threshold) * maxLength, so larger distances do not need to be computed exactly
+        double distance = this.calculateDistance(first, second, (1.0 - this.similarityThreshold) * maxLength);
+        return 1.0 - distance / maxLength >= this.similarityThreshold;
     }
 
     @Override
@@ -77,6 +87,11 @@ public double getSimilarity(ComparisonContext ctx) {
         return 1.0 - normalizedDistance;
     }
 
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
     /**
      * Calculates the distance between the two given strings.
      *
@@ -85,60 +100,81 @@ public double getSimilarity(ComparisonContext ctx) {
      * @return the distance
      */
     public double calculateDistance(String x, String y) {
+        return this.calculateDistance(x, y, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Calculates the distance between the two given strings, but stops as soon as the distance is known to exceed the given bound. The minimum of each row
+     * of the dynamic programming matrix never decreases, and the distance is at least the difference of the lengths of both strings, which allows to stop
+     * early.
+     *
+     * @param x           the first string
+     * @param y           the second string
+     * @param maxDistance the largest distance the caller is interested in
+     * @return the exact distance if it is at most {@code maxDistance}, otherwise some value greater than {@code maxDistance}
+     */
+    public double calculateDistance(String x, String y, double maxDistance) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
-        StringBuilder xBuilder = new StringBuilder(x);
-        StringBuilder yBuilder = new StringBuilder(y);
 
-        if (xBuilder.isEmpty() || yBuilder.isEmpty()) {
-            return Math.max(xBuilder.length(), yBuilder.length());
+        int k = x.length();
+        int l = y.length();
+        if (k == 0 || l == 0) {
+            return Math.max(k, l);
         }
-
-        int k = xBuilder.length();
-        int l = yBuilder.length();
-        double[][] d = new double[k + 1][l + 1];
-
-        for (int u = 1; u <= this.n - 1; u++) {
-            if (this.variant == Variant.LUCENE) {
-                xBuilder = new StringBuilder().append(LUCENE_PREFIX_CHARACTER).append(xBuilder);
-                yBuilder = new StringBuilder().append(LUCENE_PREFIX_CHARACTER).append(yBuilder);
-            } else if (this.variant == Variant.POSITIONAL) {
-                xBuilder = new StringBuilder().append(xBuilder.charAt(0)).append(xBuilder);
-                yBuilder = new StringBuilder().append(yBuilder.charAt(0)).append(yBuilder);
-            } else {
-                throw new UnsupportedOperationException("unknown variant: " + this.variant);
-            }
+        if (Math.abs(k - l) > maxDistance + EPSILON) {
+            return Math.abs(k - l);
         }
 
-        for (int i = 0; i <= k; i++) {
-            d[i][0] = i;
-        }
+        Scratch scratch = SCRATCH.get().ensureCapacity(k + this.n - 1, l + this.n - 1);
+        char[] xs = this.pad(x, scratch.x);
+        char[] ys = this.pad(y, scratch.y);
+        double[] previous = scratch.previous;
+        double[] current = scratch.current;
 
-        for (int j = 1; j <= l; j++) {
-            d[0][j] = j;
+        for (int j = 0; j <= l; j++) {
+            previous[j] = j;
         }
 
         for (int i = 1; i <= k; i++) {
+            current[0] = i;
+            double rowMinimum = current[0];
             for (int j = 1; j <= l; j++) {
-                double dN = this.dN(this.n, i - 1, j - 1, xBuilder.toString(), yBuilder.toString());
-
-                d[i][j] = this.min(d[i - 1][j] + 1.0, d[i][j - 1] + 1.0, d[i - 1][j - 1] + dN);
+                double dN = this.dN(i - 1, j - 1, xs, ys);
+                current[j] = this.min(previous[j] + 1.0, current[j - 1] + 1.0, previous[j - 1] + dN);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance + EPSILON) {
+                return rowMinimum;
             }
+
+            double[] swap = previous;
+            previous = current;
+            current = swap;
         }
 
-        return d[k][l];
+        return previous[l];
     }
 
-    private double dN(int n, int i, int j, String x, String y) {
-        double sum = 0.0;
-        double actualN = n;
-
-        for (int u = 1; u <= n; u++) {
-            double diff = this.d1(x.charAt(i + u - 1), y.charAt(j + u - 1));
+    private char[] pad(String word, char[] target) {
+        char prefix = switch (this.variant) {
+        case LUCENE -> LUCENE_PREFIX_CHARACTER;
+        case POSITIONAL -> word.charAt(0);
+        };
+        Arrays.fill(target, 0, this.n - 1, prefix);
+        word.getChars(0, word.length(), target, this.n - 1);
+        return target;
+    }
 
-            sum += diff;
+    private double dN(int i, int j, char[] x, char[] y) {
+        double sum = 0.0;
+        double actualN = this.n;
 
-            if (this.variant == Variant.LUCENE && diff == 0 && x.charAt(i + u - 1) == LUCENE_PREFIX_CHARACTER) {
+        for (int u = 0; u < this.n; u++) {
+            char xChar = x[i + u];
+            if (xChar != y[j + u]) {
+                sum += 1.0;
+            } else if (this.variant == Variant.LUCENE && xChar == LUCENE_PREFIX_CHARACTER) {
                 actualN -= 1.0; // Ignore prefix character in LUCENE mode
             }
         }
@@ -146,12 +182,32 @@ private double dN(int n, int i, int j, String x, String y) {
         return (1.0 / actualN) * sum;
     }
 
-    private double d1(char xChar, char yChar) {
-        return xChar == yChar ? 0.0 : 1.0;
-    }
-
     private double min(double a, double b, double c) {
         return Math.min(a, Math.min(b, c));
     }
 
+    /**
+     * Per-thread buffers, so that distance calculations do not allocate once the buffers are large enough.
+     */
+    private static final class Scratch {
+        private char[] x = new char[32];
+        private char[] y = new char[32];
+        private double[] previous = new double[32];
+        private double[] current = new double[32];
+
+        private Scratch ensureCapacity(int xLength, int yLength) {
+            if (this.x.length < xLength) {
+                this.x = new char[xLength];
+            }
+            if (this.y.length < yLength) {
+                this.y = new char[yLength];
+            }
+            if (this.previous.length < yLength + 1) {
+                this.previous = new double[yLength + 1];
+                this.current = new double[yLength + 1];
+            }
+            return this;
+        }
+    }
+
 }
@@ -0,0 +1,187 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link WordVectorDataSource} backed by a memory-mapped binary file. Opening such a file only maps it into memory, so startup is nearly instant and the
+ * pages are shared between all JVMs on the same host that map the same file. Files in this format can be created from GloVe or fastText dumps with the
+ * {@link WordVectorMappedFileConverter}.
+ * <p>
+ * The file is stored in little-endian byte order and consists of four sections:
+ * <ol>
+ * <li>a header: magic number, format version, dimension and word count (4 ints), followed by the offsets of the index and the string pool (2 longs)</li>
+ * <li>the vector matrix: {@code count * dimension} floats, one row per word</li>
+ * <li>the index: {@code count} entries of (string pool offset, string length, matrix row) ints, sorted by the UTF-8 bytes of the words</li>
+ * <li>the string pool: the UTF-8 bytes of all words</li>
+ * </ol>
+ * Lookups never copy data unless requested: {@link #getVectorView(String)} returns a read-only view on the mapped matrix and
+ * {@link #getWordVector(String, float[])} fills a caller-supplied array. Instances are thread-safe.
+ */
+public final class MappedWordVectorFile implements WordVectorDataSource {
+
+    /**
+     * The file extension used for memory-mapped word vector files.
+     */
+    public static final String FILE_EXTENSION = ".wvec";
+
+    static final int MAGIC = 0x41575643; // "AWVC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+    static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+
+    private final Path file;
+    private final int dimension;
+    private final int count;
+    private final int rowsPerChunk;
+    private final ByteBuffer[] matrixChunks;
+    private final ByteBuffer index;
+    private final ByteBuffer stringPool;
+
+    /**
+     * Maps the given file into memory.
+     *
+     * @param file the path to the file
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file does not exist or is not a valid word vector file
+     */
+    public MappedWordVectorFile(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("word vector file does not exist: " + file);
+        }
+        this.file = file;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("not a word vector file of version " + VERSION + ": " + file);
+            }
+            this.dimension = header.getInt(8);
+            this.count = header.getInt(12);
+            long indexOffset = header.getLong(16);
+            long stringPoolOffset = header.getLong(24);
+
+            long rowBytes = (long) this.dimension * Float.BYTES;
+            this.rowsPerChunk = rowBytes == 0 ? Math.max(1, this.count) : (int) Math.min(this.count, Integer.MAX_VALUE / rowBytes);
+            int chunks = this.count == 0 ? 0 : (this.count + this.rowsPerChunk - 1) / this.rowsPerChunk;
+            this.matrixChunks = new ByteBuffer[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                long firstRow = (long) chunk * this.rowsPerChunk;
+                long rows = Math.min(this.rowsPerChunk, this.count - firstRow);
+                this.matrixChunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + firstRow * rowBytes, rows * rowBytes)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            this.index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) this.count * INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.stringPool = channel.map(FileChannel.MapMode.READ_ONLY, stringPoolOffset, channel.size() - stringPoolOffset);
+        }
+    }
+
+    /**
+     * Returns the dimension of the vectors stored in this file.
+     *
+     * @return the vector dimension
+     */
+    public int getDimension() {
+        return this.dimension;
+    }
+
+    /**
+     * Returns the number of words stored in this file.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public Optional<float[]> getWordVector(String word) {
+        float[] vector = new float[this.dimension];
+        return this.getWordVector(word, vector) ? Optional.of(vector) : Optional.empty();
+    }
+
+    /**
+     * Copies the vector representation of the given word into the given array.
+     *
+     * @param word   the word
+     * @param target the array to fill, must have at least {@link #getDimension()} entries
+     * @return {@code true} if the word was found, {@code false} if not. In the latter case, the array is left untouched.
+     */
+    public boolean getWordVector(String word, float[] target) {
+        if (target.length < this.dimension) {
+            throw new IllegalArgumentException("target array is smaller than the vector dimension: " + target.length + " < " + this.dimension);
+        }
+
+        int row = this.findRow(word);
+        if (row < 0) {
+            return false;
+        }
+        this.rowView(row).get(target, 0, this.dimension);
+        return true;
+    }
+
+    /**
+     * Returns a read-only view on the vector representation of the given word without copying it.
+     *
+     * @param word the word
+     * @return the view on the vector, or {@link Optional#empty()} if the word is not contained in this file
+     */
+    public Optional<FloatBuffer> getVectorView(String word) {
+        int row = this.findRow(word);
+        return row < 0 ? Optional.empty() : Optional.of(this.rowView(row));
+    }
+
+    private FloatBuffer rowView(int row) {
+        ByteBuffer chunk = this.matrixChunks[row / this.rowsPerChunk];
+        int rowBytes = this.dimension * Float.BYTES;
+        return chunk.slice((row % this.rowsPerChunk) * rowBytes, rowBytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    private int findRow(String word) {
+        Objects.requireNonNull(word);
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = mid * INDEX_ENTRY_BYTES;
+            int comparison = this.compareToPool(key, this.index.getInt(entry), this.index.getInt(entry + Integer.BYTES));
+            if (comparison > 0) {
+                low = mid + 1;
+            } else if (comparison < 0) {
+                high = mid - 1;
+            } else {
+                return this.index.getInt(entry + 2 * Integer.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private int compareToPool(byte[] key, int offset, int length) {
+        int common = Math.min(key.length, length);
+        for (int i = 0; i < common; i++) {
+            int comparison = Byte.compareUnsigned(key[i], this.stringPool.get(offset + i));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(key.length, length);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedWordVectorFile[" + this.file + ", words=" + this.count + ", dimension=" + this.dimension + "]";
+    }
+}
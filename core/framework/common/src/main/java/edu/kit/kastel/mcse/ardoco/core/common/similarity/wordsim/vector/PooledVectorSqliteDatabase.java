@@ -0,0 +1,133 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread-safe {@link WordVectorDataSource} that keeps a bounded pool of read-only {@link VectorSqliteDatabase} handles for a single sqlite file.
+ * Handles are opened lazily, reused across lookups and only closed once {@link #close()} is called. Instances of this class are usually obtained from the
+ * {@link WordVectorDataSourceRegistry} so that all vector based measures share the same pool per file.
+ */
+public final class PooledVectorSqliteDatabase implements WordVectorDataSource, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledVectorSqliteDatabase.class);
+
+    private final Path sqliteFile;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<VectorSqliteDatabase> idleHandles = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger openHandles = new AtomicInteger();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool for the given sqlite file. No connection is opened until the first lookup.
+     *
+     * @param sqliteFile the path to the sqlite file
+     * @param maxHandles the maximum number of handles that may be open at the same time
+     * @throws IllegalArgumentException if the file does not exist or {@code maxHandles} is not positive
+     */
+    public PooledVectorSqliteDatabase(Path sqliteFile, int maxHandles) {
+        if (!Files.exists(sqliteFile)) {
+            throw new IllegalArgumentException("sqliteFile does not exist: " + sqliteFile);
+        }
+        if (maxHandles <= 0) {
+            throw new IllegalArgumentException("maxHandles must be positive: " + maxHandles);
+        }
+
+        this.sqliteFile = sqliteFile;
+        this.permits = new Semaphore(maxHandles, true);
+    }
+
+    @Override
+    public Optional<float[]> getWordVector(String word) throws RetrieveVectorException {
+        VectorSqliteDatabase handle = this.acquire();
+        long start = System.nanoTime();
+        try {
+            return handle.getWordVector(word);
+        } finally {
+            this.lookupNanos.add(System.nanoTime() - start);
+            this.lookups.increment();
+            this.release(handle);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the usage statistics of this pool.
+     *
+     * @return the current statistics
+     */
+    public WordVectorDataSourceStatistics getStatistics() {
+        return new WordVectorDataSourceStatistics(this.sqliteFile, this.openHandles.get(), this.lookups.sum(), this.lookupNanos.sum());
+    }
+
+    /**
+     * Closes all idle handles of this pool. Handles that are currently in use are closed as soon as their lookup finishes.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        VectorSqliteDatabase handle;
+        while ((handle = this.idleHandles.poll()) != null) {
+            this.closeHandle(handle);
+        }
+    }
+
+    private VectorSqliteDatabase acquire() throws RetrieveVectorException {
+        if (this.closed) {
+            throw new IllegalStateException("word vector pool has already been closed: " + this.sqliteFile);
+        }
+
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetrieveVectorException("interrupted while waiting for a connection to " + this.sqliteFile, e);
+        }
+
+        VectorSqliteDatabase handle = this.idleHandles.poll();
+        if (handle != null) {
+            return handle;
+        }
+
+        try {
+            handle = new VectorSqliteDatabase(this.sqliteFile);
+            this.openHandles.incrementAndGet();
+            return handle;
+        } catch (SQLException e) {
+            this.permits.release();
+            throw new RetrieveVectorException("unable to open connection to " + this.sqliteFile, e);
+        }
+    }
+
+    private void release(VectorSqliteDatabase handle) {
+        if (this.closed) {
+            this.closeHandle(handle);
+        } else {
+            this.idleHandles.push(handle);
+        }
+        this.permits.release();
+    }
+
+    private void closeHandle(VectorSqliteDatabase handle) {
+        try {
+            handle.close();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to close connection to {}", this.sqliteFile, e);
+        } finally {
+            this.openHandles.decrementAndGet();
+        }
+    }
+}
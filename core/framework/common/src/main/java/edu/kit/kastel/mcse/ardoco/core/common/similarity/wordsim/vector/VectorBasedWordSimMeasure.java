@@ -1,26 +1,45 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.nio.FloatBuffer;
 import java.util.Objects;
+import java.util.Optional;
 
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.WordSimMeasure;
 
 /**
  * A vector based word similarity measure uses vector embeddings of words to compare their similarity. To get vector
- * embeddings of passed words, a {@link WordVectorDataSource} is required. Instances of this class additionally manage a
- * cache to improve lookup speeds.
+ * embeddings of passed words, a {@link WordVectorDataSource} is required. Instances of this class additionally use a
+ * bounded {@link WordVectorCache} to improve lookup speeds. The cache can be shared between measures that use the same
+ * data source. Vectors of a {@link MappedWordVectorFile} are compared in place on the mapped file, without copying or
+ * caching them.
  */
 @Deterministic
 public abstract class VectorBasedWordSimMeasure implements WordSimMeasure {
 
-    private static final float[] ZERO_VECTOR = {};
-    private final Map<String, float[]> vectorCache = new LinkedHashMap<>();
+    private final WordVectorCache vectorCache;
+
+    /**
+     * Constructs a new measure that uses the given cache.
+     *
+     * @param vectorCache the cache for word vectors
+     */
+    protected VectorBasedWordSimMeasure(WordVectorCache vectorCache) {
+        this.vectorCache = Objects.requireNonNull(vectorCache);
+    }
 
     protected abstract WordVectorDataSource getVectorDataSource();
 
+    /**
+     * Returns the cache used by this measure.
+     *
+     * @return the vector cache
+     */
+    public WordVectorCache getVectorCache() {
+        return this.vectorCache;
+    }
+
     /**
      * Compares the two given words by computing the cosine similarity between their respective vector representations.
      * If the vector representation for one of the words is not found, a similarity score of {@code 0.0} will be
@@ -39,6 +58,10 @@ public double compareVectors(String firstWord, String secondWord) throws Retriev
             return 1.0;
         }
 
+        if (this.getVectorDataSource() instanceof MappedWordVectorFile mappedFile) {
+            return compareMappedVectors(mappedFile, firstWord, secondWord);
+        }
+
         float[] firstVec = this.getVectorFromCacheOrDatabase(firstWord);
 
         if (VectorUtils.isZero(firstVec)) {
@@ -54,15 +77,27 @@ public double compareVectors(String firstWord, String secondWord) throws Retriev
         return VectorUtils.cosineSimilarity(firstVec, secondVec);
     }
 
-    private float[] getVectorFromCacheOrDatabase(String word) throws RetrieveVectorException {
-        float[] vector = this.vectorCache.getOrDefault(word, null);
+    private static double compareMappedVectors(MappedWordVectorFile mappedFile, String firstWord, String secondWord) {
+        Optional<FloatBuffer> firstVec = mappedFile.getVectorView(firstWord);
+        if (firstVec.isEmpty() || VectorUtils.isZero(firstVec.get())) {
+            return 0.0; // no vector representation for the first word
+        }
 
-        if (vector == null) {
-            vector = this.getVectorDataSource().getWordVector(word).orElse(ZERO_VECTOR);
-            this.vectorCache.put(word, vector);
+        Optional<FloatBuffer> secondVec = mappedFile.getVectorView(secondWord);
+        if (secondVec.isEmpty() || VectorUtils.isZero(secondVec.get())) {
+            return 0.0; // no vector representation for the second word
         }
 
-        return vector;
+        return VectorUtils.cosineSimilarity(firstVec.get(), secondVec.get());
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    private float[] getVectorFromCacheOrDatabase(String word) throws RetrieveVectorException {
+        return this.vectorCache.get(word, w -> this.getVectorDataSource().getWordVector(w).orElse(null));
     }
 
 }
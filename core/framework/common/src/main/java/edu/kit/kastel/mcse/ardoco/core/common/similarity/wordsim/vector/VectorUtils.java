@@ -1,6 +1,7 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
 
+import java.nio.FloatBuffer;
 import java.util.Objects;
 
 /**
@@ -67,6 +68,48 @@ public static double cosineSimilarity(float[] firstVec, float[] secondVec) {
         return cosineSimilarity(firstVecDouble, secondVecDouble);
     }
 
+    /**
+     * Calculates the cosine similarity between the two given vector views without copying them. The result equals
+     * {@link #cosineSimilarity(float[], float[])} of the viewed values. The positions of the views are not changed.
+     *
+     * @param firstVec  the first vector
+     * @param secondVec the second vector
+     * @return the cosine similarity
+     * @throws IllegalArgumentException if the vectors have different lengths
+     */
+    public static double cosineSimilarity(FloatBuffer firstVec, FloatBuffer secondVec) {
+        Objects.requireNonNull(firstVec);
+        Objects.requireNonNull(secondVec);
+        if (firstVec.remaining() != secondVec.remaining()) {
+            throw new IllegalArgumentException("vector length does not match!");
+        }
+
+        boolean firstZero = isZero(firstVec);
+        boolean secondZero = isZero(secondVec);
+        if (firstZero && secondZero) {
+            return 1.0;
+        }
+        if (firstZero || secondZero) {
+            return 0.0;
+        }
+
+        double dotProduct = 0.0;
+        double firstNorm = 0.0;
+        double secondNorm = 0.0;
+
+        int first = firstVec.position();
+        int second = secondVec.position();
+        for (int i = 0; i < firstVec.remaining(); i++) {
+            double firstValue = firstVec.get(first + i);
+            double secondValue = secondVec.get(second + i);
+            dotProduct += firstValue * secondValue;
+            firstNorm += Math.pow(firstValue, 2);
+            secondNorm += Math.pow(secondValue, 2);
+        }
+
+        return dotProduct / (Math.sqrt(firstNorm) * Math.sqrt(secondNorm));
+    }
+
     /**
      * Checks whether the given vector contains any non-zero numbers.
      *
@@ -103,6 +146,24 @@ public static boolean isZero(float[] vector) {
         return true;
     }
 
+    /**
+     * Checks whether the given vector view contains any non-zero numbers. The position of the view is not changed.
+     *
+     * @param vector the vector to check
+     * @return {@code true} if the given vector either has no entries or if the only entries are zero
+     */
+    public static boolean isZero(FloatBuffer vector) {
+        Objects.requireNonNull(vector);
+
+        for (int i = vector.position(); i < vector.limit(); i++) {
+            if (vector.get(i) != 0.0f) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Adds the given vectors together and stores the resulting vector in the first argument. The two given vectors must
      * have the same length.
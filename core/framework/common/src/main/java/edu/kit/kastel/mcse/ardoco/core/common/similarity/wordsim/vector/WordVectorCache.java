@@ -0,0 +1,162 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, weight-bounded LRU cache for word vectors. The cache is split into independently locked segments, each of which evicts its least recently
+ * used entries once its share of the maximum weight is exceeded. The weight of an entry approximates its heap footprint in bytes. Words without a vector
+ * representation are remembered as well, using a shared empty sentinel, so repeated lookups of unknown words do not hit the data source again.
+ * <p>
+ * Because the cache only stores what a {@link WordVectorDataSource} returns, a single instance can safely be shared between several measures that use the same
+ * data source.
+ */
+public final class WordVectorCache {
+
+    /**
+     * The value returned for words that have no vector representation.
+     */
+    public static final float[] MISSING = {};
+
+    private static final int SEGMENTS = 16;
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long maxWeightBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache that holds at most (approximately) the given number of bytes.
+     *
+     * @param maxWeightBytes the maximum weight of this cache in bytes
+     * @throws IllegalArgumentException if the maximum weight is negative
+     */
+    public WordVectorCache(long maxWeightBytes) {
+        if (maxWeightBytes < 0) {
+            throw new IllegalArgumentException("maxWeightBytes must not be negative: " + maxWeightBytes);
+        }
+        this.maxWeightBytes = maxWeightBytes;
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(maxWeightBytes / SEGMENTS);
+        }
+    }
+
+    /**
+     * Returns the cached vector of the given word or loads it with the given loader. Concurrent misses for the same word may load the vector more than once;
+     * the loader is never called while a lock is held.
+     *
+     * @param word   the word
+     * @param loader the loader that is used on a cache miss
+     * @return the vector of the word, or {@link #MISSING} if the word has no vector representation
+     * @throws RetrieveVectorException if the loader fails
+     */
+    public float[] get(String word, VectorLoader loader) throws RetrieveVectorException {
+        Objects.requireNonNull(word);
+        Segment segment = this.segmentFor(word);
+
+        float[] vector = segment.lookup(word);
+        if (vector != null) {
+            this.hits.increment();
+            return vector;
+        }
+
+        this.misses.increment();
+        vector = loader.load(word);
+        segment.store(word, vector == null ? MISSING : vector);
+        return vector == null ? MISSING : vector;
+    }
+
+    /**
+     * Removes all entries from this cache. The statistics are kept.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clearAll();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     *
+     * @return the current statistics
+     */
+    public WordVectorCacheStatistics getStatistics() {
+        long entries = 0;
+        long weight = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                entries += segment.size();
+                weight += segment.weight;
+            }
+        }
+        return new WordVectorCacheStatistics(this.hits.sum(), this.misses.sum(), this.evictions.sum(), entries, weight, this.maxWeightBytes);
+    }
+
+    private Segment segmentFor(String word) {
+        int hash = word.hashCode();
+        return this.segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static long weigh(String word, float[] vector) {
+        return ENTRY_OVERHEAD_BYTES + 2L * word.length() + (long) Float.BYTES * vector.length;
+    }
+
+    /**
+     * Loads the vector of a word on a cache miss.
+     */
+    @FunctionalInterface
+    public interface VectorLoader {
+        /**
+         * Loads the vector of the given word.
+         *
+         * @param word the word
+         * @return the vector, or {@code null} if the word has no vector representation
+         * @throws RetrieveVectorException if the vector cannot be retrieved
+         */
+        float[] load(String word) throws RetrieveVectorException;
+    }
+
+    private final class Segment extends LinkedHashMap<String, float[]> {
+        private static final long serialVersionUID = -2836407196389101528L;
+
+        private final long maxWeight;
+        private long weight;
+
+        private Segment(long maxWeight) {
+            super(16, 0.75f, true);
+            this.maxWeight = maxWeight;
+        }
+
+        private synchronized float[] lookup(String word) {
+            return this.get(word);
+        }
+
+        private synchronized void store(String word, float[] vector) {
+            float[] previous = this.put(word, vector);
+            if (previous != null) {
+                this.weight -= weigh(word, previous);
+            }
+            this.weight += weigh(word, vector);
+
+            Iterator<Map.Entry<String, float[]>> eldest = this.entrySet().iterator();
+            while (this.weight > this.maxWeight && eldest.hasNext()) {
+                Map.Entry<String, float[]> entry = eldest.next();
+                this.weight -= weigh(entry.getKey(), entry.getValue());
+                eldest.remove();
+                WordVectorCache.this.evictions.increment();
+            }
+        }
+
+        private synchronized void clearAll() {
+            this.clear();
+            this.weight = 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+/**
+ * A snapshot of the statistics of a {@link WordVectorCache}.
+ *
+ * @param hits           the number of lookups answered by the cache, including remembered missing words
+ * @param misses         the number of lookups that had to query the data source
+ * @param evictions      the number of entries evicted to stay within the weight bound
+ * @param entries        the number of entries currently cached
+ * @param weightBytes    the approximate current weight of the cache in bytes
+ * @param maxWeightBytes the maximum weight of the cache in bytes
+ */
+public record WordVectorCacheStatistics(long hits, long misses, long evictions, long entries, long weightBytes, long maxWeightBytes) {
+
+    /**
+     * Calculates the ratio of lookups that were answered by the cache.
+     *
+     * @return the hit rate between 0.0 and 1.0, or {@code 0.0} if no lookup has been performed yet
+     */
+    public double hitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0.0 : (double) this.hits / lookups;
+    }
+}
@@ -0,0 +1,101 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+
+/**
+ * A process-wide registry of word vector data sources. For every sqlite file exactly one {@link PooledVectorSqliteDatabase} is kept, so all vector based
+ * measures of a JVM share the same connections instead of opening a new one per lookup. Likewise, every {@link MappedWordVectorFile} is mapped only once.
+ * All pools are closed when the JVM shuts down or {@link #closeAll()} is called.
+ */
+public final class WordVectorDataSourceRegistry {
+
+    private static final int DEFAULT_MAX_HANDLES = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final Map<Path, PooledVectorSqliteDatabase> SQLITE_SOURCES = new ConcurrentHashMap<>();
+    private static final Map<Path, MappedWordVectorFile> MAPPED_SOURCES = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WordVectorDataSourceRegistry::closeAll, "word-vector-registry-shutdown"));
+    }
+
+    /**
+     * Returns the shared data source for the given file. Files ending with {@link MappedWordVectorFile#FILE_EXTENSION} are memory-mapped, all other files
+     * are treated as sqlite databases.
+     *
+     * @param file the path to the file
+     * @return the shared data source
+     * @throws IllegalArgumentException if the file does not exist or is not a valid word vector file
+     */
+    public static WordVectorDataSource getDataSource(Path file) {
+        if (file.getFileName() != null && file.getFileName().toString().endsWith(MappedWordVectorFile.FILE_EXTENSION)) {
+            return getMappedDataSource(file);
+        }
+        return getSqliteDataSource(file);
+    }
+
+    /**
+     * Returns the shared memory-mapped data source for the given file, mapping it if necessary.
+     *
+     * @param file the path to the file
+     * @return the shared data source
+     * @throws IllegalArgumentException if the file does not exist or is not a valid word vector file
+     * @throws UncheckedIOException     if the file cannot be mapped
+     */
+    public static MappedWordVectorFile getMappedDataSource(Path file) {
+        return MAPPED_SOURCES.computeIfAbsent(normalize(file), path -> {
+            try {
+                return new MappedWordVectorFile(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the shared pooled data source for the given sqlite file, creating it if necessary.
+     *
+     * @param sqliteFile the path to the sqlite file
+     * @return the shared data source
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    public static PooledVectorSqliteDatabase getSqliteDataSource(Path sqliteFile) {
+        return SQLITE_SOURCES.computeIfAbsent(normalize(sqliteFile), file -> new PooledVectorSqliteDatabase(file, DEFAULT_MAX_HANDLES));
+    }
+
+    /**
+     * Returns the statistics of all currently registered data sources.
+     *
+     * @return the statistics, one entry per registered file
+     */
+    public static ImmutableList<WordVectorDataSourceStatistics> getStatistics() {
+        return Lists.immutable.withAll(SQLITE_SOURCES.values()).collect(PooledVectorSqliteDatabase::getStatistics);
+    }
+
+    /**
+     * Closes and removes all registered data sources. Subsequent calls to {@link #getDataSource(Path)} will open new pools and mappings.
+     */
+    public static void closeAll() {
+        for (Path file : Lists.immutable.withAll(SQLITE_SOURCES.keySet())) {
+            PooledVectorSqliteDatabase source = SQLITE_SOURCES.remove(file);
+            if (source != null) {
+                source.close();
+            }
+        }
+        MAPPED_SOURCES.clear();
+    }
+
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    private WordVectorDataSourceRegistry() {
+        throw new IllegalAccessError();
+    }
+}
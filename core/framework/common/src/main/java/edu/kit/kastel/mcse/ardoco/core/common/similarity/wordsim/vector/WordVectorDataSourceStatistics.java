@@ -0,0 +1,24 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.nio.file.Path;
+
+/**
+ * A snapshot of the usage statistics of a pooled {@link WordVectorDataSource}.
+ *
+ * @param file             the file backing the data source
+ * @param openHandles      the number of currently open handles to the file
+ * @param lookups          the number of lookups performed so far
+ * @param totalLookupNanos the accumulated time spent in lookups, in nanoseconds
+ */
+public record WordVectorDataSourceStatistics(Path file, int openHandles, long lookups, long totalLookupNanos) {
+
+    /**
+     * Calculates the average time a single lookup took.
+     *
+     * @return the average lookup latency in nanoseconds, or {@code 0.0} if no lookup has been performed yet
+     */
+    public double averageLookupNanos() {
+        return this.lookups == 0 ? 0.0 : (double) this.totalLookupNanos / this.lookups;
+    }
+}
@@ -0,0 +1,163 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts a file containing word vector embeddings (GloVe or fastText text format) into the memory-mapped format read by {@link MappedWordVectorFile}.
+ * Words are filtered and processed exactly like in the {@link WordVectorSqliteImporter}. If several words are mapped to the same processed word, only the
+ * first one is kept.
+ */
+public class WordVectorMappedFileConverter extends WordVectorSqliteImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WordVectorMappedFileConverter.class);
+    private static final int DEFAULT_MAX_WORD_LENGTH = 300;
+
+    /**
+     * Launches a conversion. The first string in the args array must be the path to the file containing the vector representations. The second string in
+     * the args array must be the path to the output file. The third string in the args array must be the dimension of the vectors.
+     *
+     * @param args the args array
+     * @throws IOException if an io error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        ImportResult result = new WordVectorMappedFileConverter(args[0], args[1], Integer.parseInt(args[2])).beginImport();
+
+        LOGGER.info("Converted: {}", result.inserted());
+        LOGGER.info("Skipped: ({})", result.skippedWords().size());
+    }
+
+    private final Path outputFile;
+
+    /**
+     * Constructs a new {@link WordVectorMappedFileConverter} instance. An existing output file will be overwritten.
+     *
+     * @param vectorFile the path to the file that contains the vector representations for each word
+     * @param outputFile the path to the memory-mapped file that will be created
+     * @param dimension  the dimension of the vectors
+     */
+    public WordVectorMappedFileConverter(String vectorFile, String outputFile, int dimension) {
+        this(vectorFile, outputFile, dimension, DEFAULT_MAX_WORD_LENGTH, 0, -1L, false);
+    }
+
+    /**
+     * Constructs a new {@link WordVectorMappedFileConverter} instance. To start the conversion, call {@link #beginImport()}.
+     *
+     * @param vectorFile    the path ot the file that contains the vector representations for each word
+     * @param outputFile    the path to the memory-mapped file that will be created
+     * @param dimension     the dimension of the vectors
+     * @param maxWordLength the maximum length a word is allowed to have to be converted
+     * @param startLine     at which line of the {@code vectorFile} this converter will start
+     * @param endLine       at which line of the {@code vectorFile} this converter will stop, negative values convert until the end of the file
+     * @param dryRun        whether this converter should actually write the output file
+     */
+    public WordVectorMappedFileConverter(String vectorFile, String outputFile, int dimension, int maxWordLength, long startLine, long endLine,
+            boolean dryRun) {
+        super(vectorFile, outputFile, dimension, maxWordLength, startLine, endLine, dryRun, false);
+        this.outputFile = Path.of(outputFile);
+    }
+
+    /**
+     * Starts the conversion.
+     *
+     * @return the result of the conversion
+     * @throws IOException           if an error occurs while reading the vector file or writing the output file
+     * @throws IllegalStateException if a vector with an invalid dimension is found
+     */
+    @Override
+    public ImportResult beginImport() throws IOException, IllegalStateException {
+        if (this.isDryRun()) {
+            return this.read((word, vector) -> true);
+        }
+
+        int dimension = this.getDimension();
+        List<byte[]> words = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        try (FileChannel channel = FileChannel.open(this.outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(MappedWordVectorFile.HEADER_BYTES);
+            ByteBuffer row = ByteBuffer.allocate(dimension * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            ImportResult result = this.read((word, vector) -> {
+                if (!seen.add(word)) {
+                    return false;
+                }
+                row.clear();
+                for (int i = 0; i < dimension; i++) {
+                    row.putFloat(vector.getFloat(i * Float.BYTES));
+                }
+                row.flip();
+                writeFully(channel, row);
+                words.add(word.getBytes(StandardCharsets.UTF_8));
+                return true;
+            });
+
+            this.writeIndexAndHeader(channel, words, dimension);
+            return result;
+        }
+    }
+
+    private ImportResult read(VectorConsumer consumer) throws IOException {
+        try {
+            return this.readVectors(consumer);
+        } catch (SQLException e) {
+            throw new IllegalStateException("no database is used during conversion", e);
+        }
+    }
+
+    private void writeIndexAndHeader(FileChannel channel, List<byte[]> words, int dimension) throws IOException {
+        Integer[] order = new Integer[words.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Arrays.compareUnsigned(words.get(first), words.get(second)));
+
+        long indexOffset = channel.position();
+        ByteBuffer index = ByteBuffer.allocate(order.length * MappedWordVectorFile.INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        int poolOffset = 0;
+        for (int row : order) {
+            int length = words.get(row).length;
+            index.putInt(poolOffset).putInt(length).putInt(row);
+            poolOffset += length;
+        }
+        index.flip();
+        writeFully(channel, index);
+
+        long stringPoolOffset = channel.position();
+        ByteBuffer pool = ByteBuffer.allocate(poolOffset);
+        for (int row : order) {
+            pool.put(words.get(row));
+        }
+        pool.flip();
+        writeFully(channel, pool);
+
+        ByteBuffer header = ByteBuffer.allocate(MappedWordVectorFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MappedWordVectorFile.MAGIC).putInt(MappedWordVectorFile.VERSION).putInt(dimension).putInt(order.length);
+        header.putLong(indexOffset).putLong(stringPoolOffset);
+        header.flip();
+        channel.position(0);
+        writeFully(channel, header);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -93,8 +93,27 @@ public WordVectorSqliteImporter(String vectorFile, String dbFile, int dimension)
      *                      actually inserting anything
      */
     public WordVectorSqliteImporter(String vectorFile, String dbFile, int dimension, int maxWordLength, long startLine, long endLine, boolean dryRun) {
+        this(vectorFile, dbFile, dimension, maxWordLength, startLine, endLine, dryRun, true);
+    }
+
+    /**
+     * Constructs a new importer. Subclasses that write to a different kind of target can use this constructor to skip the check whether the target file
+     * already exists.
+     *
+     * @param vectorFile            the path ot the file that contains the vector representations for each word
+     * @param targetFile            the path to the file into which the vector representations will be written
+     * @param dimension             the dimension of the vectors
+     * @param maxWordLength         the maximum length a word is allowed to have to be imported
+     * @param startLine             at which line of the {@code vectorFile} this importer will start importing
+     * @param endLine               at which line of the {@code vectorFile} this importer will stop importing, negative values import until the end of the
+     *                              file
+     * @param dryRun                whether this importer should actually write anything
+     * @param requireExistingTarget whether the target file has to exist already
+     */
+    protected WordVectorSqliteImporter(String vectorFile, String targetFile, int dimension, int maxWordLength, long startLine, long endLine, boolean dryRun,
+            boolean requireExistingTarget) {
         this.vectorFile = vectorFile;
-        this.dbFile = dbFile;
+        this.dbFile = targetFile;
         this.dimension = dimension;
         this.maxWordLength = maxWordLength;
         this.startLine = startLine;
@@ -105,8 +124,8 @@ public WordVectorSqliteImporter(String vectorFile, String dbFile, int dimension,
             throw new IllegalStateException("vectorFile does not exist: " + vectorFile);
         }
 
-        if (!Files.exists(Path.of(dbFile))) {
-            throw new IllegalStateException("dbFile does not exist: " + dbFile);
+        if (requireExistingTarget && !Files.exists(Path.of(targetFile))) {
+            throw new IllegalStateException("dbFile does not exist: " + targetFile);
         }
 
         if (this.maxWordLength < 0) {
@@ -123,24 +142,42 @@ public WordVectorSqliteImporter(String vectorFile, String dbFile, int dimension,
      * @throws IllegalStateException if a vector with an invalid dimension is found
      */
     public ImportResult beginImport() throws SQLException, IOException, IllegalStateException {
+        try (Connection connection = this.connect(); PreparedStatement statement = this.prepareSelect(connection)) {
+            return this.readVectors((word, vector) -> this.insertIntoDatabase(statement, vector, word));
+        }
+    }
+
+    /**
+     * Reads the vector file line by line and passes every word that is not filtered out to the given consumer. The passed buffer contains the vector as a
+     * big-endian sequence of floats and is reused for the next word, so consumers must not keep a reference to it. A leading fastText header line
+     * ({@code <count> <dimension>}) is skipped.
+     *
+     * @param consumer the consumer that receives the processed words and their vectors
+     * @return the result of the import process
+     * @throws SQLException          if the consumer fails to write to a database
+     * @throws IOException           if an error occurs while interacting with the vector file or the consumer fails to write a file
+     * @throws IllegalStateException if a vector with an invalid dimension is found
+     */
+    protected ImportResult readVectors(VectorConsumer consumer) throws SQLException, IOException, IllegalStateException {
         final List<String> skippedWords = new ArrayList<>();
 
         long linesRead = 0;
         long inserted = 0;
 
-        try (Connection connection = this.connect();
-                PreparedStatement statement = this.prepareSelect(connection);
-                var in = Files.newInputStream(Path.of(this.vectorFile), StandardOpenOption.READ);
+        try (var in = Files.newInputStream(Path.of(this.vectorFile), StandardOpenOption.READ);
                 var bufferedReader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
 
             ByteBuffer buffer = ByteBuffer.allocate(this.dimension * 4);
 
-            while (bufferedReader.ready() && linesRead < this.endLine) {
+            while (bufferedReader.ready() && (this.endLine < 0 || linesRead < this.endLine)) {
                 var line = bufferedReader.readLine();
                 linesRead++;
 
                 if (linesRead >= this.startLine) {
                     var parts = line.split(" ", -1);
+                    if (linesRead == 1 && isFastTextHeader(parts)) {
+                        continue;
+                    }
                     if (parts.length - 1 != this.dimension) {
                         throw new IllegalStateException("importer has read line with invalid vector dimension: \"" + line + "\"");
                     }
@@ -161,8 +198,11 @@ public ImportResult beginImport() throws SQLException, IOException, IllegalState
                         buffer.putFloat(value);
                     }
 
-                    this.insertIntoDatabase(statement, buffer, word);
-                    inserted++;
+                    if (consumer.accept(word, buffer)) {
+                        inserted++;
+                    } else {
+                        skippedWords.add(word);
+                    }
                 }
             }
         }
@@ -170,7 +210,28 @@ public ImportResult beginImport() throws SQLException, IOException, IllegalState
         return new ImportResult(inserted, Lists.immutable.withAll(skippedWords));
     }
 
-    private void insertIntoDatabase(PreparedStatement statement, ByteBuffer buffer, String word) throws SQLException {
+    private boolean isFastTextHeader(String[] parts) {
+        return parts.length == 2 && parts[0].chars().allMatch(Character::isDigit) && parts[1].equals(String.valueOf(this.dimension));
+    }
+
+    /**
+     * Receives the words and vectors read by {@link #readVectors(VectorConsumer)}.
+     */
+    @FunctionalInterface
+    protected interface VectorConsumer {
+        /**
+         * Accepts a single word and its vector.
+         *
+         * @param word   the processed word
+         * @param vector the vector of the word as a sequence of floats
+         * @return {@code true} if the word was imported, {@code false} if it was skipped
+         * @throws SQLException if a database related error occurs
+         * @throws IOException  if an io error occurs
+         */
+        boolean accept(String word, ByteBuffer vector) throws SQLException, IOException;
+    }
+
+    private boolean insertIntoDatabase(PreparedStatement statement, ByteBuffer buffer, String word) throws SQLException {
         if (!this.dryRun) {
             statement.setString(1, word);
             statement.setBytes(2, buffer.array());
@@ -178,6 +239,25 @@ private void insertIntoDatabase(PreparedStatement statement, ByteBuffer buffer,
         } else {
             LOGGER.debug("Would have inserted: {}", word);
         }
+        return true;
+    }
+
+    /**
+     * Returns whether this importer runs without actually writing anything.
+     *
+     * @return {@code true} if this is a dry run
+     */
+    protected boolean isDryRun() {
+        return this.dryRun;
+    }
+
+    /**
+     * Returns the dimension of the imported vectors.
+     *
+     * @return the vector dimension
+     */
+    protected int getDimension() {
+        return this.dimension;
     }
 
     private Connection connect() throws SQLException {
@@ -23,6 +23,11 @@ private CommonTextToolsConfig() {
      */
     public static final ImmutableList<String> SEPARATORS_TO_SPLIT = CONFIG.getPropertyAsList("separators_ToSplit");
 
+    /**
+     * The maximum number of word pair comparisons memoized by WordSimUtils. {@code 0} disables memoization.
+     */
+    public static final int WORDSIM_PAIR_CACHE_SIZE = Math.max(0, CONFIG.getPropertyAsInt("wordsim_PairCacheSize"));
+
     /**
      * Decides whether the levenshtein similarity measure should be used.
      */
@@ -93,9 +98,13 @@ private CommonTextToolsConfig() {
      */
     public static final double GLOVE_SIMILARITY_THRESHOLD = CONFIG.getPropertyAsDouble("glove_SimilarityThreshold");
     /**
-     * The path to the sqlite database file used by the GloVe word similarity measure.
+     * The path to the sqlite database file (or memory-mapped {@code .wvec} file) used by the GloVe word similarity measure.
      */
     public static final String GLOVE_DB_FILE_PATH = CONFIG.getProperty("glove_DatabaseFilePath");
+    /**
+     * The maximum size in megabytes of the vector cache shared by the GloVe word similarity measures.
+     */
+    public static final int GLOVE_CACHE_SIZE_MB = CONFIG.getPropertyAsInt("glove_CacheSizeMB");
     /**
      * The threshold for a diagram element to be considered similar to a noun mapping.
      */
@@ -104,6 +113,11 @@ private CommonTextToolsConfig() {
      * The threshold for a diagram element to be considered similar to a word.
      */
     public static final double DE_WORD_SIMILARITY_THRESHOLD = CONFIG.getPropertyAsDouble("de_Word_SimilarityThreshold");
+    /**
+     * The default provenance mode of confidences, either {@code STACK_TRACE} or {@code DISABLED}. Informants can override it with their
+     * {@code confidenceProvenance} configuration.
+     */
+    public static final String CONFIDENCE_PROVENANCE = CONFIG.getProperty("confidence_Provenance");
 
     private static ResourceAccessor loadParameters(String filePath) {
         return new ResourceAccessor(filePath, true);
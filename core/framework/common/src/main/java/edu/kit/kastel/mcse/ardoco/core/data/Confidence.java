@@ -6,6 +6,7 @@
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -14,22 +15,38 @@
 import edu.kit.kastel.mcse.ardoco.core.common.AggregationFunctions;
 import edu.kit.kastel.mcse.ardoco.core.common.ICopyable;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Triple;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
 
 /**
  * This class represents a confidence for a certain (intermediate) result. Different {@link Claimant Claimants} can add their confidences that get aggregated
  * via one of the {@link AggregationFunctions} to a single confidence value.
+ * <p>
+ * Besides the claimant, every confidence records the method it originates from. Whether this method is determined is controlled by the
+ * {@link Provenance} mode of the claimant (see {@link Claimant#getConfidenceProvenance()}). The aggregated confidence value is cached until another
+ * confidence is added. Confidences may be read concurrently, but adding confidences is not thread-safe.
  */
 @Deterministic
 public final class Confidence implements Comparable<Confidence>, ICopyable<Confidence>, Serializable {
 
     private static final long serialVersionUID = 4307327201754195030L;
 
+    private static final String UNKNOWN_METHOD = "Unknown Method";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    /**
+     * The provenance mode of claimants that do not configure their own mode, read from {@link CommonTextToolsConfig#CONFIDENCE_PROVENANCE}.
+     */
+    public static final Provenance DEFAULT_PROVENANCE = parseProvenance(CommonTextToolsConfig.CONFIDENCE_PROVENANCE);
+
     private final AggregationFunctions confidenceAggregator;
 
     // Claimant, Confidence, MethodName
     private List<Triple<Claimant, Double, String>> agentConfidences;
 
+    // the cached aggregated value, null if it has to be computed
+    private transient volatile Double aggregate;
+
     /**
      * Constructor for the confidence with a given aggregator function.
      *
@@ -72,28 +89,36 @@ public Set<Claimant> getClaimants() {
 
     @Override
     public Confidence createCopy() {
-        return new Confidence(this.confidenceAggregator, this.agentConfidences);
+        var copy = new Confidence(this.confidenceAggregator, this.agentConfidences);
+        copy.aggregate = this.aggregate;
+        return copy;
     }
 
     /**
-     * Add a confidence of an agent ({@link Claimant}.
+     * Add a confidence of an agent ({@link Claimant}. The method of the claimant is determined according to the {@link Provenance} mode of the claimant.
      *
      * @param claimant   the claimant
      * @param confidence the confidence
      */
     public void addAgentConfidence(Claimant claimant, double confidence) {
-        String method = this.getMethodInClaimant(claimant);
+        String method = claimant.getConfidenceProvenance() == Provenance.STACK_TRACE ? getMethodInClaimant(claimant) : UNKNOWN_METHOD;
         this.agentConfidences.add(new Triple<>(claimant, confidence, method));
+        this.aggregate = null;
     }
 
-    private String getMethodInClaimant(Claimant claimant) {
-        var trace = new Exception().getStackTrace();
-        for (var te : trace) {
-            if (te.getClassName().equals(claimant.getClass().getName())) {
-                return te.getMethodName();
-            }
+    private static String getMethodInClaimant(Claimant claimant) {
+        String claimantClass = claimant.getClass().getName();
+        return STACK_WALKER.walk(frames -> frames.filter(frame -> frame.getClassName().equals(claimantClass))
+                .findFirst()
+                .map(StackWalker.StackFrame::getMethodName)
+                .orElse(UNKNOWN_METHOD));
+    }
+
+    private static Provenance parseProvenance(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return Provenance.STACK_TRACE;
         }
-        return "Unknown Method";
+        return Provenance.valueOf(mode.strip().toUpperCase(Locale.ROOT));
     }
 
     @Override
@@ -110,11 +135,20 @@ public String toString() {
     }
 
     /**
-     * Returns the (aggregated) confidence value
+     * Returns the (aggregated) confidence value. The value is cached until another confidence is added.
      *
      * @return the (aggregated) confidence value
      */
     public double getConfidence() {
+        Double cached = this.aggregate;
+        if (cached == null) {
+            cached = this.computeConfidence();
+            this.aggregate = cached;
+        }
+        return cached;
+    }
+
+    private double computeConfidence() {
         if (this.agentConfidences.isEmpty()) {
             return 0;
         }
@@ -176,7 +210,27 @@ public boolean equals(Object obj) {
         return Objects.equals(this.agentConfidences, other.agentConfidences) && this.confidenceAggregator == other.confidenceAggregator;
     }
 
+    /**
+     * Adds all confidences of the other confidence to this confidence. The recorded methods are kept.
+     *
+     * @param other the other confidence
+     */
     public void addAllConfidences(Confidence other) {
         this.agentConfidences.addAll(other.agentConfidences);
+        this.aggregate = null;
+    }
+
+    /**
+     * The modes that decide whether the method a confidence originates from is recorded.
+     */
+    public enum Provenance {
+        /**
+         * The calling method of the claimant is looked up on the stack and recorded.
+         */
+        STACK_TRACE,
+        /**
+         * No methods are recorded, which avoids inspecting the stack for every added confidence.
+         */
+        DISABLED
     }
 }
@@ -1,9 +1,20 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.pipeline.agent;
 
+import edu.kit.kastel.mcse.ardoco.core.data.Confidence;
+
 /**
  * This is a marker interface for classes that claim something, i.e., an intermediate result with usually a certain confidence.
  */
 // TODO Serializable for Confidence ??
 public interface Claimant {
+
+    /**
+     * Returns whether the confidences of this claimant record the method they originate from.
+     *
+     * @return the provenance mode of this claimant
+     */
+    default Confidence.Provenance getConfidenceProvenance() {
+        return Confidence.DEFAULT_PROVENANCE;
+    }
 }
@@ -3,15 +3,27 @@
 
 import java.util.SortedMap;
 
+import edu.kit.kastel.mcse.ardoco.core.configuration.ChildClassConfigurable;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.Confidence;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
 
 public abstract class Informant extends AbstractPipelineStep implements Claimant {
 
+    @Configurable
+    @ChildClassConfigurable
+    private Confidence.Provenance confidenceProvenance = Confidence.DEFAULT_PROVENANCE;
+
     protected Informant(String id, DataRepository dataRepository) {
         super(id, dataRepository);
     }
 
+    @Override
+    public Confidence.Provenance getConfidenceProvenance() {
+        return this.confidenceProvenance;
+    }
+
     @Override
     protected void before() {
         // Nothing by default
@@ -0,0 +1,104 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ControlElement;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+
+class CodeModelTest {
+
+    @Test
+    void testViewsAreCachedAndIndexed() {
+        CodeItemRepository repository = new CodeItemRepository();
+        CodeCompilationUnit first = compilationUnit(repository, "First");
+        CodeCompilationUnit second = compilationUnit(repository, "Second");
+        CodePackage codePackage = new CodePackage(repository, "pkg", new TreeSet<>(List.of(first, second)));
+        CodeModel codeModel = new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+
+        var endpoints = codeModel.getEndpoints();
+        assertSame(endpoints, codeModel.getEndpoints());
+        assertEquals(2, endpoints.size());
+        assertEquals(List.of(codePackage), codeModel.getAllPackages());
+        assertEquals(2, codeModel.getAllDataTypes().size());
+        for (int i = 0; i < endpoints.size(); i++) {
+            assertEquals(i, codeModel.getEndpointOrdinal(endpoints.get(i)));
+        }
+        assertEquals(0, codeModel.getPackageOrdinal(codePackage));
+        assertEquals(1, codeModel.getDataTypeOrdinal(codeModel.getAllDataTypes().get(1)));
+        assertThrows(UnsupportedOperationException.class, () -> codeModel.getEndpoints().clear());
+    }
+
+    @Test
+    void testViewsAreInvalidatedWhenContentChanges() {
+        CodeItemRepository repository = new CodeItemRepository();
+        CodePackage codePackage = new CodePackage(repository, "pkg", new TreeSet<>(List.of(compilationUnit(repository, "First"))));
+        CodeModel codeModel = new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+
+        var endpoints = codeModel.getEndpoints();
+        CodeCompilationUnit added = compilationUnit(repository, "Added");
+        assertEquals(-1, codeModel.getEndpointOrdinal(added));
+
+        codePackage.addContent(added);
+        assertNotSame(endpoints, codeModel.getEndpoints());
+        assertEquals(2, codeModel.getEndpoints().size());
+        assertEquals(codeModel.getEndpoints().indexOf(added), codeModel.getEndpointOrdinal(added));
+    }
+
+    @Test
+    void testViewsDoNotLoadLazyCodeItems() {
+        CodeItemRepository repository = new CodeItemRepository();
+        CodeItemRepository detached = new CodeItemRepository();
+        ControlElement firstMethod = new ControlElement(detached, "first");
+        ControlElement secondMethod = new ControlElement(detached, "second");
+        ClassUnit firstClass = new ClassUnit(repository, "First", new TreeSet<>(List.of(firstMethod)));
+        ClassUnit secondClass = new ClassUnit(repository, "Second", new TreeSet<>(List.of(secondMethod)));
+        CodeCompilationUnit first = new CodeCompilationUnit(repository, "First", new TreeSet<>(List.of(firstClass)), List.of("pkg"), "java",
+                ProgrammingLanguages.JAVA);
+        CodeCompilationUnit second = new CodeCompilationUnit(repository, "Second", new TreeSet<>(List.of(secondClass)), List.of("pkg"), "java",
+                ProgrammingLanguages.JAVA);
+        CodePackage codePackage = new CodePackage(repository, "pkg", new TreeSet<>(List.of(first, second)));
+        CodeModel codeModel = new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+        AtomicInteger loads = new AtomicInteger();
+        repository.addLazyCodeItems(ControlElement.class, List.of(firstMethod.getId()), () -> {
+            loads.incrementAndGet();
+            return List.of(firstMethod);
+        });
+        repository.addLazyCodeItems(ControlElement.class, List.of(secondMethod.getId()), () -> {
+            loads.incrementAndGet();
+            return List.of(secondMethod);
+        });
+
+        assertEquals(2, codeModel.getEndpoints().size());
+        assertEquals(List.of(codePackage), codeModel.getAllPackages());
+        assertEquals(List.of(firstClass, secondClass), codeModel.getAllDataTypes());
+        assertEquals(0, loads.get());
+        assertEquals(2, repository.getUnloadedCodeItemCount());
+
+        assertEquals(List.of(firstMethod), List.copyOf(firstClass.getDeclaredMethods()));
+        assertEquals(1, loads.get());
+        assertEquals(1, repository.getUnloadedCodeItemCount());
+
+        assertEquals(5 + 2, repository.getRepository().size());
+        assertEquals(2, loads.get());
+        assertEquals(0, repository.getUnloadedCodeItemCount());
+    }
+
+    private static CodeCompilationUnit compilationUnit(CodeItemRepository repository, String name) {
+        ClassUnit classUnit = new ClassUnit(repository, name, new TreeSet<>());
+        return new CodeCompilationUnit(repository, name, new TreeSet<>(List.of(classUnit)), List.of("src", "pkg"), "java", ProgrammingLanguages.JAVA);
+    }
+}
@@ -0,0 +1,90 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.tracelink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.entity.ArchitectureEntity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+
+class TraceLinkJoinTest {
+
+    private static final List<ArchitectureEntity> ENTITIES = List.of(entity("a"), entity("b"), entity("c"), entity("d"), entity("e"));
+
+    @Test
+    void testJoinMatchesNestedLoop() {
+        List<Link> first = allLinks();
+        List<Link> second = allLinks().reversed();
+
+        List<TransitiveTraceLink<ArchitectureEntity, ArchitectureEntity, ArchitectureEntity>> expected = new ArrayList<>();
+        for (Link firstLink : first) {
+            for (Link secondLink : second) {
+                TransitiveTraceLink.createTransitiveTraceLink(firstLink, secondLink).ifPresent(expected::add);
+            }
+        }
+
+        TraceLinkJoin<ArchitectureEntity, ArchitectureEntity> join = TraceLinkJoin.of(second);
+        assertEquals(expected, join.join(first, false).castToList());
+        assertEquals(expected, join.join(first, true).castToList());
+    }
+
+    @Test
+    void testJoinMultiHopMatchesNestedLoop() {
+        List<Link> first = allLinks();
+        List<Link> intermediate = allLinks().subList(3, 12);
+        List<Link> last = allLinks().reversed();
+
+        List<MultiHopTransitiveTraceLink<ArchitectureEntity, ArchitectureEntity>> expected = new ArrayList<>();
+        for (Link firstLink : first) {
+            for (Link intermediateLink : intermediate) {
+                for (Link lastLink : last) {
+                    Optional<MultiHopTransitiveTraceLink<ArchitectureEntity, ArchitectureEntity>> link = MultiHopTransitiveTraceLink.createTransitiveTraceLink(
+                            firstLink, lastLink, List.of(intermediateLink));
+                    link.ifPresent(expected::add);
+                }
+            }
+        }
+
+        assertEquals(expected, TraceLinkJoin.joinMultiHop(first, List.of(intermediate), last, false).castToList());
+        assertEquals(expected, TraceLinkJoin.joinMultiHop(first, List.of(intermediate), last, true).castToList());
+    }
+
+    @Test
+    void testJoinMultiHopWithoutIntermediateHops() {
+        List<Link> links = allLinks();
+        assertThrows(IllegalArgumentException.class, () -> TraceLinkJoin.joinMultiHop(links, List.of(), links, false));
+    }
+
+    private static List<Link> allLinks() {
+        List<Link> links = new ArrayList<>();
+        for (ArchitectureEntity from : ENTITIES) {
+            for (ArchitectureEntity to : ENTITIES) {
+                if (!from.equals(to)) {
+                    links.add(new Link(from, to));
+                }
+            }
+        }
+        return links;
+    }
+
+    private static ArchitectureEntity entity(String name) {
+        return new ArchitectureComponent(name, name, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component");
+    }
+
+    private static final class Link extends TraceLink<ArchitectureEntity, ArchitectureEntity> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Link(ArchitectureEntity firstEndpoint, ArchitectureEntity secondEndpoint) {
+            super(firstEndpoint, secondEndpoint);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.text.similarity.CosineSimilarity;
+import org.junit.jupiter.api.Test;
+
+class TermVectorTest {
+
+    private static final List<Map<String, Integer>> VECTORS = List.of(Map.of(), Map.of("the", 1), Map.of("the", 2, "brown", 1, "dog", 1), Map.of("brown",
+            1, "dog", 1, "hut", 1), Map.of("green", 1, "turtles", 3, "hats", 1), Map.of("a", 1, "brown", 1, "doggy", 1, "hut", 1), Map.of("zero", 0));
+
+    @Test
+    void testMatchesCommonsCosineSimilarity() {
+        var cosineSimilarity = new CosineSimilarity();
+        for (Map<String, Integer> first : VECTORS) {
+            for (Map<String, Integer> second : VECTORS) {
+                double expected = cosineSimilarity.cosineSimilarity(Map.copyOf(first), Map.copyOf(second));
+                assertEquals(expected, TermVector.ofCounts(first).cosineSimilarity(TermVector.ofCounts(second)), first + " / " + second);
+            }
+        }
+    }
+}
@@ -2,9 +2,16 @@
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.jarowinkler.JaroWinklerMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.levenshtein.LevenshteinMeasure;
+
 class WordSimUtilsTest {
 
     @Test
@@ -15,4 +22,38 @@ void getSimilarity() {
         assertEquals(1, wordSimUtils.getSimilarity("lorem ipsum", "lorem ipsum"));
         assertEquals(1, wordSimUtils.getSimilarity("lOrEm IpSuM", "lorem ipsum", true));
     }
+
+    @Test
+    void pairCacheMemoizesSymmetricComparisons() {
+        var wordSimUtils = new WordSimUtils();
+        wordSimUtils.setMeasures(List.of(new JaroWinklerMeasure()));
+        var cache = new WordSimCache(100);
+        wordSimUtils.setPairCache(cache);
+
+        assertTrue(wordSimUtils.areWordsSimilar("database", "databases"));
+        assertTrue(wordSimUtils.areWordsSimilar("databases", "database"));
+        assertFalse(wordSimUtils.areWordsSimilar("lorem", "ipsum"));
+
+        var statistics = cache.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(2, statistics.misses());
+        assertEquals(2, statistics.measures().get("JaroWinklerMeasure").evaluations());
+
+        wordSimUtils.addMeasure(new LevenshteinMeasure());
+        assertEquals(0, cache.getStatistics().entries());
+
+        wordSimUtils.areWordsSimilar("database", "databases");
+        wordSimUtils.areWordsSimilar("databases", "database");
+        assertEquals(4, cache.getStatistics().misses(), "asymmetric measures must not share entries for swapped pairs");
+    }
+
+    @Test
+    void pairCacheIsBounded() {
+        var cache = new WordSimCache(32);
+        for (int i = 0; i < 1000; i++) {
+            cache.get(new ComparisonContext("word" + i, "other"), this, true, () -> 1.0);
+        }
+        assertTrue(cache.getStatistics().entries() <= 32);
+        assertEquals(1000, cache.getStatistics().entries() + cache.getStatistics().evictions());
+    }
 }
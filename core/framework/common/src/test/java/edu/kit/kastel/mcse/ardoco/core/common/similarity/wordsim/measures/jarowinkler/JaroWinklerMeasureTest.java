@@ -0,0 +1,43 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.jarowinkler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.ComparisonContext;
+
+class JaroWinklerMeasureTest {
+
+    private static final List<String> RANDOM_WORDS = List.of("acidic", "identify", "downtown", "elbow", "remove", "itch", "dirt", "Dirt", "", "a b c",
+            "welcome", "insect", "smoke", "change", "changes", "exchange", "smoker", "martha", "marhta", "straße", "strasse");
+
+    @Test
+    void testUpperBound() {
+        var jaroWinklerSimilarity = new JaroWinklerSimilarity();
+        for (String firstWord : RANDOM_WORDS) {
+            for (String secondWord : RANDOM_WORDS) {
+                double similarity = jaroWinklerSimilarity.apply(firstWord, secondWord);
+                assertTrue(JaroWinklerMeasure.upperBound(firstWord, secondWord) >= similarity - 1e-9, firstWord + " / " + secondWord);
+            }
+        }
+    }
+
+    @Test
+    void testPrefilterKeepsResults() {
+        var jaroWinklerSimilarity = new JaroWinklerSimilarity();
+        for (double threshold = 0.0; threshold <= 1.0; threshold += 0.05) {
+            var measure = new JaroWinklerMeasure(threshold);
+            for (String firstWord : RANDOM_WORDS) {
+                for (String secondWord : RANDOM_WORDS) {
+                    boolean expected = jaroWinklerSimilarity.apply(firstWord, secondWord) >= threshold;
+                    assertEquals(expected, measure.areWordsSimilar(new ComparisonContext(firstWord, secondWord)), firstWord + " / " + secondWord);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.levenshtein;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.ComparisonContext;
+
+class LevenshteinMeasureTest {
+
+    private static final List<String> RANDOM_WORDS = List.of("acidic", "identify", "downtown", "elbow", "remove", "itch", "dirt", "Dirt", "", "a b c",
+            "welcome", "insect", "smoke", "change", "changes", "exchange", "smoker");
+
+    @Test
+    void testBoundedModeMatchesFullDistance() {
+        var levenshteinDistance = new LevenshteinDistance();
+        for (int minLength = 0; minLength <= 5; minLength += 5) {
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                var measure = new LevenshteinMeasure(minLength, maxDistance, 0.5);
+                for (String firstWord : RANDOM_WORDS) {
+                    for (String secondWord : RANDOM_WORDS) {
+                        String first = firstWord.toLowerCase(Locale.ROOT);
+                        String second = secondWord.toLowerCase(Locale.ROOT);
+                        int distance = levenshteinDistance.apply(first, second);
+                        int maxDynamicDistance = (int) Math.min(maxDistance, 0.5 * Math.min(first.length(), second.length()));
+                        boolean expected = first.length() <= minLength
+                                ? distance <= maxDistance && (second.contains(first) || first.contains(second))
+                                : distance <= maxDynamicDistance;
+
+                        assertEquals(expected, measure.areWordsSimilar(new ComparisonContext(firstWord, secondWord)), firstWord + " / " + secondWord);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIsWithinDistance() {
+        var measure = new LevenshteinMeasure(0, 100, 1.0);
+        assertTrue(measure.isWithinDistance("kitten", "sitting", 3));
+        assertFalse(measure.isWithinDistance("kitten", "sitting", 2));
+        assertFalse(measure.isWithinDistance("a", "abcd", 2));
+        assertTrue(measure.isWithinDistance("", "", 0));
+        assertTrue(measure.isWithinDistance("abcdefghij", "jihgfedcba", 80));
+    }
+
+    @Test
+    void testPreNormalizedInput() {
+        var measure = new LevenshteinMeasure(0, 1, 1.0);
+        assertTrue(measure.areWordsSimilar(new ComparisonContext("Hello", "hella")));
+        assertTrue(measure.areWordsSimilar(new ComparisonContext("hello", "hella", null, null, false, true)));
+        assertEquals(0.8, measure.getSimilarity(new ComparisonContext("hello", "hella", null, null, false, true)), 1e-9);
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2023. */
+/* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.measures.ngram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -69,6 +69,42 @@ void testTrigram() {
         assertEquals(0.0, measure.calculateDistance("", ""));
     }
 
+    @Test
+    void testRollingRowsMatchFullMatrix() {
+        for (NgramMeasure.Variant variant : NgramMeasure.Variant.values()) {
+            for (int n = 1; n <= 3; n++) {
+                var measure = new NgramMeasure(variant, n, 0.5);
+                for (String firstWord : RANDOM_WORDS) {
+                    for (String secondWord : RANDOM_WORDS) {
+                        assertEquals(fullMatrixDistance(variant, n, firstWord, secondWord), measure.calculateDistance(firstWord, secondWord), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBoundedDistance() {
+        var measure = new NgramMeasure(NgramMeasure.Variant.LUCENE, 2, 0.7);
+
+        for (String firstWord : RANDOM_WORDS) {
+            for (String secondWord : RANDOM_WORDS) {
+                double exact = measure.calculateDistance(firstWord, secondWord);
+                for (double bound : new double[] { 0.0, 1.0, 2.5, exact }) {
+                    double bounded = measure.calculateDistance(firstWord, secondWord, bound);
+                    if (exact <= bound) {
+                        assertEquals(exact, bounded, 1e-9);
+                    } else {
+                        assertTrue(bounded > bound);
+                    }
+                }
+
+                var ctx = new ComparisonContext(firstWord, secondWord);
+                assertEquals(measure.getSimilarity(ctx) >= 0.7, measure.areWordsSimilar(ctx));
+            }
+        }
+    }
+
     @Test
     void testConstructor() {
         assertThrows(IllegalArgumentException.class, () -> new NgramMeasure(NgramMeasure.Variant.LUCENE, -1, 0.5));
@@ -84,4 +120,44 @@ void testConstructor() {
         new NgramMeasure(NgramMeasure.Variant.POSITIONAL, Integer.MAX_VALUE, 1.0);
     }
 
+    /**
+     * The original implementation that keeps the whole matrix, used as reference.
+     */
+    private static double fullMatrixDistance(NgramMeasure.Variant variant, int n, String x, String y) {
+        if (x.isEmpty() || y.isEmpty()) {
+            return Math.max(x.length(), y.length());
+        }
+        int k = x.length();
+        int l = y.length();
+        String xs = x;
+        String ys = y;
+        for (int u = 1; u <= n - 1; u++) {
+            xs = (variant == NgramMeasure.Variant.LUCENE ? "\n" : String.valueOf(xs.charAt(0))) + xs;
+            ys = (variant == NgramMeasure.Variant.LUCENE ? "\n" : String.valueOf(ys.charAt(0))) + ys;
+        }
+
+        double[][] d = new double[k + 1][l + 1];
+        for (int i = 0; i <= k; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 1; j <= l; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= k; i++) {
+            for (int j = 1; j <= l; j++) {
+                double sum = 0.0;
+                double actualN = n;
+                for (int u = 1; u <= n; u++) {
+                    double diff = xs.charAt(i + u - 2) == ys.charAt(j + u - 2) ? 0.0 : 1.0;
+                    sum += diff;
+                    if (variant == NgramMeasure.Variant.LUCENE && diff == 0 && xs.charAt(i + u - 2) == '\n') {
+                        actualN -= 1.0;
+                    }
+                }
+                d[i][j] = Math.min(d[i - 1][j] + 1.0, Math.min(d[i][j - 1] + 1.0, d[i - 1][j - 1] + sum / actualN));
+            }
+        }
+        return d[k][l];
+    }
+
 }
@@ -0,0 +1,127 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.ComparisonContext;
+
+class MappedWordVectorFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void closeRegistry() {
+        WordVectorDataSourceRegistry.closeAll();
+    }
+
+    @Test
+    void testConvertAndLookup() throws IOException {
+        Path vectors = this.tempDir.resolve("vectors.txt");
+        Files.write(vectors, List.of("4 3", "zeta 1 2 3", "alpha 4 5 6", "über 7 8 9", "Alpha 10 11 12"));
+        Path output = this.tempDir.resolve("vectors" + MappedWordVectorFile.FILE_EXTENSION);
+
+        var result = new WordVectorMappedFileConverter(vectors.toString(), output.toString(), 3).beginImport();
+        assertEquals(4, result.inserted());
+
+        MappedWordVectorFile file = new MappedWordVectorFile(output);
+        assertEquals(3, file.getDimension());
+        assertEquals(4, file.size());
+
+        assertArrayEquals(new float[] { 1, 2, 3 }, file.getWordVector("zeta").orElseThrow());
+        assertArrayEquals(new float[] { 4, 5, 6 }, file.getWordVector("alpha").orElseThrow());
+        assertArrayEquals(new float[] { 7, 8, 9 }, file.getWordVector("über").orElseThrow());
+        assertArrayEquals(new float[] { 10, 11, 12 }, file.getWordVector("Alpha").orElseThrow());
+        assertTrue(file.getWordVector("beta").isEmpty());
+
+        float[] target = new float[3];
+        assertTrue(file.getWordVector("alpha", target));
+        assertArrayEquals(new float[] { 4, 5, 6 }, target);
+        assertFalse(file.getWordVector("", target));
+        assertThrows(IllegalArgumentException.class, () -> file.getWordVector("alpha", new float[2]));
+
+        FloatBuffer view = file.getVectorView("zeta").orElseThrow();
+        assertTrue(view.isReadOnly());
+        assertEquals(3, view.remaining());
+        assertEquals(2.0f, view.get(1));
+
+        assertInstanceOf(MappedWordVectorFile.class, WordVectorDataSourceRegistry.getDataSource(output));
+    }
+
+    @Test
+    void testDuplicatesAfterProcessingAreSkipped() throws IOException {
+        Path vectors = this.tempDir.resolve("vectors.txt");
+        Files.write(vectors, List.of("Word 1 2", "word 3 4"));
+        Path output = this.tempDir.resolve("lower" + MappedWordVectorFile.FILE_EXTENSION);
+
+        var converter = new WordVectorMappedFileConverter(vectors.toString(), output.toString(), 2) {
+            @Override
+            protected String processWord(String word) {
+                return word.toLowerCase(Locale.ROOT);
+            }
+        };
+        var result = converter.beginImport();
+        assertEquals(1, result.inserted());
+        assertEquals(List.of("word"), result.skippedWords().castToList());
+
+        MappedWordVectorFile file = new MappedWordVectorFile(output);
+        assertArrayEquals(new float[] { 1, 2 }, file.getWordVector("word").orElseThrow());
+    }
+
+    @Test
+    void testCompareMappedVectorsInPlace() throws IOException, RetrieveVectorException {
+        Path vectors = this.tempDir.resolve("vectors.txt");
+        Files.write(vectors, List.of("zeta 1 2 3", "alpha 4 -5 6.5", "zero 0 0 0"));
+        Path output = this.tempDir.resolve("compare" + MappedWordVectorFile.FILE_EXTENSION);
+        new WordVectorMappedFileConverter(vectors.toString(), output.toString(), 3).beginImport();
+        MappedWordVectorFile file = new MappedWordVectorFile(output);
+
+        VectorBasedWordSimMeasure measure = new VectorBasedWordSimMeasure(new WordVectorCache(0)) {
+            @Override
+            protected WordVectorDataSource getVectorDataSource() {
+                return file;
+            }
+
+            @Override
+            public boolean areWordsSimilar(ComparisonContext ctx) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public double getSimilarity(ComparisonContext ctx) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        float[] zeta = file.getWordVector("zeta").orElseThrow();
+        float[] alpha = file.getWordVector("alpha").orElseThrow();
+        assertEquals(VectorUtils.cosineSimilarity(zeta, alpha), measure.compareVectors("zeta", "alpha"));
+        assertEquals(1.0, measure.compareVectors("alpha", "alpha"));
+        assertEquals(0.0, measure.compareVectors("zeta", "zero"));
+        assertEquals(0.0, measure.compareVectors("missing", "zeta"));
+        assertEquals(0, measure.getVectorCache().getStatistics().misses());
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        Path invalid = this.tempDir.resolve("invalid" + MappedWordVectorFile.FILE_EXTENSION);
+        Files.write(invalid, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> new MappedWordVectorFile(invalid));
+    }
+}
@@ -0,0 +1,59 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WordVectorCacheTest {
+
+    @Test
+    void testHitsMissesAndNegativeLookups() throws RetrieveVectorException {
+        var cache = new WordVectorCache(1024 * 1024);
+        var loads = new AtomicInteger();
+        WordVectorCache.VectorLoader loader = word -> {
+            loads.incrementAndGet();
+            return word.equals("unknown") ? null : new float[] { word.length() };
+        };
+
+        assertArrayEquals(new float[] { 5 }, cache.get("lorem", loader));
+        assertArrayEquals(new float[] { 5 }, cache.get("lorem", loader));
+        assertSame(WordVectorCache.MISSING, cache.get("unknown", loader));
+        assertSame(WordVectorCache.MISSING, cache.get("unknown", loader));
+        assertEquals(2, loads.get());
+
+        WordVectorCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.hits());
+        assertEquals(2, statistics.misses());
+        assertEquals(2, statistics.entries());
+        assertEquals(0.5, statistics.hitRate());
+    }
+
+    @Test
+    void testWeightBoundEvictsEntries() throws RetrieveVectorException {
+        var cache = new WordVectorCache(64 * 1024);
+        for (int i = 0; i < 1000; i++) {
+            cache.get("word" + i, word -> new float[100]);
+        }
+
+        WordVectorCacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.weightBytes() <= statistics.maxWeightBytes());
+        assertTrue(statistics.evictions() > 0);
+        assertEquals(1000, statistics.entries() + statistics.evictions());
+
+        cache.clear();
+        assertEquals(0, cache.getStatistics().entries());
+        assertEquals(0, cache.getStatistics().weightBytes());
+    }
+
+    @Test
+    void testInvalidWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new WordVectorCache(-1));
+    }
+}
@@ -0,0 +1,103 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.similarity.wordsim.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WordVectorDataSourceRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void closeRegistry() {
+        WordVectorDataSourceRegistry.closeAll();
+    }
+
+    @Test
+    void testSharedPoolPerFile() throws Exception {
+        Path db = createDatabase();
+
+        PooledVectorSqliteDatabase first = WordVectorDataSourceRegistry.getSqliteDataSource(db);
+        PooledVectorSqliteDatabase second = WordVectorDataSourceRegistry.getSqliteDataSource(db.getParent().resolve(".").resolve(db.getFileName()));
+        assertSame(first, second);
+
+        assertArrayEquals(new float[] { 1.0f, 2.0f }, first.getWordVector("lorem").orElseThrow());
+        assertTrue(first.getWordVector("missing").isEmpty());
+
+        WordVectorDataSourceStatistics statistics = first.getStatistics();
+        assertEquals(2, statistics.lookups());
+        assertEquals(1, statistics.openHandles());
+
+        WordVectorDataSourceRegistry.closeAll();
+        assertEquals(0, first.getStatistics().openHandles());
+        assertThrows(IllegalStateException.class, () -> first.getWordVector("lorem"));
+        assertNotSame(first, WordVectorDataSourceRegistry.getSqliteDataSource(db));
+    }
+
+    @Test
+    void testConcurrentLookupsAreBounded() throws Exception {
+        Path db = createDatabase();
+        PooledVectorSqliteDatabase pool = new PooledVectorSqliteDatabase(db, 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> pool.getWordVector("ipsum").orElseThrow()));
+            }
+            for (Future<float[]> future : futures) {
+                assertArrayEquals(new float[] { 3.0f, 4.0f }, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(pool.getStatistics().openHandles() <= 2);
+        assertEquals(200, pool.getStatistics().lookups());
+        pool.close();
+        assertEquals(0, pool.getStatistics().openHandles());
+    }
+
+    @Test
+    void testMissingFile() {
+        Path missing = this.tempDir.resolve("missing.sqlite");
+        assertThrows(IllegalArgumentException.class, () -> WordVectorDataSourceRegistry.getSqliteDataSource(missing));
+    }
+
+    private Path createDatabase() throws SQLException {
+        Path db = this.tempDir.resolve("vectors.sqlite");
+        try (var connection = DriverManager.getConnection("jdbc:sqlite:" + db)) {
+            try (var statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE `words` (`word` TEXT UNIQUE, `vec` BLOB NOT NULL)");
+            }
+            try (var insert = connection.prepareStatement("INSERT INTO `words` (`word`, `vec`) VALUES (?, ?)")) {
+                insert.setString(1, "lorem");
+                insert.setBytes(2, ByteBuffer.allocate(8).putFloat(1.0f).putFloat(2.0f).array());
+                insert.execute();
+                insert.setString(1, "ipsum");
+                insert.setBytes(2, ByteBuffer.allocate(8).putFloat(3.0f).putFloat(4.0f).array());
+                insert.execute();
+            }
+        }
+        return db;
+    }
+}
@@ -0,0 +1,112 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.AggregationFunctions;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+
+class ConfidenceTest {
+
+    @Test
+    void testAggregateIsUpdatedOnAdd() {
+        var first = new TestClaimant(Confidence.Provenance.STACK_TRACE);
+        var second = new TestClaimant(Confidence.Provenance.STACK_TRACE);
+        var confidence = new Confidence(AggregationFunctions.AVERAGE);
+        assertEquals(0.0, confidence.getConfidence());
+
+        confidence.addAgentConfidence(first, 0.2);
+        confidence.addAgentConfidence(first, 0.6);
+        assertEquals(0.6, confidence.getConfidence(), 1e-9);
+
+        confidence.addAgentConfidence(second, 1.0);
+        assertEquals(0.8, confidence.getConfidence(), 1e-9);
+
+        var copy = confidence.createCopy();
+        assertEquals(0.8, copy.getConfidence(), 1e-9);
+
+        var other = new Confidence(second, 0.0, AggregationFunctions.MIN);
+        copy.addAllConfidences(other);
+        assertEquals(0.8, confidence.getConfidence(), 1e-9);
+        assertEquals(0.8, copy.getConfidence(), 1e-9);
+
+        var merged = Confidence.merge(confidence, other, AggregationFunctions.MIN, AggregationFunctions.MIN);
+        assertEquals(0.0, merged.getConfidence(), 1e-9);
+    }
+
+    @Test
+    void testConcurrentReadsSeeAggregate() {
+        var confidence = new Confidence(AggregationFunctions.AVERAGE);
+        var claimant = new TestClaimant(Confidence.Provenance.DISABLED);
+        confidence.addAgentConfidence(claimant, 0.25);
+        confidence.addAgentConfidence(new TestClaimant(Confidence.Provenance.DISABLED), 0.75);
+        assertEquals(1000, IntStream.range(0, 1000).parallel().filter(i -> confidence.getConfidence() == 0.5).count());
+    }
+
+    @Test
+    void testStackTraceProvenance() {
+        var claimant = new TestClaimant(Confidence.Provenance.STACK_TRACE);
+        assertEquals(claimant.claimInFirstMethod(), claimant.claimInFirstMethod());
+        assertNotEquals(claimant.claimInFirstMethod(), claimant.claimInSecondMethod());
+    }
+
+    @Test
+    void testDisabledProvenance() {
+        var claimant = new TestClaimant(Confidence.Provenance.DISABLED);
+        assertEquals(claimant.claimInFirstMethod(), claimant.claimInSecondMethod());
+    }
+
+    @Test
+    void testProvenanceIsConfiguredPerInformant() {
+        var configured = new TestInformant();
+        var unconfigured = new TestInformant();
+        assertEquals(Confidence.DEFAULT_PROVENANCE, configured.getConfidenceProvenance());
+
+        SortedMap<String, String> configuration = new TreeMap<>();
+        configuration.put(TestInformant.class.getSimpleName() + "::confidenceProvenance", Confidence.Provenance.DISABLED.name());
+        configured.applyConfiguration(configuration);
+
+        assertEquals(Confidence.Provenance.DISABLED, configured.getConfidenceProvenance());
+        assertEquals(Confidence.DEFAULT_PROVENANCE, unconfigured.getConfidenceProvenance());
+    }
+
+    private static final class TestClaimant implements Claimant {
+        private final Confidence.Provenance provenance;
+
+        private TestClaimant(Confidence.Provenance provenance) {
+            this.provenance = provenance;
+        }
+
+        @Override
+        public Confidence.Provenance getConfidenceProvenance() {
+            return this.provenance;
+        }
+
+        private Confidence claimInFirstMethod() {
+            return new Confidence(this, 0.5, AggregationFunctions.MAX);
+        }
+
+        private Confidence claimInSecondMethod() {
+            return new Confidence(this, 0.5, AggregationFunctions.MAX);
+        }
+    }
+
+    private static final class TestInformant extends Informant {
+        private TestInformant() {
+            super(TestInformant.class.getSimpleName(), new DataRepository());
+        }
+
+        @Override
+        protected void process() {
+            // Nothing to do
+        }
+    }
+}
@@ -5,13 +5,20 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
@@ -22,7 +29,7 @@
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.error.InvalidJsonException;
 
 /**
- * utility class to convert a text DTO into json and back
+ * utility class to convert a text DTO into json and back. The object mapper and the text schema are created once and shared, as both are thread-safe.
  **/
 @Deterministic
 public final class JsonConverter {
@@ -31,6 +38,11 @@ public final class JsonConverter {
 
     private static final String SCHEMA_PATH = "schemas/text.json";
 
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+    private static final ObjectReader TEXT_READER = OBJECT_MAPPER.readerFor(TextDto.class).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private static final ObjectWriter TEXT_WRITER = OBJECT_MAPPER.writerFor(TextDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter TREE_WRITER = OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     private JsonConverter() {
 
     }
@@ -42,13 +54,11 @@ private JsonConverter() {
      * @return whether the json string matches the text schema
      */
     public static boolean validateJson(String json) throws IOException {
-        ObjectMapper mapper = createObjectMapper();
-        JsonSchemaFactory schemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4);
-
-        InputStream inputSchema = JsonConverter.class.getClassLoader().getResourceAsStream(SCHEMA_PATH);
-        JsonSchema schema = schemaFactory.getSchema(inputSchema);
+        return validateJson(OBJECT_MAPPER.readTree(json));
+    }
 
-        Set<ValidationMessage> message = schema.validate(mapper.readTree(json));
+    private static boolean validateJson(JsonNode json) {
+        Set<ValidationMessage> message = TextSchema.SCHEMA.validate(json);
         if (!message.isEmpty()) {
             // get only the first fifteen messages
             List<String> loggerMessages = message.stream().map(ValidationMessage::getMessage).toList();
@@ -68,11 +78,45 @@ public static boolean validateJson(String json) throws IOException {
      * @return the corresponding text DTO
      */
     public static TextDto fromJsonString(String json) throws IOException, InvalidJsonException {
-        if (!validateJson(json)) {
+        return fromJsonString(json, true);
+    }
+
+    /**
+     * generates the corresponding text DTO of the json string
+     *
+     * @param json     the json string
+     * @param validate whether the json string is validated against the text schema. Only skip the validation for trusted input, e.g., texts written by
+     *                 this converter.
+     * @return the corresponding text DTO
+     */
+    public static TextDto fromJsonString(String json, boolean validate) throws IOException, InvalidJsonException {
+        if (!validate) {
+            return TEXT_READER.readValue(json);
+        }
+        return fromValidatedTree(TEXT_READER.readTree(json));
+    }
+
+    /**
+     * reads the text DTO from a json stream. Without validation, the DTO is read directly from the stream, so the json is never held in memory as a
+     * whole. The stream is not closed.
+     *
+     * @param json     the json stream
+     * @param validate whether the json is validated against the text schema. Only skip the validation for trusted input, e.g., texts written by this
+     *                 converter.
+     * @return the corresponding text DTO
+     */
+    public static TextDto fromJson(InputStream json, boolean validate) throws IOException, InvalidJsonException {
+        if (!validate) {
+            return TEXT_READER.readValue(json);
+        }
+        return fromValidatedTree(TEXT_READER.readTree(json));
+    }
+
+    private static TextDto fromValidatedTree(JsonNode json) throws IOException, InvalidJsonException {
+        if (json == null || !validateJson(json)) {
             throw new InvalidJsonException("The json string is no valid text DTO.");
         }
-        ObjectMapper objectMapper = createObjectMapper();
-        return objectMapper.readValue(json, TextDto.class);
+        return TEXT_READER.readValue(json);
     }
 
     /**
@@ -82,11 +126,45 @@ public static TextDto fromJsonString(String json) throws IOException, InvalidJso
      * @return the JSON string or null
      */
     public static String toJsonString(TextDto obj) throws IOException, InvalidJsonException {
-        ObjectMapper objectMapper = createObjectMapper();
-        String jsonString = objectMapper.writeValueAsString(obj);
+        String jsonString = TEXT_WRITER.writeValueAsString(obj);
         if (!validateJson(jsonString)) {
             throw new InvalidJsonException("The text DTO could not be converted into a json string. No valid text Dto");
         }
         return jsonString;
     }
+
+    /**
+     * writes the text DTO as json to a stream. Without validation, the DTO is written directly to the stream, so the json is never held in memory as a
+     * whole. With validation, nothing is written if the DTO does not match the text schema. The stream is not closed.
+     *
+     * @param obj      the text DTO
+     * @param json     the json stream
+     * @param validate whether the json is validated against the text schema before it is written
+     */
+    public static void toJson(TextDto obj, OutputStream json, boolean validate) throws IOException, InvalidJsonException {
+        if (!validate) {
+            TEXT_WRITER.writeValue(json, obj);
+            return;
+        }
+        JsonNode tree = OBJECT_MAPPER.valueToTree(obj);
+        if (!validateJson(tree)) {
+            throw new InvalidJsonException("The text DTO could not be converted into json. No valid text Dto");
+        }
+        TREE_WRITER.writeValue(json, tree);
+    }
+
+    /**
+     * Holds the text schema, which is loaded and compiled on first use.
+     */
+    private static final class TextSchema {
+        private static final JsonSchema SCHEMA = loadSchema();
+
+        private static JsonSchema loadSchema() {
+            try (InputStream inputSchema = JsonConverter.class.getClassLoader().getResourceAsStream(SCHEMA_PATH)) {
+                return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4).getSchema(inputSchema);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -1,7 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -55,6 +58,25 @@ void testFromJsonString() throws IOException, InvalidJsonException {
         Assertions.assertEquals(expectedText, generatedText);
     }
 
+    @Test
+    void testStreaming() throws IOException, InvalidJsonException {
+        TextDto validText = getValidTextDtoExample();
+        for (boolean validate : new boolean[] { true, false }) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            JsonConverter.toJson(validText, outputStream, validate);
+            Assertions.assertEquals(JsonConverter.toJsonString(validText), outputStream.toString(StandardCharsets.UTF_8));
+
+            try (InputStream inputStream = Files.newInputStream(Path.of("./src/test/resources/valid-example-text.json"))) {
+                Assertions.assertEquals(validText, JsonConverter.fromJson(inputStream, validate));
+            }
+        }
+
+        Assertions.assertThrows(InvalidJsonException.class, () -> JsonConverter.toJson(new TextDto(), new ByteArrayOutputStream(), true));
+        try (InputStream inputStream = Files.newInputStream(Path.of("./src/test/resources/invalid-example-text.json"))) {
+            Assertions.assertThrows(InvalidJsonException.class, () -> JsonConverter.fromJson(inputStream, true));
+        }
+    }
+
     private String getValidJsonExample() throws IOException {
         return Files.readString(Path.of("./src/test/resources/valid-example-text.json"));
     }
@@ -0,0 +1,26 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability;
+
+import edu.kit.kastel.mcse.ardoco.core.common.util.ResourceAccessor;
+
+/**
+ * The Class CodeTraceabilityConfig defines the configuration for the code traceability.
+ */
+public final class CodeTraceabilityConfig {
+
+    private CodeTraceabilityConfig() {
+        throw new IllegalAccessError();
+    }
+
+    private static final ResourceAccessor CONFIG = loadParameters("/configs/CodeTraceabilityConfig.properties");
+
+    /**
+     * The maximum number of texts whose lemmas are cached by the shared lemmatizer.
+     */
+    public static final int LEMMATIZER_CACHE_SIZE = CONFIG.getPropertyAsInt("lemmatizer_CacheSize");
+
+    private static ResourceAccessor loadParameters(String filePath) {
+        return new ResourceAccessor(filePath, true);
+    }
+
+}
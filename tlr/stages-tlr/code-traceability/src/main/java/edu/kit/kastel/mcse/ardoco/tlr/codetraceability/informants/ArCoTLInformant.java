@@ -10,12 +10,20 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.Lemmatizer;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.TraceLinkGenerator;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Computation;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.computationtree.Node;
 
 public class ArCoTLInformant extends Informant {
+    @Configurable
+    private Computation.Execution execution = Computation.Execution.FORK_JOIN;
+    @Configurable
+    private boolean warmUpLemmatizer = false;
+
     public ArCoTLInformant(DataRepository dataRepository) {
         super(ArCoTLInformant.class.getSimpleName(), dataRepository);
     }
@@ -37,7 +45,7 @@ public void process() {
         }
 
         Node root = TraceLinkGenerator.getRoot(); //TODO maybe add preprocessing
-        var traceLinks = TraceLinkGenerator.generateTraceLinks(root, architectureModel, codeModel);
+        var traceLinks = TraceLinkGenerator.generateTraceLinks(root, architectureModel, codeModel, this.execution);
         samCodeTraceabilityState.addSamCodeTraceLinks(traceLinks);
     }
 
@@ -51,7 +59,9 @@ private static boolean isAnArchitectureModel(Metamodel modelId) {
 
     @Override
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
-        // empty
+        if (this.warmUpLemmatizer) {
+            Lemmatizer.warmUp();
+        }
     }
 
 }
@@ -1,7 +1,6 @@
 /* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
 
@@ -39,10 +38,12 @@ public void process() {
         }
 
         CodeModel codeModel = this.findCodeModel(modelStatesData);
+        var traceLinks = connectionStates.getConnectionState(Metamodel.CODE).getTraceLinks();
+        CodePathIndex codePathIndex = traceLinks.isEmpty() ? null : new CodePathIndex(codeModel);
 
-        for (var traceLink : connectionStates.getConnectionState(Metamodel.CODE).getTraceLinks()) {
+        for (var traceLink : traceLinks) {
             var modelElement = traceLink.getSecondEndpoint().getId();
-            var mentionedCodeModelElements = this.findMentionedCodeModelElementsById(modelElement, codeModel);
+            var mentionedCodeModelElements = this.findMentionedCodeModelElementsById(modelElement, codePathIndex);
             for (var mid : mentionedCodeModelElements) {
                 sadCodeTracelinks.add(new SadCodeTraceLink(traceLink.getFirstEndpoint(), mid));
             }
@@ -53,35 +54,28 @@ public void process() {
         codeTraceabilityState.addSadCodeTraceLinks(sadCodeTracelinks);
     }
 
-    private List<CodeCompilationUnit> findMentionedCodeModelElementsById(String modelElementId, CodeModel codeModel) {
+    private List<CodeCompilationUnit> findMentionedCodeModelElementsById(String modelElementId, CodePathIndex codePathIndex) {
         boolean isPackage = modelElementId.endsWith("/");
         if (isPackage) {
-            return this.findAllClassesInPackage(modelElementId, codeModel);
+            return this.findAllClassesInPackage(modelElementId, codePathIndex);
         }
-        return this.findCompilationUnitById(modelElementId, codeModel);
+        return this.findCompilationUnitById(modelElementId, codePathIndex);
     }
 
-    private List<CodeCompilationUnit> findAllClassesInPackage(String modelElementId, CodeModel codeModel) {
-        List<CodeCompilationUnit> codeCompilationUnits = new ArrayList<>();
-        for (var codeCompilationUnit : codeModel.getEndpoints()) {
-            var path = codeCompilationUnit.getPath();
-            if (path.contains(modelElementId)) {
-                codeCompilationUnits.add(codeCompilationUnit);
-            }
-        }
+    private List<CodeCompilationUnit> findAllClassesInPackage(String modelElementId, CodePathIndex codePathIndex) {
+        List<CodeCompilationUnit> codeCompilationUnits = codePathIndex.findAllInDirectory(modelElementId);
         if (codeCompilationUnits.isEmpty()) {
             throw new IllegalStateException("Could not find any code for " + modelElementId);
         }
         return codeCompilationUnits;
     }
 
-    private List<CodeCompilationUnit> findCompilationUnitById(String modelElementId, CodeModel codeModel) {
-        for (var codeCompilationUnit : codeModel.getEndpoints()) {
-            if (codeCompilationUnit.getPath().equals(modelElementId)) {
-                return List.of(codeCompilationUnit);
-            }
+    private List<CodeCompilationUnit> findCompilationUnitById(String modelElementId, CodePathIndex codePathIndex) {
+        CodeCompilationUnit codeCompilationUnit = codePathIndex.findByPath(modelElementId);
+        if (codeCompilationUnit == null) {
+            throw new IllegalStateException("Could not find model element " + modelElementId);
         }
-        throw new IllegalStateException("Could not find model element " + modelElementId);
+        return List.of(codeCompilationUnit);
     }
 
     private CodeModel findCodeModel(ModelStates models) {
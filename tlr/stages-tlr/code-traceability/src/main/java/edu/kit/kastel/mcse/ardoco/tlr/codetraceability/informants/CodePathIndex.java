@@ -0,0 +1,132 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+
+/**
+ * A path-indexed view of the compilation units of a {@link CodeModel}. Exact paths are resolved with a hash map. Directory paths are resolved with a trie
+ * over path segments: every compilation unit is inserted once for every suffix of its directories, so that all compilation units whose path contains a
+ * directory path are found by walking the segments of the directory path, no matter where in the path the directories are located. As a directory path
+ * may also start within a directory name, the directories at the top of the trie are additionally indexed by every suffix of their names.
+ * <p>
+ * The compilation units are numbered in the order of {@link CodeModel#getEndpoints()}, and all lookups return them in that order.
+ */
+final class CodePathIndex {
+
+    private final List<CodeCompilationUnit> compilationUnits;
+    private final List<String> paths;
+    private final Map<String, CodeCompilationUnit> compilationUnitsByPath = new HashMap<>();
+    private final Node root = new Node();
+    private final Map<String, List<Node>> directoriesBySuffix = new HashMap<>();
+
+    CodePathIndex(CodeModel codeModel) {
+        this.compilationUnits = List.copyOf(codeModel.getEndpoints());
+        this.paths = new ArrayList<>(this.compilationUnits.size());
+        for (int i = 0; i < this.compilationUnits.size(); i++) {
+            CodeCompilationUnit compilationUnit = this.compilationUnits.get(i);
+            String path = compilationUnit.getPath();
+            this.paths.add(path);
+            this.compilationUnitsByPath.putIfAbsent(path, compilationUnit);
+            this.insert(compilationUnit.getPathElements(), i);
+        }
+        for (Map.Entry<String, Node> directory : this.root.children.entrySet()) {
+            String name = directory.getKey();
+            for (int start = 0; start < name.length(); start++) {
+                this.directoriesBySuffix.computeIfAbsent(name.substring(start), suffix -> new ArrayList<>()).add(directory.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the first compilation unit with the specified path.
+     *
+     * @param path the path
+     * @return the compilation unit with the path, or null if there is none
+     */
+    CodeCompilationUnit findByPath(String path) {
+        return this.compilationUnitsByPath.get(path);
+    }
+
+    /**
+     * Returns all compilation units whose path contains the specified directory path, i.e., all compilation units that are located in the directory or one
+     * of its subdirectories.
+     *
+     * @param directoryPath the directory path, ending with a slash
+     * @return the compilation units whose path contains the directory path
+     */
+    List<CodeCompilationUnit> findAllInDirectory(String directoryPath) {
+        String[] segments = directoryPath.substring(0, directoryPath.length() - 1).split("/", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                return this.findAllContaining(directoryPath);
+            }
+        }
+
+        BitSet found = new BitSet(this.compilationUnits.size());
+        // The directory path may also start within a directory name, so the first segment may be a suffix of a directory name
+        for (Node firstDirectory : this.directoriesBySuffix.getOrDefault(segments[0], List.of())) {
+            Node node = firstDirectory.find(segments, 1);
+            if (node != null) {
+                node.collect(found);
+            }
+        }
+
+        List<CodeCompilationUnit> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(this.compilationUnits.get(i));
+        }
+        return result;
+    }
+
+    private List<CodeCompilationUnit> findAllContaining(String directoryPath) {
+        List<CodeCompilationUnit> result = new ArrayList<>();
+        for (int i = 0; i < this.compilationUnits.size(); i++) {
+            if (this.paths.get(i).contains(directoryPath)) {
+                result.add(this.compilationUnits.get(i));
+            }
+        }
+        return result;
+    }
+
+    private void insert(List<String> directories, int compilationUnit) {
+        for (int start = 0; start < directories.size(); start++) {
+            Node node = this.root;
+            for (int i = start; i < directories.size(); i++) {
+                node = node.children.computeIfAbsent(directories.get(i), segment -> new Node());
+            }
+            node.compilationUnits.add(compilationUnit);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Integer> compilationUnits = new ArrayList<>();
+
+        private Node find(String[] segments, int from) {
+            Node node = this;
+            for (int i = from; i < segments.length && node != null; i++) {
+                node = node.children.get(segments[i]);
+            }
+            return node;
+        }
+
+        private void collect(BitSet found) {
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                node.compilationUnits.forEach(found::set);
+                node.children.values().forEach(stack::push);
+            }
+        }
+    }
+}
@@ -4,7 +4,6 @@
 import java.util.SortedMap;
 
 import org.eclipse.collections.api.factory.Sets;
-import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
 
 import edu.kit.kastel.mcse.ardoco.core.api.entity.ArchitectureEntity;
@@ -14,15 +13,19 @@
 import edu.kit.kastel.mcse.ardoco.core.api.stage.connectiongenerator.ConnectionStates;
 import edu.kit.kastel.mcse.ardoco.core.api.text.SentenceEntity;
 import edu.kit.kastel.mcse.ardoco.core.api.tracelink.TraceLink;
-import edu.kit.kastel.mcse.ardoco.core.api.tracelink.TransitiveTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.tracelink.TraceLinkJoin;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 
 @Deterministic
 public class TraceLinkCombiner extends Informant {
 
+    @Configurable
+    private boolean parallelJoin = false;
+
     public TraceLinkCombiner(DataRepository dataRepository) {
         super(TraceLinkCombiner.class.getSimpleName(), dataRepository);
     }
@@ -37,38 +40,18 @@ public void process() {
         if (codeTraceabilityState == null || modelStatesData == null || connectionStates == null) {
             return;
         }
-        var samCodeTraceLinks = codeTraceabilityState.getSamCodeTraceLinks();
+        TraceLinkJoin<ArchitectureEntity, CodeCompilationUnit> samCodeJoin = TraceLinkJoin.of(codeTraceabilityState.getSamCodeTraceLinks());
         for (var modelId : modelStatesData.modelIds()) {
             var metamodel = modelStatesData.getModelExtractionState(modelId).getMetamodel();
             var connectionState = connectionStates.getConnectionState(metamodel);
             var sadSamTraceLinks = connectionState.getTraceLinks();
 
-            var combinedLinks = this.combineToTransitiveTraceLinks(sadSamTraceLinks, samCodeTraceLinks);
-            transitiveTraceLinks.addAll(combinedLinks.toList());
+            transitiveTraceLinks.addAllIterable(samCodeJoin.join(sadSamTraceLinks, this.parallelJoin));
         }
 
         codeTraceabilityState.addSadCodeTraceLinks(transitiveTraceLinks);
     }
 
-    private ImmutableSet<TraceLink<SentenceEntity, CodeCompilationUnit>> combineToTransitiveTraceLinks(
-            ImmutableSet<? extends TraceLink<SentenceEntity, ArchitectureEntity>> sadSamTraceLinks,
-            ImmutableSet<? extends TraceLink<ArchitectureEntity, CodeCompilationUnit>> samCodeTraceLinks) {
-
-        MutableSet<TraceLink<SentenceEntity, CodeCompilationUnit>> transitiveTraceLinks = Sets.mutable.empty();
-
-        for (TraceLink<SentenceEntity, ArchitectureEntity> sadSamTraceLink : sadSamTraceLinks) {
-            String modelElementUid = sadSamTraceLink.getSecondEndpoint().getId();
-            for (TraceLink<ArchitectureEntity, CodeCompilationUnit> samCodeTraceLink : samCodeTraceLinks) {
-                String samCodeTraceLinkModelElementId = samCodeTraceLink.getFirstEndpoint().getId();
-                if (modelElementUid.equals(samCodeTraceLinkModelElementId)) {
-                    var transitiveTraceLinkOptional = TransitiveTraceLink.createTransitiveTraceLink(sadSamTraceLink, samCodeTraceLink);
-                    transitiveTraceLinkOptional.ifPresent(transitiveTraceLinks::add);
-                }
-            }
-        }
-        return transitiveTraceLinks.toImmutable();
-    }
-
     @Override
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
         // empty
@@ -0,0 +1,168 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.CodeTraceabilityConfig;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * A shared, thread-safe lemmatizer for names. The CoreNLP pipeline (tokenize, pos, lemma) is loaded once, on first use or when {@link #warmUp() warmed up}.
+ * The lemmas of each lemmatized text are kept in a bounded LRU cache, whose size is configured by {@link CodeTraceabilityConfig#LEMMATIZER_CACHE_SIZE}.
+ * Many texts can be lemmatized at once with {@link #lemmatizeAll(Collection)}, which annotates them concurrently.
+ */
+public final class Lemmatizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Lemmatizer.class);
+
+    private static final Lemmatizer INSTANCE = new Lemmatizer(CodeTraceabilityConfig.LEMMATIZER_CACHE_SIZE);
+
+    private final LemmaCache cache;
+    private volatile StanfordCoreNLP pipeline;
+
+    /**
+     * Creates a new lemmatizer with its own pipeline and cache. Apart from tests, use the {@link #getInstance() shared lemmatizer}.
+     *
+     * @param maxEntries the maximum number of texts whose lemmas are cached
+     */
+    Lemmatizer(int maxEntries) {
+        this.cache = new LemmaCache(Math.max(1, maxEntries));
+    }
+
+    /**
+     * Returns the shared lemmatizer.
+     *
+     * @return the shared lemmatizer
+     */
+    public static Lemmatizer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads the pipeline of the shared lemmatizer in the background, so that the first lemmatization does not have to wait for the models to be loaded.
+     */
+    public static void warmUp() {
+        Thread.ofVirtual().name("lemmatizer-warm-up").start(INSTANCE::getPipeline);
+    }
+
+    /**
+     * Returns the lemmas of the tokens of the specified text.
+     *
+     * @param text the text
+     * @return the unmodifiable lemmas of the tokens of the text
+     */
+    public List<String> lemmatize(String text) {
+        List<String> lemmas = this.cache.lookup(text);
+        if (lemmas != null) {
+            return lemmas;
+        }
+        Annotation annotation = new Annotation(text);
+        this.getPipeline().annotate(annotation);
+        lemmas = lemmasOf(annotation);
+        this.cache.store(text, lemmas);
+        return lemmas;
+    }
+
+    /**
+     * Lemmatizes all specified texts that are not cached yet, using all available processors. Afterward, {@link #lemmatize(String)} answers the texts
+     * from the cache as long as they have not been evicted.
+     *
+     * @param texts the texts
+     */
+    public void lemmatizeAll(Collection<String> texts) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (this.cache.lookup(text) == null) {
+                missing.add(text);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<String> missingTexts = new ArrayList<>(missing);
+        List<Annotation> annotations = new ArrayList<>(missingTexts.size());
+        for (String text : missingTexts) {
+            annotations.add(new Annotation(text));
+        }
+        this.getPipeline().annotate(annotations, Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < missingTexts.size(); i++) {
+            this.cache.store(missingTexts.get(i), lemmasOf(annotations.get(i)));
+        }
+    }
+
+    /**
+     * Checks whether the lemmas of the specified text are cached, without counting as an access of the text.
+     *
+     * @param text the text
+     * @return true if the lemmas of the text are cached
+     */
+    boolean isCached(String text) {
+        return this.cache.contains(text);
+    }
+
+    private StanfordCoreNLP getPipeline() {
+        StanfordCoreNLP result = this.pipeline;
+        if (result == null) {
+            synchronized (this) {
+                result = this.pipeline;
+                if (result == null) {
+                    logger.debug("Loading lemmatization pipeline");
+                    Properties props = new Properties();
+                    props.setProperty("annotators", "tokenize,pos,lemma");
+                    result = new StanfordCoreNLP(props);
+                    this.pipeline = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> lemmasOf(Annotation annotation) {
+        List<String> lemmas = new ArrayList<>();
+        for (CoreLabel token : annotation.get(CoreAnnotations.TokensAnnotation.class)) {
+            lemmas.add(token.lemma());
+        }
+        return List.copyOf(lemmas);
+    }
+
+    private static final class LemmaCache extends LinkedHashMap<String, List<String>> {
+        private static final long serialVersionUID = -5263541983307462873L;
+
+        private final int maxSize;
+
+        private LemmaCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        private synchronized List<String> lookup(String text) {
+            return this.get(text);
+        }
+
+        private synchronized boolean contains(String text) {
+            return this.containsKey(text);
+        }
+
+        private synchronized void store(String text, List<String> lemmas) {
+            this.put(text, lemmas);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return this.size() > this.maxSize;
+        }
+    }
+}
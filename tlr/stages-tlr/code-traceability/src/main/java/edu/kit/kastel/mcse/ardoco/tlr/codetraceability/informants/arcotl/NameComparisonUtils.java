@@ -2,97 +2,80 @@
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Properties;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeModule;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
-import edu.stanford.nlp.ling.CoreLabel;
-import edu.stanford.nlp.pipeline.CoreDocument;
-import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 import opennlp.tools.stemmer.PorterStemmer;
 
 public class NameComparisonUtils {
 
+    private static final Pattern INTERFACE_NAME = Pattern.compile("I[A-Z].*$");
+
     private NameComparisonUtils() {
         throw new IllegalStateException("No instantiation provided");
     }
 
     //
 
-    public static boolean areEqual(Entity namedEntity1, Entity namedEntity2) {
-        return areEqual(namedEntity1.getName(), namedEntity2.getName(), PreprocessingMethod.NONE);
+    public static boolean areEqual(NameIndex index, Entity namedEntity1, Entity namedEntity2) {
+        return areEqual(index, namedEntity1.getName(), namedEntity2.getName(), PreprocessingMethod.NONE);
     }
 
-    public static double getContainedRatio(Entity namedEntity, List<String> names, PreprocessingMethod methodToUse) {
-        List<String> namesSplit = getProcessedSplit(namedEntity.getName());
-        List<List<String>> allSublists = getAllSublists(namesSplit);
-        int max = 0;
-        for (List<String> sublist : allSublists) {
-            String substring = concatStrings(sublist);
-            if (isContained(substring, names, methodToUse)) {
-                max = Math.max(max, sublist.size());
-            }
-        }
+    public static double getContainedRatio(NameIndex index, Entity namedEntity, List<String> names, PreprocessingMethod methodToUse) {
+        List<String> namesSplit = processedSplit(index, namedEntity.getName());
+        int max = sublists(index, namesSplit, methodToUse).longestContainedIn(sublists(index, names, methodToUse));
         return (double) max / namesSplit.size();
     }
 
     // checks if b contains a while respecting word boundaries
-    public static boolean isContained(Entity a, Entity b, PreprocessingMethod methodToUse) {
-        return isContained(a.getName(), b.getName(), methodToUse);
+    public static boolean isContained(NameIndex index, Entity a, Entity b, PreprocessingMethod methodToUse) {
+        return isContained(index, a.getName(), b.getName(), methodToUse);
     }
 
-    public static boolean isInterfaceContained(Entity interfaceNamedEntity, Entity otherNamedEntity, PreprocessingMethod methodToUse) {
+    public static boolean isInterfaceContained(NameIndex index, Entity interfaceNamedEntity, Entity otherNamedEntity, PreprocessingMethod methodToUse) {
         String name = interfaceNamedEntity.getName();
-        if (!name.matches("I[A-Z].*$")) {
+        if (!INTERFACE_NAME.matcher(name).matches()) {
             return false;
         }
-        return isContained(name.substring(1), otherNamedEntity.getName(), methodToUse);
+        return isContained(index, name.substring(1), otherNamedEntity.getName(), methodToUse);
     }
 
-    public static double getRatio(Entity namedEntity1, Entity namedEntity2) {
-        return Math.min(1, (double) getWordCount(namedEntity1.getName()) / getWordCount(namedEntity2.getName()));
+    public static double getRatio(NameIndex index, Entity namedEntity1, Entity namedEntity2) {
+        return Math.min(1, (double) getWordCount(index, namedEntity1.getName()) / getWordCount(index, namedEntity2.getName()));
     }
 
-    public static double getInterfaceRatio(Entity interfaceEntity, Entity otherNamedEntity) {
-        return Math.min(1, (double) (getWordCount(interfaceEntity.getName().substring(1))) / getWordCount(otherNamedEntity.getName()));
+    public static double getInterfaceRatio(NameIndex index, Entity interfaceEntity, Entity otherNamedEntity) {
+        return Math.min(1, (double) (getWordCount(index, interfaceEntity.getName().substring(1))) / getWordCount(index, otherNamedEntity.getName()));
     }
 
     //
 
-    private static boolean isContained(String a, String b, PreprocessingMethod methodToUse) {
-        List<String> bSplit = getProcessedSplit(b);
-        return isContained(preprocess(a), bSplit, methodToUse);
-    }
-
-    private static boolean isContained(String a, List<String> names, PreprocessingMethod methodToUse) {
-        List<List<String>> allSublists = getAllSublists(names);
-        for (List<String> sublist : allSublists) {
-            String substring = concatStrings(sublist);
-            if (areEqual(a, substring, methodToUse)) {
-                return true;
-            }
-        }
-        return false;
+    private static boolean isContained(NameIndex index, String a, String b, PreprocessingMethod methodToUse) {
+        return sublists(index, processedSplit(index, b), methodToUse).contains(key(index, preprocess(a), methodToUse));
     }
 
     //
 
-    public static List<String> removeWords(Entity namedEntity, SortedSet<String> wordsToRemove) {
-        List<String> words = NameComparisonUtils.getProcessedSplit(namedEntity.getName());
+    public static List<String> removeWords(NameIndex index, Entity namedEntity, SortedSet<String> wordsToRemove) {
+        List<String> words = new ArrayList<>(processedSplit(index, namedEntity.getName()));
         for (String word : wordsToRemove) {
             words.remove(NameComparisonUtils.preprocess(word));
         }
         return words;
     }
 
-    public static SortedSet<String> removeWords(SortedSet<String> words, Entity namedEntity) {
+    public static SortedSet<String> removeWords(NameIndex index, SortedSet<String> words, Entity namedEntity) {
         SortedSet<String> result = new TreeSet<>();
-        List<String> wordsToRemove = NameComparisonUtils.getProcessedSplit(namedEntity.getName());
+        List<String> wordsToRemove = processedSplit(index, namedEntity.getName());
         for (String word : words) {
             word = preprocess(word);
             if (!wordsToRemove.contains(word)) {
@@ -104,16 +87,16 @@ public static SortedSet<String> removeWords(SortedSet<String> words, Entity name
 
     //
 
-    public static List<CodePackage> getMatchedPackages(Entity archEndpoint, CodeCompilationUnit compUnit) {
+    public static List<CodePackage> getMatchedPackages(NameIndex index, Entity archEndpoint, CodeCompilationUnit compUnit) {
         List<String> p = compUnit.getParentPackageNames();
-        double similarity = NameComparisonUtils.getContainedRatio(archEndpoint, p, PreprocessingMethod.STEMMING);
+        double similarity = NameComparisonUtils.getContainedRatio(index, archEndpoint, p, PreprocessingMethod.STEMMING);
         if (similarity == 0) {
             return List.of();
         }
         List<CodePackage> matchedPackages = new ArrayList<>();
         List<CodePackage> p2 = getPackageList(compUnit.getParent());
         for (int i = p.size() - 1; i > 0; i--) {
-            double similarity2 = NameComparisonUtils.getContainedRatio(archEndpoint, p.subList(0, i), PreprocessingMethod.STEMMING);
+            double similarity2 = NameComparisonUtils.getContainedRatio(index, archEndpoint, p.subList(0, i), PreprocessingMethod.STEMMING);
             if (similarity2 < similarity) {
                 matchedPackages.addFirst(p2.get(i));
             }
@@ -146,43 +129,75 @@ public static String preprocess(String name) {
         return name.toLowerCase();
     }
 
-    public static List<String> getProcessedSplit(String name) {
-        List<String> namesSplit = split(name);
-        List<String> namesProcessed = new ArrayList<>();
-        for (String s : namesSplit) {
-            namesProcessed.add(preprocess(s));
-        }
-        return namesProcessed;
+    public static List<String> getProcessedSplit(NameIndex index, String name) {
+        return new ArrayList<>(processedSplit(index, name));
     }
 
-    public static List<String> getProcessedSplit(List<String> names) {
+    public static List<String> getProcessedSplit(NameIndex index, List<String> names) {
         List<String> namesProcessed = new ArrayList<>();
         for (String s : names) {
-            namesProcessed.addAll(getProcessedSplit(s));
+            namesProcessed.addAll(processedSplit(index, s));
         }
         return namesProcessed;
     }
 
-    private static <T> List<List<T>> getAllSublists(List<T> list) {
-        List<List<T>> allSublists = new ArrayList<>();
-        for (int numberOfElements = 1; numberOfElements <= list.size(); numberOfElements++) {
-            for (int startIndex = 0; startIndex <= list.size() - numberOfElements; startIndex++) {
-                allSublists.add(list.subList(startIndex, startIndex + numberOfElements));
+    /**
+     * Returns the names of all packages of the code model of the specified index. The names are only collected once per index.
+     *
+     * @param index the name index of the computation
+     * @return the unmodifiable names of all packages of the code model
+     */
+    public static SortedSet<String> getAllPackageNames(NameIndex index) {
+        return index.packageNames(model -> {
+            SortedSet<String> allPackageNames = new TreeSet<>();
+            for (CodePackage codePackage : model.getAllPackages()) {
+                allPackageNames.add(codePackage.getName());
+            }
+            return allPackageNames;
+        });
+    }
+
+    /**
+     * Lemmatizes everything that comparing the specified names with {@link PreprocessingMethod#LEMMATIZATION} can lemmatize, i.e., the preprocessed names
+     * and the concatenations of all contiguous sublists of their processed splits, in one batch. This avoids lemmatizing the texts one by one while the
+     * heuristics compare the names.
+     *
+     * @param index the name index of the computation
+     * @param names the names that will be compared
+     */
+    public static void prepareLemmatization(NameIndex index, Collection<String> names) {
+        Set<String> texts = new LinkedHashSet<>();
+        for (String name : names) {
+            texts.add(preprocess(name));
+            if (INTERFACE_NAME.matcher(name).matches()) {
+                texts.add(preprocess(name.substring(1)));
+            }
+            List<String> split = processedSplit(index, name);
+            for (int numberOfElements = 1; numberOfElements <= split.size(); numberOfElements++) {
+                for (int startIndex = 0; startIndex <= split.size() - numberOfElements; startIndex++) {
+                    texts.add(String.join("", split.subList(startIndex, startIndex + numberOfElements)));
+                }
             }
         }
-        return allSublists;
+        Lemmatizer.getInstance().lemmatizeAll(texts);
     }
 
-    private static String concatStrings(List<String> names) {
-        StringBuilder concat = new StringBuilder();
-        for (String name : names) {
-            concat.append(name);
-        }
-        return concat.toString();
+    private static List<String> processedSplit(NameIndex index, String name) {
+        return index.processedSplit(name, n -> {
+            List<String> namesProcessed = new ArrayList<>();
+            for (String s : split(n)) {
+                namesProcessed.add(preprocess(s));
+            }
+            return namesProcessed;
+        });
     }
 
-    private static int getWordCount(String name) {
-        return getProcessedSplit(name).size();
+    private static NameIndex.Sublists sublists(NameIndex index, List<String> names, PreprocessingMethod methodToUse) {
+        return index.sublists(names, methodToUse, string -> computeKey(string, methodToUse));
+    }
+
+    private static int getWordCount(NameIndex index, String name) {
+        return processedSplit(index, name).size();
     }
 
     //
@@ -191,46 +206,31 @@ public enum PreprocessingMethod {
         NONE, STEMMING, LEMMATIZATION
     }
 
-    private static boolean areEqual(String name1, String name2, PreprocessingMethod methodToUse) {
-        return switch (methodToUse) {
-            case NONE -> areEqual(name1, name2);
-            case STEMMING -> areEqualStemmed(name1, name2);
-            case LEMMATIZATION -> areEqualLemmatized(name1, name2);
-        };
+    private static boolean areEqual(NameIndex index, String name1, String name2, PreprocessingMethod methodToUse) {
+        return key(index, name1, methodToUse).equals(key(index, name2, methodToUse));
     }
 
-    private static boolean areEqual(String name1, String name2) {
-        return preprocess(name1).equals(preprocess(name2));
+    /**
+     * Returns the key of the specified name under the specified method. Two names are equal under a method if and only if their keys are equal.
+     */
+    private static Object key(NameIndex index, String name, PreprocessingMethod methodToUse) {
+        return index.key(name, methodToUse, n -> computeKey(n, methodToUse));
     }
 
-    private static boolean areEqualStemmed(String name1, String name2) {
-        PorterStemmer stemmer = new PorterStemmer();
-        String stemmed1 = stemmer.stem(name1);
-        String stemmed2 = stemmer.stem(name2);
-        return areEqual(stemmed1, stemmed2);
+    private static Object computeKey(String name, PreprocessingMethod methodToUse) {
+        return switch (methodToUse) {
+            case NONE -> preprocess(name);
+            case STEMMING -> preprocess(new PorterStemmer().stem(name));
+            case LEMMATIZATION -> lemmatizedKey(name);
+        };
     }
 
-    private static boolean areEqualLemmatized(String name1, String name2) {
-        // set up pipeline properties
-        Properties props = new Properties();
-        // set the list of annotators to run
-        props.setProperty("annotators", "tokenize,pos,lemma");
-        // build pipeline
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
-        // create document objects
-        CoreDocument document = pipeline.processToCoreDocument(name1);
-        CoreDocument document2 = pipeline.processToCoreDocument(name2);
-        if (document.tokens().size() != document2.tokens().size()) {
-            return false;
-        }
-        for (int i = 0; i < document.tokens().size(); i++) {
-            CoreLabel tok = document.tokens().get(i);
-            CoreLabel tok2 = document2.tokens().get(i);
-            if (!areEqual(tok.lemma(), tok2.lemma())) {
-                return false;
-            }
+    private static List<String> lemmatizedKey(String name) {
+        List<String> lemmas = new ArrayList<>();
+        for (String lemma : Lemmatizer.getInstance().lemmatize(name)) {
+            lemmas.add(preprocess(lemma));
         }
-        return true;
+        return List.copyOf(lemmas);
     }
 
     //
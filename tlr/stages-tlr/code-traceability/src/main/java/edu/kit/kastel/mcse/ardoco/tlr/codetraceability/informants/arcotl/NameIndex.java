@@ -0,0 +1,174 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils.PreprocessingMethod;
+
+/**
+ * Caches the results of the name processing of {@link NameComparisonUtils}, so that comparing the same names again only needs hash lookups. Names are
+ * compared via keys: two strings are equal under a {@link PreprocessingMethod} if and only if their keys are equal. For a list of names, the keys of all
+ * contiguous sublists are cached as well. The cached values of names only depend on the strings they are computed from.
+ * <p>
+ * Every {@link edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Computation computation} creates its own index for its code
+ * model and passes it to the heuristics, so the cached values are released with the computation and concurrent computations do not share an index.
+ */
+public final class NameIndex {
+
+    private final Map<String, List<String>> processedSplits = new ConcurrentHashMap<>();
+    private final Map<PreprocessingMethod, Map<String, Object>> keys = new EnumMap<>(PreprocessingMethod.class);
+    private final Map<PreprocessingMethod, Map<List<String>, Sublists>> sublists = new EnumMap<>(PreprocessingMethod.class);
+    private final CodeModel codeModel;
+    private volatile SortedSet<String> packageNames;
+
+    /**
+     * Creates a new, empty index for a computation on the specified code model.
+     *
+     * @param codeModel the code model of the computation
+     */
+    public NameIndex(CodeModel codeModel) {
+        this.codeModel = codeModel;
+        for (PreprocessingMethod method : PreprocessingMethod.values()) {
+            this.keys.put(method, new ConcurrentHashMap<>());
+            this.sublists.put(method, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the cached processed split of the specified name.
+     *
+     * @param name     the name
+     * @param splitter computes the processed split on a cache miss
+     * @return the immutable processed split of the name
+     */
+    List<String> processedSplit(String name, Function<String, List<String>> splitter) {
+        return lookup(this.processedSplits, name, n -> List.copyOf(splitter.apply(n)));
+    }
+
+    /**
+     * Returns the cached key of the specified string under the specified method.
+     *
+     * @param string the string
+     * @param method the preprocessing method
+     * @param keyer  computes the key on a cache miss
+     * @return the key of the string
+     */
+    Object key(String string, PreprocessingMethod method, Function<String, Object> keyer) {
+        return lookup(this.keys.get(method), string, keyer);
+    }
+
+    /**
+     * Returns the cached keys of all contiguous sublists of the specified names under the specified method. The key of a sublist is the key of the
+     * concatenation of its names.
+     *
+     * @param names  the names
+     * @param method the preprocessing method
+     * @param keyer  computes the key of a concatenation
+     * @return the keys of all contiguous sublists
+     */
+    Sublists sublists(List<String> names, PreprocessingMethod method, Function<String, Object> keyer) {
+        Map<List<String>, Sublists> cache = this.sublists.get(method);
+        Sublists cached = cache.get(names);
+        if (cached != null) {
+            return cached;
+        }
+        Sublists computed = Sublists.of(names, concatenation -> this.key(concatenation, method, keyer));
+        cached = cache.putIfAbsent(List.copyOf(names), computed);
+        return cached == null ? computed : cached;
+    }
+
+    /**
+     * Returns the cached names of all packages of the code model of this index. Concurrent callers may collect the names more than once, but all of them
+     * get equal names.
+     *
+     * @param collector computes the package names on a cache miss
+     * @return the immutable package names
+     */
+    SortedSet<String> packageNames(Function<CodeModel, SortedSet<String>> collector) {
+        SortedSet<String> cached = this.packageNames;
+        if (cached == null) {
+            cached = Collections.unmodifiableSortedSet(collector.apply(this.codeModel));
+            this.packageNames = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Looks up the value of the specified key without holding a lock while the value is computed, as computing keys can be expensive.
+     */
+    private static <K, V> V lookup(Map<K, V> cache, K key, Function<K, V> compute) {
+        V cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V computed = compute.apply(key);
+        cached = cache.putIfAbsent(key, computed);
+        return cached == null ? computed : cached;
+    }
+
+    /**
+     * The keys of all contiguous sublists of a list of names.
+     */
+    static final class Sublists {
+        private final Object[][] keysBySize;
+        private final Set<Object> allKeys;
+
+        private Sublists(Object[][] keysBySize) {
+            this.keysBySize = keysBySize;
+            Set<Object> keySet = new HashSet<>();
+            for (Object[] keysOfSize : keysBySize) {
+                Collections.addAll(keySet, keysOfSize);
+            }
+            this.allKeys = keySet;
+        }
+
+        private static Sublists of(List<String> names, Function<String, Object> keyer) {
+            int size = names.size();
+            Object[][] keysBySize = new Object[size][];
+            for (int numberOfElements = 1; numberOfElements <= size; numberOfElements++) {
+                Object[] keysOfSize = new Object[size - numberOfElements + 1];
+                for (int startIndex = 0; startIndex < keysOfSize.length; startIndex++) {
+                    keysOfSize[startIndex] = keyer.apply(String.join("", names.subList(startIndex, startIndex + numberOfElements)));
+                }
+                keysBySize[numberOfElements - 1] = keysOfSize;
+            }
+            return new Sublists(keysBySize);
+        }
+
+        /**
+         * Checks whether any contiguous sublist has the specified key.
+         *
+         * @param key the key
+         * @return true if a sublist has the key
+         */
+        boolean contains(Object key) {
+            return this.allKeys.contains(key);
+        }
+
+        /**
+         * Returns the number of names of the longest contiguous sublist whose key is contained in the specified sublists.
+         *
+         * @param other the other sublists
+         * @return the size of the longest sublist that is contained in the other sublists, or 0 if there is none
+         */
+        int longestContainedIn(Sublists other) {
+            for (int numberOfElements = this.keysBySize.length; numberOfElements > 0; numberOfElements--) {
+                for (Object key : this.keysBySize[numberOfElements - 1]) {
+                    if (other.contains(key)) {
+                        return numberOfElements;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
 
 import java.util.LinkedHashMap;
@@ -119,6 +119,10 @@ public static Node getRoot(NameComparisonUtils.PreprocessingMethod preprocessCon
     }
 
     public static Set<SamCodeTraceLink> generateTraceLinks(Node root, ArchitectureModel archModel, CodeModel codeModel) {
+        return generateTraceLinks(root, archModel, codeModel, Computation.Execution.FORK_JOIN);
+    }
+
+    public static Set<SamCodeTraceLink> generateTraceLinks(Node root, ArchitectureModel archModel, CodeModel codeModel, Computation.Execution execution) {
         if (archModel == null || codeModel == null) {
             return new java.util.LinkedHashSet<>();
         }
@@ -126,7 +130,7 @@ public static Set<SamCodeTraceLink> generateTraceLinks(Node root, ArchitectureMo
             root = getRoot();
         }
 
-        Computation computation = new Computation(root, archModel, codeModel);
+        Computation computation = new Computation(root, archModel, codeModel, execution);
         return computation.getTraceLinks();
     }
 
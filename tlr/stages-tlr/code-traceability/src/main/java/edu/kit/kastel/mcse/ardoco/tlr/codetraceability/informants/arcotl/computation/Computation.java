@@ -1,7 +1,18 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -12,23 +23,88 @@
 /**
  * A computation. Calculates the {@link Confidence confidences} and trace links
  * for a computation tree.
+ * <p>
+ * The computation tree is a directed acyclic graph, as a node can be the child
+ * of several parents. Every node is computed exactly once, as soon as the
+ * results of all of its children are available. Nodes that do not depend on
+ * each other are computed concurrently on the configured {@link Execution}.
+ * Since every node only reads the results of its children, the result does
+ * not depend on the execution.
+ * <p>
+ * Nodes are identified by {@link Node#equals(Object) equality}, as in the
+ * {@link ComputationResult}. Equal nodes have equal functions and equal
+ * children, so they calculate the same confidences; a computation tree that
+ * contains equal nodes at several places computes them only once.
  */
 @Deterministic
 public class Computation {
 
+    /**
+     * The execution on which the nodes of a computation tree are computed.
+     */
+    public enum Execution {
+        /**
+         * Computes the nodes, and the endpoint tuples of every node, one after another on the calling thread.
+         */
+        SEQUENTIAL,
+        /**
+         * Computes independent nodes, and chunks of the endpoint tuples of a node, concurrently on the common fork-join pool.
+         */
+        FORK_JOIN,
+        /**
+         * Computes every node, and every chunk of the endpoint tuples of a node, on its own virtual thread.
+         */
+        VIRTUAL_THREADS
+    }
+
     private final Node root;
     private final ComputationResult result;
 
     /**
-     * Creates a new computation with the specified computation tree and the specified models between which trace links will be calculated.
+     * Creates a new computation with the specified computation tree and the specified models between which trace links will be calculated. Independent
+     * nodes are computed on the common fork-join pool.
      *
      * @param root      the root of the computation tree
      * @param archModel the architecture model for which trace links will be calculated
      * @param codeModel the code model for which trace links will be calculated
      */
     public Computation(Node root, ArchitectureModel archModel, CodeModel codeModel) {
+        this(root, archModel, codeModel, Execution.FORK_JOIN);
+    }
+
+    /**
+     * Creates a new computation with the specified computation tree and the specified models between which trace links will be calculated.
+     *
+     * @param root      the root of the computation tree
+     * @param archModel the architecture model for which trace links will be calculated
+     * @param codeModel the code model for which trace links will be calculated
+     * @param execution the execution on which the nodes are computed
+     */
+    public Computation(Node root, ArchitectureModel archModel, CodeModel codeModel, Execution execution) {
         this.root = root;
-        this.result = root.compute(archModel, codeModel, new ComputationResult());
+        this.result = switch (execution) {
+        case SEQUENTIAL -> compute(root, archModel, codeModel, Runnable::run);
+        case FORK_JOIN -> compute(root, archModel, codeModel, ForkJoinPool.commonPool());
+        case VIRTUAL_THREADS -> {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                yield compute(root, archModel, codeModel, executor);
+            }
+        }
+        };
+    }
+
+    /**
+     * Creates a new computation with the specified computation tree and the specified models between which trace links will be calculated. The nodes are
+     * computed on the specified executor.
+     *
+     * @param root      the root of the computation tree
+     * @param archModel the architecture model for which trace links will be calculated
+     * @param codeModel the code model for which trace links will be calculated
+     * @param executor  the executor on which the nodes are computed
+     */
+    public Computation(Node root, ArchitectureModel archModel, CodeModel codeModel, Executor executor) {
+        this.root = root;
+        this.result = compute(root, archModel, codeModel, executor);
     }
 
     /**
@@ -51,4 +127,58 @@ public ComputationResult getResult() {
     public Set<SamCodeTraceLink> getTraceLinks() {
         return result.getTraceLinks(root);
     }
+
+    private static ComputationResult compute(Node root, ArchitectureModel archModel, CodeModel codeModel, Executor executor) {
+        ComputationContext context = new ComputationContext(archModel, codeModel, executor);
+        List<Node> order = new ArrayList<>();
+        addInTopologicalOrder(root, new HashSet<>(), order);
+
+        Map<Node, CompletableFuture<NodeResult>> futures = new LinkedHashMap<>();
+        for (Node node : order) {
+            List<Node> children = node.getChildren();
+            List<CompletableFuture<NodeResult>> childFutures = children.stream().map(futures::get).toList();
+            CompletableFuture<NodeResult> future = CompletableFuture.allOf(childFutures.toArray(CompletableFuture[]::new)).thenApplyAsync(ignored -> {
+                ComputationResult childrenResult = new ComputationResult();
+                for (int i = 0; i < children.size(); i++) {
+                    childrenResult.addNodeResult(children.get(i), childFutures.get(i).join());
+                }
+                return node.calculateConfidences(context, childrenResult);
+            }, executor);
+            futures.put(node, future);
+        }
+
+        ComputationResult computationResult = new ComputationResult();
+        for (Node node : order) {
+            computationResult.addNodeResult(node, join(futures.get(node)));
+        }
+        return computationResult;
+    }
+
+    /**
+     * Adds the nodes of the subtree rooted at the specified node in post-order, so that every node comes after all of its children. A node that is reachable
+     * on several paths, or that is equal to a node that has already been added, is only added once.
+     */
+    private static void addInTopologicalOrder(Node node, Set<Node> visited, List<Node> order) {
+        if (!visited.add(node)) {
+            return;
+        }
+        for (Node child : node.getChildren()) {
+            addInTopologicalOrder(child, visited, order);
+        }
+        order.add(node);
+    }
+
+    private static NodeResult join(CompletableFuture<NodeResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
 }
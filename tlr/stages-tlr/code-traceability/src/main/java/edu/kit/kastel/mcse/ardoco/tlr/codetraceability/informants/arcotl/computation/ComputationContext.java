@@ -0,0 +1,32 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
+
+import java.util.concurrent.Executor;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
+
+/**
+ * The inputs that all nodes of one {@link Computation} share. A computation creates one context per run, so that nothing computed for one pair of models
+ * outlives the run or leaks into a run for other models.
+ *
+ * @param archModel     the architecture model for which trace links are calculated
+ * @param codeModel     the code model for which trace links are calculated
+ * @param endpointIndex the index of the endpoints of the models that all node results of the run share
+ * @param executor      the executor of the computation, on which nodes may also split their own work
+ * @param nameIndex     the index of the processed names that all heuristics of the run share
+ */
+public record ComputationContext(ArchitectureModel archModel, CodeModel codeModel, EndpointIndex endpointIndex, Executor executor, NameIndex nameIndex) {
+
+    /**
+     * Creates a new context for a run on the specified models with a new index of their endpoints and a new, empty index of names.
+     *
+     * @param archModel the architecture model for which trace links are calculated
+     * @param codeModel the code model for which trace links are calculated
+     * @param executor  the executor of the computation
+     */
+    public ComputationContext(ArchitectureModel archModel, CodeModel codeModel, Executor executor) {
+        this(archModel, codeModel, EndpointIndex.of(archModel, codeModel), executor, new NameIndex(codeModel));
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
 
 import java.util.LinkedHashMap;
@@ -16,7 +16,8 @@
 /**
  * The result of a computation. A computation's final result maps every
  * combination of computation node and endpoint tuple to exactly one
- * {@link Confidence confidence}.
+ * {@link Confidence confidence}. Computation nodes are identified by
+ * {@link Node#equals(Object) equality}, so equal nodes share one result.
  */
 @Deterministic
 public class ComputationResult {
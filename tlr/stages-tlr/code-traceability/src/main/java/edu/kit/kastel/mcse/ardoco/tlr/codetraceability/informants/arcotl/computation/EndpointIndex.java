@@ -0,0 +1,117 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+
+/**
+ * Assigns consecutive indices to architecture endpoints (the rows of a {@link NodeResult}) and code endpoints (the columns of a {@link NodeResult}). An index
+ * created from models numbers the endpoints in the order of {@link EndpointTupleRepo}, so iterating rows and columns in ascending order visits the endpoint
+ * tuples in the same order as the repository. Indices only grow; an endpoint keeps its index once assigned.
+ * <p>
+ * Node results of the same computation should share one index, so that their rows and columns can be combined without looking up endpoints. Therefore,
+ * a {@link Computation} creates one index per run and passes it to every node with its {@link ComputationContext}. A shared index must not grow; node
+ * results {@link #copy() copy} it first.
+ */
+public final class EndpointIndex {
+
+    private final List<ArchitectureItem> architectureEndpoints;
+    private final List<CodeCompilationUnit> codeEndpoints;
+    private final Map<ArchitectureItem, Integer> architectureIndices;
+    private final Map<CodeCompilationUnit, Integer> codeIndices;
+
+    /**
+     * Creates a new, empty index.
+     */
+    EndpointIndex() {
+        this.architectureEndpoints = new ArrayList<>();
+        this.codeEndpoints = new ArrayList<>();
+        this.architectureIndices = new HashMap<>();
+        this.codeIndices = new HashMap<>();
+    }
+
+    /**
+     * Returns a new index of all endpoints of the specified models. The returned index is meant to be shared by the node results of one computation and
+     * must not grow.
+     *
+     * @param archModel the architecture model
+     * @param codeModel the code model
+     * @return the index of the endpoints of the models
+     */
+    public static EndpointIndex of(ArchitectureModel archModel, CodeModel codeModel) {
+        return new EndpointIndex(archModel.getEndpoints(), codeModel.getEndpoints());
+    }
+
+    private EndpointIndex(List<? extends ArchitectureItem> architectureEndpoints, List<? extends CodeCompilationUnit> codeEndpoints) {
+        this();
+        for (ArchitectureItem architectureEndpoint : architectureEndpoints) {
+            this.addArchitectureEndpoint(architectureEndpoint);
+        }
+        for (CodeCompilationUnit codeEndpoint : codeEndpoints) {
+            this.addCodeEndpoint(codeEndpoint);
+        }
+    }
+
+    private EndpointIndex(EndpointIndex other) {
+        this.architectureEndpoints = new ArrayList<>(other.architectureEndpoints);
+        this.codeEndpoints = new ArrayList<>(other.codeEndpoints);
+        this.architectureIndices = new HashMap<>(other.architectureIndices);
+        this.codeIndices = new HashMap<>(other.codeIndices);
+    }
+
+    /**
+     * Returns a copy of this index that can grow independently of this index.
+     *
+     * @return a copy of this index
+     */
+    EndpointIndex copy() {
+        return new EndpointIndex(this);
+    }
+
+    int architectureIndexOf(Object endpoint) {
+        Integer index = this.architectureIndices.get(endpoint);
+        return index == null ? -1 : index;
+    }
+
+    int codeIndexOf(Object endpoint) {
+        Integer index = this.codeIndices.get(endpoint);
+        return index == null ? -1 : index;
+    }
+
+    int addArchitectureEndpoint(ArchitectureItem endpoint) {
+        return this.architectureIndices.computeIfAbsent(endpoint, e -> {
+            this.architectureEndpoints.add(e);
+            return this.architectureEndpoints.size() - 1;
+        });
+    }
+
+    int addCodeEndpoint(CodeCompilationUnit endpoint) {
+        return this.codeIndices.computeIfAbsent(endpoint, e -> {
+            this.codeEndpoints.add(e);
+            return this.codeEndpoints.size() - 1;
+        });
+    }
+
+    ArchitectureItem architectureEndpoint(int row) {
+        return this.architectureEndpoints.get(row);
+    }
+
+    CodeCompilationUnit codeEndpoint(int column) {
+        return this.codeEndpoints.get(column);
+    }
+
+    int architectureEndpointCount() {
+        return this.architectureEndpoints.size();
+    }
+
+    int codeEndpointCount() {
+        return this.codeEndpoints.size();
+    }
+}
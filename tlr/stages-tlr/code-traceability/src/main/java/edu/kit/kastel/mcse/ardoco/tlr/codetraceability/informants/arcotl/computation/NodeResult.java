@@ -1,16 +1,14 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.tracelink.SamCodeTraceLink;
@@ -20,11 +18,23 @@
 /**
  * The result of a computation node. A computation node's final result are the
  * calculated {@link Confidence confidences} of every endpoint tuple.
+ * <p>
+ * The confidences are stored in a dense matrix whose rows are the architecture
+ * endpoints and whose columns are the code endpoints of an {@link EndpointIndex}.
+ * A value of {@code NaN} represents a confidence without value, and a bit set per
+ * row records which endpoint tuples have been added at all. Queries for a single
+ * endpoint only visit its row or column. Endpoint tuples are visited row by row,
+ * which is the order of the {@link EndpointTupleRepo}.
  */
 @Deterministic
 public class NodeResult {
 
-    private final Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> confidenceMap;
+    private static final double NO_VALUE = Double.NaN;
+
+    private EndpointIndex index;
+    private boolean ownsIndex;
+    private double[][] values;
+    private BitSet[] added;
 
     /**
      * Creates a new computation node result. It is initially empty, so the
@@ -32,14 +42,35 @@ public class NodeResult {
      * been calculated.
      */
     public NodeResult() {
-        this.confidenceMap = new LinkedHashMap<>();
+        this(new EndpointIndex(), true);
+    }
+
+    /**
+     * Creates a new computation node result that contains a confidence without
+     * value for every endpoint tuple of the specified index. The result shares
+     * the index, so results of the same computation should be created from the
+     * index of its {@link ComputationContext}.
+     *
+     * @param index the index of the endpoints of the models
+     */
+    public NodeResult(EndpointIndex index) {
+        this(index, false);
+        int columns = this.index.codeEndpointCount();
+        for (int row = 0; row < this.index.architectureEndpointCount(); row++) {
+            double[] rowValues = new double[columns];
+            Arrays.fill(rowValues, NO_VALUE);
+            this.values[row] = rowValues;
+            this.added[row].set(0, columns);
+        }
     }
 
-    public NodeResult(ArchitectureModel archModel, CodeModel codeModel) {
-        this.confidenceMap = new LinkedHashMap<>();
-        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
-        for (var endpointTuple : endpointTupleRepo.getEndpointTuples()) {
-            this.add(endpointTuple, new Confidence());
+    private NodeResult(EndpointIndex index, boolean ownsIndex) {
+        this.index = index;
+        this.ownsIndex = ownsIndex;
+        this.values = new double[index.architectureEndpointCount()][];
+        this.added = new BitSet[index.architectureEndpointCount()];
+        for (int row = 0; row < this.added.length; row++) {
+            this.added[row] = new BitSet();
         }
     }
 
@@ -53,28 +84,52 @@ public NodeResult(ArchitectureModel archModel, CodeModel codeModel) {
      * @return the confidence of the endpoint tuple, or null if it doesn't exist yet
      */
     public Confidence getConfidence(Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple) {
-        return this.confidenceMap.get(endpointTuple);
+        int row = this.index.architectureIndexOf(endpointTuple.first());
+        int column = this.index.codeIndexOf(endpointTuple.second());
+        if (!this.isAdded(row, column)) {
+            return null;
+        }
+        return toConfidence(this.values[row][column]);
     }
 
     public Confidence getBestConfidence(Entity endpoint) {
-        Confidence max = new Confidence();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasElement(endpoint) && confidence.compareTo(max) > 0) {
-                max = confidence;
+        double max = NO_VALUE;
+        int row = this.index.architectureIndexOf(endpoint);
+        if (this.hasRow(row)) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                max = max(max, this.values[row][column]);
             }
         }
-        return max;
+        int column = this.index.codeIndexOf(endpoint);
+        if (column >= 0) {
+            for (row = 0; row < this.added.length; row++) {
+                if (this.isAdded(row, column)) {
+                    max = max(max, this.values[row][column]);
+                }
+            }
+        }
+        return toConfidence(max);
     }
 
     public NodeResult getEndpointTuples(Entity endpoint, Confidence confidence) {
-        NodeResult result = new NodeResult();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple = entry.getKey();
-            Confidence otherConfidence = entry.getValue();
-            if (endpointTuple.hasElement(endpoint) && confidence.equals(otherConfidence)) {
-                result.add(endpointTuple, otherConfidence);
+        double expected = confidence.hasValue() ? confidence.getValue() : NO_VALUE;
+        NodeResult result = new NodeResult(this.index, false);
+        int row = this.index.architectureIndexOf(endpoint);
+        if (this.hasRow(row)) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                if (Double.compare(this.values[row][column], expected) == 0) {
+                    result.set(row, column, expected);
+                }
+            }
+        }
+        int column = this.index.codeIndexOf(endpoint);
+        if (column >= 0) {
+            for (row = 0; row < this.added.length; row++) {
+                if (this.isAdded(row, column) && Double.compare(this.values[row][column], expected) == 0) {
+                    result.set(row, column, expected);
+                }
             }
         }
         return result;
@@ -82,11 +137,21 @@ public NodeResult getEndpointTuples(Entity endpoint, Confidence confidence) {
 
     public SortedSet<Entity> getLinkedEndpoints(Entity endpoint) {
         SortedSet<Entity> linkedEndpoints = new TreeSet<>();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasElement(endpoint) && confidence.hasValue()) {
-                linkedEndpoints.add((Entity) tuple.getOtherElement(endpoint));
+        int row = this.index.architectureIndexOf(endpoint);
+        if (this.hasRow(row)) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                if (hasValue(this.values[row][column])) {
+                    linkedEndpoints.add(this.index.codeEndpoint(column));
+                }
+            }
+        }
+        int column = this.index.codeIndexOf(endpoint);
+        if (column >= 0) {
+            for (row = 0; row < this.added.length; row++) {
+                if (this.isAdded(row, column) && hasValue(this.values[row][column])) {
+                    linkedEndpoints.add(this.index.architectureEndpoint(row));
+                }
             }
         }
         return linkedEndpoints;
@@ -102,50 +167,68 @@ public SortedSet<Entity> getLinkedEndpoints(Entity endpoint) {
      */
     public Set<SamCodeTraceLink> getTraceLinks() {
         Set<SamCodeTraceLink> traceLinks = new LinkedHashSet<>();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Confidence confidence = entry.getValue();
-            if (confidence.hasValue()) {
-                Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple = entry.getKey();
-                ArchitectureItem architectureEndpoint = endpointTuple.first();
-                CodeCompilationUnit codeEndpoint = endpointTuple.second();
-                traceLinks.add(new SamCodeTraceLink(architectureEndpoint, codeEndpoint));
+        for (int row = 0; row < this.added.length; row++) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                if (hasValue(this.values[row][column])) {
+                    traceLinks.add(new SamCodeTraceLink(this.index.architectureEndpoint(row), this.index.codeEndpoint(column)));
+                }
             }
         }
         return traceLinks;
     }
 
     public boolean hasTraceLink(Entity endpoint) {
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasElement(endpoint) && confidence.hasValue()) {
-                return true;
+        int row = this.index.architectureIndexOf(endpoint);
+        if (this.hasRow(row)) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                if (hasValue(this.values[row][column])) {
+                    return true;
+                }
+            }
+        }
+        int column = this.index.codeIndexOf(endpoint);
+        if (column >= 0) {
+            for (row = 0; row < this.added.length; row++) {
+                if (this.isAdded(row, column) && hasValue(this.values[row][column])) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
     public NodeResult getResultForEndpoint(Entity endpoint) {
-        NodeResult result = new NodeResult();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasElement(endpoint)) {
-                result.add(tuple, confidence);
+        NodeResult result = new NodeResult(this.index, false);
+        int row = this.index.architectureIndexOf(endpoint);
+        if (this.hasRow(row)) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                result.set(row, column, this.values[row][column]);
+            }
+        }
+        int column = this.index.codeIndexOf(endpoint);
+        if (column >= 0) {
+            for (row = 0; row < this.added.length; row++) {
+                if (this.isAdded(row, column)) {
+                    result.set(row, column, this.values[row][column]);
+                }
             }
         }
         return result;
     }
 
     public NodeResult filter(NodeResult resultToFilter) {
-        NodeResult result = new NodeResult();
-        for (var entry : this.confidenceMap.entrySet()) {
-            Pair<ArchitectureItem, CodeCompilationUnit> tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (resultToFilter.getConfidence(tuple).hasValue()) {
-                result.add(tuple, new Confidence());
-            } else {
-                result.add(tuple, confidence);
+        NodeResult result = new NodeResult(this.index, false);
+        for (int row = 0; row < this.added.length; row++) {
+            BitSet columns = this.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                if (resultToFilter.hasValue(this.index, row, column)) {
+                    result.set(row, column, NO_VALUE);
+                } else {
+                    result.set(row, column, this.values[row][column]);
+                }
             }
         }
         return result;
@@ -159,10 +242,111 @@ public NodeResult filter(NodeResult resultToFilter) {
      * @param confidence    the confidence of the endpoint tuple
      */
     public void add(Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple, Confidence confidence) {
-        this.confidenceMap.put(endpointTuple, confidence);
+        this.add(endpointTuple.first(), endpointTuple.second(), confidence.hasValue() ? confidence.getValue() : NO_VALUE);
     }
 
     public void addAll(NodeResult partialResult) {
-        this.confidenceMap.putAll(partialResult.confidenceMap);
+        if (this.index != partialResult.index && this.isEmpty()) {
+            this.index = partialResult.index;
+            this.ownsIndex = false;
+            this.values = new double[this.index.architectureEndpointCount()][];
+            this.added = new BitSet[this.index.architectureEndpointCount()];
+            for (int row = 0; row < this.added.length; row++) {
+                this.added[row] = new BitSet();
+            }
+        }
+        boolean sameIndex = this.index == partialResult.index;
+        for (int row = 0; row < partialResult.added.length; row++) {
+            BitSet columns = partialResult.added[row];
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                double value = partialResult.values[row][column];
+                if (sameIndex) {
+                    this.set(row, column, value);
+                } else {
+                    this.add(partialResult.index.architectureEndpoint(row), partialResult.index.codeEndpoint(column), value);
+                }
+            }
+        }
+    }
+
+    private void add(ArchitectureItem architectureEndpoint, CodeCompilationUnit codeEndpoint, double value) {
+        int row = this.index.architectureIndexOf(architectureEndpoint);
+        int column = this.index.codeIndexOf(codeEndpoint);
+        if (row < 0 || column < 0) {
+            if (!this.ownsIndex) {
+                this.index = this.index.copy();
+                this.ownsIndex = true;
+            }
+            row = this.index.addArchitectureEndpoint(architectureEndpoint);
+            column = this.index.addCodeEndpoint(codeEndpoint);
+        }
+        this.set(row, column, value);
+    }
+
+    private void set(int row, int column, double value) {
+        if (row >= this.added.length) {
+            int rows = Math.max(row + 1, this.index.architectureEndpointCount());
+            int oldRows = this.added.length;
+            this.values = Arrays.copyOf(this.values, rows);
+            this.added = Arrays.copyOf(this.added, rows);
+            for (int i = oldRows; i < rows; i++) {
+                this.added[i] = new BitSet();
+            }
+        }
+        double[] rowValues = this.values[row];
+        if (rowValues == null || column >= rowValues.length) {
+            int oldColumns = rowValues == null ? 0 : rowValues.length;
+            int columns = Math.min(Math.max(column + 1, 2 * oldColumns), Math.max(column + 1, this.index.codeEndpointCount()));
+            rowValues = rowValues == null ? new double[columns] : Arrays.copyOf(rowValues, columns);
+            Arrays.fill(rowValues, oldColumns, columns, NO_VALUE);
+            this.values[row] = rowValues;
+        }
+        rowValues[column] = value;
+        this.added[row].set(column);
+    }
+
+    /**
+     * Returns whether the endpoint tuple at the specified position of the specified
+     * index has been added to this result with a confidence that has a value.
+     */
+    private boolean hasValue(EndpointIndex otherIndex, int row, int column) {
+        if (otherIndex == this.index) {
+            return this.isAdded(row, column) && hasValue(this.values[row][column]);
+        }
+        int ownRow = this.index.architectureIndexOf(otherIndex.architectureEndpoint(row));
+        int ownColumn = this.index.codeIndexOf(otherIndex.codeEndpoint(column));
+        return this.isAdded(ownRow, ownColumn) && hasValue(this.values[ownRow][ownColumn]);
+    }
+
+    private boolean isEmpty() {
+        for (BitSet columns : this.added) {
+            if (!columns.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasRow(int row) {
+        return row >= 0 && row < this.added.length;
+    }
+
+    private boolean isAdded(int row, int column) {
+        return this.hasRow(row) && column >= 0 && this.added[row].get(column);
+    }
+
+    private static boolean hasValue(double value) {
+        return !Double.isNaN(value);
+    }
+
+    private static double max(double max, double value) {
+        if (hasValue(value) && (!hasValue(max) || value > max)) {
+            return value;
+        }
+        return max;
+    }
+
+    private static Confidence toConfidence(double value) {
+        return hasValue(value) ? new Confidence(value) : new Confidence();
     }
 }
@@ -1,12 +1,11 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.computationtree;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationResult;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.aggregation.Aggregation;
@@ -38,12 +37,12 @@ public AggregationNode(Aggregation aggregation, List<Node> children) {
     }
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result) {
+    public NodeResult calculateConfidences(ComputationContext context, ComputationResult result) {
         List<NodeResult> childrenResults = new ArrayList<>();
         for (Node child : getChildren()) {
             childrenResults.add(result.getNodeResult(child));
         }
-        return aggregation.calculateConfidences(archModel, codeModel, childrenResults);
+        return aggregation.calculateConfidences(context, childrenResults);
     }
 
     @Override
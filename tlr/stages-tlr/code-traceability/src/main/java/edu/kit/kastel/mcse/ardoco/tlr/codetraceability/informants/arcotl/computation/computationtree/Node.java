@@ -4,8 +4,7 @@
 import java.util.ArrayList;
 import java.util.List;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationResult;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 
@@ -70,27 +69,25 @@ public Node getChild() {
      * Returns the computed results of all nodes in the subtree rooted at this node.
      * A computation node's result are the calculated confidences of every endpoint
      * tuple using the node's function, i.e. heuristic or aggregation. An endpoint
-     * tuple has one endpoint in the specified architecture model and one in the
-     * specified code model. For this node as well as every descendant of this node
+     * tuple has one endpoint in the architecture model and one in the code model
+     * of the specified context. For this node as well as every descendant of this node
      * the result is computed if it doesn't already exist. As every parent node's
      * result depends on the parent's children's results, the children's results are
      * always computed prior to the parent's result. For better performance the
      * specified existing result can contain the results of nodes that don't need to
      * get computed again.
      *
-     * @param archModel      the architecture model for which confidences will be
-     *                       calculated
-     * @param codeModel      the code model for which confidences will be calculated
+     * @param context        the context of the computation
      * @param existingResult a partial computation result that already exists and
      *                       therefore doesn't need to be computed again
      * @return the results of all computation nodes in the subtree rooted at this
      *         node
      */
-    public ComputationResult compute(ArchitectureModel archModel, CodeModel codeModel, ComputationResult existingResult) {
+    public ComputationResult compute(ComputationContext context, ComputationResult existingResult) {
         ComputationResult result = new ComputationResult();
         for (Node child : children) {
             if (!result.exists(child)) {
-                ComputationResult childrenResult = child.compute(archModel, codeModel, existingResult);
+                ComputationResult childrenResult = child.compute(context, existingResult);
                 result.addAll(childrenResult);
             }
         }
@@ -98,7 +95,7 @@ public ComputationResult compute(ArchitectureModel archModel, CodeModel codeMode
             result.addNodeResult(this, existingResult.getNodeResult(this));
             return result;
         }
-        NodeResult nodeResult = calculateConfidences(archModel, codeModel, result);
+        NodeResult nodeResult = calculateConfidences(context, result);
         result.addNodeResult(this, nodeResult);
         existingResult.addNodeResult(this, nodeResult);
         return result;
@@ -108,18 +105,16 @@ public ComputationResult compute(ArchitectureModel archModel, CodeModel codeMode
      * Calculates and returns the result of this computation node. The calculation
      * is specified by this nodes's function, i.e. heuristic or aggregation and uses
      * the specified computation result. For each endpoint tuple with endpoints in
-     * the specified architecture and code models a confidence is
+     * the architecture and code models of the specified context a confidence is
      * calculated.
      *
-     * @param archModel the architecture model for which confidences will be
-     *                  calculated
-     * @param codeModel the code model for which confidences will be calculated
-     * @param result    the computation result that is used in the confidence
-     *                  calculation
+     * @param context the context of the computation
+     * @param result  the computation result that is used in the confidence
+     *                calculation
      * @return the calculated confidences for each endpoint tuple with endpoints in
-     *         the specified architecture and code models
+     *         the architecture and code models of the specified context
      */
-    public abstract NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result);
+    public abstract NodeResult calculateConfidences(ComputationContext context, ComputationResult result);
 
     public abstract String getMethodName();
 }
@@ -1,10 +1,9 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.computationtree;
 
 import java.util.Objects;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationResult;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics.StandaloneHeuristic;
@@ -30,8 +29,8 @@ public StandaloneHeuristicNode(StandaloneHeuristic standaloneHeuristic) {
     }
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result) {
-        return standaloneHeuristic.calculateConfidences(archModel, codeModel);
+    public NodeResult calculateConfidences(ComputationContext context, ComputationResult result) {
+        return standaloneHeuristic.calculateConfidences(context);
     }
 
     @Override
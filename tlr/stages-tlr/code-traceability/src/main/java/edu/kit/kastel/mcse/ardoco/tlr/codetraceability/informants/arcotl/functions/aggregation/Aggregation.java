@@ -1,11 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.aggregation;
 
 import java.util.List;
 import java.util.Objects;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 
 /**
@@ -13,18 +12,20 @@
  */
 public abstract class Aggregation {
 
-    public abstract NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, List<NodeResult> childrenResults);
+    public abstract NodeResult calculateConfidences(ComputationContext context, List<NodeResult> childrenResults);
 
     @Override
     public int hashCode() {
         return Objects.hash(getClass());
     }
 
+    // Different aggregations compute different results, so only instances of the same class are equal
+    @SuppressWarnings("EqualsGetClass")
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        return (obj instanceof Aggregation);
+        return obj != null && getClass() == obj.getClass();
     }
 }
@@ -1,14 +1,13 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.aggregation;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.EndpointTupleRepo;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
@@ -16,9 +15,9 @@
 public abstract class ConfidenceAggregator extends Aggregation {
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, List<NodeResult> childrenResults) {
-        NodeResult nodeResult = new NodeResult();
-        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
+    public NodeResult calculateConfidences(ComputationContext context, List<NodeResult> childrenResults) {
+        NodeResult nodeResult = new NodeResult(context.endpointIndex());
+        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(context.archModel(), context.codeModel());
         for (Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple : endpointTupleRepo.getEndpointTuples()) {
             Confidence confidence = this.aggregateConfidences(this.getConfidences(childrenResults, endpointTuple));
             nodeResult.add(endpointTuple, confidence);
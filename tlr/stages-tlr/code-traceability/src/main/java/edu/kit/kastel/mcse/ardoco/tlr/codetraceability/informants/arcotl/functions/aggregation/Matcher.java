@@ -1,12 +1,11 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.aggregation;
 
 import java.util.List;
 import java.util.Objects;
 
 import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 
 public abstract class Matcher extends Aggregation {
@@ -32,11 +31,11 @@ protected Matcher(EndpointType endpointsToUse) {
     }
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, List<NodeResult> childrenResults) {
-        NodeResult matchResult = new NodeResult(archModel, codeModel);
+    public NodeResult calculateConfidences(ComputationContext context, List<NodeResult> childrenResults) {
+        NodeResult matchResult = new NodeResult(context.endpointIndex());
         List<? extends Entity> endpoints = switch (endpointTypeToMatch) {
-        case ARCHITECTURE -> archModel.getEndpoints();
-        case CODE -> codeModel.getEndpoints();
+        case ARCHITECTURE -> context.archModel().getEndpoints();
+        case CODE -> context.codeModel().getEndpoints();
         };
         for (Entity endpointToMatch : endpoints) {
             NodeResult partialMatchResult = matchEndpoint(endpointToMatch, childrenResults);
@@ -52,14 +51,17 @@ public int hashCode() {
         return Objects.hash(getClass(), endpointTypeToMatch);
     }
 
+    // Different matchers compute different results, so only instances of the same class are equal
+    @SuppressWarnings("EqualsGetClass")
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!(obj instanceof Matcher other)) {
+        if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
+        Matcher other = (Matcher) obj;
         return Objects.equals(endpointTypeToMatch, other.endpointTypeToMatch);
     }
 
@@ -1,6 +1,8 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
@@ -11,6 +13,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.InterfaceUnit;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 
 public class ComponentNameResemblance extends StandaloneHeuristic {
@@ -28,28 +31,41 @@ public ComponentNameResemblance(NameConfig nameConfig, NameComparisonUtils.Prepr
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
+    protected void prepare(HeuristicContext context) {
+        if (preprocessConfig != NameComparisonUtils.PreprocessingMethod.LEMMATIZATION) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        context.archModel().getEndpoints().forEach(archEndpoint -> names.add(archEndpoint.getName()));
+        for (CodeCompilationUnit compUnit : context.codeModel().getEndpoints()) {
+            compUnit.getAllDataTypesAndSelf().forEach(codeItem -> names.add(codeItem.getName()));
+        }
+        NameComparisonUtils.prepareLemmatization(context.nameIndex(), names);
+    }
+
+    @Override
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (nameConfig.equals(NameConfig.INTERFACE)) {
             return new Confidence();
         }
-        return calculateNameResemblance(archComponent, compUnit);
+        return calculateNameResemblance(archComponent, compUnit, context.nameIndex());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (nameConfig.equals(NameConfig.INTERFACE) == archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculateNameResemblance(archInterface, compUnit);
+        return calculateNameResemblance(archInterface, compUnit, context.nameIndex());
     }
 
-    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, NameIndex nameIndex) {
         if (nameConfig.equals(NameConfig.COMPONENT_WITHOUT_PACKAGE) && compUnit.hasParent()) {
             return new Confidence();
         }
         Confidence maxConfidence = new Confidence();
         for (var codeEntity : compUnit.getAllDataTypesAndSelf()) {
-            Confidence singleConfidence = calculateNameResemblanceSingle(archEndpoint, codeEntity);
+            Confidence singleConfidence = calculateNameResemblanceSingle(archEndpoint, codeEntity, nameIndex);
             if (singleConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = singleConfidence;
             }
@@ -57,25 +73,25 @@ private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeC
         return maxConfidence;
     }
 
-    private Confidence calculateNameResemblanceSingle(ArchitectureItem archEndpoint, CodeItem codeItem) {
-        boolean areSimilar = NameComparisonUtils.isContained(archEndpoint, codeItem, preprocessConfig);
+    private Confidence calculateNameResemblanceSingle(ArchitectureItem archEndpoint, CodeItem codeItem, NameIndex nameIndex) {
+        boolean areSimilar = NameComparisonUtils.isContained(nameIndex, archEndpoint, codeItem, preprocessConfig);
         if (areSimilar) {
             if (nameConfig.equals(NameConfig.INTERFACE) && codeItem instanceof InterfaceUnit) {
                 return new Confidence(1.0);
             }
-            double similarity = NameComparisonUtils.getRatio(archEndpoint, codeItem);
+            double similarity = NameComparisonUtils.getRatio(nameIndex, archEndpoint, codeItem);
             return new Confidence(similarity);
         }
         if (nameConfig.equals(NameConfig.INTERFACE)) {
-            return calculateNameResemblanceFallback(archEndpoint, codeItem);
+            return calculateNameResemblanceFallback(archEndpoint, codeItem, nameIndex);
         }
         return new Confidence();
     }
 
-    private Confidence calculateNameResemblanceFallback(ArchitectureItem archInterface, Entity codeEndpoint) {
-        boolean areSimilar = NameComparisonUtils.isInterfaceContained(archInterface, codeEndpoint, preprocessConfig);
+    private Confidence calculateNameResemblanceFallback(ArchitectureItem archInterface, Entity codeEndpoint, NameIndex nameIndex) {
+        boolean areSimilar = NameComparisonUtils.isInterfaceContained(nameIndex, archInterface, codeEndpoint, preprocessConfig);
         if (areSimilar) {
-            double similarity = NameComparisonUtils.getInterfaceRatio(archInterface, codeEndpoint);
+            double similarity = NameComparisonUtils.getInterfaceRatio(nameIndex, archInterface, codeEndpoint);
             return new Confidence(similarity);
         }
         return new Confidence();
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.List;
@@ -13,6 +13,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 
 public class ComponentNameResemblanceTest extends DependentHeuristic {
@@ -20,39 +21,39 @@ public class ComponentNameResemblanceTest extends DependentHeuristic {
     private static final SortedSet<String> commonWords = new TreeSet<>(List.of("Test", "Action", "Impl", "Factory", "Exception"));
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.calculateNameResemblance(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.calculateNameResemblance(archComponent, compUnit, context);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return this.calculateNameResemblance(archInterface, compUnit);
+        return this.calculateNameResemblance(archInterface, compUnit, context);
     }
 
-    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
-        if (this.getNodeResult().getConfidence(new Pair<>(archEndpoint, compUnit)).hasValue()) {
+    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
+        if (context.nodeResult().getConfidence(new Pair<>(archEndpoint, compUnit)).hasValue()) {
             return new Confidence();
         }
         SortedSet<String> filteredCommonWords = new TreeSet<>(commonWords);
-        for (Entity ae : this.getArchModel().getEndpoints()) {
-            filteredCommonWords = NameComparisonUtils.removeWords(filteredCommonWords, ae);
+        for (Entity ae : context.archModel().getEndpoints()) {
+            filteredCommonWords = NameComparisonUtils.removeWords(context.nameIndex(), filteredCommonWords, ae);
         }
         SortedSet<CodeItem> items = compUnit.getAllDataTypesAndSelf();
-        if (areSimilar(items, new TreeSet<>(List.of(archEndpoint)), filteredCommonWords)) {
+        if (areSimilar(items, new TreeSet<>(List.of(archEndpoint)), filteredCommonWords, context.nameIndex())) {
             return new Confidence(1.0);
         }
         Confidence maxConfidence = new Confidence();
-        SortedSet<Entity> linkedEndpoints = this.getNodeResult().getLinkedEndpoints(archEndpoint);
+        SortedSet<Entity> linkedEndpoints = context.nodeResult().getLinkedEndpoints(archEndpoint);
         for (Entity linkedEndpoint : linkedEndpoints) {
             CodeCompilationUnit linkedCompUnit = (CodeCompilationUnit) linkedEndpoint;
             if (InheritLinks.areInDifferentPackages(compUnit, linkedCompUnit) || !areSimilar(items, linkedCompUnit.getAllDataTypesAndSelf(),
-                    filteredCommonWords)) {
+                    filteredCommonWords, context.nameIndex())) {
                 continue;
             }
-            Confidence extendedConfidence = this.getNodeResult().getConfidence(new Pair<>(archEndpoint, linkedCompUnit));
+            Confidence extendedConfidence = context.nodeResult().getConfidence(new Pair<>(archEndpoint, linkedCompUnit));
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
@@ -60,11 +61,12 @@ private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeC
         return maxConfidence;
     }
 
-    private static boolean areSimilar(SortedSet<? extends Entity> entities1, SortedSet<? extends Entity> entities2, SortedSet<String> filteredCommonWords) {
+    private static boolean areSimilar(SortedSet<? extends Entity> entities1, SortedSet<? extends Entity> entities2, SortedSet<String> filteredCommonWords,
+            NameIndex nameIndex) {
         for (var entity1 : entities1) {
             for (var entity2 : entities2) {
-                List<String> words1 = NameComparisonUtils.removeWords(entity1, filteredCommonWords);
-                List<String> words2 = NameComparisonUtils.removeWords(entity2, filteredCommonWords);
+                List<String> words1 = NameComparisonUtils.removeWords(nameIndex, entity1, filteredCommonWords);
+                List<String> words2 = NameComparisonUtils.removeWords(nameIndex, entity2, filteredCommonWords);
                 if (words1.equals(words2)) {
                     return true;
                 }
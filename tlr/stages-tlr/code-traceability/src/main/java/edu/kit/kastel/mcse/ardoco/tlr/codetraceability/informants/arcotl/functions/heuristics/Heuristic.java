@@ -1,51 +1,150 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
-import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureInterface;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.EndpointTupleRepo;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
 
 /**
- * A heuristic.
+ * A heuristic. A heuristic calculates a confidence for every endpoint tuple independently of the other endpoint tuples, based only on the endpoint tuple and
+ * the {@link HeuristicContext}.
  */
 public abstract class Heuristic {
     protected static final Logger logger = LoggerFactory.getLogger(Heuristic.class);
 
-    protected final NodeResult getNodeResult(ArchitectureModel archModel, CodeModel codeModel) {
-        NodeResult confidences = new NodeResult();
-        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
-        for (var endpointTuple : endpointTupleRepo.getEndpointTuples()) {
-            ArchitectureItem archEndpoint = endpointTuple.first();
-            CodeCompilationUnit compUnit = endpointTuple.second();
-            Confidence confidence = new Confidence();
-            if (archEndpoint instanceof ArchitectureInterface archInterface) {
-                confidence = this.calculateConfidence(archInterface, compUnit);
+    private static final int CHUNK_SIZE = 256;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Calculates the confidences of all endpoint tuples of the models of the specified context. The endpoint tuples are split into chunks that are scored
+     * on the executor of the computation, so they are scored one after another for a sequential computation. The confidences are added to the result in
+     * the order of the {@link EndpointTupleRepo}, independent of the order in which the chunks finish.
+     *
+     * @param context the context of the calculation
+     * @return the confidences of all endpoint tuples
+     */
+    protected final NodeResult getNodeResult(HeuristicContext context) {
+        List<? extends ArchitectureItem> archEndpoints = context.archModel().getEndpoints();
+        List<? extends CodeCompilationUnit> codeEndpoints = context.codeModel().getEndpoints();
+        int columns = codeEndpoints.size();
+        int tuples = archEndpoints.size() * columns;
+        this.prepare(context);
+
+        Confidence[] confidences = new Confidence[tuples];
+        int chunks = (tuples + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        forEachChunk(chunks, chunk -> {
+            int end = Math.min(tuples, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                confidences[i] = this.calculateConfidence(archEndpoints.get(i / columns), codeEndpoints.get(i % columns), context);
             }
-            if (archEndpoint instanceof ArchitectureComponent archComponent) {
-                confidence = this.calculateConfidence(archComponent, compUnit);
+        }, context.computation().executor());
+
+        NodeResult result = new NodeResult(context.computation().endpointIndex());
+        for (int i = 0; i < tuples; i++) {
+            result.add(new Pair<>(archEndpoints.get(i / columns), codeEndpoints.get(i % columns)), confidences[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the specified action for every chunk. The calling thread claims chunks together with up to {@link #PARALLELISM} - 1 workers on the specified
+     * executor and only waits for chunks that have already been claimed. Thus, a worker that the executor starts late, or never, because all of its
+     * threads compute other nodes, cannot block the calculation.
+     */
+    private static void forEachChunk(int chunks, IntConsumer action, Executor executor) {
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch remainingChunks = new CountDownLatch(chunks);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                try {
+                    action.accept(chunk);
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    remainingChunks.countDown();
+                }
             }
-            confidences.add(endpointTuple, confidence);
+        };
+        for (int i = 1; i < Math.min(chunks, PARALLELISM); i++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        try {
+            remainingChunks.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if (failure.get() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
         }
-        return confidences;
+        if (failure.get() instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * Prepares the calculation of the confidences of all endpoint tuples, e.g., by processing names in one batch. Called once per calculation before any
+     * confidence is calculated. Does nothing by default.
+     *
+     * @param context the context of the calculation
+     */
+    protected void prepare(HeuristicContext context) {
+        // nothing to prepare by default
+    }
+
+    private Confidence calculateConfidence(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
+        if (archEndpoint instanceof ArchitectureInterface archInterface) {
+            return this.calculateConfidence(archInterface, compUnit, context);
+        }
+        if (archEndpoint instanceof ArchitectureComponent archComponent) {
+            return this.calculateConfidence(archComponent, compUnit, context);
+        }
+        return new Confidence();
     }
 
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
+    /**
+     * Calculates the confidence of the specified endpoint tuple. May be called concurrently for different endpoint tuples, so implementations must not keep
+     * state between calls.
+     *
+     * @param archComponent the architecture component of the endpoint tuple
+     * @param compUnit      the compilation unit of the endpoint tuple
+     * @param context       the context of the calculation
+     * @return the confidence of the endpoint tuple
+     */
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (archComponent == null || compUnit == null) {
             logger.warn("null values when calculating confidence");
         }
         return new Confidence();
     }
 
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    /**
+     * Calculates the confidence of the specified endpoint tuple. May be called concurrently for different endpoint tuples, so implementations must not keep
+     * state between calls.
+     *
+     * @param archInterface the architecture interface of the endpoint tuple
+     * @param compUnit      the compilation unit of the endpoint tuple
+     * @param context       the context of the calculation
+     * @return the confidence of the endpoint tuple
+     */
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (archInterface == null || compUnit == null) {
             logger.warn("null values when calculating confidence");
         }
@@ -57,11 +156,13 @@ public int hashCode() {
         return this.getClass().hashCode();
     }
 
+    // Different heuristics compute different results, so only instances of the same class are equal
+    @SuppressWarnings("EqualsGetClass")
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        return (obj instanceof Heuristic);
+        return obj != null && this.getClass() == obj.getClass();
     }
 }
@@ -0,0 +1,45 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.ComputationContext;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
+
+/**
+ * The inputs of a heuristic that are shared by all endpoint tuples of one calculation. Heuristics receive the context with every endpoint tuple instead of
+ * keeping it in fields, so that a heuristic can score endpoint tuples concurrently.
+ *
+ * @param computation the context of the computation the heuristic is part of
+ * @param nodeResult  the result of the node a {@link DependentHeuristic} depends on, or {@code null} for a {@link StandaloneHeuristic}
+ */
+public record HeuristicContext(ComputationContext computation, NodeResult nodeResult) {
+
+    /**
+     * Returns the architecture model of the computation.
+     *
+     * @return the architecture model
+     */
+    public ArchitectureModel archModel() {
+        return this.computation.archModel();
+    }
+
+    /**
+     * Returns the code model of the computation.
+     *
+     * @return the code model
+     */
+    public CodeModel codeModel() {
+        return this.computation.codeModel();
+    }
+
+    /**
+     * Returns the index of the processed names of the computation.
+     *
+     * @return the name index
+     */
+    public NameIndex nameIndex() {
+        return this.computation.nameIndex();
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.SortedSet;
@@ -14,25 +14,25 @@
 public class InheritLinks extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.inheritLinks(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.inheritLinks(archComponent, compUnit, context);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return this.inheritLinks(archInterface, compUnit);
+        return this.inheritLinks(archInterface, compUnit, context);
     }
 
-    private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
-        if (!this.getNodeResult().getLinkedEndpoints(compUnit).isEmpty()) {
+    private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
+        if (!context.nodeResult().getLinkedEndpoints(compUnit).isEmpty()) {
             return new Confidence();
         }
         Confidence maxConfidence = new Confidence();
         for (Datatype codeType : compUnit.getAllDataTypes()) {
-            Confidence extendedConfidence = this.inheritLinks(archEndpoint, codeType);
+            Confidence extendedConfidence = this.inheritLinks(archEndpoint, codeType, context);
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
@@ -40,7 +40,7 @@ private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUn
         return maxConfidence;
     }
 
-    private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType) {
+    private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType, HeuristicContext context) {
         SortedSet<Datatype> extendedTypes = MethodResemblance.getAllExtendedTypes(codeType);
         MethodResemblance.getAllImplementedInterfaces(codeType).forEach(i -> extendedTypes.addAll(MethodResemblance.getAllExtendedTypes(i)));
 
@@ -49,7 +49,7 @@ private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType
             if (areInDifferentPackages(codeType.getCompilationUnit(), extendedType.getCompilationUnit())) {
                 continue;
             }
-            Confidence extendedConfidence = this.getNodeResult().getConfidence(new Pair<>(archEndpoint, extendedType.getCompilationUnit()));
+            Confidence extendedConfidence = context.nodeResult().getConfidence(new Pair<>(archEndpoint, extendedType.getCompilationUnit()));
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
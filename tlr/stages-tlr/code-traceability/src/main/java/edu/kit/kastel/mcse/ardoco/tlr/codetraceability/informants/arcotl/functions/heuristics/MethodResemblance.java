@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.SortedSet;
@@ -15,7 +15,7 @@
 public class MethodResemblance extends StandaloneHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         int numArchMethods = archInterface.getSignatures().size();
         if (0 == numArchMethods) {
             return new Confidence();
@@ -36,7 +36,7 @@ protected Confidence calculateConfidence(ArchitectureInterface archInterface, Co
         for (ArchitectureMethod archMethod : archInterface.getSignatures()) {
             double maxConfidenceValue = 0.0;
             for (ControlElement codeMethod : firstMethods) {
-                double similarity = NameComparisonUtils.areEqual(archMethod, codeMethod) ? 1.0 : 0.0;
+                double similarity = NameComparisonUtils.areEqual(context.nameIndex(), archMethod, codeMethod) ? 1.0 : 0.0;
                 maxConfidenceValue = Math.max(maxConfidenceValue, similarity);
             }
             sumConfidenceValue += maxConfidenceValue;
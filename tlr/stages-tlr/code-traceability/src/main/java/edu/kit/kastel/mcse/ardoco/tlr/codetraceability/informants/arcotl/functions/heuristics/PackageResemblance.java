@@ -1,6 +1,7 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -9,6 +10,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureInterface;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 
 public class PackageResemblance extends StandaloneHeuristic {
@@ -20,25 +22,36 @@ public PackageResemblance(NameComparisonUtils.PreprocessingMethod config) {
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculatePackageResemblance(archComponent, compUnit);
+    protected void prepare(HeuristicContext context) {
+        if (config != NameComparisonUtils.PreprocessingMethod.LEMMATIZATION) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        context.archModel().getEndpoints().forEach(archEndpoint -> names.add(archEndpoint.getName()));
+        context.codeModel().getAllPackages().forEach(codePackage -> names.add(codePackage.getName()));
+        NameComparisonUtils.prepareLemmatization(context.nameIndex(), names);
+    }
+
+    @Override
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return calculatePackageResemblance(archComponent, compUnit, context.nameIndex());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculatePackageResemblance(archInterface, compUnit);
+        return calculatePackageResemblance(archInterface, compUnit, context.nameIndex());
     }
 
-    private Confidence calculatePackageResemblance(Entity archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculatePackageResemblance(Entity archEndpoint, CodeCompilationUnit compUnit, NameIndex nameIndex) {
         if (!compUnit.hasParent()) {
             return new Confidence();
         }
 
         List<String> p = compUnit.getParentPackageNames();
-        double similarity = NameComparisonUtils.getContainedRatio(archEndpoint, p, config);
+        double similarity = NameComparisonUtils.getContainedRatio(nameIndex, archEndpoint, p, config);
         if (similarity == 0) {
             return new Confidence();
         }
@@ -14,31 +14,33 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameIndex;
 import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
 
 public class ProvidedInterfaceCorrespondence extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.calculateProvidedInterfaceCorrespondence(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.calculateProvidedInterfaceCorrespondence(archComponent, compUnit, context);
     }
 
-    private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        if (!this.getNodeResult().getConfidence(new Pair<>(archComponent, compUnit)).hasValue() || !compUnit.hasParent()) {
+    private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit,
+            HeuristicContext context) {
+        if (!context.nodeResult().getConfidence(new Pair<>(archComponent, compUnit)).hasValue() || !compUnit.hasParent()) {
             return new Confidence();
         }
 
         SortedSet<Entity> interfaceLinks = new TreeSet<>();
         for (ArchitectureInterface providedInterface : archComponent.getProvidedInterfaces()) {
-            interfaceLinks.addAll(this.getLinks(providedInterface));
+            interfaceLinks.addAll(this.getLinks(providedInterface, context));
         }
 
-        SortedSet<CodeModule> componentPackage = this.getPackage(archComponent, compUnit);
+        SortedSet<CodeModule> componentPackage = this.getPackage(archComponent, compUnit, context.nameIndex());
         if (this.containsAny(interfaceLinks, componentPackage)) {
             return new Confidence();
         }
 
-        SortedSet<CodeModule> allPackages = this.getPackages(archComponent, this.getLinks(archComponent));
+        SortedSet<CodeModule> allPackages = this.getPackages(archComponent, this.getLinks(archComponent, context), context.nameIndex());
         if (this.containsAny(interfaceLinks, allPackages)) {
             return new Confidence(1.0);
         }
@@ -72,23 +74,23 @@ private SortedSet<CodeCompilationUnit> getAllOverridenTypes(CodeCompilationUnit
         return overridenCompUnits;
     }
 
-    private SortedSet<CodeCompilationUnit> getLinks(Entity ae) {
+    private SortedSet<CodeCompilationUnit> getLinks(Entity ae, HeuristicContext context) {
         SortedSet<CodeCompilationUnit> ces = new TreeSet<>();
-        SortedSet<Entity> endpoints = this.getNodeResult().getLinkedEndpoints(ae);
+        SortedSet<Entity> endpoints = context.nodeResult().getLinkedEndpoints(ae);
         endpoints.forEach(endpoint -> ces.add((CodeCompilationUnit) endpoint));
         return ces;
     }
 
-    private SortedSet<CodeModule> getPackages(Entity ae, SortedSet<CodeCompilationUnit> ces) {
+    private SortedSet<CodeModule> getPackages(Entity ae, SortedSet<CodeCompilationUnit> ces, NameIndex nameIndex) {
         SortedSet<CodeModule> packages = new TreeSet<>();
         for (CodeCompilationUnit ce : ces) {
-            packages.addAll(this.getPackage(ae, ce));
+            packages.addAll(this.getPackage(ae, ce, nameIndex));
         }
         return packages;
     }
 
-    private SortedSet<CodeModule> getPackage(Entity ae, CodeCompilationUnit ce) {
-        List<CodePackage> cePackages = NameComparisonUtils.getMatchedPackages(ae, ce);
+    private SortedSet<CodeModule> getPackage(Entity ae, CodeCompilationUnit ce, NameIndex nameIndex) {
+        List<CodePackage> cePackages = NameComparisonUtils.getMatchedPackages(nameIndex, ae, ce);
         if (!cePackages.isEmpty()) {
             return new TreeSet<>(List.of(cePackages.getLast()));
         }
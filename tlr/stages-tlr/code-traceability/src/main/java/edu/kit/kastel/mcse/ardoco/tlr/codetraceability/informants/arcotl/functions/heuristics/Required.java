@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.SortedSet;
@@ -14,16 +14,16 @@
 public class Required extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.calculateReq(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.calculateReq(archComponent, compUnit, context);
     }
 
-    private Confidence calculateReq(ArchitectureComponent archEndpoint, CodeCompilationUnit compUnit) {
-        if (!this.getNodeResult().getConfidence(new Pair<>(archEndpoint, compUnit)).hasValue()) {
+    private Confidence calculateReq(ArchitectureComponent archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
+        if (!context.nodeResult().getConfidence(new Pair<>(archEndpoint, compUnit)).hasValue()) {
             return new Confidence();
         }
         SortedSet<ArchitectureComponent> allLinks = new TreeSet<>();
-        SortedSet<Entity> linkedEndpoints = this.getNodeResult().getLinkedEndpoints(compUnit);
+        SortedSet<Entity> linkedEndpoints = context.nodeResult().getLinkedEndpoints(compUnit);
         for (Entity linkedEndpoint : linkedEndpoints) {
             if (linkedEndpoint instanceof ArchitectureComponent comp) {
                 allLinks.add(comp);
@@ -17,28 +17,28 @@
 public class SubpackageFilter extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.calculateSubpackageFilter(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.calculateSubpackageFilter(archComponent, compUnit, context);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return this.calculateSubpackageFilter(archInterface, compUnit);
+        return this.calculateSubpackageFilter(archInterface, compUnit, context);
     }
 
-    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
         Pair<ArchitectureItem, CodeCompilationUnit> thisTuple = new Pair<>(archEndpoint, compUnit);
-        if (!this.getNodeResult().getConfidence(thisTuple).hasValue()) {
+        if (!context.nodeResult().getConfidence(thisTuple).hasValue()) {
             return new Confidence();
         }
-        List<CodePackage> thisPackages = NameComparisonUtils.getMatchedPackages(archEndpoint, compUnit);
-        SortedSet<Entity> linkedArchitectureEndpoints = this.getNodeResult().getLinkedEndpoints(compUnit);
+        List<CodePackage> thisPackages = NameComparisonUtils.getMatchedPackages(context.nameIndex(), archEndpoint, compUnit);
+        SortedSet<Entity> linkedArchitectureEndpoints = context.nodeResult().getLinkedEndpoints(compUnit);
         linkedArchitectureEndpoints.remove(archEndpoint);
         for (var linkedArchitectureEndpoint : linkedArchitectureEndpoints) {
-            List<CodePackage> otherPackages = NameComparisonUtils.getMatchedPackages(linkedArchitectureEndpoint, compUnit);
+            List<CodePackage> otherPackages = NameComparisonUtils.getMatchedPackages(context.nameIndex(), linkedArchitectureEndpoint, compUnit);
             if (thisPackages.isEmpty() || otherPackages.isEmpty()) {
                 return new Confidence();
             }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.SortedSet;
@@ -14,25 +14,25 @@
 public class SubpackageFilter2 extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return this.calculateSubpackageFilter(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+        return this.calculateSubpackageFilter(archComponent, compUnit, context);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, HeuristicContext context) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return this.calculateSubpackageFilter(archInterface, compUnit);
+        return this.calculateSubpackageFilter(archInterface, compUnit, context);
     }
 
-    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, HeuristicContext context) {
         Pair<ArchitectureItem, CodeCompilationUnit> thisTuple = new Pair<>(archEndpoint, compUnit);
-        if (!this.getNodeResult().getConfidence(thisTuple).hasValue()) {
+        if (!context.nodeResult().getConfidence(thisTuple).hasValue()) {
             return new Confidence();
         }
         int i = 0;
-        SortedSet<Entity> linkedArchEndpoints = this.getNodeResult().getLinkedEndpoints(compUnit);
+        SortedSet<Entity> linkedArchEndpoints = context.nodeResult().getLinkedEndpoints(compUnit);
         for (var linkedArchEndpoint : linkedArchEndpoints) {
             if (linkedArchEndpoint instanceof ArchitectureComponent) {
                 i++;
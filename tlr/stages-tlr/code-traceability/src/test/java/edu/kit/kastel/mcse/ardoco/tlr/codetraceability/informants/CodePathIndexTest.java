@@ -0,0 +1,97 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+
+class CodePathIndexTest {
+
+    private static final List<String> DIRECTORIES = List.of("a", "b", "ab", "ba", "bab", "src", "main", "java", "rc", "mainsrc", "x.y");
+    private static final int COMPILATION_UNITS = 500;
+    private static final int QUERIES = 5_000;
+
+    @Test
+    void testFindAllInDirectoryMatchesContains() {
+        Random random = new Random(7);
+        CodeModel codeModel = randomCodeModel(random);
+        List<CodeCompilationUnit> compilationUnits = List.copyOf(codeModel.getEndpoints());
+        CodePathIndex index = new CodePathIndex(codeModel);
+
+        for (int i = 0; i < QUERIES; i++) {
+            String directoryPath = randomDirectoryPath(random);
+            List<CodeCompilationUnit> expected = new ArrayList<>();
+            for (CodeCompilationUnit compilationUnit : compilationUnits) {
+                if (compilationUnit.getPath().contains(directoryPath)) {
+                    expected.add(compilationUnit);
+                }
+            }
+            assertEquals(expected, index.findAllInDirectory(directoryPath), directoryPath);
+        }
+    }
+
+    @Test
+    void testFindByPathReturnsFirstCompilationUnitWithPath() {
+        Random random = new Random(11);
+        CodeModel codeModel = randomCodeModel(random);
+        CodePathIndex index = new CodePathIndex(codeModel);
+
+        for (CodeCompilationUnit compilationUnit : codeModel.getEndpoints()) {
+            CodeCompilationUnit expected = codeModel.getEndpoints()
+                    .stream()
+                    .filter(other -> other.getPath().equals(compilationUnit.getPath()))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(expected, index.findByPath(compilationUnit.getPath()));
+        }
+        assertNull(index.findByPath("missing/Unit.java"));
+    }
+
+    private static String randomDirectoryPath(Random random) {
+        StringBuilder directoryPath = new StringBuilder();
+        int numberOfSegments = 1 + random.nextInt(3);
+        for (int i = 0; i < numberOfSegments; i++) {
+            String directory = DIRECTORIES.get(random.nextInt(DIRECTORIES.size()));
+            if (i == 0) {
+                // The first segment may start within a directory name, and rarely the directory path starts or contains an empty segment
+                directory = random.nextInt(10) == 0 ? "" : directory.substring(random.nextInt(directory.length()));
+            } else if (random.nextInt(20) == 0) {
+                directory = "";
+            }
+            directoryPath.append(directory).append('/');
+        }
+        return directoryPath.toString();
+    }
+
+    private static CodeModel randomCodeModel(Random random) {
+        CodeItemRepository repository = new CodeItemRepository();
+        TreeSet<CodeCompilationUnit> compilationUnits = new TreeSet<>();
+        for (int i = 0; i < COMPILATION_UNITS; i++) {
+            List<String> pathElements = new ArrayList<>();
+            int depth = random.nextInt(6);
+            for (int j = 0; j < depth; j++) {
+                pathElements.add(DIRECTORIES.get(random.nextInt(DIRECTORIES.size())));
+            }
+            String name = "Unit" + random.nextInt(COMPILATION_UNITS / 2);
+            ClassUnit classUnit = new ClassUnit(repository, name, new TreeSet<>());
+            CodeCompilationUnit compilationUnit = new CodeCompilationUnit(repository, name, new TreeSet<>(List.of(classUnit)), pathElements, "java",
+                    ProgrammingLanguages.JAVA);
+            classUnit.setCompilationUnit(compilationUnit);
+            compilationUnits.add(compilationUnit);
+        }
+        return new CodeModel(repository, new TreeSet<>(List.of(new CodePackage(repository, "root", compilationUnits))));
+    }
+}
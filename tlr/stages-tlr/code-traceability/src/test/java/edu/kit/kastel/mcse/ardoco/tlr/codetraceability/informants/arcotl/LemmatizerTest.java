@@ -0,0 +1,66 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.CodeTraceabilityConfig;
+
+class LemmatizerTest {
+
+    private static final List<String> TEXTS = List.of("storages", "managing", "users", "mediaaccess", "accessed", "services", "business logic",
+            "the stores were running", "utils", "users", "", "databases", "io", "indices");
+
+    @Test
+    void testLemmatizeAllMatchesLemmatize() {
+        Lemmatizer batch = new Lemmatizer(100);
+        Lemmatizer single = new Lemmatizer(100);
+        single.lemmatize(TEXTS.getFirst());
+
+        batch.lemmatizeAll(TEXTS);
+
+        for (String text : TEXTS) {
+            assertTrue(batch.isCached(text), text);
+            assertEquals(single.lemmatize(text), batch.lemmatize(text), text);
+        }
+        assertEquals(List.of("user"), batch.lemmatize("users"));
+        assertEquals(List.of("store"), batch.lemmatize("stores"));
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsedText() {
+        Lemmatizer lemmatizer = new Lemmatizer(2);
+        List<String> storages = lemmatizer.lemmatize("storages");
+        lemmatizer.lemmatize("users");
+        assertSame(storages, lemmatizer.lemmatize("storages"));
+
+        lemmatizer.lemmatizeAll(List.of("services"));
+
+        assertTrue(lemmatizer.isCached("storages"));
+        assertFalse(lemmatizer.isCached("users"));
+        assertTrue(lemmatizer.isCached("services"));
+        assertEquals(List.of("user"), lemmatizer.lemmatize("users"));
+        assertFalse(lemmatizer.isCached("storages"));
+    }
+
+    @Test
+    void testLemmasAreUnmodifiable() {
+        Lemmatizer lemmatizer = new Lemmatizer(1);
+        List<String> lemmas = lemmatizer.lemmatize("storages");
+
+        assertThrows(UnsupportedOperationException.class, () -> lemmas.add("storage"));
+    }
+
+    @Test
+    void testSharedInstance() {
+        assertTrue(CodeTraceabilityConfig.LEMMATIZER_CACHE_SIZE > 0);
+        assertSame(Lemmatizer.getInstance(), Lemmatizer.getInstance());
+    }
+}
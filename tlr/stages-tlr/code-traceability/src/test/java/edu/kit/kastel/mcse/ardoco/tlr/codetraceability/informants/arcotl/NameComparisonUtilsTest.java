@@ -0,0 +1,193 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.NameComparisonUtils.PreprocessingMethod;
+import opennlp.tools.stemmer.PorterStemmer;
+
+class NameComparisonUtilsTest {
+
+    private static final int NAMES = 20_000;
+    private static final List<String> WORDS = List.of("storage", "stores", "storing", "store", "manager", "managing", "manage", "media", "access",
+            "accessing", "user", "users", "interface", "logic", "business", "i", "io", "db", "x2", "service", "services", "common", "util", "utils");
+
+    @ParameterizedTest
+    @EnumSource(value = PreprocessingMethod.class, names = { "NONE", "STEMMING" })
+    void testIndexedComparisonsMatchUncachedComparisons(PreprocessingMethod method) {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < NAMES; i++) {
+            names.add(randomName(random));
+        }
+        NameIndex index = new NameIndex(emptyCodeModel());
+
+        for (int i = 0; i < NAMES; i++) {
+            Entity a = entity(names.get(i));
+            Entity b = entity(names.get(random.nextInt(NAMES)));
+            List<String> packageNames = randomPackageNames(random);
+            String message = a.getName() + " / " + b.getName() + " / " + packageNames;
+
+            assertEquals(Uncached.getContainedRatio(a, packageNames, method), NameComparisonUtils.getContainedRatio(index, a, packageNames, method), message);
+            assertEquals(Uncached.isContained(a.getName(), b.getName(), method), NameComparisonUtils.isContained(index, a, b, method), message);
+            assertEquals(Uncached.isInterfaceContained(a.getName(), b.getName(), method), NameComparisonUtils.isInterfaceContained(index, a, b, method),
+                    message);
+            assertEquals(Uncached.getRatio(a.getName(), b.getName()), NameComparisonUtils.getRatio(index, a, b), message);
+            assertEquals(Uncached.areEqual(a.getName(), b.getName()), NameComparisonUtils.areEqual(index, a, b), message);
+        }
+    }
+
+    @Test
+    void testIndexesAreIndependent() {
+        CodeItemRepository repository = new CodeItemRepository();
+        CodeModel storageModel = new CodeModel(repository, new TreeSet<>(List.of(new CodePackage(repository, "storage", new TreeSet<>()))));
+        CodeModel logicModel = new CodeModel(repository, new TreeSet<>(List.of(new CodePackage(repository, "logic", new TreeSet<>()))));
+        NameIndex storageIndex = new NameIndex(storageModel);
+        NameIndex logicIndex = new NameIndex(logicModel);
+
+        assertEquals(new TreeSet<>(List.of("storage")), NameComparisonUtils.getAllPackageNames(storageIndex));
+        assertEquals(new TreeSet<>(List.of("logic")), NameComparisonUtils.getAllPackageNames(logicIndex));
+        assertSame(NameComparisonUtils.getAllPackageNames(storageIndex), NameComparisonUtils.getAllPackageNames(storageIndex));
+        assertNotSame(NameComparisonUtils.getAllPackageNames(storageIndex), NameComparisonUtils.getAllPackageNames(new NameIndex(storageModel)));
+    }
+
+    @Test
+    void testProcessedSplitIsNotSharedWithCallers() {
+        NameIndex index = new NameIndex(emptyCodeModel());
+        List<String> split = NameComparisonUtils.getProcessedSplit(index, "MediaAccessManager");
+        split.clear();
+
+        assertEquals(List.of("media", "access", "manager"), NameComparisonUtils.getProcessedSplit(index, "MediaAccessManager"));
+    }
+
+    private static String randomName(Random random) {
+        int numberOfWords = 1 + random.nextInt(4);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < numberOfWords; i++) {
+            words.add(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return switch (random.nextInt(5)) {
+            case 0 -> String.join(" ", words);
+            case 1 -> String.join("_", words);
+            case 2 -> "I" + camelCase(words);
+            case 3 -> String.join("", words).toUpperCase(Locale.ROOT);
+            default -> camelCase(words);
+        };
+    }
+
+    private static String camelCase(List<String> words) {
+        StringBuilder name = new StringBuilder();
+        for (String word : words) {
+            name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return name.toString();
+    }
+
+    private static List<String> randomPackageNames(Random random) {
+        List<String> packageNames = new ArrayList<>();
+        int numberOfPackages = 1 + random.nextInt(3);
+        for (int i = 0; i < numberOfPackages; i++) {
+            packageNames.add(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return packageNames;
+    }
+
+    private static Entity entity(String name) {
+        return new ArchitectureComponent(name, name, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "BasicComponent");
+    }
+
+    private static CodeModel emptyCodeModel() {
+        CodeItemRepository repository = new CodeItemRepository();
+        return new CodeModel(repository, new TreeSet<CodePackage>());
+    }
+
+    /**
+     * The comparisons of {@link NameComparisonUtils} without any index, as they were before names were indexed.
+     */
+    private static final class Uncached {
+
+        static double getContainedRatio(Entity namedEntity, List<String> names, PreprocessingMethod methodToUse) {
+            List<String> namesSplit = getProcessedSplit(namedEntity.getName());
+            int max = 0;
+            for (List<String> sublist : getAllSublists(namesSplit)) {
+                if (isContained(String.join("", sublist), names, methodToUse)) {
+                    max = Math.max(max, sublist.size());
+                }
+            }
+            return (double) max / namesSplit.size();
+        }
+
+        static boolean isInterfaceContained(String name, String otherName, PreprocessingMethod methodToUse) {
+            if (!name.matches("I[A-Z].*$")) {
+                return false;
+            }
+            return isContained(name.substring(1), otherName, methodToUse);
+        }
+
+        static double getRatio(String name1, String name2) {
+            return Math.min(1, (double) getProcessedSplit(name1).size() / getProcessedSplit(name2).size());
+        }
+
+        static boolean isContained(String a, String b, PreprocessingMethod methodToUse) {
+            return isContained(NameComparisonUtils.preprocess(a), getProcessedSplit(b), methodToUse);
+        }
+
+        static boolean areEqual(String name1, String name2) {
+            return NameComparisonUtils.preprocess(name1).equals(NameComparisonUtils.preprocess(name2));
+        }
+
+        private static boolean isContained(String a, List<String> names, PreprocessingMethod methodToUse) {
+            for (List<String> sublist : getAllSublists(names)) {
+                String substring = String.join("", sublist);
+                boolean equal = switch (methodToUse) {
+                    case NONE -> areEqual(a, substring);
+                    case STEMMING -> areEqual(new PorterStemmer().stem(a), new PorterStemmer().stem(substring));
+                    case LEMMATIZATION -> throw new IllegalArgumentException("Lemmatization is not compared");
+                };
+                if (equal) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static List<String> getProcessedSplit(String name) {
+            List<String> split = List.of(name.split("[^A-Za-z0-9]"));
+            if (split.size() <= 1) {
+                split = List.of(name.split("(?<!(^|[^a-z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])"));
+            }
+            List<String> processed = new ArrayList<>();
+            for (String s : split) {
+                processed.add(NameComparisonUtils.preprocess(s));
+            }
+            return processed;
+        }
+
+        private static <T> List<List<T>> getAllSublists(List<T> list) {
+            List<List<T>> allSublists = new ArrayList<>();
+            for (int numberOfElements = 1; numberOfElements <= list.size(); numberOfElements++) {
+                for (int startIndex = 0; startIndex <= list.size() - numberOfElements; startIndex++) {
+                    allSublists.add(list.subList(startIndex, startIndex + numberOfElements));
+                }
+            }
+            return allSublists;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureInterface;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.core.api.tracelink.SamCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.TraceLinkGenerator;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.computationtree.Node;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.aggregation.Maximum;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics.PathResemblance;
+
+class ComputationTest {
+
+    @ParameterizedTest
+    @EnumSource(Computation.Execution.class)
+    void testExecutionsGenerateIdenticalTraceLinks(Computation.Execution execution) {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+
+        List<SamCodeTraceLink> expected = List.copyOf(TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), archModel, codeModel,
+                Computation.Execution.SEQUENTIAL));
+        List<SamCodeTraceLink> actual = List.copyOf(TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), archModel, codeModel, execution));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Computation.Execution.class)
+    void testExecutionsComputeIdenticalNodeResults(Computation.Execution execution) {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+        Node root = TraceLinkGenerator.getRoot();
+
+        ComputationResult expected = new Computation(root, archModel, codeModel, Computation.Execution.SEQUENTIAL).getResult();
+        ComputationResult actual = new Computation(root, archModel, codeModel, execution).getResult();
+
+        for (Node node : nodes(root)) {
+            assertEquals(List.copyOf(expected.getTraceLinks(node)), List.copyOf(actual.getTraceLinks(node)), node::toString);
+        }
+    }
+
+    @Test
+    void testExecutorComputesIdenticalTraceLinks() {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+        Node root = TraceLinkGenerator.getRoot();
+
+        Set<SamCodeTraceLink> expected = new Computation(root, archModel, codeModel, Computation.Execution.SEQUENTIAL).getTraceLinks();
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            assertEquals(List.copyOf(expected), List.copyOf(new Computation(root, archModel, codeModel, executor).getTraceLinks()));
+        }
+    }
+
+    @Test
+    void testEqualNodesShareOneResult() {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+        Node path = new PathResemblance().getNode();
+        Node samePath = new PathResemblance().getNode();
+        Node maximum = Maximum.getMaximumNode(path, samePath);
+
+        ComputationResult result = new Computation(maximum, archModel, codeModel, Computation.Execution.FORK_JOIN).getResult();
+
+        assertEquals(path, samePath);
+        assertEquals(List.copyOf(result.getTraceLinks(path)), List.copyOf(result.getTraceLinks(maximum)));
+        assertEquals(result.getNodeResult(path), result.getNodeResult(samePath));
+    }
+
+    private static List<Node> nodes(Node root) {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            for (Node child : nodes.get(i).getChildren()) {
+                if (!nodes.contains(child)) {
+                    nodes.add(child);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static ArchitectureModel architectureModel() {
+        List<ArchitectureItem> items = new ArrayList<>();
+        for (String name : List.of("Storage", "Business Logic", "User Interface", "Common", "Media Access", "Persistence")) {
+            items.add(new ArchitectureComponent(name, name.toLowerCase(Locale.ROOT), new TreeSet<>(), new TreeSet<>(), new TreeSet<>(),
+                    "BasicComponent"));
+        }
+        items.add(new ArchitectureInterface("IStorage", "istorage", new TreeSet<>()));
+        items.add(new ArchitectureInterface("IMediaAccess", "imediaaccess", new TreeSet<>()));
+        return new ArchitectureModel(items);
+    }
+
+    private static CodeModel codeModel() {
+        CodeItemRepository repository = new CodeItemRepository();
+        TreeSet<CodePackage> packages = new TreeSet<>();
+        packages.add(codePackage(repository, "storage", "StorageManager", "FileStorage", "IStorage"));
+        packages.add(codePackage(repository, "logic", "BusinessLogic", "LogicService", "OrderProcessor"));
+        packages.add(codePackage(repository, "ui", "UserInterfaceView", "MainWindow", "UserInterfaceController"));
+        packages.add(codePackage(repository, "common", "CommonUtils", "Strings", "MediaHelper"));
+        packages.add(codePackage(repository, "mediaaccess", "MediaAccess", "MediaAccessImpl", "Persistence"));
+        return new CodeModel(repository, packages);
+    }
+
+    private static CodePackage codePackage(CodeItemRepository repository, String packageName, String... unitNames) {
+        List<CodeCompilationUnit> compilationUnits = new ArrayList<>();
+        for (String unitName : unitNames) {
+            ClassUnit classUnit = new ClassUnit(repository, unitName, new TreeSet<>());
+            CodeCompilationUnit compilationUnit = new CodeCompilationUnit(repository, unitName, new TreeSet<>(List.of(classUnit)), List.of("src", "main",
+                    packageName), "java", ProgrammingLanguages.JAVA);
+            classUnit.setCompilationUnit(compilationUnit);
+            compilationUnits.add(compilationUnit);
+        }
+        CodePackage codePackage = new CodePackage(repository, packageName, new TreeSet<>(compilationUnits));
+        for (CodeCompilationUnit compilationUnit : compilationUnits) {
+            compilationUnit.setParent(codePackage);
+        }
+        return codePackage;
+    }
+}
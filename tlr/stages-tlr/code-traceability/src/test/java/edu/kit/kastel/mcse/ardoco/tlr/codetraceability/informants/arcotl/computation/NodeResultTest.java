@@ -0,0 +1,238 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureInterface;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.core.api.tracelink.SamCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
+
+/**
+ * Compares the queries of {@link NodeResult} with the semantics of a map from endpoint tuples to confidences, which is how node results were stored before
+ * they were backed by a matrix. The confidences are drawn from few values, so that there are ties, and include confidences without value.
+ */
+class NodeResultTest {
+
+    private static final double[] VALUES = { Double.NaN, 0.0, 0.25, 0.5, 1.0 };
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4, 5, 6, 7, 8 })
+    void testResultOfIndexMatchesMapSemantics(long seed) {
+        Random random = new Random(seed);
+        ArchitectureModel archModel = architectureModel(random.nextInt(1, 6));
+        CodeModel codeModel = codeModel(random.nextInt(1, 8));
+        List<Pair<ArchitectureItem, CodeCompilationUnit>> tuples = new EndpointTupleRepo(archModel, codeModel).getEndpointTuples();
+
+        NodeResult result = new NodeResult(EndpointIndex.of(archModel, codeModel));
+        Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> expected = new LinkedHashMap<>();
+        for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+            expected.put(tuple, new Confidence());
+        }
+        for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+            if (random.nextBoolean()) {
+                Confidence confidence = randomConfidence(random);
+                result.add(tuple, confidence);
+                expected.put(tuple, confidence);
+            }
+        }
+
+        assertMatches(expected, result, archModel, codeModel);
+        assertEquals(List.copyOf(expectedTraceLinks(expected)), List.copyOf(result.getTraceLinks()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4, 5, 6, 7, 8 })
+    void testSparseResultMatchesMapSemantics(long seed) {
+        Random random = new Random(seed);
+        ArchitectureModel archModel = architectureModel(random.nextInt(1, 6));
+        CodeModel codeModel = codeModel(random.nextInt(1, 8));
+        List<Pair<ArchitectureItem, CodeCompilationUnit>> tuples = new ArrayList<>(new EndpointTupleRepo(archModel, codeModel).getEndpointTuples());
+        Collections.shuffle(tuples, random);
+
+        NodeResult result = new NodeResult();
+        Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> expected = new LinkedHashMap<>();
+        for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples.subList(0, random.nextInt(tuples.size() + 1))) {
+            Confidence confidence = randomConfidence(random);
+            result.add(tuple, confidence);
+            expected.put(tuple, confidence);
+        }
+
+        assertMatches(expected, result, archModel, codeModel);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4 })
+    void testCombinedResultsMatchMapSemantics(long seed) {
+        Random random = new Random(seed);
+        ArchitectureModel archModel = architectureModel(random.nextInt(1, 6));
+        CodeModel codeModel = codeModel(random.nextInt(1, 8));
+        List<Pair<ArchitectureItem, CodeCompilationUnit>> tuples = new EndpointTupleRepo(archModel, codeModel).getEndpointTuples();
+        EndpointIndex index = EndpointIndex.of(archModel, codeModel);
+
+        NodeResult result = new NodeResult();
+        Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> expected = new LinkedHashMap<>();
+        for (int part = 0; part < 3; part++) {
+            NodeResult partialResult = part == 1 ? new NodeResult() : new NodeResult(index).getResultForEndpoint(archModel.getEndpoints().getFirst());
+            Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> partialExpected = new LinkedHashMap<>();
+            if (part != 1) {
+                for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+                    if (tuple.hasElement(archModel.getEndpoints().getFirst())) {
+                        partialExpected.put(tuple, new Confidence());
+                    }
+                }
+            }
+            for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+                if (random.nextInt(3) == 0) {
+                    Confidence confidence = randomConfidence(random);
+                    partialResult.add(tuple, confidence);
+                    partialExpected.put(tuple, confidence);
+                }
+            }
+            result.addAll(partialResult);
+            expected.putAll(partialExpected);
+        }
+
+        assertMatches(expected, result, archModel, codeModel);
+    }
+
+    private static void assertMatches(Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> expected, NodeResult result, ArchitectureModel archModel,
+            CodeModel codeModel) {
+        List<Pair<ArchitectureItem, CodeCompilationUnit>> tuples = new EndpointTupleRepo(archModel, codeModel).getEndpointTuples();
+        for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+            assertEquals(expected.get(tuple), result.getConfidence(tuple), tuple::toString);
+        }
+
+        List<Entity> endpoints = new ArrayList<>();
+        endpoints.addAll(archModel.getEndpoints());
+        endpoints.addAll(codeModel.getEndpoints());
+        endpoints.add(new ArchitectureComponent("Unknown", "unknown", new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "BasicComponent"));
+        for (Entity endpoint : endpoints) {
+            Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> ofEndpoint = new LinkedHashMap<>();
+            expected.forEach((tuple, confidence) -> {
+                if (tuple.hasElement(endpoint)) {
+                    ofEndpoint.put(tuple, confidence);
+                }
+            });
+
+            Confidence best = new Confidence();
+            SortedSet<Entity> linkedEndpoints = new TreeSet<>();
+            for (var entry : ofEndpoint.entrySet()) {
+                if (entry.getValue().compareTo(best) > 0) {
+                    best = entry.getValue();
+                }
+                if (entry.getValue().hasValue()) {
+                    linkedEndpoints.add((Entity) entry.getKey().getOtherElement(endpoint));
+                }
+            }
+            assertEquals(best, result.getBestConfidence(endpoint), endpoint::toString);
+            assertEquals(linkedEndpoints, result.getLinkedEndpoints(endpoint), endpoint::toString);
+            assertEquals(!linkedEndpoints.isEmpty(), result.hasTraceLink(endpoint), endpoint::toString);
+
+            for (double value : VALUES) {
+                Confidence confidence = toConfidence(value);
+                NodeResult endpointTuples = result.getEndpointTuples(endpoint, confidence);
+                for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+                    Confidence expectedConfidence = confidence.equals(ofEndpoint.get(tuple)) ? confidence : null;
+                    assertEquals(expectedConfidence, endpointTuples.getConfidence(tuple), () -> endpoint + " " + tuple);
+                }
+            }
+
+            NodeResult resultForEndpoint = result.getResultForEndpoint(endpoint);
+            for (Pair<ArchitectureItem, CodeCompilationUnit> tuple : tuples) {
+                assertEquals(ofEndpoint.get(tuple), resultForEndpoint.getConfidence(tuple), () -> endpoint + " " + tuple);
+            }
+        }
+
+        assertEquals(expectedTraceLinks(expected), result.getTraceLinks());
+    }
+
+    /**
+     * Returns the trace links of the specified confidences in the order of the map. A node result visits the endpoint tuples row by row instead, which is
+     * the same order if the map is in the order of the {@link EndpointTupleRepo}.
+     */
+    private static Set<SamCodeTraceLink> expectedTraceLinks(Map<Pair<ArchitectureItem, CodeCompilationUnit>, Confidence> expected) {
+        Set<SamCodeTraceLink> traceLinks = new LinkedHashSet<>();
+        expected.forEach((tuple, confidence) -> {
+            if (confidence.hasValue()) {
+                traceLinks.add(new SamCodeTraceLink(tuple.first(), tuple.second()));
+            }
+        });
+        return traceLinks;
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2 })
+    void testQueriesOfEmptyResult(long seed) {
+        Random random = new Random(seed);
+        ArchitectureModel archModel = architectureModel(random.nextInt(1, 4));
+        CodeModel codeModel = codeModel(random.nextInt(1, 4));
+        NodeResult result = new NodeResult(EndpointIndex.of(archModel, codeModel));
+        for (ArchitectureItem endpoint : archModel.getEndpoints()) {
+            assertFalse(result.getBestConfidence(endpoint).hasValue());
+            assertTrue(result.getLinkedEndpoints(endpoint).isEmpty());
+            assertFalse(result.hasTraceLink(endpoint));
+        }
+        assertTrue(result.getTraceLinks().isEmpty());
+        assertNull(new NodeResult().getConfidence(new Pair<>(archModel.getEndpoints().getFirst(), codeModel.getEndpoints().getFirst())));
+    }
+
+    private static Confidence randomConfidence(Random random) {
+        return toConfidence(VALUES[random.nextInt(VALUES.length)]);
+    }
+
+    private static Confidence toConfidence(double value) {
+        return Double.isNaN(value) ? new Confidence() : new Confidence(value);
+    }
+
+    static ArchitectureModel architectureModel(int size) {
+        List<ArchitectureItem> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (i % 3 == 2) {
+                items.add(new ArchitectureInterface("IInterface" + i, "interface" + i, new TreeSet<>()));
+            } else {
+                items.add(new ArchitectureComponent("Component" + i, "component" + i, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "BasicComponent"));
+            }
+        }
+        return new ArchitectureModel(items);
+    }
+
+    static CodeModel codeModel(int size) {
+        CodeItemRepository repository = new CodeItemRepository();
+        TreeSet<CodeCompilationUnit> compilationUnits = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            String name = "Unit" + i;
+            ClassUnit classUnit = new ClassUnit(repository, name, new TreeSet<>());
+            compilationUnits.add(new CodeCompilationUnit(repository, name, new TreeSet<>(List.of(classUnit)), List.of("src", "pkg"), "java",
+                    ProgrammingLanguages.JAVA));
+        }
+        CodePackage codePackage = new CodePackage(repository, "pkg", compilationUnits);
+        return new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+    }
+}
@@ -0,0 +1,140 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.functions.heuristics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Computation;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.EndpointTupleRepo;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.NodeResult;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl.computation.computationtree.Node;
+
+class HeuristicTest {
+
+    private static final int ARCHITECTURE_ENDPOINTS = 17;
+    private static final int CODE_ENDPOINTS = 61;
+
+    @ParameterizedTest
+    @EnumSource(Computation.Execution.class)
+    void testChunksGiveIdenticalResultsInSameOrder(Computation.Execution execution) {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+        Node node = new NameHashHeuristic().getNode();
+
+        NodeResult expected = new Computation(node, archModel, codeModel, Computation.Execution.SEQUENTIAL).getResult().getNodeResult(node);
+        NodeResult actual = new Computation(node, archModel, codeModel, execution).getResult().getNodeResult(node);
+
+        assertSameConfidences(expected, actual, archModel, codeModel);
+    }
+
+    @Test
+    void testChunksGiveIdenticalResultsOnSaturatedExecutor() {
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+        Node node = new NameHashHeuristic().getNode();
+
+        NodeResult expected = new Computation(node, archModel, codeModel, Computation.Execution.SEQUENTIAL).getResult().getNodeResult(node);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            NodeResult actual = new Computation(node, archModel, codeModel, executor).getResult().getNodeResult(node);
+            assertSameConfidences(expected, actual, archModel, codeModel);
+        }
+    }
+
+    @Test
+    void testSequentialComputationScoresOnCallingThread() {
+        NameHashHeuristic heuristic = new NameHashHeuristic();
+        Node node = heuristic.getNode();
+
+        new Computation(node, architectureModel(), codeModel(), Computation.Execution.SEQUENTIAL);
+
+        assertEquals(Set.of(Thread.currentThread()), heuristic.threads);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Computation.Execution.class)
+    void testFailureOfChunkIsPropagated(Computation.Execution execution) {
+        Node node = new FailingHeuristic().getNode();
+        ArchitectureModel archModel = architectureModel();
+        CodeModel codeModel = codeModel();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new Computation(node, archModel, codeModel, execution));
+        assertSame(FailingHeuristic.FAILURE, exception);
+    }
+
+    private static void assertSameConfidences(NodeResult expected, NodeResult actual, ArchitectureModel archModel, CodeModel codeModel) {
+        for (Pair<ArchitectureItem, CodeCompilationUnit> endpointTuple : new EndpointTupleRepo(archModel, codeModel).getEndpointTuples()) {
+            assertEquals(expected.getConfidence(endpointTuple), actual.getConfidence(endpointTuple), endpointTuple::toString);
+        }
+        assertEquals(List.copyOf(expected.getTraceLinks()), List.copyOf(actual.getTraceLinks()));
+    }
+
+    private static ArchitectureModel architectureModel() {
+        List<ArchitectureItem> items = new ArrayList<>();
+        for (int i = 0; i < ARCHITECTURE_ENDPOINTS; i++) {
+            items.add(new ArchitectureComponent("Component" + i, "component" + i, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "BasicComponent"));
+        }
+        return new ArchitectureModel(items);
+    }
+
+    private static CodeModel codeModel() {
+        CodeItemRepository repository = new CodeItemRepository();
+        TreeSet<CodeCompilationUnit> compilationUnits = new TreeSet<>();
+        for (int i = 0; i < CODE_ENDPOINTS; i++) {
+            String name = "Unit" + i;
+            ClassUnit classUnit = new ClassUnit(repository, name, new TreeSet<>());
+            compilationUnits.add(new CodeCompilationUnit(repository, name, new TreeSet<>(List.of(classUnit)), List.of("src", "pkg"), "java",
+                    ProgrammingLanguages.JAVA));
+        }
+        return new CodeModel(repository, new TreeSet<>(List.of(new CodePackage(repository, "pkg", compilationUnits))));
+    }
+
+    /**
+     * Scores an endpoint tuple by the hash of its names, so that every endpoint tuple gets its own confidence and some get none.
+     */
+    private static final class NameHashHeuristic extends StandaloneHeuristic {
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+            this.threads.add(Thread.currentThread());
+            int hash = Math.floorMod((archComponent.getName() + compUnit.getName()).hashCode(), 101);
+            return hash == 100 ? new Confidence() : new Confidence(hash / 100.0);
+        }
+    }
+
+    private static final class FailingHeuristic extends StandaloneHeuristic {
+        private static final IllegalStateException FAILURE = new IllegalStateException("failing heuristic");
+
+        @Override
+        protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, HeuristicContext context) {
+            if (archComponent.getName().equals("Component" + (ARCHITECTURE_ENDPOINTS - 1))) {
+                throw FAILURE;
+            }
+            return new Confidence();
+        }
+    }
+}
@@ -1,7 +1,9 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -15,6 +17,11 @@
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java.JavaExtractor;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.shell.ShellExtractor;
 
+/**
+ * An extractor for all supported languages. The directory of the code is walked once for all languages. The extractors of the languages read and parse their
+ * source files concurrently, and then create their code items one after another in a fixed order, so that the identifiers of the code items are
+ * deterministic.
+ */
 @Deterministic
 public final class AllLanguagesExtractor extends CodeExtractor {
 
@@ -24,25 +31,65 @@ public final class AllLanguagesExtractor extends CodeExtractor {
 
     public AllLanguagesExtractor(CodeItemRepository codeItemRepository, String path) {
         super(codeItemRepository, path);
-        this.codeExtractors = Map.of(ProgrammingLanguages.JAVA, new JavaExtractor(codeItemRepository, path), ProgrammingLanguages.SHELL, new ShellExtractor(
-                codeItemRepository, path));
+        SourceFiles sourceFiles = new SourceFiles(Path.of(path));
+        Map<String, CodeExtractor> extractors = new LinkedHashMap<>();
+        extractors.put(ProgrammingLanguages.JAVA, new JavaExtractor(codeItemRepository, path));
+        extractors.put(ProgrammingLanguages.SHELL, new ShellExtractor(codeItemRepository, path));
+        extractors.values().forEach(extractor -> extractor.setSourceFiles(sourceFiles));
+        this.codeExtractors = extractors;
     }
 
     @Override
     public synchronized CodeModel extractModel() {
         if (this.extractedModel == null) {
+            List.copyOf(this.codeExtractors.values()).parallelStream().forEach(CodeExtractor::readSources);
             List<CodeModel> models = new ArrayList<>();
             for (CodeExtractor extractor : this.codeExtractors.values()) {
                 var model = extractor.extractModel();
                 models.add(model);
             }
-            SortedSet<CodeItem> codeEndpoints = new TreeSet<>();
-            for (CodeModel model : models) {
-                codeEndpoints.addAll(model.getContent());
+            this.extractedModel = this.mergeModels(models);
+        }
+        return this.extractedModel;
+    }
+
+    /**
+     * Updates the compilation units of each language with the extractor of the language. Each extractor only gets the changed files that are its own
+     * source files.
+     */
+    @Override
+    protected synchronized CodeModel updateCodeModel(CodeModel previousModel, SortedSet<String> changedFiles, SortedSet<String> removedFiles) {
+        if (this.extractedModel == null) {
+            Path root = this.getSourceFiles().getRoot();
+            List<CodeModel> models = new ArrayList<>();
+            for (CodeExtractor extractor : this.codeExtractors.values()) {
+                SortedSet<String> changedSourceFiles = new TreeSet<>();
+                for (String changedFile : changedFiles) {
+                    if (extractor.isSourceFile(root.resolve(changedFile))) {
+                        changedSourceFiles.add(changedFile);
+                    }
+                }
+                CodeModel model = extractor.updateCodeModel(previousModel, changedSourceFiles, removedFiles);
+                if (model == null) {
+                    return null;
+                }
+                models.add(model);
             }
-            this.extractedModel = new CodeModel(this.codeItemRepository, codeEndpoints);
+            this.extractedModel = this.mergeModels(models);
         }
         return this.extractedModel;
     }
 
+    private CodeModel mergeModels(List<CodeModel> models) {
+        SortedSet<CodeItem> codeEndpoints = new TreeSet<>();
+        for (CodeModel model : models) {
+            codeEndpoints.addAll(model.getContent());
+        }
+        return new CodeModel(this.codeItemRepository, codeEndpoints);
+    }
+
+    @Override
+    protected boolean isSourceFile(Path file) {
+        return this.codeExtractors.values().stream().anyMatch(extractor -> extractor.isSourceFile(file));
+    }
 }
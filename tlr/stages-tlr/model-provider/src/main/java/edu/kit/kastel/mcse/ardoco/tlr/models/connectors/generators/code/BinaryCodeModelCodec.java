@@ -0,0 +1,402 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ControlElement;
+
+/**
+ * Encodes and decodes code models in the {@link CodeModelFormat#BINARY binary} ACM format. The binary format encodes the same tokens as the JSON format, so
+ * both formats share the Jackson mapping of the code model. Strings are interned per section: every distinct string is written once and referenced by its
+ * number afterward.
+ * <p>
+ * A binary ACM file starts with the magic bytes {@code ACMB} and the version of the format, followed by a length-prefixed section with the code model
+ * without its code items. The code items follow in length-prefixed chunks of at most {@value #CHUNK_SIZE} code items, so that neither writing nor reading
+ * needs more than one chunk in memory as tokens. Chunks of {@link ControlElement control elements}, i.e., of method-level code items, are preceded by the
+ * ids of their code items. They are only decoded when one of their control elements is requested from the code item repository of the code model.
+ */
+final class BinaryCodeModelCodec {
+
+    private static final byte[] MAGIC = { 'A', 'C', 'M', 'B' };
+    private static final int VERSION = 2;
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final int END = 0;
+    private static final int START_OBJECT = 1;
+    private static final int END_OBJECT = 2;
+    private static final int START_ARRAY = 3;
+    private static final int END_ARRAY = 4;
+    private static final int FIELD_NAME = 5;
+    private static final int STRING = 6;
+    private static final int INTEGER = 7;
+    private static final int DOUBLE = 8;
+    private static final int BIG_NUMBER = 9;
+    private static final int TRUE = 10;
+    private static final int FALSE = 11;
+    private static final int NULL = 12;
+
+    private static final int CODE_ITEMS = 1;
+    private static final int LAZY_CODE_ITEMS = 2;
+
+    private static final TypeReference<List<CodeItem>> CODE_ITEM_LIST = new TypeReference<>() {
+    };
+
+    private BinaryCodeModelCodec() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Checks whether the specified file starts with the magic bytes of the binary format.
+     *
+     * @param file the file
+     * @return true if the file is a binary ACM file
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isBinary(File file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            return Arrays.equals(MAGIC, inputStream.readNBytes(MAGIC.length));
+        }
+    }
+
+    /**
+     * Writes the specified code model in the binary format. The code items are written chunk by chunk.
+     *
+     * @param objectMapper the object mapper that maps the code model to tokens
+     * @param codeModel    the code model
+     * @param outputStream the stream to write to
+     * @throws IOException if the code model cannot be written
+     */
+    static void write(ObjectMapper objectMapper, CodeModel codeModel, OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.write(MAGIC);
+        output.writeInt(VERSION);
+
+        Encoder model = new Encoder();
+        model.writeValue(objectMapper.copy()
+                .addMixIn(CodeItemRepository.class, WithoutCodeItems.class)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .writer(), codeModel);
+        model.writeSection(output);
+
+        ObjectWriter codeItemWriter = objectMapper.writerFor(CodeItem.class);
+        Chunk codeItems = new Chunk(CODE_ITEMS);
+        Chunk lazyCodeItems = new Chunk(LAZY_CODE_ITEMS);
+        for (CodeItem codeItem : codeModel.getCodeItemRepository().getRepository().values()) {
+            Chunk chunk = codeItem instanceof ControlElement ? lazyCodeItems : codeItems;
+            chunk.add(codeItemWriter, codeItem);
+            if (chunk.size() == CHUNK_SIZE) {
+                chunk.writeTo(output);
+            }
+        }
+        codeItems.writeTo(output);
+        lazyCodeItems.writeTo(output);
+        output.writeByte(END);
+        output.flush();
+    }
+
+    /**
+     * Reads a code model in the binary format. The chunks of control elements of the code model are decoded when they are needed.
+     *
+     * @param objectMapper the object mapper that maps tokens to the code model
+     * @param inputStream  the stream to read from
+     * @return the code model
+     * @throws IOException if the stream does not contain a code model in the binary format
+     */
+    static CodeModel read(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        if (!Arrays.equals(MAGIC, input.readNBytes(MAGIC.length))) {
+            throw new IOException("Not a binary code model");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of the binary code model format: " + version);
+        }
+
+        CodeModel codeModel;
+        try (JsonParser parser = decode(objectMapper, readSection(input)).asParser(objectMapper)) {
+            codeModel = objectMapper.readValue(parser, CodeModel.class);
+        }
+        CodeItemRepository repository = codeModel.getCodeItemRepository();
+        for (int kind = input.readUnsignedByte(); kind != END; kind = input.readUnsignedByte()) {
+            switch (kind) {
+            case CODE_ITEMS -> repository.addCodeItems(decodeCodeItems(objectMapper, readSection(input)));
+            case LAZY_CODE_ITEMS -> {
+                List<String> ids = readIds(input);
+                byte[] chunk = readSection(input);
+                repository.addLazyCodeItems(ControlElement.class, ids, () -> {
+                    try {
+                        return decodeCodeItems(objectMapper, chunk);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not decode the control elements of the code model", e);
+                    }
+                });
+            }
+            default -> throw new IOException("Unknown chunk in binary code model: " + kind);
+            }
+        }
+        return codeModel;
+    }
+
+    private static List<CodeItem> decodeCodeItems(ObjectMapper objectMapper, byte[] chunk) throws IOException {
+        try (JsonParser parser = decode(objectMapper, chunk).asParser(objectMapper)) {
+            return objectMapper.readValue(parser, CODE_ITEM_LIST);
+        }
+    }
+
+    private static List<String> readIds(DataInputStream input) throws IOException {
+        int size = (int) readVarLong(input);
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = (int) readVarLong(input);
+            ids.add(new String(readBytes(input, length), StandardCharsets.UTF_8));
+        }
+        return ids;
+    }
+
+    private static byte[] readSection(DataInputStream input) throws IOException {
+        return readBytes(input, input.readInt());
+    }
+
+    private static byte[] readBytes(DataInputStream input, int length) throws IOException {
+        if (length < 0) {
+            throw new EOFException("Truncated binary code model");
+        }
+        byte[] bytes = input.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated binary code model");
+        }
+        return bytes;
+    }
+
+    private static TokenBuffer decode(ObjectMapper objectMapper, byte[] section) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(section));
+        List<String> strings = new ArrayList<>();
+        TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+        for (int tag = input.readUnsignedByte(); tag != END; tag = input.readUnsignedByte()) {
+            switch (tag) {
+            case START_OBJECT -> tokens.writeStartObject();
+            case END_OBJECT -> tokens.writeEndObject();
+            case START_ARRAY -> tokens.writeStartArray();
+            case END_ARRAY -> tokens.writeEndArray();
+            case FIELD_NAME -> tokens.writeFieldName(readString(input, strings));
+            case STRING -> tokens.writeString(readString(input, strings));
+            case INTEGER -> {
+                long zigZag = readVarLong(input);
+                long value = (zigZag >>> 1) ^ -(zigZag & 1);
+                if (value == (int) value) {
+                    tokens.writeNumber((int) value);
+                } else {
+                    tokens.writeNumber(value);
+                }
+            }
+            case DOUBLE -> tokens.writeNumber(input.readDouble());
+            case BIG_NUMBER -> tokens.writeNumber(readString(input, strings));
+            case TRUE -> tokens.writeBoolean(true);
+            case FALSE -> tokens.writeBoolean(false);
+            case NULL -> tokens.writeNull();
+            default -> throw new IOException("Unknown tag in binary code model: " + tag);
+            }
+        }
+        tokens.flush();
+        return tokens;
+    }
+
+    private static String readString(DataInputStream input, List<String> strings) throws IOException {
+        int reference = (int) readVarLong(input);
+        if (reference > 0) {
+            return strings.get(reference - 1);
+        }
+        int length = (int) readVarLong(input);
+        String string = new String(readBytes(input, length), StandardCharsets.UTF_8);
+        strings.add(string);
+        return string;
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in binary code model");
+    }
+
+    /**
+     * Serializes a code item repository without its code items, which are written in chunks instead.
+     */
+    @JsonIgnoreProperties({ "repository" })
+    private abstract static class WithoutCodeItems {
+    }
+
+    /**
+     * A chunk of code items that is written once it is full. A chunk of lazily decoded code items is preceded by the ids of its code items.
+     */
+    private static final class Chunk {
+        private final int kind;
+        private final List<String> ids = new ArrayList<>();
+        private Encoder codeItems = new Encoder();
+
+        private Chunk(int kind) {
+            this.kind = kind;
+        }
+
+        private int size() {
+            return this.ids.size();
+        }
+
+        private void add(ObjectWriter codeItemWriter, CodeItem codeItem) throws IOException {
+            if (this.ids.isEmpty()) {
+                this.codeItems.writeTag(START_ARRAY);
+            }
+            this.ids.add(codeItem.getId());
+            this.codeItems.writeValue(codeItemWriter, codeItem);
+        }
+
+        private void writeTo(DataOutputStream output) throws IOException {
+            if (this.ids.isEmpty()) {
+                return;
+            }
+            output.writeByte(this.kind);
+            if (this.kind == LAZY_CODE_ITEMS) {
+                Encoder.writeVarLong(output, this.ids.size());
+                for (String id : this.ids) {
+                    byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+                    Encoder.writeVarLong(output, utf8.length);
+                    output.write(utf8);
+                }
+            }
+            this.codeItems.writeTag(END_ARRAY);
+            this.codeItems.writeSection(output);
+            this.ids.clear();
+            this.codeItems = new Encoder();
+        }
+    }
+
+    /**
+     * Encodes tokens of one section. Every section has its own string table, so that sections can be decoded independently.
+     */
+    private static final class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(this.bytes);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private void writeValue(ObjectWriter writer, Object value) throws IOException {
+            TokenBuffer tokens = new TokenBuffer(writer.getFactory().getCodec(), false);
+            writer.writeValue(tokens, value);
+            try (JsonParser parser = tokens.asParser()) {
+                for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                    this.writeToken(token, parser);
+                }
+            }
+        }
+
+        private void writeToken(JsonToken token, JsonParser parser) throws IOException {
+            switch (token) {
+            case START_OBJECT -> this.writeTag(START_OBJECT);
+            case END_OBJECT -> this.writeTag(END_OBJECT);
+            case START_ARRAY -> this.writeTag(START_ARRAY);
+            case END_ARRAY -> this.writeTag(END_ARRAY);
+            case FIELD_NAME -> {
+                this.writeTag(FIELD_NAME);
+                this.writeString(parser.currentName());
+            }
+            case VALUE_STRING -> {
+                this.writeTag(STRING);
+                this.writeString(parser.getText());
+            }
+            case VALUE_NUMBER_INT -> {
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    this.writeTag(BIG_NUMBER);
+                    this.writeString(parser.getText());
+                } else {
+                    long value = parser.getLongValue();
+                    this.writeTag(INTEGER);
+                    this.writeVarLong((value << 1) ^ (value >> 63));
+                }
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                    this.writeTag(BIG_NUMBER);
+                    this.writeString(parser.getText());
+                } else {
+                    this.writeTag(DOUBLE);
+                    this.output.writeDouble(parser.getDoubleValue());
+                }
+            }
+            case VALUE_TRUE -> this.writeTag(TRUE);
+            case VALUE_FALSE -> this.writeTag(FALSE);
+            case VALUE_NULL -> this.writeTag(NULL);
+            default -> throw new IOException("Unsupported token in code model: " + token);
+            }
+        }
+
+        private void writeTag(int tag) throws IOException {
+            this.output.writeByte(tag);
+        }
+
+        private void writeString(String string) throws IOException {
+            Integer reference = this.strings.get(string);
+            if (reference != null) {
+                this.writeVarLong(reference);
+                return;
+            }
+            this.strings.put(string, this.strings.size() + 1);
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            this.writeVarLong(0);
+            this.writeVarLong(utf8.length);
+            this.output.write(utf8);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            writeVarLong(this.output, value);
+        }
+
+        private static void writeVarLong(DataOutput output, long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                output.writeByte((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            output.writeByte((int) remaining);
+        }
+
+        private void writeSection(DataOutputStream target) throws IOException {
+            this.writeTag(END);
+            this.output.flush();
+            target.writeInt(this.bytes.size());
+            this.bytes.writeTo(target);
+        }
+    }
+}
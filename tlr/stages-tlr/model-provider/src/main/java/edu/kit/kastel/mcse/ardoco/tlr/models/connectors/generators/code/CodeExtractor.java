@@ -3,8 +3,25 @@
 
 import static edu.kit.kastel.mcse.ardoco.core.common.JsonHandling.createObjectMapper;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,14 +32,20 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.CodeModelType;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelType;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.Extractor;
 
 public abstract class CodeExtractor extends Extractor {
     private static final Logger logger = LoggerFactory.getLogger(CodeExtractor.class);
 
     private static final String CODE_MODEL_FILE_NAME = "codeModel.acm";
+    private static final String SOURCE_HASHES_FILE_SUFFIX = ".sha256";
+    private static final String INCREMENTAL_DIRECTORY_NAME = "ardoco-code-models";
+    private static final String HASH_SEPARATOR = "  ";
     protected final CodeItemRepository codeItemRepository;
+    private SourceFiles sourceFiles = null;
 
     protected CodeExtractor(CodeItemRepository codeItemRepository, String path) {
         super(path);
@@ -37,11 +60,46 @@ public final ModelType getModelType() {
         return CodeModelType.CODE_MODEL;
     }
 
+    /**
+     * Reads and parses the source files of this extractor without creating code items. Extractors of different languages may read their source files
+     * concurrently. Code items are only created by {@link #extractModel()}, so that their identifiers do not depend on the order in which the extractors
+     * read their source files. By default, the source files are read by {@link #extractModel()}.
+     */
+    protected void readSources() {
+        // Nothing to read in advance
+    }
+
+    /**
+     * Returns the files in the directory of the code. The directory is only walked once, and the files are shared with other extractors of the same
+     * directory if they were {@link #setSourceFiles(SourceFiles) set}.
+     *
+     * @return the files in the directory of the code
+     */
+    protected synchronized SourceFiles getSourceFiles() {
+        if (this.sourceFiles == null || !this.sourceFiles.getRoot().equals(Path.of(path).toAbsolutePath().normalize())) {
+            this.sourceFiles = new SourceFiles(Path.of(path));
+        }
+        return this.sourceFiles;
+    }
+
+    synchronized void setSourceFiles(SourceFiles sourceFiles) {
+        this.sourceFiles = sourceFiles;
+    }
+
     public void writeOutCodeModel(CodeModel codeModel, File outputFile) {
-        ObjectMapper objectMapper = createObjectMapper();
-        objectMapper.registerModule(new Jdk8Module());
+        writeOutCodeModel(codeModel, outputFile, CodeModelFormat.JSON);
+    }
+
+    /**
+     * Writes the code model to the specified file in the specified format.
+     *
+     * @param codeModel  the code model to write
+     * @param outputFile the file to write to
+     * @param format     the format of the file
+     */
+    public void writeOutCodeModel(CodeModel codeModel, File outputFile, CodeModelFormat format) {
         try {
-            objectMapper.writeValue(outputFile, codeModel);
+            write(codeModel, outputFile, format);
         } catch (IOException e) {
             logger.warn("An exception occurred when writing the code model.", e);
         }
@@ -53,17 +111,185 @@ public void writeOutCodeModel(CodeModel codeModel, File outputFile) {
      * @param codeModel the code model to write
      */
     public void writeOutCodeModel(CodeModel codeModel) {
+        writeOutCodeModel(codeModel, CodeModelFormat.JSON);
+    }
+
+    /**
+     * Writes the code model to the default location, i.e., to the folder of the code with the name "codeModel.acm", in the specified format.
+     *
+     * @param codeModel the code model to write
+     * @param format    the format of the file
+     */
+    public void writeOutCodeModel(CodeModel codeModel, CodeModelFormat format) {
         File file = new File(getCodeModelFileString());
-        writeOutCodeModel(codeModel, file);
+        writeOutCodeModel(codeModel, file, format);
+    }
+
+    /**
+     * Returns the file that keeps the code model of this extractor between {@link #extractModelIncrementally(File, CodeModelFormat) incremental
+     * extractions}. The file is not in the directory of the code, but in a directory of the temporary directory that is specific to the directory of the
+     * code.
+     *
+     * @return the file of the code model for incremental extractions
+     */
+    public File getIncrementalCodeModelFile() {
+        MessageDigest digest = createMessageDigest();
+        String codeDirectory = this.getSourceFiles().getRoot().toString();
+        String codeDirectoryHash = HexFormat.of().formatHex(digest.digest(codeDirectory.getBytes(StandardCharsets.UTF_8)));
+        return Path.of(System.getProperty("java.io.tmpdir"), INCREMENTAL_DIRECTORY_NAME, codeDirectoryHash.substring(0, 16), CODE_MODEL_FILE_NAME).toFile();
+    }
+
+    /**
+     * Extracts the code model incrementally, starting from the code model in the specified file. The hashes of the source files that code model was
+     * extracted from are kept next to it. If no source file has been added, removed, or changed since, the code model is reused. Otherwise, only the code
+     * items of the changed source files are {@link #updateCodeModel(CodeModel, SortedSet, SortedSet) updated}, or the whole code model is extracted if this
+     * extractor cannot update code models. The resulting code model and the hashes of its source files are written to the specified file. Source files are
+     * compared by the SHA-256 hashes of their contents.
+     *
+     * @param codeModelFile the file of the code model, which should not be in the directory of the code
+     * @param format        the format to write the code model in
+     * @return the code model of the current source files
+     */
+    public CodeModel extractModelIncrementally(File codeModelFile, CodeModelFormat format) {
+        SortedMap<String, String> sourceHashes = computeSourceHashes();
+        SortedMap<String, String> storedHashes = readInSourceHashes(codeModelFile);
+        CodeModel previousModel = storedHashes == null ? null : readInCodeModel(codeModelFile);
+        if (previousModel != null && storedHashes.equals(sourceHashes)) {
+            logger.info("Reusing code model of unchanged source files.");
+            return previousModel;
+        }
+        CodeModel codeModel = null;
+        if (previousModel != null) {
+            SortedSet<String> changedFiles = new TreeSet<>();
+            sourceHashes.forEach((file, hash) -> {
+                if (!hash.equals(storedHashes.get(file))) {
+                    changedFiles.add(file);
+                }
+            });
+            SortedSet<String> removedFiles = new TreeSet<>(storedHashes.keySet());
+            removedFiles.removeAll(sourceHashes.keySet());
+            logger.info("Updating code model of {} changed and {} removed source files.", changedFiles.size(), removedFiles.size());
+            IdentifierProvider.skipUsedIds(previousModel.getCodeItemRepository().getRepository().keySet());
+            codeModel = this.updateCodeModel(previousModel, changedFiles, removedFiles);
+        }
+        if (codeModel == null) {
+            logger.info("Extracting code model.");
+            codeModel = this.extractModel();
+        }
+        try {
+            Files.createDirectories(codeModelFile.getAbsoluteFile().getParentFile().toPath());
+            write(codeModel, codeModelFile, format);
+            List<String> lines = sourceHashes.entrySet().stream().map(entry -> entry.getValue() + HASH_SEPARATOR + entry.getKey()).toList();
+            Files.write(getSourceHashesFile(codeModelFile), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("An exception occurred when writing the code model and the hashes of its source files.", e);
+        }
+        return codeModel;
+    }
+
+    /**
+     * Updates the specified code model, which this extractor extracted from previous versions of the source files. The code items of unchanged source files
+     * are kept, and only the added and changed source files are extracted again. By default, code models cannot be updated and are extracted completely.
+     *
+     * @param previousModel the code model of the previous source files
+     * @param changedFiles  the relative paths of the source files that were added or changed since, see {@link SourceFiles#getRelativePath(Path)}
+     * @param removedFiles  the relative paths of the source files that were removed since
+     * @return the code model of the current source files, or null if this extractor cannot update code models
+     */
+    protected CodeModel updateCodeModel(CodeModel previousModel, SortedSet<String> changedFiles, SortedSet<String> removedFiles) {
+        return null;
+    }
+
+    /**
+     * Returns the relative path of the source file of the specified compilation unit, see {@link SourceFiles#getRelativePath(Path)}.
+     *
+     * @param compilationUnit the compilation unit
+     * @return the relative path of its source file
+     */
+    protected String getSourceFilePath(CodeCompilationUnit compilationUnit) {
+        SourceFiles files = this.getSourceFiles();
+        try {
+            // The paths of compilation units are relative URIs
+            return files.getRelativePath(Path.of(files.getRoot().toUri().resolve(compilationUnit.getPath())));
+        } catch (IllegalArgumentException e) {
+            return compilationUnit.getPath();
+        }
     }
 
+    /**
+     * Checks whether the specified file may contain code that this extractor extracts. Only source files are considered when checking whether a written code
+     * model is still up-to-date. By default, no file is a source file, so extractors have to recognize their own source files.
+     *
+     * @param file the file
+     * @return true if the file is a source file of this extractor
+     */
+    protected boolean isSourceFile(Path file) {
+        return false;
+    }
+
+    private static SortedMap<String, String> readInSourceHashes(File codeModelFile) {
+        Path sourceHashesFile = getSourceHashesFile(codeModelFile);
+        if (!codeModelFile.isFile() || !Files.isRegularFile(sourceHashesFile)) {
+            return null;
+        }
+        try {
+            SortedMap<String, String> storedHashes = new TreeMap<>();
+            for (String line : Files.readAllLines(sourceHashesFile, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf(HASH_SEPARATOR);
+                if (separator > 0) {
+                    storedHashes.put(line.substring(separator + HASH_SEPARATOR.length()), line.substring(0, separator));
+                }
+            }
+            return storedHashes;
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("An exception occurred when reading the hashes of the source files of the code model.", e);
+            return null;
+        }
+    }
+
+    private static Path getSourceHashesFile(File codeModelFile) {
+        return Path.of(codeModelFile.getPath() + SOURCE_HASHES_FILE_SUFFIX);
+    }
+
+    private SortedMap<String, String> computeSourceHashes() {
+        SourceFiles files = this.getSourceFiles();
+        List<Path> sourceFiles = files.getFiles().stream().filter(this::isSourceFile).toList();
+        SortedMap<String, String> hashes = new TreeMap<>();
+        sourceFiles.parallelStream()
+                .map(file -> new String[] { files.getRelativePath(file), hash(file) })
+                .toList()
+                .forEach(entry -> hashes.put(entry[0], entry[1]));
+        return hashes;
+    }
+
+    private static String hash(Path file) {
+        try (DigestInputStream inputStream = new DigestInputStream(Files.newInputStream(file), createMessageDigest())) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(inputStream.getMessageDigest().digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads in the code model from the specified file. The format of the file is detected from its content.
+     *
+     * @param codeModelFile the file to read from
+     * @return the code model, or null if the file does not exist or cannot be read
+     */
     public static CodeModel readInCodeModel(File codeModelFile) {
         if (codeModelFile != null && codeModelFile.isFile()) {
             logger.info("Reading in existing code model.");
-            ObjectMapper objectMapper = createObjectMapper();
-            objectMapper.registerModule(new Jdk8Module());
             try {
-                return objectMapper.readValue(codeModelFile, CodeModel.class);
+                return read(codeModelFile);
             } catch (IOException e) {
                 logger.warn("An exception occurred when reading the code model.", e);
             }
@@ -71,6 +297,48 @@ public static CodeModel readInCodeModel(File codeModelFile) {
         return null;
     }
 
+    /**
+     * Converts the code model in the specified file to the specified format, e.g., an existing JSON ACM file to the binary format. The format of the input
+     * file is detected from its content.
+     *
+     * @param inputFile  the file to read from
+     * @param outputFile the file to write to, may be the input file
+     * @param format     the format of the output file
+     * @throws IOException if the input file cannot be read or the output file cannot be written
+     */
+    public static void convertCodeModel(File inputFile, File outputFile, CodeModelFormat format) throws IOException {
+        CodeModel codeModel = read(inputFile);
+        write(codeModel, outputFile, format);
+    }
+
+    private static CodeModel read(File codeModelFile) throws IOException {
+        ObjectMapper objectMapper = createCodeModelObjectMapper();
+        if (BinaryCodeModelCodec.isBinary(codeModelFile)) {
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(codeModelFile.toPath()))) {
+                return BinaryCodeModelCodec.read(objectMapper, inputStream);
+            }
+        }
+        return objectMapper.readValue(codeModelFile, CodeModel.class);
+    }
+
+    private static void write(CodeModel codeModel, File outputFile, CodeModelFormat format) throws IOException {
+        ObjectMapper objectMapper = createCodeModelObjectMapper();
+        switch (format) {
+        case JSON -> objectMapper.writeValue(outputFile, codeModel);
+        case BINARY -> {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()))) {
+                BinaryCodeModelCodec.write(objectMapper, codeModel, outputStream);
+            }
+        }
+        }
+    }
+
+    private static ObjectMapper createCodeModelObjectMapper() {
+        ObjectMapper objectMapper = createObjectMapper();
+        objectMapper.registerModule(new Jdk8Module());
+        return objectMapper;
+    }
+
     private String getCodeModelFileString() {
         return path + File.separator + CODE_MODEL_FILE_NAME;
     }
@@ -0,0 +1,17 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code;
+
+/**
+ * The formats in which code models can be written to ACM files. Code models can be read from files of any format, the format is detected from the content of
+ * the file.
+ */
+public enum CodeModelFormat {
+    /**
+     * The interoperable JSON format.
+     */
+    JSON,
+    /**
+     * A compact binary format with interned strings whose method-level code items are only decoded when they are needed.
+     */
+    BINARY
+}
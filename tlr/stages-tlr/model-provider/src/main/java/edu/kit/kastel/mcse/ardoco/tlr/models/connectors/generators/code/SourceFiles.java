@@ -0,0 +1,164 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The files in a directory of code. The directory is walked once, on first use, and the files can be shared by several {@link CodeExtractor extractors}, so
+ * that extracting code of several languages does not walk the directory once per language. Files are read in parallel, but with a bounded number of
+ * concurrent reads, so that large directories do not exhaust file handles.
+ */
+public final class SourceFiles {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceFiles.class);
+
+    private static final int MAX_CONCURRENT_READS = Math.min(16, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final Path root;
+    private List<Path> files = null;
+
+    /**
+     * Creates the files of the specified directory. The directory is walked when the files are requested for the first time.
+     *
+     * @param root the directory
+     */
+    public SourceFiles(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the directory of the files.
+     *
+     * @return the absolute, normalized directory
+     */
+    public Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Returns the path of the specified file relative to the directory, with '/' as separator on all platforms.
+     *
+     * @param file the absolute, normalized path of a file in the directory
+     * @return the relative path of the file
+     */
+    public String getRelativePath(Path file) {
+        return this.root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Returns all regular files in the directory and its subdirectories. Files and subdirectories that cannot be read are skipped.
+     *
+     * @return the unmodifiable, sorted list of the absolute, normalized paths of the files
+     */
+    public synchronized List<Path> getFiles() {
+        if (this.files == null) {
+            List<Path> foundFiles = new ArrayList<>();
+            try {
+                Files.walkFileTree(this.root, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (Files.isRegularFile(file)) {
+                            foundFiles.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        logger.warn("Skipping file that cannot be read: {}", file, exc);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                        if (exc != null) {
+                            logger.warn("Skipping rest of directory that cannot be read: {}", dir, exc);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+            foundFiles.sort(null);
+            this.files = List.copyOf(foundFiles);
+        }
+        return this.files;
+    }
+
+    /**
+     * Reads the specified files in parallel, with at most {@value #MAX_CONCURRENT_READS} concurrent reads.
+     *
+     * @param files  the files
+     * @param reader reads a file
+     * @param <T>    the type of the results of the reader
+     * @return the results of the reader, in the order of the files
+     */
+    public <T> List<T> readAll(List<Path> files, Function<Path, T> reader) {
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_READS);
+        List<Future<T>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return reader.apply(file);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<T> results = new ArrayList<>(files.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Reads at most the specified number of bytes from the start of the specified file.
+     *
+     * @param file   the file
+     * @param length the maximum number of bytes
+     * @return the bytes at the start of the file
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static byte[] readHead(Path file, int length) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return inputStream.readNBytes(length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,16 +1,27 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.SortedMap;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.stream.Stream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.JavaCore;
@@ -18,19 +29,33 @@
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.SourceFiles;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java.finder.EnumDeclarationFinder;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java.finder.TypeDeclarationFinder;
 
 /**
  * An extractor for Java. Extracts a CMTL instance.
  */
 @Deterministic
 public final class JavaExtractor extends CodeExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(JavaExtractor.class);
+
+    private static final String JAVA_FILE_SUFFIX = ".java";
+    private static final int PARSE_BATCH_SIZE = 1000;
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w\\s.]+?)\\s*;", Pattern.MULTILINE);
+    private static final Pattern PACKAGE_SEPARATOR = Pattern.compile("\\.");
 
     private CodeModel extractedModel = null;
+    private NavigableMap<String, CompilationUnit> compilationUnits = null;
 
     public JavaExtractor(CodeItemRepository codeItemRepository, String path) {
         super(codeItemRepository, path);
@@ -44,22 +69,116 @@ public JavaExtractor(CodeItemRepository codeItemRepository, String path) {
     @Override
     public synchronized CodeModel extractModel() {
         if (extractedModel == null) {
-            Path directoryPath = Path.of(path);
-            SortedMap<String, CompilationUnit> compUnitMap = parseDirectory(directoryPath);
-            JavaModel javaModel = new JavaModel(codeItemRepository, compUnitMap);
+            this.readSources();
+            JavaModel javaModel = new JavaModel(codeItemRepository, this.compilationUnits);
+            this.extractedModel = javaModel.getCodeModel();
+            this.compilationUnits = null;
+        }
+        return this.extractedModel;
+    }
+
+    /**
+     * Parses the Java files, so that {@link #extractModel()} only has to create the code items.
+     */
+    @Override
+    protected synchronized void readSources() {
+        if (this.extractedModel == null && this.compilationUnits == null) {
+            this.compilationUnits = parseDirectory(this.getSourceFiles());
+        }
+    }
+
+    /**
+     * Keeps the code items of unchanged Java files and parses only the changed Java files. Unchanged Java files that mention the name of a type that is
+     * declared in a changed or removed Java file are parsed as well, as the bindings of their types may have changed. The source roots of all Java files
+     * are used as source path, so that bindings to the types of the unchanged Java files are resolved.
+     */
+    @Override
+    protected synchronized CodeModel updateCodeModel(CodeModel previousModel, SortedSet<String> changedFiles, SortedSet<String> removedFiles) {
+        if (this.extractedModel == null) {
+            SourceFiles sourceFiles = this.getSourceFiles();
+            Path dir = sourceFiles.getRoot();
+            String[] sourceRoots = getSourceRoots(sourceFiles, getJavaSources(sourceFiles));
+            List<CodeCompilationUnit> previousCompilationUnits = new ArrayList<>();
+            for (CodeCompilationUnit compilationUnit : previousModel.getEndpoints()) {
+                if (ProgrammingLanguages.JAVA.equals(compilationUnit.getLanguage())) {
+                    previousCompilationUnits.add(compilationUnit);
+                }
+            }
+
+            Set<String> staleFiles = new HashSet<>(changedFiles);
+            staleFiles.addAll(removedFiles);
+            Set<String> changedTypeNames = new HashSet<>();
+            for (CodeCompilationUnit compilationUnit : previousCompilationUnits) {
+                if (staleFiles.contains(this.getSourceFilePath(compilationUnit))) {
+                    compilationUnit.getAllDataTypes().forEach(datatype -> changedTypeNames.add(datatype.getName()));
+                }
+            }
+            String[] changedSources = changedFiles.stream().map(file -> dir.resolve(file).toString()).toArray(String[]::new);
+            NavigableMap<String, CompilationUnit> changedCompilationUnits = parseInBatches(dir, changedSources, sourceRoots);
+            changedCompilationUnits.values().forEach(compilationUnit -> changedTypeNames.addAll(getDeclaredTypeNames(compilationUnit)));
+
+            List<Path> unchangedSources = sourceFiles.getFiles()
+                    .stream()
+                    .filter(this::isSourceFile)
+                    .filter(file -> !staleFiles.contains(sourceFiles.getRelativePath(file)))
+                    .toList();
+            List<Path> dependentSources = findMentioningSources(sourceFiles, unchangedSources, changedTypeNames);
+            logger.info("Parsing {} changed and {} dependent Java files", changedSources.length, dependentSources.size());
+            changedCompilationUnits.putAll(parseInBatches(dir, dependentSources.stream().map(Path::toString).toArray(String[]::new), sourceRoots));
+            dependentSources.forEach(file -> staleFiles.add(sourceFiles.getRelativePath(file)));
+
+            List<CodeCompilationUnit> keptCompilationUnits = previousCompilationUnits.stream()
+                    .filter(compilationUnit -> !staleFiles.contains(this.getSourceFilePath(compilationUnit)))
+                    .toList();
+            JavaModel javaModel = new JavaModel(codeItemRepository, changedCompilationUnits, keptCompilationUnits);
             this.extractedModel = javaModel.getCodeModel();
+            this.compilationUnits = null;
         }
         return this.extractedModel;
     }
 
-    private static SortedMap<String, CompilationUnit> parseDirectory(Path dir) {
+    @Override
+    protected boolean isSourceFile(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(JAVA_FILE_SUFFIX);
+    }
+
+    /**
+     * Parses all Java files in the specified directory. Up to {@link #PARSE_BATCH_SIZE} files are parsed together. More files are split into batches that
+     * are parsed in parallel. To resolve bindings to types of other batches, each batch uses the source roots of all files as source path. The source root
+     * of a file is the directory that contains the directories of its package.
+     */
+    private NavigableMap<String, CompilationUnit> parseDirectory(SourceFiles sourceFiles) {
+        Path dir = sourceFiles.getRoot();
+        final String[] sources = getJavaSources(sourceFiles);
+        if (sources.length <= PARSE_BATCH_SIZE) {
+            return parse(dir, sources, new String[0]);
+        }
+        return parseInBatches(dir, sources, getSourceRoots(sourceFiles, sources));
+    }
+
+    private String[] getJavaSources(SourceFiles sourceFiles) {
+        return sourceFiles.getFiles().stream().filter(this::isSourceFile).map(Path::toString).toArray(String[]::new);
+    }
+
+    private static NavigableMap<String, CompilationUnit> parseInBatches(Path dir, String[] sources, String[] sourceRoots) {
+        if (sources.length > PARSE_BATCH_SIZE) {
+            logger.info("Parsing {} Java files in batches of {} files", sources.length, PARSE_BATCH_SIZE);
+        }
+        final NavigableMap<String, CompilationUnit> compilationUnits = new TreeMap<>();
+        IntStream.range(0, (sources.length + PARSE_BATCH_SIZE - 1) / PARSE_BATCH_SIZE)
+                .parallel()
+                .mapToObj(batch -> Arrays.copyOfRange(sources, batch * PARSE_BATCH_SIZE, Math.min(sources.length, (batch + 1) * PARSE_BATCH_SIZE)))
+                .map(batch -> parse(dir, batch, sourceRoots))
+                .toList()
+                .forEach(compilationUnits::putAll);
+        return compilationUnits;
+    }
+
+    private static NavigableMap<String, CompilationUnit> parse(Path dir, String[] sources, String[] sourceRoots) {
         ASTParser parser = getJavaParser();
-        final String[] sources = getEntries(dir, ".java");
-        final String[] encodings = new String[sources.length];
-        Arrays.fill(encodings, StandardCharsets.UTF_8.toString());
-        final SortedMap<String, CompilationUnit> compilationUnits = new TreeMap<>();
-        parser.setEnvironment(new String[0], new String[0], new String[0], false);
-        parser.createASTs(sources, encodings, new String[0], new FileASTRequestor() {
+        final NavigableMap<String, CompilationUnit> compilationUnits = new TreeMap<>();
+        parser.setEnvironment(new String[0], sourceRoots, utf8Encodings(sourceRoots.length), false);
+        parser.createASTs(sources, utf8Encodings(sources.length), new String[0], new FileASTRequestor() {
             @Override
             public void acceptAST(final String sourceFilePath, final CompilationUnit ast) {
                 URI sourceFileUri = Path.of(sourceFilePath).toUri();
@@ -70,6 +189,75 @@ public void acceptAST(final String sourceFilePath, final CompilationUnit ast) {
         return compilationUnits;
     }
 
+    private static Set<String> getDeclaredTypeNames(CompilationUnit compilationUnit) {
+        Set<String> typeNames = new HashSet<>();
+        TypeDeclarationFinder.find(compilationUnit).forEach(typeDeclaration -> typeNames.add(typeDeclaration.getName().getIdentifier()));
+        EnumDeclarationFinder.find(compilationUnit).forEach(enumDeclaration -> typeNames.add(enumDeclaration.getName().getIdentifier()));
+        return typeNames;
+    }
+
+    /**
+     * Finds the specified Java files that mention one of the specified type names as a word. Files that cannot be read are considered to mention them.
+     */
+    private static List<Path> findMentioningSources(SourceFiles sourceFiles, List<Path> sources, Set<String> typeNames) {
+        if (typeNames.isEmpty()) {
+            return List.of();
+        }
+        Pattern typeNamePattern = Pattern.compile(typeNames.stream().sorted().map(Pattern::quote).collect(Collectors.joining("|", "\\b(?:", ")\\b")));
+        List<Boolean> mentions = sourceFiles.readAll(sources, source -> {
+            try {
+                return typeNamePattern.matcher(Files.readString(source, StandardCharsets.UTF_8)).find();
+            } catch (IOException | UncheckedIOException e) {
+                logger.warn("Could not read {}", source, e);
+                return true;
+            }
+        });
+        List<Path> mentioningSources = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            if (mentions.get(i)) {
+                mentioningSources.add(sources.get(i));
+            }
+        }
+        return mentioningSources;
+    }
+
+    private static String[] utf8Encodings(int length) {
+        final String[] encodings = new String[length];
+        Arrays.fill(encodings, StandardCharsets.UTF_8.toString());
+        return encodings;
+    }
+
+    /**
+     * Returns the source roots of the specified Java files, i.e., the directories that contain the directories of the declared packages. Files whose
+     * directory does not match their package do not contribute a source root.
+     */
+    private static String[] getSourceRoots(SourceFiles sourceFiles, String[] sources) {
+        List<String> sourceRoots = sourceFiles.readAll(Arrays.stream(sources).map(Path::of).toList(), JavaExtractor::getSourceRoot);
+        return sourceRoots.stream().filter(Objects::nonNull).distinct().sorted().toArray(String[]::new);
+    }
+
+    private static String getSourceRoot(Path source) {
+        Path directory = source.getParent();
+        String content;
+        try {
+            content = Files.readString(source, StandardCharsets.UTF_8);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not read {}", source, e);
+            return null;
+        }
+        Matcher matcher = PACKAGE_DECLARATION.matcher(content);
+        if (matcher.find()) {
+            String[] packageNames = PACKAGE_SEPARATOR.split(matcher.group(1), -1);
+            for (int i = packageNames.length - 1; i >= 0; i--) {
+                if (directory == null || !directory.getFileName().toString().equals(packageNames[i].strip())) {
+                    return null;
+                }
+                directory = directory.getParent();
+            }
+        }
+        return directory == null ? null : directory.toString();
+    }
+
     private static ASTParser getJavaParser() {
         String javaCoreVersion = JavaCore.latestSupportedJavaVersion();
         final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
@@ -79,16 +267,4 @@ private static ASTParser getJavaParser() {
                 JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, javaCoreVersion));
         return parser;
     }
-
-    private static String[] getEntries(Path dir, String suffix) {
-        try (Stream<Path> paths = Files.walk(dir)) {
-            return paths.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().toLowerCase().endsWith(suffix))
-                    .map(Path::toAbsolutePath)
-                    .map(Path::normalize)
-                    .map(Path::toString)
-                    .toArray(String[]::new);
-        } catch (IOException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-    }
 }
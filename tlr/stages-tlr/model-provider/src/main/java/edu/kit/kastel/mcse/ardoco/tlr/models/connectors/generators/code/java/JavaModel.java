@@ -4,14 +4,20 @@
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -52,14 +58,31 @@ public final class JavaModel {
     private Set<JavaType> javaTypes;
     private Set<JavaClassifier> javaClassifiers;
     private Set<JavaInterface> javaInterfaces;
+    private Map<String, Datatype> keptDatatypes;
+    private IdentityHashMap<Datatype, String> previousQualifiedNames;
     private CodeModel codeModel;
 
     public JavaModel(CodeItemRepository codeItemRepository, SortedMap<String, CompilationUnit> compUnitMap) {
+        this(codeItemRepository, compUnitMap, List.of());
+    }
+
+    /**
+     * Creates the code items of the specified compilation units and keeps the specified compilation units of a previous code model, e.g., the ones of
+     * unchanged source files. The kept compilation units and their content are moved to the code item repository. Types of the new compilation units may
+     * refer to kept datatypes, and kept datatypes that referred to datatypes that are not kept refer to the new datatypes of the same qualified name.
+     *
+     * @param codeItemRepository   the code item repository
+     * @param compUnitMap          the compilation units to create code items for, by their relative paths
+     * @param keptCompilationUnits the compilation units of a previous code model to keep
+     */
+    public JavaModel(CodeItemRepository codeItemRepository, SortedMap<String, CompilationUnit> compUnitMap, List<CodeCompilationUnit> keptCompilationUnits) {
         this.codeItemRepository = codeItemRepository;
         javaTypes = new LinkedHashSet<>();
         javaClassifiers = new LinkedHashSet<>();
         javaInterfaces = new LinkedHashSet<>();
-        initModel(compUnitMap);
+        keptDatatypes = new HashMap<>();
+        previousQualifiedNames = new IdentityHashMap<>();
+        initModel(compUnitMap, keptCompilationUnits);
     }
 
     public CodeModel getCodeModel() {
@@ -101,71 +124,124 @@ private record JavaClassifier(ClassUnit codeClassifier, ITypeBinding binding) {
     private record JavaInterface(InterfaceUnit codeInterface, ITypeBinding binding) {
     }
 
+    /**
+     * A kept datatype together with the datatypes it referred to in the previous code model.
+     */
+    private record KeptDatatype(Datatype datatype, List<Datatype> extendedTypes, List<Datatype> implementedTypes, List<Datatype> referencedTypes) {
+    }
+
+    /**
+     * Finds elements by the erasure of their type binding. Two type bindings are equal if they have the same key (see {@link ITypeBinding#isEqualTo}), so
+     * the elements are hashed by the key of the erasure of their binding. Elements whose binding has no key are compared one by one. If several elements
+     * have equal bindings, the first one is found.
+     */
+    private static final class BindingIndex<T> {
+        private final Map<String, T> elementsByKey = new HashMap<>();
+        private final List<T> elementsWithoutKey = new ArrayList<>();
+        private final Function<T, ITypeBinding> bindingOf;
+
+        private BindingIndex(Collection<T> elements, Function<T, ITypeBinding> bindingOf) {
+            this.bindingOf = bindingOf;
+            for (T element : elements) {
+                ITypeBinding erasure = bindingOf.apply(element).getErasure();
+                String key = erasure == null ? null : erasure.getKey();
+                if (key == null) {
+                    elementsWithoutKey.add(element);
+                } else {
+                    elementsByKey.putIfAbsent(key, element);
+                }
+            }
+        }
+
+        private Optional<T> find(ITypeBinding binding) {
+            ITypeBinding erasure = binding.getErasure();
+            if (erasure == null) {
+                return Optional.empty();
+            }
+            String key = erasure.getKey();
+            if (key != null) {
+                return Optional.ofNullable(elementsByKey.get(key));
+            }
+            return elementsWithoutKey.stream().filter(element -> erasure.isEqualTo(bindingOf.apply(element).getErasure())).findFirst();
+        }
+    }
+
     //
 
     private void initImplementedInterfaces() {
+        BindingIndex<JavaInterface> interfaceIndex = new BindingIndex<>(javaInterfaces, JavaInterface::binding);
         for (JavaClassifier javaClassifier : javaClassifiers) {
             ITypeBinding binding = javaClassifier.binding();
             ITypeBinding[] implInterfacesBindings = binding.getInterfaces();
-            List<JavaInterface> javaImplInterfaces = Arrays.stream(implInterfacesBindings)
-                    .map(implInterfaceBinding -> javaInterfaces.stream()
-                            .filter(javaInterface -> javaInterface.binding().getErasure().isEqualTo(implInterfaceBinding.getErasure()))
-                            .findFirst()
-                            .orElseThrow())
+            List<Datatype> implInterfaces = Arrays.stream(implInterfacesBindings)
+                    .map(implInterfaceBinding -> interfaceIndex.find(implInterfaceBinding)
+                            .<Datatype>map(JavaInterface::codeInterface)
+                            .or(() -> findKeptDatatype(implInterfaceBinding, InterfaceUnit.class)))
+                    .map(Optional::orElseThrow)
                     .toList();
-            SortedSet<Datatype> codeImplInterfaces = new TreeSet<>();
-            javaImplInterfaces.forEach(javaImplInterface -> codeImplInterfaces.add(javaImplInterface.codeInterface()));
-            javaClassifier.codeClassifier().setImplementedTypes(codeImplInterfaces);
+            javaClassifier.codeClassifier().setImplementedTypes(new TreeSet<>(implInterfaces));
         }
     }
 
     private void initExtendedInterfaces() {
+        BindingIndex<JavaInterface> interfaceIndex = new BindingIndex<>(javaInterfaces, JavaInterface::binding);
         for (JavaInterface javaInterface : javaInterfaces) {
             ITypeBinding binding = javaInterface.binding();
             ITypeBinding[] extendedInterfacesBindings = binding.getInterfaces();
-            List<JavaInterface> javaExtendedInterfaces = Arrays.stream(extendedInterfacesBindings)
-                    .map(extendedInterfaceBinding -> javaInterfaces.stream()
-                            .filter(otherJavaInterface -> otherJavaInterface.binding().getErasure().isEqualTo(extendedInterfaceBinding.getErasure()))
-                            .findFirst()
-                            .orElseThrow())
+            List<Datatype> extendedInterfaces = Arrays.stream(extendedInterfacesBindings)
+                    .map(extendedInterfaceBinding -> interfaceIndex.find(extendedInterfaceBinding)
+                            .<Datatype>map(JavaInterface::codeInterface)
+                            .or(() -> findKeptDatatype(extendedInterfaceBinding, InterfaceUnit.class)))
+                    .map(Optional::orElseThrow)
                     .toList();
-            SortedSet<Datatype> codeExtendedInterfaces = new TreeSet<>();
-            javaExtendedInterfaces.forEach(javaExtendedInterface -> codeExtendedInterfaces.add(javaExtendedInterface.codeInterface()));
-            javaInterface.codeInterface().setExtendedTypes(codeExtendedInterfaces);
+            javaInterface.codeInterface().setExtendedTypes(new TreeSet<>(extendedInterfaces));
         }
     }
 
     private void initSuperclasses() {
+        BindingIndex<JavaClassifier> classifierIndex = new BindingIndex<>(javaClassifiers, JavaClassifier::binding);
         for (JavaClassifier javaClassifier : javaClassifiers) {
             ITypeBinding binding = javaClassifier.binding();
             ITypeBinding superclassBinding = binding.getSuperclass();
             if (null == superclassBinding) {
                 continue;
             }
-            JavaClassifier javaSuperclass = javaClassifiers.stream()
-                    .filter(otherJavaClass -> otherJavaClass.binding().getErasure().isEqualTo(superclassBinding.getErasure()))
-                    .findFirst()
+            Datatype superclass = classifierIndex.find(superclassBinding)
+                    .<Datatype>map(JavaClassifier::codeClassifier)
+                    .or(() -> findKeptDatatype(superclassBinding, ClassUnit.class))
                     .orElseThrow();
             SortedSet<Datatype> superclasses = new TreeSet<>();
-            superclasses.add(javaSuperclass.codeClassifier());
+            superclasses.add(superclass);
             javaClassifier.codeClassifier().setExtendedTypes(superclasses);
         }
     }
 
     private void initDependencies() {
+        BindingIndex<JavaType> typeIndex = new BindingIndex<>(javaTypes, JavaType::binding);
         for (JavaType javaType : javaTypes) {
             List<ITypeBinding> referencedBindings = javaType.referencedBindings();
             SortedSet<Datatype> dependencies = new TreeSet<>();
             for (ITypeBinding referencedBinding : referencedBindings) {
-                javaTypes.stream()
-                        .filter(otherJavaType -> otherJavaType.binding().getErasure().isEqualTo(referencedBinding.getErasure()))
-                        .findFirst()
-                        .ifPresent(referencedJavaType -> dependencies.add(referencedJavaType.codeType()));
+                typeIndex.find(referencedBinding)
+                        .map(JavaType::codeType)
+                        .or(() -> findKeptDatatype(referencedBinding, Datatype.class))
+                        .ifPresent(dependency -> dependencies.add(dependency));
             }
             javaType.codeType().setDatatypeReference(dependencies);
         }
     }
 
+    /**
+     * Finds the kept datatype of the specified type by the qualified name of the binding. Local types have no qualified name and cannot be found.
+     */
+    private Optional<Datatype> findKeptDatatype(ITypeBinding binding, Class<? extends Datatype> type) {
+        ITypeBinding erasure = binding.getErasure();
+        if (erasure == null || erasure.getQualifiedName().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(keptDatatypes.get(erasure.getQualifiedName())).filter(type::isInstance);
+    }
+
     private static List<ITypeBinding> getReferencedBindings(AbstractTypeDeclaration abstractTypeDeclaration) {
         @SuppressWarnings("unchecked") List<BodyDeclaration> bodyDeclarations = abstractTypeDeclaration.bodyDeclarations();
         List<Type> referencedTypes = new ArrayList<>();
@@ -183,11 +259,13 @@ private static List<ITypeBinding> getReferencedBindings(AbstractTypeDeclaration
 
     //
 
-    private void initModel(SortedMap<String, CompilationUnit> compUnitMap) {
+    private void initModel(SortedMap<String, CompilationUnit> compUnitMap, List<CodeCompilationUnit> keptCompilationUnits) {
         SortedSet<CodeItem> modelContent = new TreeSet<>();
         SortedSet<CodePackage> codePackages = new TreeSet<>();
         SortedSet<CodeCompilationUnit> codeCompilationUnits = new TreeSet<>();
 
+        List<KeptDatatype> keptDatatypeReferences = keepCompilationUnits(keptCompilationUnits, modelContent, codePackages);
+
         for (var entry : compUnitMap.entrySet()) {
             CompilationUnit compilationUnit = entry.getValue();
             PackageDeclaration packageDeclaration = compilationUnit.getPackage();
@@ -223,12 +301,111 @@ private void initModel(SortedMap<String, CompilationUnit> compUnitMap) {
         initExtendedInterfaces();
         initSuperclasses();
         initDependencies();
+        relinkKeptDatatypes(keptDatatypeReferences);
 
         modelContent.addAll(mergedCodePackages);
 
         codeModel = new CodeModel(codeItemRepository, modelContent);
     }
 
+    /**
+     * Moves the kept compilation units and their content to the code item repository, and adds them to the packages of their package names. The datatypes
+     * that the kept datatypes referred to are looked up before, as datatypes that are not kept cannot be found in the code item repository afterwards.
+     */
+    private List<KeptDatatype> keepCompilationUnits(List<CodeCompilationUnit> keptCompilationUnits, SortedSet<CodeItem> modelContent,
+            SortedSet<CodePackage> codePackages) {
+        List<KeptDatatype> keptDatatypeReferences = new ArrayList<>();
+        List<CodeItem> keptCodeItems = new ArrayList<>();
+        Map<CodeCompilationUnit, List<String>> packageNames = new LinkedHashMap<>();
+        for (CodeCompilationUnit keptCompilationUnit : keptCompilationUnits) {
+            packageNames.put(keptCompilationUnit, keptCompilationUnit.getParentPackageNames());
+            addWithContent(keptCompilationUnit, keptCodeItems);
+            for (Datatype datatype : keptCompilationUnit.getAllDataTypes()) {
+                KeptDatatype keptDatatype = new KeptDatatype(datatype, List.copyOf(datatype.getExtendedTypes()), List.copyOf(datatype.getImplementedTypes()),
+                        List.copyOf(datatype.getDatatypeReferences()));
+                keptDatatypeReferences.add(keptDatatype);
+                previousQualifiedNames.put(datatype, getQualifiedName(datatype));
+                for (List<Datatype> referencedTypes : List.of(keptDatatype.extendedTypes(), keptDatatype.implementedTypes(), keptDatatype.referencedTypes())) {
+                    referencedTypes.forEach(referencedType -> previousQualifiedNames.computeIfAbsent(referencedType, JavaModel::getQualifiedName));
+                }
+            }
+        }
+        codeItemRepository.addCodeItems(keptCodeItems);
+
+        for (KeptDatatype keptDatatype : keptDatatypeReferences) {
+            keptDatatypes.putIfAbsent(previousQualifiedNames.get(keptDatatype.datatype()), keptDatatype.datatype());
+        }
+        for (var entry : packageNames.entrySet()) {
+            CodePackage codePackage = getPackage(entry.getValue(), entry.getKey());
+            if (null == codePackage) {
+                modelContent.add(entry.getKey());
+            } else {
+                codePackages.add(codePackage);
+            }
+        }
+        return keptDatatypeReferences;
+    }
+
+    /**
+     * Lets the kept datatypes refer to the current datatypes. References to kept datatypes stay as they are, and references to other datatypes are resolved
+     * by their qualified name, first among the new datatypes. References to datatypes that no longer exist are dropped.
+     */
+    private void relinkKeptDatatypes(List<KeptDatatype> keptDatatypeReferences) {
+        if (keptDatatypeReferences.isEmpty()) {
+            return;
+        }
+        Map<String, Datatype> newDatatypes = new HashMap<>();
+        for (JavaType javaType : javaTypes) {
+            ITypeBinding erasure = javaType.binding().getErasure();
+            if (erasure != null && !erasure.getQualifiedName().isEmpty()) {
+                newDatatypes.putIfAbsent(erasure.getQualifiedName(), javaType.codeType());
+            }
+        }
+        Set<Datatype> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptDatatypeReferences.forEach(keptDatatype -> kept.add(keptDatatype.datatype()));
+        Function<List<Datatype>, SortedSet<Datatype>> relink = referencedTypes -> {
+            SortedSet<Datatype> currentTypes = new TreeSet<>();
+            for (Datatype referencedType : referencedTypes) {
+                if (kept.contains(referencedType)) {
+                    currentTypes.add(referencedType);
+                } else {
+                    String qualifiedName = previousQualifiedNames.get(referencedType);
+                    Datatype currentType = newDatatypes.getOrDefault(qualifiedName, keptDatatypes.get(qualifiedName));
+                    if (currentType != null) {
+                        currentTypes.add(currentType);
+                    }
+                }
+            }
+            return currentTypes;
+        };
+        for (KeptDatatype keptDatatype : keptDatatypeReferences) {
+            keptDatatype.datatype().setExtendedTypes(relink.apply(keptDatatype.extendedTypes()));
+            keptDatatype.datatype().setImplementedTypes(relink.apply(keptDatatype.implementedTypes()));
+            keptDatatype.datatype().setDatatypeReference(relink.apply(keptDatatype.referencedTypes()));
+        }
+    }
+
+    private static void addWithContent(CodeItem codeItem, List<CodeItem> codeItems) {
+        codeItems.add(codeItem);
+        codeItem.getContent().forEach(content -> addWithContent(content, codeItems));
+    }
+
+    /**
+     * Returns the qualified name of a datatype of a code model, i.e., the names of its packages, of its enclosing datatypes, and its own name, separated by
+     * dots, like {@link ITypeBinding#getQualifiedName()}.
+     */
+    private static String getQualifiedName(Datatype datatype) {
+        List<String> names = new ArrayList<>();
+        for (Datatype current = datatype; current != null; current = current.getParentDatatype()) {
+            names.addFirst(current.getName());
+        }
+        CodeCompilationUnit compilationUnit = datatype.getCompilationUnit();
+        if (compilationUnit != null) {
+            names.addAll(0, compilationUnit.getParentPackageNames());
+        }
+        return String.join(".", names);
+    }
+
     private List<Datatype> extractTypes(CompilationUnit compilationUnit) {
         Map<ASTNode, Datatype> codeTypes = new LinkedHashMap<>();
         Set<TypeDeclaration> typeDeclarations = TypeDeclarationFinder.find(compilationUnit);
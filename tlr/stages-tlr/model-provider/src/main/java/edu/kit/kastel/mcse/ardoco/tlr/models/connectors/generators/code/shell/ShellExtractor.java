@@ -1,19 +1,36 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.shell;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.SourceFiles;
 
 public final class ShellExtractor extends CodeExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(ShellExtractor.class);
+
+    private static final String SHELL_FILE_SUFFIX = ".sh";
+    private static final List<String> SHEBANGS = List.of("#!/bin/bash", "#!/bin/sh", "#!/usr/bin/env bash");
+    private static final int SHEBANG_LENGTH = SHEBANGS.stream().mapToInt(String::length).max().orElseThrow();
 
     private CodeModel extractedModel = null;
+    private List<Path> shellFiles = null;
 
     public ShellExtractor(CodeItemRepository codeItemRepository, String path) {
         super(codeItemRepository, path);
@@ -22,20 +39,99 @@ public ShellExtractor(CodeItemRepository codeItemRepository, String path) {
     @Override
     public synchronized CodeModel extractModel() {
         if (extractedModel == null) {
-            this.extractedModel = parseCode(new File(path));
+            this.readSources();
+            Path startingDir = this.getSourceFiles().getRoot();
+            SortedSet<CodeItem> codeEndpoints = new TreeSet<>();
+            for (Path shellFile : this.shellFiles) {
+                codeEndpoints.add(extractShellFile(startingDir, shellFile));
+            }
+            this.extractedModel = new CodeModel(codeItemRepository, codeEndpoints);
+            this.shellFiles = null;
+        }
+        return this.extractedModel;
+    }
+
+    /**
+     * Keeps the compilation units of unchanged shell files and extracts the changed shell files. Shell files do not refer to each other, so no other
+     * compilation units have to be updated.
+     */
+    @Override
+    protected synchronized CodeModel updateCodeModel(CodeModel previousModel, SortedSet<String> changedFiles, SortedSet<String> removedFiles) {
+        Path startingDir = this.getSourceFiles().getRoot();
+        List<CodeCompilationUnit> keptCompilationUnits = new ArrayList<>();
+        for (CodeCompilationUnit compilationUnit : previousModel.getEndpoints()) {
+            String sourceFile = this.getSourceFilePath(compilationUnit);
+            if (ProgrammingLanguages.SHELL.equals(compilationUnit.getLanguage()) && !changedFiles.contains(sourceFile) && !removedFiles.contains(sourceFile)) {
+                keptCompilationUnits.add(compilationUnit);
+            }
+        }
+        codeItemRepository.addCodeItems(keptCompilationUnits);
+        SortedSet<CodeItem> codeEndpoints = new TreeSet<>(keptCompilationUnits);
+        for (String changedFile : changedFiles) {
+            Path shellFile = startingDir.resolve(changedFile);
+            if (this.isSourceFile(shellFile)) {
+                codeEndpoints.add(extractShellFile(startingDir, shellFile));
+            }
         }
+        this.extractedModel = new CodeModel(codeItemRepository, codeEndpoints);
+        this.shellFiles = null;
         return this.extractedModel;
     }
 
-    private CodeModel parseCode(File file) {
-        Path startingDir = Paths.get(file.toURI());
-        ShellVisitor shellScriptVisitor = new ShellVisitor(codeItemRepository, startingDir);
-        // walk all files and run the ShellScriptVisitor
+    /**
+     * Finds the shell files. Files without the shell suffix are recognized by their shebang, so only their first bytes are read.
+     */
+    @Override
+    protected synchronized void readSources() {
+        if (this.extractedModel == null && this.shellFiles == null) {
+            SourceFiles sourceFiles = this.getSourceFiles();
+            List<Path> files = sourceFiles.getFiles();
+            List<Boolean> isShellFile = sourceFiles.readAll(files, this::isSourceFile);
+            List<Path> foundShellFiles = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                if (isShellFile.get(i)) {
+                    foundShellFiles.add(files.get(i));
+                }
+            }
+            this.shellFiles = foundShellFiles;
+        }
+    }
+
+    private CodeCompilationUnit extractShellFile(Path startingDir, Path path) {
+        String fileName = path.getFileName().toString();
+        String extension = FilenameUtils.getExtension(fileName);
+        String fileNameWithoutExtension = FilenameUtils.removeExtension(fileName);
+        List<String> pathElements = new ArrayList<>();
+
+        // relativize path
+        URI sourceFileUri = path.toUri();
+        String relativePathString = startingDir.toUri().relativize(sourceFileUri).toString();
+        Path relativePath = Path.of(relativePathString);
+
+        for (int i = 0; i < relativePath.getNameCount() - 1; i++) {
+            pathElements.add(relativePath.getName(i).toString());
+        }
+        return new CodeCompilationUnit(codeItemRepository, fileNameWithoutExtension, new TreeSet<>(), pathElements, extension, ProgrammingLanguages.SHELL);
+    }
+
+    /**
+     * Checks whether the specified file is a shell file, i.e., whether it has the shell suffix or starts with a shell shebang.
+     *
+     * @param file the file
+     * @return true if the file is a shell file
+     */
+    @Override
+    protected boolean isSourceFile(Path file) {
+        if (file.getFileName().toString().endsWith(SHELL_FILE_SUFFIX)) {
+            return true;
+        }
+        String head;
         try {
-            Files.walkFileTree(startingDir, shellScriptVisitor);
-        } catch (IOException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
+            head = new String(SourceFiles.readHead(file, SHEBANG_LENGTH), StandardCharsets.UTF_8);
+        } catch (UncheckedIOException e) {
+            logger.warn("Exception when reading file", e);
+            return false;
         }
-        return shellScriptVisitor.getCodeModel();
+        return SHEBANGS.stream().anyMatch(head::startsWith);
     }
 }
@@ -10,10 +10,12 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.Model;
 import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.Extractor;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeModelFormat;
 
 /**
  * The model extractor extracts the instances and relations via a connector. The extracted items are stored in a model extraction state.
@@ -23,6 +25,11 @@ public final class ArCoTLModelProviderInformant extends Informant {
     private final Extractor extractor;
     private final File fromFile;
 
+    @Configurable
+    private boolean incrementalCodeExtraction = false;
+    @Configurable
+    private CodeModelFormat codeModelFormat = CodeModelFormat.JSON;
+
     // Needed for Configuration Generation
     private ArCoTLModelProviderInformant() {
         super(null, null);
@@ -65,11 +72,17 @@ public void process() {
         }
 
         IdentifierProvider.reset();
+        if (this.incrementalCodeExtraction && this.extractor instanceof CodeExtractor codeExtractor) {
+            this.getLogger().info("Extracting code model incrementally.");
+            extractedModel = codeExtractor.extractModelIncrementally(codeExtractor.getIncrementalCodeModelFile(), this.codeModelFormat);
+            this.addModelStateToDataRepository(this.extractor.getModelId(), extractedModel);
+            return;
+        }
         this.getLogger().info("Extracting code model.");
         extractedModel = this.extractor.extractModel();
         if (this.extractor instanceof CodeExtractor codeExtractor && extractedModel instanceof CodeModel codeModel) {
             this.getLogger().info("Writing out code model to file in directory.");
-            codeExtractor.writeOutCodeModel(codeModel);
+            codeExtractor.writeOutCodeModel(codeModel, this.codeModelFormat);
         }
         this.addModelStateToDataRepository(this.extractor.getModelId(), extractedModel);
     }
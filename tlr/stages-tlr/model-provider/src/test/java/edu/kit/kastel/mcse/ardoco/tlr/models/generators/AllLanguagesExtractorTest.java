@@ -0,0 +1,96 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.generators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.AllLanguagesExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeModelFormat;
+
+class AllLanguagesExtractorTest {
+
+    private static final int RUNS = 5;
+    private static final Pattern ID = Pattern.compile("acm(\\d+)jsd");
+
+    @Test
+    void extractionIsDeterministicTest(@TempDir Path code, @TempDir Path output) throws IOException {
+        copyCode(code);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        String expected = null;
+        for (int i = 0; i < RUNS; i++) {
+            var extractor = new AllLanguagesExtractor(new CodeItemRepository(), code.toString());
+            CodeModel model = extractor.extractModel();
+            long shellFiles = model.getEndpoints().stream().filter(unit -> ProgrammingLanguages.SHELL.equals(unit.getLanguage())).count();
+            Assertions.assertEquals(2, shellFiles);
+            Assertions.assertEquals(9, model.getEndpoints().size(), () -> model.getEndpoints().stream().map(CodeCompilationUnit::getPath).toList().toString());
+
+            File modelFile = output.resolve("model" + i + ".acm").toFile();
+            extractor.writeOutCodeModel(model, modelFile);
+            String written = withRelativeIds(objectMapper.readTree(modelFile).toString());
+            if (expected == null) {
+                expected = written;
+            } else {
+                Assertions.assertEquals(expected, written, "run " + i);
+            }
+        }
+    }
+
+    @Test
+    void extractModelIncrementallyTest(@TempDir Path code, @TempDir Path output) throws IOException {
+        copyCode(code);
+        File modelFile = output.resolve("codeModel.acm").toFile();
+        new AllLanguagesExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally(modelFile, CodeModelFormat.BINARY);
+
+        Files.writeString(code.resolve("build.sh"), "echo rebuild\n");
+        Files.writeString(code.resolve("test.sh"), "echo test\n");
+        Files.writeString(code.resolve("edu/run"), "not a script anymore\n");
+        Files.writeString(code.resolve("edu/AnEnum.java"), "package edu;\n\npublic enum AnEnum {\n    A\n}\n");
+        CodeModel updatedModel = new AllLanguagesExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally(modelFile,
+                CodeModelFormat.BINARY);
+        CodeModel extractedModel = new AllLanguagesExtractor(new CodeItemRepository(), code.toString()).extractModel();
+        Assertions.assertEquals(describe(extractedModel), describe(updatedModel));
+        Assertions.assertTrue(describe(updatedModel).contains("test.sh " + ProgrammingLanguages.SHELL));
+    }
+
+    private static void copyCode(Path code) throws IOException {
+        Path source = Path.of("src/test/resources/interface");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Path target = code.resolve(source.relativize(file).toString());
+                Files.createDirectories(target.getParent());
+                Files.copy(file, target);
+            }
+        }
+        Files.writeString(code.resolve("build.sh"), "echo build\n");
+        Files.writeString(code.resolve("edu/run"), "#!/bin/sh\n");
+    }
+
+    private static List<String> describe(CodeModel model) {
+        return model.getEndpoints().stream().map(endpoint -> endpoint.getPath() + " " + endpoint.getLanguage()).sorted().toList();
+    }
+
+    /**
+     * Replaces the identifiers of the code items by their distance to the smallest identifier, as each repository continues the global sequence of
+     * identifiers.
+     */
+    private static String withRelativeIds(String json) {
+        long firstId = ID.matcher(json).results().mapToLong(id -> Long.parseLong(id.group(1))).min().orElse(0);
+        return ID.matcher(json).replaceAll(id -> "acm" + (Long.parseLong(id.group(1)) - firstId));
+    }
+}
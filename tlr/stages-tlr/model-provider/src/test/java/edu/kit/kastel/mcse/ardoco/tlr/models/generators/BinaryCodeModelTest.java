@@ -0,0 +1,106 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.generators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ClassUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ControlElement;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeModelFormat;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java.JavaExtractor;
+
+class BinaryCodeModelTest {
+
+    private static final int CLASSES = 2500;
+
+    @Test
+    void controlElementsStayUnloadedForViewsTest(@TempDir Path directory) {
+        var extractor = new JavaExtractor(new CodeItemRepository(), "src/test/resources/interface");
+        CodeModel model = extractor.extractModel();
+        File binaryFile = directory.resolve("binary.acm").toFile();
+        extractor.writeOutCodeModel(model, binaryFile, CodeModelFormat.BINARY);
+        long controlElements = model.getCodeItemRepository().getRepository().values().stream().filter(ControlElement.class::isInstance).count();
+
+        CodeModel binaryModel = CodeExtractor.readInCodeModel(binaryFile);
+        Assertions.assertNotNull(binaryModel);
+        CodeItemRepository repository = binaryModel.getCodeItemRepository();
+        Assertions.assertTrue(controlElements > 0);
+        Assertions.assertEquals(controlElements, repository.getUnloadedCodeItemCount());
+
+        Assertions.assertEquals(ids(model.getEndpoints()), ids(binaryModel.getEndpoints()));
+        Assertions.assertEquals(ids(model.getAllPackages()), ids(binaryModel.getAllPackages()));
+        Assertions.assertEquals(ids(model.getAllDataTypes()), ids(binaryModel.getAllDataTypes()));
+        Assertions.assertEquals(controlElements, repository.getUnloadedCodeItemCount());
+
+        for (int i = 0; i < model.getAllDataTypes().size(); i++) {
+            Assertions.assertEquals(ids(model.getAllDataTypes().get(i).getDeclaredMethods()), ids(binaryModel.getAllDataTypes().get(i).getDeclaredMethods()));
+        }
+        Assertions.assertEquals(0, repository.getUnloadedCodeItemCount());
+    }
+
+    @Test
+    void chunksAreDecodedOnDemandTest(@TempDir Path directory) throws IOException {
+        CodeModel model = codeModel();
+        File binaryFile = directory.resolve("binary.acm").toFile();
+        File jsonFile = directory.resolve("json.acm").toFile();
+        File convertedFile = directory.resolve("converted.acm").toFile();
+        var extractor = new JavaExtractor(new CodeItemRepository(), directory.toString());
+        extractor.writeOutCodeModel(model, binaryFile, CodeModelFormat.BINARY);
+        extractor.writeOutCodeModel(model, jsonFile, CodeModelFormat.JSON);
+
+        CodeModel binaryModel = CodeExtractor.readInCodeModel(binaryFile);
+        Assertions.assertNotNull(binaryModel);
+        CodeItemRepository repository = binaryModel.getCodeItemRepository();
+        Assertions.assertEquals(CLASSES, repository.getUnloadedCodeItemCount());
+        Assertions.assertEquals(CLASSES, binaryModel.getEndpoints().size());
+        Assertions.assertEquals(CLASSES, binaryModel.getAllDataTypes().size());
+
+        Datatype lastClass = binaryModel.getAllDataTypes().getLast();
+        Assertions.assertEquals(ids(model.getAllDataTypes().getLast().getDeclaredMethods()), ids(lastClass.getDeclaredMethods()));
+        int unloaded = repository.getUnloadedCodeItemCount();
+        Assertions.assertTrue(unloaded > 0 && unloaded < CLASSES, () -> "unloaded: " + unloaded);
+
+        CodeExtractor.convertCodeModel(binaryFile, convertedFile, CodeModelFormat.JSON);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Assertions.assertEquals(objectMapper.readTree(jsonFile), objectMapper.readTree(convertedFile));
+    }
+
+    private static List<String> ids(Collection<? extends Entity> entities) {
+        return entities.stream().map(Entity::getId).toList();
+    }
+
+    private static CodeModel codeModel() {
+        CodeItemRepository repository = new CodeItemRepository();
+        List<CodeCompilationUnit> compilationUnits = new ArrayList<>();
+        for (int i = 0; i < CLASSES; i++) {
+            ControlElement method = new ControlElement(repository, "method" + i);
+            ClassUnit classUnit = new ClassUnit(repository, "Class" + i, new TreeSet<>(List.of(method)));
+            CodeCompilationUnit compilationUnit = new CodeCompilationUnit(repository, "Class" + i, new TreeSet<>(List.of(classUnit)), List.of("pkg"),
+                    "java", ProgrammingLanguages.JAVA);
+            classUnit.setCompilationUnit(compilationUnit);
+            compilationUnits.add(compilationUnit);
+        }
+        CodePackage codePackage = new CodePackage(repository, "pkg", new TreeSet<>(compilationUnits));
+        compilationUnits.forEach(compilationUnit -> compilationUnit.setParent(codePackage));
+        return new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+    }
+}
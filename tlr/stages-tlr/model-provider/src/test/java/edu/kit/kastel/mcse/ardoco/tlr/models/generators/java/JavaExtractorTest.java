@@ -1,14 +1,30 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.models.generators.java;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import edu.kit.kastel.mcse.ardoco.core.api.entity.Entity;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.CodeModelFormat;
 import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.java.JavaExtractor;
 
 class JavaExtractorTest {
@@ -26,4 +42,90 @@ void extractorTest() {
 
         Assertions.assertEquals(7, model.getEndpoints().size());
     }
+
+    @Test
+    void extractModelIncrementallyTest(@TempDir Path code, @TempDir Path output) throws IOException {
+        Path source = Path.of("src/test/resources/interface");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Path target = code.resolve(source.relativize(file).toString());
+                Files.createDirectories(target.getParent());
+                Files.copy(file, target);
+            }
+        }
+        Files.writeString(code.resolve("edu/AUser.java"), "package edu;\n\npublic class AUser extends AClass<AUser> {\n    private AnotherClass anotherClass;\n}\n");
+        File modelFile = output.resolve("codeModel.acm").toFile();
+
+        CodeModel firstModel = new JavaExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally(modelFile, CodeModelFormat.JSON);
+        Assertions.assertEquals(8, firstModel.getEndpoints().size());
+        Assertions.assertTrue(Files.isRegularFile(output.resolve("codeModel.acm.sha256")));
+        try (Stream<Path> files = Files.walk(code)) {
+            Assertions.assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith("codeModel.acm")));
+        }
+
+        Files.writeString(code.resolve("edu/README.md"), "not a source file");
+        CodeModel unchangedModel = new JavaExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally(modelFile, CodeModelFormat.JSON);
+        Assertions.assertEquals(firstModel.getCodeItemRepository().getRepository().keySet(), unchangedModel.getCodeItemRepository().getRepository().keySet());
+
+        Files.writeString(code.resolve("edu/Superclass.java"), "package edu;\n\npublic class Superclass {\n    public void aMethod() {\n    }\n}\n");
+        Files.writeString(code.resolve("edu/NewClass.java"), "package edu;\n\npublic class NewClass implements ExtendedInterface {\n    private AUser user;\n}\n");
+        Files.delete(code.resolve("edu/AnEnum.java"));
+        CodeModel updatedModel = new JavaExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally(modelFile, CodeModelFormat.JSON);
+        CodeModel extractedModel = new JavaExtractor(new CodeItemRepository(), code.toString()).extractModel();
+        Assertions.assertEquals(describe(extractedModel), describe(updatedModel));
+        Assertions.assertEquals(getId(firstModel, "edu/AUser.java"), getId(updatedModel, "edu/AUser.java"));
+        Assertions.assertNotEquals(getId(firstModel, "edu/AClass.java"), getId(updatedModel, "edu/AClass.java"));
+        Assertions.assertEquals(describe(updatedModel), describe(CodeExtractor.readInCodeModel(modelFile)));
+    }
+
+    /**
+     * Describes the compilation units and datatypes of a code model, including the references between datatypes, without their identifiers.
+     */
+    private static SortedSet<String> describe(CodeModel model) {
+        SortedSet<String> description = new TreeSet<>();
+        model.getEndpoints().forEach(endpoint -> description.add(endpoint.getPath()));
+        for (Datatype datatype : model.getAllDataTypes()) {
+            description.add(describe(datatype) + " methods " + datatype.getDeclaredMethods().stream().map(Entity::getName).toList() + " extends " + describe(
+                    datatype.getExtendedTypes()) + " implements " + describe(datatype.getImplementedTypes()) + " references " + describe(
+                    datatype.getDatatypeReferences()));
+        }
+        return description;
+    }
+
+    private static List<String> describe(Set<Datatype> datatypes) {
+        return datatypes.stream().map(JavaExtractorTest::describe).sorted().toList();
+    }
+
+    private static String describe(Datatype datatype) {
+        String name = datatype.getName();
+        for (Datatype parent = datatype.getParentDatatype(); parent != null; parent = parent.getParentDatatype()) {
+            name = parent.getName() + "." + name;
+        }
+        return datatype.getCompilationUnit().getPath() + "#" + name;
+    }
+
+    private static String getId(CodeModel model, String path) {
+        return model.getEndpoints().stream().filter(endpoint -> endpoint.getPath().equals(path)).findFirst().orElseThrow().getId();
+    }
+
+    @Test
+    void binaryCodeModelTest(@TempDir Path directory) throws IOException {
+        var extractor = new JavaExtractor(new CodeItemRepository(), "src/test/resources/interface");
+        CodeModel model = extractor.extractModel();
+        File jsonFile = directory.resolve("json.acm").toFile();
+        File binaryFile = directory.resolve("binary.acm").toFile();
+        File convertedFile = directory.resolve("converted.acm").toFile();
+        extractor.writeOutCodeModel(model, jsonFile, CodeModelFormat.JSON);
+        extractor.writeOutCodeModel(model, binaryFile, CodeModelFormat.BINARY);
+        Assertions.assertTrue(binaryFile.length() < jsonFile.length());
+
+        CodeModel binaryModel = CodeExtractor.readInCodeModel(binaryFile);
+        Assertions.assertNotNull(binaryModel);
+        Assertions.assertEquals(model.getEndpoints().size(), binaryModel.getEndpoints().size());
+        Assertions.assertEquals(model.getCodeItemRepository().getRepository().keySet(), binaryModel.getCodeItemRepository().getRepository().keySet());
+
+        CodeExtractor.convertCodeModel(binaryFile, convertedFile, CodeModelFormat.JSON);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Assertions.assertEquals(objectMapper.readTree(jsonFile), objectMapper.readTree(convertedFile));
+    }
 }
@@ -0,0 +1,40 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.models.generators.shell;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguages;
+import edu.kit.kastel.mcse.ardoco.tlr.models.connectors.generators.code.shell.ShellExtractor;
+
+class ShellExtractorTest {
+
+    @Test
+    void extractorTest(@TempDir Path code) throws IOException {
+        Files.createDirectories(code.resolve("scripts/ci"));
+        Files.writeString(code.resolve("scripts/ci/run"), "#!/bin/bash");
+        Files.writeString(code.resolve("scripts/build.sh"), "echo build\n");
+        Files.writeString(code.resolve("scripts/README.md"), "Run the scripts with #!/bin/bash\n");
+        Files.writeString(code.resolve("scripts/tool"), "#!/usr/bin/python3\n");
+        Files.writeString(code.resolve("empty"), "");
+
+        var extractor = new ShellExtractor(new CodeItemRepository(), code.toString());
+        CodeModel model = extractor.extractModel();
+
+        Assertions.assertNotNull(model);
+        List<String> paths = model.getEndpoints().stream().map(CodeCompilationUnit::getPath).sorted().toList();
+        Assertions.assertEquals(List.of("scripts/build.sh", "scripts/ci/run"), paths);
+        for (CodeCompilationUnit compilationUnit : model.getEndpoints()) {
+            Assertions.assertEquals(ProgrammingLanguages.SHELL, compilationUnit.getLanguage());
+        }
+    }
+}
@@ -96,8 +96,7 @@ public NounMapping mergeNounMappings(NounMapping nounMapping, MutableList<NounMa
 
             if (!this.textState.getNounMappings().contains(nounMappingToMerge)) {
 
-                final NounMapping finalNounMappingToMerge = nounMappingToMerge;
-                var fittingNounMappings = this.textState.getNounMappings().select(nm -> nm.getWords().containsAllIterable(finalNounMappingToMerge.getWords()));
+                var fittingNounMappings = this.getNounMappingsContainingAll(nounMappingToMerge.getWords());
                 if (fittingNounMappings.isEmpty()) {
                     continue;
                 }
@@ -117,7 +116,7 @@ public NounMapping mergeNounMappings(NounMapping nounMapping, MutableList<NounMa
             mergedWords.addAllIterable(nounMapping.getWords());
             mergedWords.addAllIterable(nounMappingToMerge.getWords());
 
-            var mergedNounMapping = this.textState.getNounMappings().select(nm -> nm.getWords().toSortedSet().equals(mergedWords));
+            var mergedNounMapping = this.getNounMappingsContainingAll(nounMapping.getWords()).select(nm -> nm.getWords().toSortedSet().equals(mergedWords));
 
             assert (mergedNounMapping.size() == 1);
 
@@ -127,6 +126,16 @@ public NounMapping mergeNounMappings(NounMapping nounMapping, MutableList<NounMa
         return nounMapping;
     }
 
+    /**
+     * Returns the noun mappings of the state that contain all the given words. Only the noun mappings indexed for the first word are checked.
+     */
+    private ImmutableList<NounMapping> getNounMappingsContainingAll(ImmutableSortedSet<Word> words) {
+        if (words.isEmpty()) {
+            return this.textState.getNounMappings();
+        }
+        return this.textState.getNounMappingsByWord(words.getFirst()).select(nm -> nm.getWords().containsAllIterable(words));
+    }
+
     protected final Confidence putAllConfidencesTogether(Confidence confidence, Confidence confidence1) {
 
         Confidence result = confidence.createCopy();
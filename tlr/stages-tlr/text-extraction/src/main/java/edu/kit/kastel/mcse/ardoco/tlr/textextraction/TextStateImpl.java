@@ -1,14 +1,17 @@
 /* Licensed under MIT 2021-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.SortedMap;
 
 import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedMaps;
 import org.eclipse.collections.api.factory.SortedSets;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
 import org.eclipse.collections.api.ordered.SortedIterable;
 import org.eclipse.collections.api.set.sorted.MutableSortedSet;
 
@@ -26,6 +29,12 @@
 
 /**
  * The Class TextState defines the basic implementation of a {@link TextState}.
+ * <p>
+ * Besides the lists of noun and phrase mappings, the state maintains secondary indexes from words and phrases to the mappings that contain them. The indexes
+ * are updated whenever a mapping is added or removed, so lookups by word or phrase do not need to scan all mappings. The kind of a noun mapping depends on
+ * its (changing) confidences, so it is evaluated on lookup instead of being indexed. Noun mappings are not indexed by their reference either: references are
+ * only looked up by {@link #getNounMappingsWithSimilarReference(String) similarity}, which the configurable word similarity measures decide pairwise, so an
+ * index by exact reference could not answer these lookups.
  */
 public class TextStateImpl extends AbstractState implements TextState {
 
@@ -50,6 +59,11 @@ public class TextStateImpl extends AbstractState implements TextState {
     private static final double MAPPING_KIND_MAX_DIFF = 0.1;
     private MutableList<NounMapping> nounMappings;
     private MutableList<PhraseMapping> phraseMappings;
+    private final MutableSortedMap<Word, MutableList<NounMapping>> nounMappingsByWord = SortedMaps.mutable.empty();
+    private final MutableSortedMap<Phrase, MutableList<NounMapping>> nounMappingsByPhrase = SortedMaps.mutable.empty();
+    private final MutableSortedMap<Phrase, MutableList<PhraseMapping>> phraseMappingsByPhrase = SortedMaps.mutable.empty();
+    private transient ImmutableList<NounMapping> nounMappingsSnapshot;
+    private transient ImmutableList<PhraseMapping> phraseMappingsSnapshot;
     private final TextStateStrategy strategy;
 
     // Configuration Test
@@ -72,12 +86,18 @@ public TextStateStrategy getTextStateStrategy() {
 
     @Override
     public ImmutableList<NounMapping> getNounMappings() {
-        return this.nounMappings.toImmutableList();
+        if (this.nounMappingsSnapshot == null) {
+            this.nounMappingsSnapshot = this.nounMappings.toImmutableList();
+        }
+        return this.nounMappingsSnapshot;
     }
 
     @Override
     public ImmutableList<PhraseMapping> getPhraseMappings() {
-        return this.phraseMappings.toImmutableList();
+        if (this.phraseMappingsSnapshot == null) {
+            this.phraseMappingsSnapshot = this.phraseMappings.toImmutableList();
+        }
+        return this.phraseMappingsSnapshot;
     }
 
     public ImmutableList<PhraseMapping> getPhraseMappingsByNounMapping(NounMapping nounMapping) {
@@ -85,7 +105,11 @@ public ImmutableList<PhraseMapping> getPhraseMappingsByNounMapping(NounMapping n
         MutableList<PhraseMapping> result = Lists.mutable.empty();
 
         for (Phrase phrase : nounMapping.getPhrases()) {
-            result.addAll(this.phraseMappings.select(pm -> pm.getPhrases().contains(phrase)));
+            // Phrases can be removed from a phrase mapping without notifying the state, so the indexed candidates are checked again
+            MutableList<PhraseMapping> candidates = this.phraseMappingsByPhrase.get(phrase);
+            if (candidates != null) {
+                result.addAll(candidates.select(pm -> pm.getPhrases().contains(phrase)));
+            }
         }
 
         return result.toImmutable();
@@ -100,8 +124,15 @@ public PhraseMapping getPhraseMappingByNounMapping(NounMapping nounMapping) {
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByPhraseMapping(PhraseMapping phraseMapping) {
-        return this.getNounMappings()
-                .select(nm -> Comparators.collectionsEqualsAnyOrder(phraseMapping.getPhrases().castToCollection(), nm.getPhrases().castToCollection()));
+        var phrases = phraseMapping.getPhrases();
+        if (phrases.isEmpty()) {
+            return this.getNounMappings().select(nm -> nm.getPhrases().isEmpty());
+        }
+        MutableList<NounMapping> candidates = this.nounMappingsByPhrase.get(phrases.getFirst());
+        if (candidates == null) {
+            return Lists.immutable.empty();
+        }
+        return candidates.select(nm -> Comparators.collectionsEqualsAnyOrder(phrases.castToCollection(), nm.getPhrases().castToCollection())).toImmutable();
     }
 
     /**
@@ -171,21 +202,25 @@ public ImmutableList<NounMapping> getMappingsThatCouldBeMultipleKinds(Word word,
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWord(Word word) {
-        return this.getNounMappings().select(nm -> nm.getWords().contains(word));
+        MutableList<NounMapping> result = this.nounMappingsByWord.get(word);
+        return result == null ? Lists.immutable.empty() : result.toImmutable();
     }
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWordAndKind(Word word, MappingKind kind) {
-        return this.getNounMappings().select(n -> n.getWords().contains(word)).select(this.nounMappingIsOfKind(kind)).toImmutable();
+        MutableList<NounMapping> result = this.nounMappingsByWord.get(word);
+        return result == null ? Lists.immutable.empty() : result.select(this.nounMappingIsOfKind(kind)).toImmutable();
     }
 
     @Override
     public boolean isWordContainedByMappingKind(Word word, MappingKind kind) {
-        return this.getNounMappings().select(n -> n.getWords().contains(word)).anySatisfy(this.nounMappingIsOfKind(kind));
+        MutableList<NounMapping> result = this.nounMappingsByWord.get(word);
+        return result != null && result.anySatisfy(this.nounMappingIsOfKind(kind));
     }
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsWithSimilarReference(String reference) {
+        // Not indexed, as similar references cannot be found by key, see the class comment
         return this.strategy.getNounMappingsWithSimilarReference(reference);
     }
 
@@ -213,7 +248,7 @@ public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapp
 
         PhraseMapping mergedPhraseMapping = new PhraseMappingImpl(mergedPhrases.toImmutable());
 
-        this.phraseMappings.add(mergedPhraseMapping);
+        this.addPhraseMappingToState(mergedPhraseMapping);
 
         this.removePhraseMappingFromState(phraseMapping, mergedPhraseMapping);
         this.removePhraseMappingFromState(similarPhraseMapping, mergedPhraseMapping);
@@ -222,7 +257,7 @@ public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapp
 
     @Override
     public NounMapping getNounMappingByWord(Word word) {
-        var result = this.getNounMappings().select(nMapping -> nMapping.getWords().contains(word)).toImmutable();
+        var result = this.getNounMappingsByWord(word);
 
         assert (result.size() <= 1) : "A word should only contained by one noun mapping";
         if (result.isEmpty()) {
@@ -252,15 +287,16 @@ private Predicate<? super NounMapping> nounMappingIsOfKind(MappingKind mappingKi
 
     void addNounMappingAddPhraseMapping(NounMapping nounMapping) {
         this.addNounMappingToState(nounMapping);
-        if (this.phraseMappings.anySatisfy(it -> {
+        SortedIterable<Phrase> phrases = nounMapping.getPhrases();
+        MutableList<PhraseMapping> candidates = phrases.isEmpty() ? this.phraseMappings : this.phraseMappingsByPhrase.get(phrases.getFirst());
+        if (candidates != null && candidates.anySatisfy(it -> {
             SortedIterable<Phrase> sortedIt = it.getPhrases();
-            SortedIterable<Phrase> phrases = nounMapping.getPhrases();
             return Comparators.collectionsIdentityAnyOrder(sortedIt, phrases);
         })) {
             return;
         }
         PhraseMapping phraseMappingImpl = new PhraseMappingImpl(nounMapping.getPhrases());
-        this.phraseMappings.add(phraseMappingImpl);
+        this.addPhraseMappingToState(phraseMappingImpl);
     }
 
     @Override
@@ -270,17 +306,64 @@ public void removeNounMapping(NounMapping nounMapping, NounMapping replacement)
         var otherNounMappings = this.getNounMappingsThatBelongToTheSamePhraseMapping(nounMapping);
         if (!otherNounMappings.isEmpty()) {
             var phrases = nounMapping.getPhrases().select(p -> !otherNounMappings.flatCollect(NounMapping::getPhrases).contains(p));
-            phrases.forEach(phraseMapping::removePhrase);
+            for (Phrase phrase : phrases) {
+                phraseMapping.removePhrase(phrase);
+                removeFromIndex(this.phraseMappingsByPhrase, phrase, phraseMapping);
+            }
         }
         this.removeNounMappingFromState(nounMapping, replacement);
     }
 
     private void addNounMappingToState(NounMapping nounMapping) {
-        if (this.nounMappings.contains(nounMapping)) {
+        if (!insertSorted(this.nounMappings, nounMapping)) {
             throw new IllegalArgumentException("Nounmapping was already in state");
         }
-        this.nounMappings.add(nounMapping);
-        this.nounMappings.sortThis(ORDER_NOUNMAPPING);
+        this.nounMappingsSnapshot = null;
+        for (Word word : nounMapping.getWords()) {
+            insertSorted(this.nounMappingsByWord.getIfAbsentPut(word, Lists.mutable::empty), nounMapping);
+        }
+        for (Phrase phrase : nounMapping.getPhrases()) {
+            insertSorted(this.nounMappingsByPhrase.getIfAbsentPut(phrase, Lists.mutable::empty), nounMapping);
+        }
+    }
+
+    private void addPhraseMappingToState(PhraseMapping phraseMapping) {
+        this.phraseMappings.add(phraseMapping);
+        this.phraseMappingsSnapshot = null;
+        for (Phrase phrase : phraseMapping.getPhrases()) {
+            this.phraseMappingsByPhrase.getIfAbsentPut(phrase, Lists.mutable::empty).add(phraseMapping);
+        }
+    }
+
+    /**
+     * Inserts the noun mapping into the list, which is sorted by {@link #ORDER_NOUNMAPPING}. Noun mappings that are not equal must not share their creation
+     * time, which is checked against the neighbours of the insertion point.
+     *
+     * @return false if the noun mapping is already contained
+     */
+    private static boolean insertSorted(MutableList<NounMapping> sortedNounMappings, NounMapping nounMapping) {
+        int index = Collections.binarySearch(sortedNounMappings, nounMapping, ORDER_NOUNMAPPING);
+        if (index >= 0) {
+            return false;
+        }
+        int insertionPoint = -index - 1;
+        if ((insertionPoint > 0 && haveSameCreationTime(sortedNounMappings.get(insertionPoint - 1), nounMapping)) || (insertionPoint < sortedNounMappings
+                .size() && haveSameCreationTime(nounMapping, sortedNounMappings.get(insertionPoint)))) {
+            throw new IllegalStateException("NounMappings are not equal but have same creation time");
+        }
+        sortedNounMappings.add(insertionPoint, nounMapping);
+        return true;
+    }
+
+    private static boolean haveSameCreationTime(NounMapping first, NounMapping second) {
+        return ((NounMappingImpl) first).earliestCreationTime().equals(((NounMappingImpl) second).earliestCreationTime());
+    }
+
+    private static <K, V> void removeFromIndex(MutableSortedMap<K, MutableList<V>> index, K key, V value) {
+        MutableList<V> values = index.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            index.remove(key);
+        }
     }
 
     /**
@@ -292,6 +375,12 @@ private void addNounMappingToState(NounMapping nounMapping) {
      */
     boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping replacement) {
         var success = this.phraseMappings.remove(phraseMapping);
+        if (success) {
+            this.phraseMappingsSnapshot = null;
+            for (Phrase phrase : phraseMapping.getPhrases()) {
+                removeFromIndex(this.phraseMappingsByPhrase, phrase, phraseMapping);
+            }
+        }
         phraseMapping.onDelete(replacement);
         return success;
     }
@@ -305,6 +394,15 @@ boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping
      */
     boolean removeNounMappingFromState(NounMapping nounMapping, NounMapping replacement) {
         var success = this.nounMappings.remove(nounMapping);
+        if (success) {
+            this.nounMappingsSnapshot = null;
+            for (Word word : nounMapping.getWords()) {
+                removeFromIndex(this.nounMappingsByWord, word, nounMapping);
+            }
+            for (Phrase phrase : nounMapping.getPhrases()) {
+                removeFromIndex(this.nounMappingsByPhrase, phrase, nounMapping);
+            }
+        }
         nounMapping.onDelete(replacement);
         return success;
     }
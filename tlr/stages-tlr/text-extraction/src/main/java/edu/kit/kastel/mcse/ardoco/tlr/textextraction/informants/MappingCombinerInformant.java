@@ -1,16 +1,22 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
 
+import java.util.BitSet;
 import java.util.SortedMap;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.primitive.IntLists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.MutableMap;
 
 import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.NounMapping;
 import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.PhraseMapping;
 import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.TextState;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.PhraseMappingAggregatorStrategy;
 import edu.kit.kastel.mcse.ardoco.core.common.similarity.SimilarityUtils;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
@@ -38,10 +44,16 @@ public void process() {
     private void combineSimilarPhraseMappings(TextState textState) {
 
         ImmutableList<PhraseMapping> phraseMappings = textState.getPhraseMappings();
+        CandidateIndex candidateIndex = new CandidateIndex(phraseMappings);
 
-        for (PhraseMapping phraseMapping : phraseMappings) {
-            ImmutableList<PhraseMapping> similarPhraseMappings = phraseMappings.select(p -> SimilarityUtils.getInstance()
-                    .getPhraseMappingSimilarity(textState, phraseMapping, p, PhraseMappingAggregatorStrategy.MAX_SIMILARITY) > this.minCosineSimilarity);
+        for (int i = 0; i < phraseMappings.size(); i++) {
+            PhraseMapping phraseMapping = phraseMappings.get(i);
+            MutableList<PhraseMapping> candidatesOfPhraseMapping = Lists.mutable.empty();
+            candidateIndex.getCandidates(i).stream().forEach(j -> candidatesOfPhraseMapping.add(phraseMappings.get(j)));
+
+            ImmutableList<PhraseMapping> similarPhraseMappings = candidatesOfPhraseMapping.select(p -> SimilarityUtils.getInstance()
+                    .getPhraseMappingSimilarity(textState, phraseMapping, p, PhraseMappingAggregatorStrategy.MAX_SIMILARITY) > this.minCosineSimilarity)
+                    .toImmutable();
 
             // Remove the phrase mapping from the list of similar phrase mappings
             // Comment: This would break the logic but seems to be logical ..
@@ -131,4 +143,49 @@ private NounMapping getMostSimilarNounMappingOverThreshold(NounMapping nounMappi
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> map) {
         //none
     }
+
+    /**
+     * An inverted index from word texts to the phrase mappings that contain them. Phrase mappings that do not share a single word text have a cosine
+     * similarity of zero and cannot cover each other, so they are never candidates of each other. Phrase mappings without words are candidates of all
+     * others. As combining only removes phrases from phrase mappings, the candidates found with the initial words remain a superset.
+     */
+    private static final class CandidateIndex {
+        private final MutableMap<String, MutableIntList> postings = Maps.mutable.empty();
+        private final MutableList<ImmutableList<String>> tokens = Lists.mutable.empty();
+        private final BitSet withoutTokens = new BitSet();
+        private final int size;
+
+        private CandidateIndex(ImmutableList<PhraseMapping> phraseMappings) {
+            this.size = phraseMappings.size();
+            for (int i = 0; i < this.size; i++) {
+                ImmutableList<String> tokensOfPhraseMapping = phraseMappings.get(i).getPhraseVector().keysView().collect(Word::getText).toList().toImmutable();
+                this.tokens.add(tokensOfPhraseMapping);
+                if (tokensOfPhraseMapping.isEmpty()) {
+                    this.withoutTokens.set(i);
+                }
+                for (String token : tokensOfPhraseMapping) {
+                    this.postings.getIfAbsentPut(token, IntLists.mutable::empty).add(i);
+                }
+            }
+        }
+
+        /**
+         * Returns the indices of the phrase mappings that can be similar to the phrase mapping with the given index, including itself.
+         *
+         * @param index the index of the phrase mapping
+         * @return the indices of the candidates
+         */
+        private BitSet getCandidates(int index) {
+            BitSet candidates = new BitSet(this.size);
+            if (this.withoutTokens.get(index)) {
+                candidates.set(0, this.size);
+                return candidates;
+            }
+            candidates.or(this.withoutTokens);
+            for (String token : this.tokens.get(index)) {
+                this.postings.get(token).forEach(candidates::set);
+            }
+            return candidates;
+        }
+    }
 }
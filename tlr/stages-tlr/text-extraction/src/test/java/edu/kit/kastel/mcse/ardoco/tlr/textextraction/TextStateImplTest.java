@@ -0,0 +1,112 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.util.function.Supplier;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.api.stage.textextraction.PhraseMapping;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.common.util.Comparators;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.TextProcessorLocal;
+
+/**
+ * Checks that the indexed lookups of {@link TextStateImpl} return the same results as scanning all mappings.
+ */
+class TextStateImplTest implements Claimant {
+    private static final String TEXT = """
+            The web server sends the orders to the order database. The database stores all orders of the web shop. \
+            The web shop uses the web server and the payment service. The payment service checks the orders. \
+            The order service reads the orders from the database and forwards them to the web server.""";
+
+    private static Text text;
+
+    @BeforeAll
+    static void annotateText() {
+        text = new TextProcessorLocal().processText(TEXT);
+    }
+
+    @Test
+    void phraseConcerningIndexesMatchLinearScanTest() {
+        checkIndexesAfterAddingAndRemoving(PhraseConcerningTextStateStrategy::new);
+    }
+
+    @Test
+    void originalIndexesMatchLinearScanTest() {
+        checkIndexesAfterAddingAndRemoving(OriginalTextStateStrategy::new);
+    }
+
+    @Test
+    void sameCreationTimeIsRejectedTest() {
+        TextStateImpl textState = new TextStateImpl(new PhraseConcerningTextStateStrategy());
+        ImmutableList<Word> nouns = nouns();
+        Word first = nouns.get(0);
+        Word second = nouns.detect(word -> !word.getText().equals(first.getText()));
+
+        textState.addNounMappingAddPhraseMapping(new NounMappingImpl(-1L, SortedSets.immutable.with(first), MappingKind.NAME, this, 1.0, Lists.immutable
+                .with(first), Lists.immutable.with(first.getText())));
+        NounMappingImpl sameTime = new NounMappingImpl(-1L, SortedSets.immutable.with(second), MappingKind.NAME, this, 1.0, Lists.immutable.with(second),
+                Lists.immutable.with(second.getText()));
+        Assertions.assertThrows(IllegalStateException.class, () -> textState.addNounMappingAddPhraseMapping(sameTime));
+    }
+
+    private void checkIndexesAfterAddingAndRemoving(Supplier<DefaultTextStateStrategy> strategy) {
+        TextStateImpl textState = new TextStateImpl(strategy.get());
+        ImmutableList<Word> nouns = nouns();
+        for (int i = 0; i < nouns.size(); i++) {
+            textState.addNounMapping(nouns.get(i), i % 3 == 0 ? MappingKind.TYPE : MappingKind.NAME, this, 0.5 + (i % 5) / 10.0);
+        }
+        Assertions.assertFalse(textState.getNounMappings().isEmpty());
+        assertIndexesMatchLinearScan(textState);
+
+        MutableList<NounMapping> removed = textState.getNounMappings().toList().select(nounMapping -> nounMapping.getWords().size() == 1).take(3);
+        for (NounMapping nounMapping : removed) {
+            textState.removeNounMapping(nounMapping, null);
+        }
+        assertIndexesMatchLinearScan(textState);
+    }
+
+    private static void assertIndexesMatchLinearScan(TextStateImpl textState) {
+        ImmutableList<NounMapping> nounMappings = textState.getNounMappings();
+        ImmutableList<PhraseMapping> phraseMappings = textState.getPhraseMappings();
+
+        for (Word word : text.words()) {
+            ImmutableList<NounMapping> containingWord = nounMappings.select(nounMapping -> nounMapping.getWords().contains(word));
+            Assertions.assertEquals(containingWord, textState.getNounMappingsByWord(word));
+            for (MappingKind kind : MappingKind.values()) {
+                ImmutableList<NounMapping> ofKind = containingWord.select(nounMapping -> nounMapping.getKind() == kind);
+                Assertions.assertEquals(ofKind, textState.getNounMappingsByWordAndKind(word, kind));
+                Assertions.assertEquals(ofKind.notEmpty(), textState.isWordContainedByMappingKind(word, kind));
+            }
+        }
+
+        for (NounMapping nounMapping : nounMappings) {
+            MutableList<PhraseMapping> expected = Lists.mutable.empty();
+            for (Phrase phrase : nounMapping.getPhrases()) {
+                expected.addAll(phraseMappings.select(phraseMapping -> phraseMapping.getPhrases().contains(phrase)).castToList());
+            }
+            Assertions.assertEquals(expected.toImmutable(), textState.getPhraseMappingsByNounMapping(nounMapping));
+        }
+
+        for (PhraseMapping phraseMapping : phraseMappings) {
+            ImmutableList<NounMapping> expected = nounMappings.select(nounMapping -> Comparators.collectionsEqualsAnyOrder(phraseMapping.getPhrases()
+                    .castToCollection(), nounMapping.getPhrases().castToCollection()));
+            Assertions.assertEquals(expected, textState.getNounMappingsByPhraseMapping(phraseMapping));
+        }
+    }
+
+    private static ImmutableList<Word> nouns() {
+        return text.words().select(word -> word.getPosTag().getTag().startsWith("NN"));
+    }
+}
@@ -0,0 +1,174 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.TextProcessorLocal;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.pipeline.DefaultPaths;
+import edu.stanford.nlp.pipeline.ProtobufAnnotationSerializer;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * An on-disk cache of texts annotated by the local CoreNLP pipeline. The annotations are stored in the protobuf representation of CoreNLP, one file per
+ * text. A file is addressed by a hash of the text, the properties of the pipeline, and the versions of CoreNLP and its models, so that changing any of them
+ * results in a cache miss. If the files exceed the maximum size of the cache, the least recently used files are evicted.
+ * <p>
+ * The cache is opt-in: it is only used if a directory is configured in the {@link ConfigManager}. Errors when reading or writing the cache are logged and
+ * treated as cache misses.
+ */
+final class AnnotationCache {
+    private static final Logger logger = LoggerFactory.getLogger(AnnotationCache.class);
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String FILE_SUFFIX = ".pb";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String configuration;
+
+    AnnotationCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.configuration = describeConfiguration();
+    }
+
+    /**
+     * Returns the cache that is configured in the {@link ConfigManager}.
+     *
+     * @return the configured cache, or null if no cache directory is configured
+     */
+    static AnnotationCache fromConfiguration() {
+        String directory = ConfigManager.INSTANCE.getAnnotationCacheDirectory();
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        return new AnnotationCache(Path.of(directory), ConfigManager.INSTANCE.getAnnotationCacheMaxBytes());
+    }
+
+    /**
+     * Loads the cached annotations of the specified text.
+     *
+     * @param text the text
+     * @return the annotated text, or null if the text is not cached
+     */
+    Text load(String text) {
+        Path file = this.fileOf(text);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            Annotation annotation = new ProtobufAnnotationSerializer().read(inputStream).first;
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            logger.info("Loaded annotated text from cache.");
+            return new TextImpl(new CoreDocument(annotation));
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            logger.warn("Could not load annotated text from cache.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the annotations of the specified text and evicts the least recently used annotations if the cache gets too large.
+     *
+     * @param text          the text
+     * @param annotatedText the annotated text
+     */
+    void store(String text, TextImpl annotatedText) {
+        CoreDocument coreDocument = annotatedText.getCoreDocument();
+        if (coreDocument == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory);
+            Path temporaryFile = Files.createTempFile(this.directory, null, TEMPORARY_FILE_SUFFIX);
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                    new ProtobufAnnotationSerializer().write(coreDocument.annotation(), outputStream);
+                }
+                Files.move(temporaryFile, this.fileOf(text), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            this.evict();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not store annotated text in cache.", e);
+        }
+    }
+
+    private void evict() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            files = new ArrayList<>(paths.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).toList());
+        }
+        long totalBytes = 0;
+        List<CachedFile> cachedFiles = new ArrayList<>(files.size());
+        for (Path file : files) {
+            CachedFile cachedFile = new CachedFile(file, Files.size(file), Files.getLastModifiedTime(file));
+            cachedFiles.add(cachedFile);
+            totalBytes += cachedFile.size();
+        }
+        cachedFiles.sort(Comparator.comparing(CachedFile::lastUsed));
+        for (int i = 0; i < cachedFiles.size() && totalBytes > this.maxBytes; i++) {
+            Files.deleteIfExists(cachedFiles.get(i).file());
+            totalBytes -= cachedFiles.get(i).size();
+        }
+    }
+
+    private Path fileOf(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(this.configuration.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return this.directory.resolve(HexFormat.of().formatHex(digest.digest()) + FILE_SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Describes everything that the annotations depend on besides the text: the cache format, the properties of the pipeline, the version of CoreNLP, and
+     * the locations of the models, which contain the versions of the model artifacts.
+     */
+    private static String describeConfiguration() {
+        StringBuilder description = new StringBuilder(FORMAT_VERSION);
+        Properties properties = TextProcessorLocal.getPipelineProperties();
+        for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+            description.append('\n').append(name).append('=').append(properties.getProperty(name));
+        }
+        description.append('\n').append(StanfordCoreNLP.class.getPackage().getImplementationVersion());
+        for (String model : List.of(DefaultPaths.DEFAULT_POS_MODEL, DefaultPaths.DEFAULT_PARSER_MODEL, DefaultPaths.DEFAULT_DEPENDENCY_PARSER_MODEL)) {
+            URL location = AnnotationCache.class.getClassLoader().getResource(model);
+            description.append('\n').append(location == null ? model : location.toString());
+        }
+        return description.toString();
+    }
+
+    private record CachedFile(Path file, long size, FileTime lastUsed) {
+    }
+}
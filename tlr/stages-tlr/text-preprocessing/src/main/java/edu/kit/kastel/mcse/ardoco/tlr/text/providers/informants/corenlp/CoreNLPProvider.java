@@ -9,7 +9,13 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.TextProcessor;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.TextProcessorLocal;
 
+/**
+ * Provides texts annotated by CoreNLP. Texts that are processed locally share one CoreNLP pipeline per JVM, which is reused across projects. Batch jobs can
+ * {@link #warmUp() warm up} the pipeline before the first project and {@link #close() close} it after the last one. If an annotation cache directory is
+ * configured, locally annotated texts are cached on disk, so that unchanged texts do not have to be annotated again.
+ */
 public class CoreNLPProvider extends NlpInformant {
 
     private Text annotatedText;
@@ -51,8 +57,33 @@ public synchronized Text getAnnotatedText() {
         return this.annotatedText;
     }
 
+    /**
+     * Loads the shared CoreNLP pipeline for local processing in the background.
+     */
+    public static void warmUp() {
+        TextProcessorLocal.warmUp();
+    }
+
+    /**
+     * Releases the shared CoreNLP pipeline for local processing.
+     */
+    public static void close() {
+        TextProcessorLocal.close();
+    }
+
     private Text processText(String inputText) {
-        return new TextProcessor().processText(inputText);
+        AnnotationCache annotationCache = AnnotationCache.fromConfiguration();
+        if (annotationCache != null) {
+            Text cachedText = annotationCache.load(inputText);
+            if (cachedText != null) {
+                return cachedText;
+            }
+        }
+        Text text = new TextProcessor().processText(inputText);
+        if (annotationCache != null && text instanceof TextImpl locallyAnnotatedText) {
+            annotationCache.store(inputText, locallyAnnotatedText);
+        }
+        return text;
     }
 
     @Override
@@ -28,6 +28,10 @@ public TextImpl(CoreDocument coreDocument) {
         this.coreDocument = coreDocument;
     }
 
+    CoreDocument getCoreDocument() {
+        return this.coreDocument;
+    }
+
     @Override
     public ImmutableList<Word> words() {
         if (words.isEmpty()) {
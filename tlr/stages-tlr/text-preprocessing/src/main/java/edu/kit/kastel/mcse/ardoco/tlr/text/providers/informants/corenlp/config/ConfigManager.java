@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config;
 
 import java.io.IOException;
@@ -23,6 +23,15 @@ public final class ConfigManager {
     private static final String PROPERTY_NLP_PROVIDER_SOURCE = "nlpProviderSource";
     private static final String PROPERTY_CORENLP_SERVICE = "corenlpService";
     private static final String PROPERTY_HEALTH_SERVICE = "healthService";
+    private static final String PROPERTY_ANNOTATION_CACHE_DIRECTORY = "annotationCacheDirectory";
+    private static final String PROPERTY_ANNOTATION_CACHE_MAX_MEGABYTES = "annotationCacheMaxMegabytes";
+    private static final long DEFAULT_ANNOTATION_CACHE_MAX_MEGABYTES = 512;
+    private static final String PROPERTY_ANNOTATION_THREADS = "annotationThreads";
+    private static final String PROPERTY_MAX_SENTENCE_LENGTH = "maxSentenceLength";
+    private static final String PROPERTY_CONNECT_TIMEOUT_SECONDS = "connectTimeoutSeconds";
+    private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+    private static final String PROPERTY_RESPONSE_TIMEOUT_SECONDS = "responseTimeoutSeconds";
+    private static final int DEFAULT_RESPONSE_TIMEOUT_SECONDS = 300;
 
     private ConfigManager() {
         properties = new Properties();
@@ -41,6 +50,12 @@ private ConfigManager() {
         if (System.getenv("NLP_PROVIDER_SOURCE") != null) {
             properties.setProperty(PROPERTY_NLP_PROVIDER_SOURCE, System.getenv("NLP_PROVIDER_SOURCE"));
         }
+        if (System.getenv("ANNOTATION_THREADS") != null) {
+            properties.setProperty(PROPERTY_ANNOTATION_THREADS, System.getenv("ANNOTATION_THREADS"));
+        }
+        if (System.getenv("ANNOTATION_CACHE_DIRECTORY") != null) {
+            properties.setProperty(PROPERTY_ANNOTATION_CACHE_DIRECTORY, System.getenv("ANNOTATION_CACHE_DIRECTORY"));
+        }
     }
 
     public String getMicroserviceUrl() {
@@ -59,4 +74,77 @@ public String getHealthService() {
         return properties.getProperty(PROPERTY_HEALTH_SERVICE);
     }
 
+    /**
+     * Returns the directory of the on-disk cache of annotated texts.
+     *
+     * @return the directory of the cache, or null if the cache is disabled
+     */
+    public String getAnnotationCacheDirectory() {
+        return properties.getProperty(PROPERTY_ANNOTATION_CACHE_DIRECTORY);
+    }
+
+    /**
+     * Returns the maximum size of the on-disk cache of annotated texts.
+     *
+     * @return the maximum size of the cache in bytes
+     */
+    public long getAnnotationCacheMaxBytes() {
+        String megabytes = properties.getProperty(PROPERTY_ANNOTATION_CACHE_MAX_MEGABYTES);
+        try {
+            return (megabytes == null ? DEFAULT_ANNOTATION_CACHE_MAX_MEGABYTES : Long.parseLong(megabytes.strip())) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid maximum size of the annotation cache: {}", megabytes);
+            return DEFAULT_ANNOTATION_CACHE_MAX_MEGABYTES * 1024 * 1024;
+        }
+    }
+
+    /**
+     * Returns the number of threads that annotate the sentences of a text concurrently when processing texts locally.
+     *
+     * @return the number of threads, 1 if the text is annotated as a whole on one thread
+     */
+    public int getAnnotationThreads() {
+        return Math.max(1, this.getIntProperty(PROPERTY_ANNOTATION_THREADS, 1));
+    }
+
+    /**
+     * Returns the maximum number of tokens of a sentence that is parsed into a constituency tree when processing texts locally. Longer sentences get a flat
+     * tree instead, as parsing them takes too long.
+     *
+     * @return the maximum length of a parsed sentence, or a non-positive number if the length is not limited
+     */
+    public int getMaxSentenceLength() {
+        return this.getIntProperty(PROPERTY_MAX_SENTENCE_LENGTH, 0);
+    }
+
+    /**
+     * Returns how long establishing a connection to the microservice may take.
+     *
+     * @return the connect timeout in seconds
+     */
+    public int getConnectTimeoutSeconds() {
+        return Math.max(1, this.getIntProperty(PROPERTY_CONNECT_TIMEOUT_SECONDS, DEFAULT_CONNECT_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Returns how long the microservice may take to respond to a request.
+     *
+     * @return the response timeout in seconds
+     */
+    public int getResponseTimeoutSeconds() {
+        return Math.max(1, this.getIntProperty(PROPERTY_RESPONSE_TIMEOUT_SECONDS, DEFAULT_RESPONSE_TIMEOUT_SECONDS));
+    }
+
+    private int getIntProperty(String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value of {}: {}", name, value);
+            return defaultValue;
+        }
+    }
 }
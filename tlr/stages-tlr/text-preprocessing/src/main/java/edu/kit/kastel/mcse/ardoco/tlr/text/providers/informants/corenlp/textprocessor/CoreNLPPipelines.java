@@ -0,0 +1,102 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * The process-wide CoreNLP pipelines. Loading the models of a pipeline takes longer than annotating most texts, so the pipeline of a configuration, i.e.,
+ * of its annotators and properties, is loaded only once per JVM, on first use or when {@link #warmUp(Properties) warmed up}. Afterward, it is reused for
+ * all texts, also across projects, until it is {@link #close(Properties) closed}. A pipeline can annotate several texts concurrently.
+ */
+public final class CoreNLPPipelines {
+    private static final Logger logger = LoggerFactory.getLogger(CoreNLPPipelines.class);
+
+    private static final Map<SortedMap<String, String>, Pipeline> PIPELINES = new ConcurrentHashMap<>();
+
+    private CoreNLPPipelines() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Returns the pipeline of the specified configuration. The pipeline is loaded if it is not loaded yet.
+     *
+     * @param properties the configuration of the pipeline, including its annotators
+     * @return the pipeline of the configuration
+     */
+    public static StanfordCoreNLP get(Properties properties) {
+        return PIPELINES.computeIfAbsent(configurationOf(properties), Pipeline::new).get();
+    }
+
+    /**
+     * Loads the pipeline of the specified configuration in the background, so that the first text does not have to wait for the models to be loaded.
+     *
+     * @param properties the configuration of the pipeline, including its annotators
+     */
+    public static void warmUp(Properties properties) {
+        Pipeline pipeline = PIPELINES.computeIfAbsent(configurationOf(properties), Pipeline::new);
+        Thread.ofVirtual().name("corenlp-warm-up").start(pipeline::get);
+    }
+
+    /**
+     * Releases the pipeline of the specified configuration. The pipeline is loaded again when it is requested the next time.
+     *
+     * @param properties the configuration of the pipeline, including its annotators
+     */
+    public static void close(Properties properties) {
+        PIPELINES.remove(configurationOf(properties));
+    }
+
+    /**
+     * Releases all pipelines and the annotators that CoreNLP caches for them.
+     */
+    public static void closeAll() {
+        PIPELINES.clear();
+        StanfordCoreNLP.clearAnnotatorPool();
+    }
+
+    /**
+     * Returns all properties of the specified configuration, including its defaults. Two configurations with the same properties share their pipeline.
+     */
+    private static SortedMap<String, String> configurationOf(Properties properties) {
+        SortedMap<String, String> configuration = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            configuration.put(name, properties.getProperty(name));
+        }
+        return configuration;
+    }
+
+    private static final class Pipeline {
+        private final SortedMap<String, String> configuration;
+        private volatile StanfordCoreNLP stanfordCoreNLP;
+
+        private Pipeline(SortedMap<String, String> configuration) {
+            this.configuration = configuration;
+        }
+
+        private StanfordCoreNLP get() {
+            StanfordCoreNLP result = this.stanfordCoreNLP;
+            if (result == null) {
+                synchronized (this) {
+                    result = this.stanfordCoreNLP;
+                    if (result == null) {
+                        logger.info("Loading CoreNLP pipeline with annotators {}", this.configuration.get("annotators"));
+                        Properties properties = new Properties();
+                        properties.putAll(this.configuration);
+                        result = new StanfordCoreNLP(properties);
+                        this.stanfordCoreNLP = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,55 +1,117 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.hc.client5.http.auth.AuthCache;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.auth.BasicAuthCache;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.BasicHttpClientResponseHandler;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
 
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
+
+/**
+ * Sends authenticated requests to the CoreNLP microservice. All communicators share one pooled HTTP client per endpoint, i.e., per scheme, host, and port,
+ * so that connections are kept alive and reused across requests. Once a server asked for credentials, later requests to the same endpoint send them
+ * preemptively.
+ */
 public class HttpCommunicator {
 
     public static final String ENV_USERNAME = "SCNLP_SERVICE_USER";
     public static final String ENV_PASSWORD = "SCNLP_SERVICE_PASSWORD";
 
-    public String sendAuthenticatedGetRequest(String requestUrl) throws IOException {
-        String username = System.getenv(ENV_USERNAME);
-        String password = System.getenv(ENV_PASSWORD);
-        if (username == null || password == null) {
-            throw new IOException("Environment variables " + ENV_USERNAME + " and " + ENV_PASSWORD + " must be set.");
-        }
+    private static final int MAX_CONNECTIONS_PER_ENDPOINT = 8;
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
 
-        HttpGet request = new HttpGet(requestUrl);
-        BasicCredentialsProvider provider = new BasicCredentialsProvider();
-        provider.setCredentials(new AuthScope(null, -1), new UsernamePasswordCredentials(username, password.toCharArray()));
-        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultCredentialsProvider(provider).build()) {
-            return httpClient.execute(request, new BasicHttpClientResponseHandler());
-        }
+    private final String username;
+    private final String password;
+    private final Timeout responseTimeout;
+
+    /**
+     * Creates a communicator that authenticates with the credentials from the environment variables {@value #ENV_USERNAME} and {@value #ENV_PASSWORD} and
+     * uses the response timeout of the {@link ConfigManager}.
+     */
+    public HttpCommunicator() {
+        this(System.getenv(ENV_USERNAME), System.getenv(ENV_PASSWORD), Timeout.ofSeconds(ConfigManager.INSTANCE.getResponseTimeoutSeconds()));
     }
 
-    public String sendAuthenticatedPostRequest(String requestUrl, String body) throws IOException {
-        String username = System.getenv(ENV_USERNAME);
-        String password = System.getenv(ENV_PASSWORD);
-        if (username == null || password == null) {
-            throw new IOException("Environment variables " + ENV_USERNAME + " and " + ENV_PASSWORD + " must be set.");
-        }
+    HttpCommunicator(String username, String password, Timeout responseTimeout) {
+        this.username = username;
+        this.password = password;
+        this.responseTimeout = responseTimeout;
+    }
+
+    public String sendAuthenticatedGetRequest(String requestUrl) throws IOException {
+        return this.execute(new HttpGet(requestUrl));
+    }
 
+    public String sendAuthenticatedPostRequest(String requestUrl, String body) throws IOException {
         HttpPost request = new HttpPost(requestUrl);
         StringEntity requestEntity = new StringEntity(body, ContentType.APPLICATION_JSON, StandardCharsets.UTF_8.toString(), false);
         request.setEntity(requestEntity);
+        return this.execute(request);
+    }
 
-        BasicCredentialsProvider provider = new BasicCredentialsProvider();
-        provider.setCredentials(new AuthScope(null, -1), new UsernamePasswordCredentials(username, password.toCharArray()));
-        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultCredentialsProvider(provider).build()) {
-            return httpClient.execute(request, new BasicHttpClientResponseHandler());
+    /**
+     * Closes the pooled HTTP clients of all endpoints. New clients are created for later requests.
+     */
+    public static void closeAll() {
+        ENDPOINTS.values().removeIf(endpoint -> {
+            endpoint.httpClient().close(CloseMode.GRACEFUL);
+            return true;
+        });
+    }
+
+    private String execute(HttpUriRequestBase request) throws IOException {
+        if (this.username == null || this.password == null) {
+            throw new IOException("Environment variables " + ENV_USERNAME + " and " + ENV_PASSWORD + " must be set.");
         }
+        request.setConfig(RequestConfig.custom().setResponseTimeout(this.responseTimeout).build());
+
+        Endpoint endpoint = endpointOf(request);
+        BasicCredentialsProvider provider = new BasicCredentialsProvider();
+        provider.setCredentials(new AuthScope(null, -1), new UsernamePasswordCredentials(this.username, this.password.toCharArray()));
+        HttpClientContext context = HttpClientContext.create();
+        context.setCredentialsProvider(provider);
+        context.setAuthCache(endpoint.authCache());
+        return endpoint.httpClient().execute(request, context, new BasicHttpClientResponseHandler());
+    }
+
+    private static Endpoint endpointOf(HttpUriRequestBase request) {
+        String endpoint = request.getScheme() + "://" + request.getAuthority();
+        return ENDPOINTS.computeIfAbsent(endpoint, ignored -> createEndpoint());
+    }
+
+    private static Endpoint createEndpoint() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom().setConnectTimeout(Timeout.ofSeconds(ConfigManager.INSTANCE.getConnectTimeoutSeconds())).build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ENDPOINT)
+                        .setMaxConnTotal(MAX_CONNECTIONS_PER_ENDPOINT)
+                        .build())
+                .build();
+        return new Endpoint(httpClient, new BasicAuthCache());
+    }
+
+    private record Endpoint(CloseableHttpClient httpClient, AuthCache authCache) {
     }
 }
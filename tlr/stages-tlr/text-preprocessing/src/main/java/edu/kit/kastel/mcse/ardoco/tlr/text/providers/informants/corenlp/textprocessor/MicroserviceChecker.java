@@ -1,15 +1,22 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
 
 /**
- * This utility class provides methods to check whether the microservice is available.
+ * This utility class provides methods to check whether the microservice is available. The health status of the microservice is cached for
+ * {@link #HEALTH_STATUS_TIME_TO_LIVE}, so that processing several texts does not check the health of the microservice before every text.
  */
 public final class MicroserviceChecker {
 
+    static final Duration HEALTH_STATUS_TIME_TO_LIVE = Duration.ofSeconds(30);
+    private static final String HEALTHY_RESPONSE = "Microservice is healthy";
+
+    private static volatile HealthStatus healthStatus;
+
     private MicroserviceChecker() {
     }
 
@@ -18,14 +25,35 @@ private MicroserviceChecker() {
      *
      * @return whether the microservice is available
      */
-    public static boolean isMicroserviceAvailable() throws IOException {
+    public static boolean isMicroserviceAvailable() {
         String requestUrl = ConfigManager.INSTANCE.getMicroserviceUrl() + ConfigManager.INSTANCE.getHealthService();
+        return isMicroserviceAvailable(requestUrl, new HttpCommunicator());
+    }
+
+    static boolean isMicroserviceAvailable(String requestUrl, HttpCommunicator httpCommunicator) {
+        HealthStatus status = healthStatus;
+        long now = System.nanoTime();
+        if (status != null && status.requestUrl().equals(requestUrl) && now - status.checkedAt() < HEALTH_STATUS_TIME_TO_LIVE.toNanos()) {
+            return status.available();
+        }
+        boolean available;
         try {
-            String response = new HttpCommunicator().sendAuthenticatedGetRequest(requestUrl);
-            return response.equals("Microservice is healthy");
+            String response = httpCommunicator.sendAuthenticatedGetRequest(requestUrl);
+            available = response.equals(HEALTHY_RESPONSE);
         } catch (IOException e) {
-            return false;
+            available = false;
         }
+        healthStatus = new HealthStatus(requestUrl, available, now);
+        return available;
     }
 
+    /**
+     * Discards the cached health status, e.g., because a request to the microservice failed. The next check requests the health status again.
+     */
+    public static void invalidate() {
+        healthStatus = null;
+    }
+
+    private record HealthStatus(String requestUrl, boolean available, long checkedAt) {
+    }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
@@ -16,7 +16,8 @@
  */
 public class TextProcessor {
 
-    private static final int MAX_FAILED_SERVICE_REQUESTS = 2;
+    private static final int MAX_FAILED_SERVICE_REQUESTS = 3;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 500;
     Logger logger = LoggerFactory.getLogger(TextProcessor.class);
 
     /**
@@ -26,14 +27,7 @@ public class TextProcessor {
      * @return the annotated text
      */
     public Text processText(String inputText) {
-        boolean microserviceAvailable;
-        try {
-            microserviceAvailable = MicroserviceChecker.isMicroserviceAvailable();
-        } catch (IOException e) {
-            microserviceAvailable = false;
-            logger.warn("Could not check if CoreNLP microservice is available. ", e);
-        }
-        if (ConfigManager.INSTANCE.getNlpProviderSource().equals("microservice") && microserviceAvailable) {
+        if (ConfigManager.INSTANCE.getNlpProviderSource().equals("microservice") && MicroserviceChecker.isMicroserviceAvailable()) {
             int numberOfTry = 0;
             while (numberOfTry < MAX_FAILED_SERVICE_REQUESTS) {
                 try {
@@ -41,18 +35,53 @@ public Text processText(String inputText) {
                     return processService(inputText);
                 } catch (IOException e) {
                     numberOfTry++;
-                    logger.warn("Could not process text with CoreNLP microservice. Trying again. ", e);
+                    if (numberOfTry < MAX_FAILED_SERVICE_REQUESTS) {
+                        logger.warn("Could not process text with CoreNLP microservice. Trying again. ", e);
+                        if (!waitBeforeRetry(numberOfTry)) {
+                            break;
+                        }
+                    } else {
+                        logger.warn("Could not process text with CoreNLP microservice. ", e);
+                    }
                 } catch (NotConvertableException | InvalidJsonException e) {
                     logger.warn("Could not process text with CoreNLP microservice. Text not convertable. ", e);
                     return processLocally(inputText);
                 }
             }
+            MicroserviceChecker.invalidate();
             logger.warn("Could not process text with CoreNLP microservice. Processing locally instead.");
         }
         logger.info("Processing text locally.");
         return processLocally(inputText);
     }
 
+    /**
+     * Waits before the next request to the microservice, for {@link #getRetryDelayMillis(int) a delay} that depends on the number of failed requests.
+     *
+     * @param numberOfTry the number of failed requests so far
+     * @return whether waiting was not interrupted
+     */
+    static boolean waitBeforeRetry(int numberOfTry) {
+        try {
+            Thread.sleep(getRetryDelayMillis(numberOfTry));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the delay before the next request to the microservice. The delay doubles with every failed request, so that an overloaded microservice can
+     * recover.
+     *
+     * @param numberOfTry the number of failed requests so far, at least 1
+     * @return the delay in milliseconds
+     */
+    static long getRetryDelayMillis(int numberOfTry) {
+        return INITIAL_RETRY_DELAY_MILLIS << (numberOfTry - 1);
+    }
+
     private Text processLocally(String inputText) {
         return new TextProcessorLocal().processText(inputText);
     }
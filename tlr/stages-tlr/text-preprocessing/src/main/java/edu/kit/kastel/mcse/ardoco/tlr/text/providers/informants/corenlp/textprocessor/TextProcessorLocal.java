@@ -1,19 +1,60 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
 import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.TextImpl;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
 import edu.stanford.nlp.pipeline.CoreDocument;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.trees.LabeledScoredTreeFactory;
+import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.trees.TreeCoreAnnotations;
+import edu.stanford.nlp.trees.TreeFactory;
+import edu.stanford.nlp.util.CoreMap;
 
 /**
- * This text processor processes texts locally using CoreNLP.
+ * This text processor processes texts locally using CoreNLP. All local text processors share one {@link CoreNLPPipelines process-wide pipeline}, so the
+ * models are only loaded once per JVM.
+ * <p>
+ * If more than one {@link ConfigManager#getAnnotationThreads() annotation thread} is configured, texts are tokenized and split into sentences once, and the
+ * sentence-level annotators then annotate chunks of sentences concurrently. The chunks share the sentences and tokens of the text, so the annotations keep
+ * their original offsets. Sentences longer than the {@link ConfigManager#getMaxSentenceLength() maximum sentence length} are not parsed into a constituency
+ * tree but get a flat tree.
  */
 public class TextProcessorLocal {
     private static final String ANNOTATORS = "tokenize,ssplit,pos,parse,depparse,lemma"; // further: ",ner,coref"
+    private static final String SENTENCE_SPLITTING_ANNOTATORS = "tokenize,ssplit";
+    private static final String SENTENCE_ANNOTATORS = "pos,parse,depparse,lemma";
     private static final String DEPENDENCIES_ANNOTATION = "EnhancedPlusPlusDependenciesAnnotation";
+    private static final int SENTENCES_PER_CHUNK = 8;
+
+    private final int annotationThreads;
+    private final int maxSentenceLength;
+
+    /**
+     * Creates a text processor with the configured number of annotation threads and maximum sentence length.
+     */
+    public TextProcessorLocal() {
+        this(ConfigManager.INSTANCE.getAnnotationThreads(), ConfigManager.INSTANCE.getMaxSentenceLength());
+    }
+
+    /**
+     * Creates a text processor with the specified number of annotation threads and maximum sentence length.
+     *
+     * @param annotationThreads the number of threads that annotate the sentences of a text concurrently, 1 if the text is annotated as a whole
+     * @param maxSentenceLength the maximum length of a parsed sentence, or a non-positive number if the length is not limited
+     */
+    TextProcessorLocal(int annotationThreads, int maxSentenceLength) {
+        this.annotationThreads = annotationThreads;
+        this.maxSentenceLength = maxSentenceLength;
+    }
 
     /**
      * processes and annotates a given text locally using CoreNLP.
@@ -22,14 +63,112 @@ public class TextProcessorLocal {
      * @return the annotated text
      */
     public Text processText(String inputText) {
-        Properties props = getStanfordProperties(new Properties());
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
         CoreDocument document = new CoreDocument(inputText);
-        pipeline.annotate(document);
+        if (this.annotationThreads > 1) {
+            this.annotateSentencesConcurrently(document);
+        } else {
+            CoreNLPPipelines.get(getPipelineProperties(this.maxSentenceLength)).annotate(document);
+        }
+        if (this.maxSentenceLength > 0) {
+            replaceTreesOfLongSentences(document, this.maxSentenceLength);
+        }
         return new TextImpl(document);
     }
 
-    private static Properties getStanfordProperties(Properties properties) {
+    private void annotateSentencesConcurrently(CoreDocument document) {
+        Annotation annotation = document.annotation();
+        CoreNLPPipelines.get(withAnnotators(SENTENCE_SPLITTING_ANNOTATORS, this.maxSentenceLength)).annotate(annotation);
+
+        List<CoreMap> sentences = annotation.get(CoreAnnotations.SentencesAnnotation.class);
+        List<Annotation> chunks = new ArrayList<>();
+        for (int start = 0; start < sentences.size(); start += SENTENCES_PER_CHUNK) {
+            List<CoreMap> chunkSentences = new ArrayList<>(sentences.subList(start, Math.min(sentences.size(), start + SENTENCES_PER_CHUNK)));
+            List<CoreLabel> chunkTokens = new ArrayList<>();
+            for (CoreMap sentence : chunkSentences) {
+                chunkTokens.addAll(sentence.get(CoreAnnotations.TokensAnnotation.class));
+            }
+            Annotation chunk = new Annotation(annotation.get(CoreAnnotations.TextAnnotation.class));
+            chunk.set(CoreAnnotations.SentencesAnnotation.class, chunkSentences);
+            chunk.set(CoreAnnotations.TokensAnnotation.class, chunkTokens);
+            chunks.add(chunk);
+        }
+
+        StanfordCoreNLP sentencePipeline = CoreNLPPipelines.get(withSentenceAnnotators(this.maxSentenceLength));
+        sentencePipeline.annotate(chunks, this.annotationThreads);
+        document.wrapAnnotations();
+    }
+
+    /**
+     * Replaces the trees of the sentences that were too long to be parsed by flat trees. In contrast to the trees that the parser creates for these
+     * sentences, the leaves of the flat trees are the tokens of the sentences, so that the phrase can be mapped to the words of the sentence.
+     */
+    private static void replaceTreesOfLongSentences(CoreDocument document, int maxSentenceLength) {
+        TreeFactory treeFactory = new LabeledScoredTreeFactory(CoreLabel.factory());
+        for (CoreMap sentence : document.annotation().get(CoreAnnotations.SentencesAnnotation.class)) {
+            List<CoreLabel> tokens = sentence.get(CoreAnnotations.TokensAnnotation.class);
+            if (tokens.size() <= maxSentenceLength) {
+                continue;
+            }
+            List<Tree> preTerminals = new ArrayList<>(tokens.size());
+            for (CoreLabel token : tokens) {
+                preTerminals.add(treeFactory.newTreeNode(token.tag(), List.of(treeFactory.newLeaf(token))));
+            }
+            Tree flatTree = treeFactory.newTreeNode("ROOT", List.of(treeFactory.newTreeNode("X", preTerminals)));
+            sentence.set(TreeCoreAnnotations.TreeAnnotation.class, flatTree);
+        }
+        document.wrapAnnotations();
+    }
+
+    /**
+     * Returns the properties of the pipeline of local text processors, including its annotators.
+     *
+     * @return a copy of the properties of the pipeline
+     */
+    public static Properties getPipelineProperties() {
+        return getPipelineProperties(ConfigManager.INSTANCE.getMaxSentenceLength());
+    }
+
+    /**
+     * Loads the pipeline of local text processors in the background, so that processing the first text does not have to wait for the models to be loaded.
+     */
+    public static void warmUp() {
+        int maxSentenceLength = ConfigManager.INSTANCE.getMaxSentenceLength();
+        if (ConfigManager.INSTANCE.getAnnotationThreads() > 1) {
+            CoreNLPPipelines.warmUp(withAnnotators(SENTENCE_SPLITTING_ANNOTATORS, maxSentenceLength));
+            CoreNLPPipelines.warmUp(withSentenceAnnotators(maxSentenceLength));
+        } else {
+            CoreNLPPipelines.warmUp(getPipelineProperties());
+        }
+    }
+
+    /**
+     * Releases the pipelines of local text processors. They are loaded again when the next text is processed locally.
+     */
+    public static void close() {
+        int maxSentenceLength = ConfigManager.INSTANCE.getMaxSentenceLength();
+        CoreNLPPipelines.close(getPipelineProperties(maxSentenceLength));
+        CoreNLPPipelines.close(withAnnotators(SENTENCE_SPLITTING_ANNOTATORS, maxSentenceLength));
+        CoreNLPPipelines.close(withSentenceAnnotators(maxSentenceLength));
+    }
+
+    private static Properties getPipelineProperties(int maxSentenceLength) {
+        return getStanfordProperties(new Properties(), maxSentenceLength);
+    }
+
+    private static Properties withSentenceAnnotators(int maxSentenceLength) {
+        Properties properties = withAnnotators(SENTENCE_ANNOTATORS, maxSentenceLength);
+        // The sentences are already tokenized and split by the sentence splitting pipeline
+        properties.setProperty("enforceRequirements", "false");
+        return properties;
+    }
+
+    private static Properties withAnnotators(String annotators, int maxSentenceLength) {
+        Properties properties = getPipelineProperties(maxSentenceLength);
+        properties.setProperty("annotators", annotators);
+        return properties;
+    }
+
+    private static Properties getStanfordProperties(Properties properties, int maxSentenceLength) {
         if (properties == null) {
             throw new IllegalArgumentException("Properties are null");
         }
@@ -39,6 +178,9 @@ private static Properties getStanfordProperties(Properties properties) {
         allStanfordProperties.put("parse", DEPENDENCIES_ANNOTATION);
         allStanfordProperties.put("depparse", DEPENDENCIES_ANNOTATION);
         allStanfordProperties.put("coref.algorithm", "fastneural");
+        if (maxSentenceLength > 0) {
+            allStanfordProperties.setProperty("parse.maxlen", String.valueOf(maxSentenceLength));
+        }
 
         return allStanfordProperties;
     }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
@@ -18,6 +18,8 @@
  */
 public class TextProcessorService {
 
+    private final HttpCommunicator httpCommunicator = new HttpCommunicator();
+
     /**
      * processes and annotates a given text by sending requests to a microservice
      *
@@ -43,7 +45,6 @@ private static String encodeText(String inputText) {
     }
 
     private String sendAuthenticatedPostRequest(String requestUrl, String encodedText) throws IOException {
-        HttpCommunicator httpCommunicator = new HttpCommunicator();
         String body = getRequestBodyString(encodedText);
         return httpCommunicator.sendAuthenticatedPostRequest(requestUrl, body);
     }
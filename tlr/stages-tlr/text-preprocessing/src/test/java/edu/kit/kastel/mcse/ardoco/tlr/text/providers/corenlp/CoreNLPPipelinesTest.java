@@ -0,0 +1,29 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.corenlp;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.CoreNLPPipelines;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+class CoreNLPPipelinesTest {
+
+    @Test
+    void reusePipelineOfSameConfigurationTest() {
+        StanfordCoreNLP pipeline = CoreNLPPipelines.get(tokenizeProperties("tokenize"));
+        Assertions.assertSame(pipeline, CoreNLPPipelines.get(tokenizeProperties("tokenize")));
+        Assertions.assertNotSame(pipeline, CoreNLPPipelines.get(tokenizeProperties("tokenize,ssplit")));
+
+        CoreNLPPipelines.close(tokenizeProperties("tokenize"));
+        Assertions.assertNotSame(pipeline, CoreNLPPipelines.get(tokenizeProperties("tokenize")));
+    }
+
+    private static Properties tokenizeProperties(String annotators) {
+        Properties properties = new Properties();
+        properties.setProperty("annotators", annotators);
+        return properties;
+    }
+}
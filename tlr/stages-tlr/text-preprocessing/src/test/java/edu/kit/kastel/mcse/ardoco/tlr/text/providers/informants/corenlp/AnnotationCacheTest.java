@@ -0,0 +1,78 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor.TextProcessorLocal;
+
+class AnnotationCacheTest {
+    private static final String TEXT = "The persistence component stores all orders. The web interface shows the orders.";
+
+    @Test
+    void loadStoredAnnotationsTest(@TempDir Path directory) {
+        AnnotationCache annotationCache = new AnnotationCache(directory, Long.MAX_VALUE);
+        Assertions.assertNull(annotationCache.load(TEXT));
+
+        TextImpl annotatedText = (TextImpl) new TextProcessorLocal().processText(TEXT);
+        annotationCache.store(TEXT, annotatedText);
+        Text cachedText = annotationCache.load(TEXT);
+
+        Assertions.assertNotNull(cachedText);
+        Assertions.assertEquals(annotatedText.getSentences().size(), cachedText.getSentences().size());
+        Assertions.assertEquals(annotatedText.words().size(), cachedText.words().size());
+        for (int i = 0; i < annotatedText.words().size(); i++) {
+            Word word = annotatedText.words().get(i);
+            Word cachedWord = cachedText.words().get(i);
+            Assertions.assertEquals(word.getText(), cachedWord.getText());
+            Assertions.assertEquals(word.getPosTag(), cachedWord.getPosTag());
+            Assertions.assertEquals(word.getLemma(), cachedWord.getLemma());
+            Assertions.assertEquals(word.getPhrase().getText(), cachedWord.getPhrase().getText());
+        }
+        Assertions.assertNull(annotationCache.load(TEXT + " The orders are paid."));
+    }
+
+    @Test
+    void evictLeastRecentlyUsedAnnotationsTest(@TempDir Path directory) throws IOException {
+        String recentlyUsedText = "The web interface shows the orders.";
+        String newText = "Orders are stored.";
+        AnnotationCache unboundedCache = new AnnotationCache(directory, Long.MAX_VALUE);
+        unboundedCache.store(TEXT, (TextImpl) new TextProcessorLocal().processText(TEXT));
+        Path file = onlyFile(directory);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        long maxBytes = Files.size(file);
+        unboundedCache.store(recentlyUsedText, (TextImpl) new TextProcessorLocal().processText(recentlyUsedText));
+        maxBytes += Files.size(onlyFileExcept(directory, file));
+
+        AnnotationCache annotationCache = new AnnotationCache(directory, maxBytes);
+        Assertions.assertNotNull(annotationCache.load(recentlyUsedText));
+        annotationCache.store(newText, (TextImpl) new TextProcessorLocal().processText(newText));
+
+        Assertions.assertNull(annotationCache.load(TEXT));
+        Assertions.assertNotNull(annotationCache.load(recentlyUsedText));
+        Assertions.assertNotNull(annotationCache.load(newText));
+    }
+
+    private static Path onlyFile(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static Path onlyFileExcept(Path directory, Path excluded) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> !file.equals(excluded)).findFirst().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class HttpCommunicatorTest {
+    private static final String USERNAME = "user";
+    private static final String PASSWORD = "secret";
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger challenges = new AtomicInteger();
+    private final AtomicInteger healthRequests = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            if (authenticate(exchange)) {
+                requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                respond(exchange, 200, "ok");
+            }
+        });
+        server.createContext("/health", exchange -> {
+            if (authenticate(exchange)) {
+                healthRequests.incrementAndGet();
+                respond(exchange, 200, "Microservice is healthy");
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "too late");
+        });
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        HttpCommunicator.closeAll();
+        MicroserviceChecker.invalidate();
+        server.stop(0);
+    }
+
+    @Test
+    void reuseConnectionTest() throws IOException {
+        HttpCommunicator httpCommunicator = new HttpCommunicator(USERNAME, PASSWORD, Timeout.ofSeconds(10));
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("ok", httpCommunicator.sendAuthenticatedPostRequest(baseUrl + "/echo", "{\"text\": \"" + i + "\"}"));
+        }
+        Assertions.assertEquals("ok", new HttpCommunicator(USERNAME, PASSWORD, Timeout.ofSeconds(10)).sendAuthenticatedGetRequest(baseUrl + "/echo"));
+
+        Assertions.assertEquals(1, clientPorts.size(), "All requests should use the same kept-alive connection");
+        Assertions.assertEquals(1, challenges.get(), "Credentials should be sent preemptively after the first challenge");
+        Assertions.assertEquals("{\"text\": \"4\"}", requestBodies.get(4));
+    }
+
+    @Test
+    void responseTimeoutTest() {
+        HttpCommunicator httpCommunicator = new HttpCommunicator(USERNAME, PASSWORD, Timeout.ofMilliseconds(200));
+        Assertions.assertThrows(IOException.class, () -> httpCommunicator.sendAuthenticatedGetRequest(baseUrl + "/slow"));
+    }
+
+    @Test
+    void missingCredentialsTest() {
+        HttpCommunicator httpCommunicator = new HttpCommunicator(null, null, Timeout.ofSeconds(10));
+        Assertions.assertThrows(IOException.class, () -> httpCommunicator.sendAuthenticatedGetRequest(baseUrl + "/echo"));
+    }
+
+    @Test
+    void cacheHealthStatusTest() {
+        HttpCommunicator httpCommunicator = new HttpCommunicator(USERNAME, PASSWORD, Timeout.ofSeconds(10));
+        Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(baseUrl + "/health", httpCommunicator));
+        Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(baseUrl + "/health", httpCommunicator));
+        Assertions.assertEquals(1, healthRequests.get());
+
+        MicroserviceChecker.invalidate();
+        Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(baseUrl + "/health", httpCommunicator));
+        Assertions.assertEquals(2, healthRequests.get());
+        Assertions.assertFalse(MicroserviceChecker.isMicroserviceAvailable(baseUrl + "/missing", httpCommunicator));
+    }
+
+    private boolean authenticate(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        if (AUTHORIZATION.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            return true;
+        }
+        challenges.incrementAndGet();
+        exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"corenlp\"");
+        respond(exchange, 401, "unauthorized");
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
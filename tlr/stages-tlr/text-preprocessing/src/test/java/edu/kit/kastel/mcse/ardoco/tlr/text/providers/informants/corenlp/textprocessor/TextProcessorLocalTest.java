@@ -0,0 +1,75 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+
+class TextProcessorLocalTest {
+    private static final String INPUT_TEXT = "src/test/resources/teastore.txt";
+    private static final int MAX_SENTENCE_LENGTH = 8;
+    private static final String LONG_SENTENCE = "The WebUI service retrieves the images of all products from the Image Provider service.";
+    private static final String SHORT_SENTENCE = "Users are authenticated.";
+
+    @Test
+    void concurrentAnnotationTest() throws IOException {
+        String inputText = Files.readString(Path.of(INPUT_TEXT));
+        Text text = new TextProcessorLocal(1, 0).processText(inputText);
+        Text concurrentlyAnnotatedText = new TextProcessorLocal(4, 0).processText(inputText);
+
+        Assertions.assertTrue(text.getSentences().size() > 8, "The text should be split into several chunks");
+        Assertions.assertEquals(text.getSentences().size(), concurrentlyAnnotatedText.getSentences().size());
+        Assertions.assertEquals(describe(text), describe(concurrentlyAnnotatedText));
+    }
+
+    @Test
+    void flatTreeOfLongSentenceTest() {
+        Text text = new TextProcessorLocal(1, MAX_SENTENCE_LENGTH).processText(LONG_SENTENCE + " " + SHORT_SENTENCE);
+        Assertions.assertEquals(2, text.getSentences().size());
+
+        Sentence longSentence = text.getSentences().get(0);
+        Assertions.assertTrue(longSentence.getWords().size() > MAX_SENTENCE_LENGTH);
+        List<PhraseType> phraseTypes = longSentence.getPhrases().stream().map(Phrase::getPhraseType).toList();
+        Assertions.assertEquals(List.of(PhraseType.ROOT, PhraseType.X), phraseTypes);
+        for (Phrase phrase : longSentence.getPhrases()) {
+            Assertions.assertEquals(longSentence.getWords(), phrase.getContainedWords());
+        }
+        for (Word word : longSentence.getWords()) {
+            Assertions.assertNotNull(word.getPosTag());
+            Assertions.assertNotNull(word.getLemma());
+        }
+        Assertions.assertTrue(longSentence.getWords().anySatisfy(word -> !word.getOutgoingDependencyWordsWithType(DependencyTag.NSUBJ).isEmpty()),
+                "The dependencies of long sentences should still be parsed");
+
+        Sentence shortSentence = text.getSentences().get(1);
+        Assertions.assertTrue(shortSentence.getPhrases().stream().noneMatch(phrase -> phrase.getPhraseType() == PhraseType.X));
+    }
+
+    private static List<String> describe(Text text) {
+        List<String> descriptions = new ArrayList<>();
+        for (Word word : text.words()) {
+            StringBuilder description = new StringBuilder();
+            description.append(word.getSentenceNo()).append(' ').append(word.getPosition()).append(' ').append(word.getText());
+            description.append(' ').append(word.getPosTag()).append(' ').append(word.getLemma());
+            for (DependencyTag dependencyTag : DependencyTag.values()) {
+                for (Word dependentWord : word.getOutgoingDependencyWordsWithType(dependencyTag)) {
+                    description.append(' ').append(dependencyTag).append(':').append(dependentWord.getPosition());
+                }
+            }
+            descriptions.add(description.toString());
+        }
+        return descriptions;
+    }
+}
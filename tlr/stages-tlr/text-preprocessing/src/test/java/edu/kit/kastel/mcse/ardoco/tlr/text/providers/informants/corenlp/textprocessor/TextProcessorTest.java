@@ -0,0 +1,29 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TextProcessorTest {
+
+    @Test
+    void retryDelayDoublesTest() {
+        Assertions.assertEquals(500, TextProcessor.getRetryDelayMillis(1));
+        Assertions.assertEquals(1000, TextProcessor.getRetryDelayMillis(2));
+        Assertions.assertEquals(2000, TextProcessor.getRetryDelayMillis(3));
+    }
+
+    @Test
+    void waitBeforeRetryTest() {
+        long start = System.nanoTime();
+        Assertions.assertTrue(TextProcessor.waitBeforeRetry(1));
+        Assertions.assertTrue(System.nanoTime() - start >= TextProcessor.getRetryDelayMillis(1) * 1_000_000);
+    }
+
+    @Test
+    void interruptedWaitBeforeRetryTest() {
+        Thread.currentThread().interrupt();
+        Assertions.assertFalse(TextProcessor.waitBeforeRetry(1));
+        Assertions.assertTrue(Thread.interrupted(), "The interrupt status should be restored");
+    }
+}